@@ -0,0 +1,84 @@
+package com.example.quiz_api.adaptive;
+
+/**
+ * Running expected a posteriori (EAP) estimate of a learner's ability
+ * The posterior over ability is kept on a fixed grid, starting from a
+ * standard normal prior. Each response multiplies in the item's likelihood,
+ * so an update costs one pass over the grid, independent of how many items
+ * were answered. Unlike maximum likelihood, the estimate stays finite when
+ * every answer so far is right or every answer is wrong.
+ * Not thread-safe; a session updates its estimator under its own lock.
+ */
+public final class AbilityEstimator {
+
+    private static final int POINTS = 81;
+    private static final double[] GRID = new double[POINTS];
+
+    static {
+        double step = (ItemInformationTable.MAX_ABILITY - ItemInformationTable.MIN_ABILITY) / (POINTS - 1);
+        for (int i = 0; i < POINTS; i++) {
+            GRID[i] = ItemInformationTable.MIN_ABILITY + i * step;
+        }
+    }
+
+    // Unnormalized log posterior at each grid point
+    private final double[] logPosterior = new double[POINTS];
+
+    private double estimate;
+    private double standardError;
+
+    public AbilityEstimator() {
+        for (int i = 0; i < POINTS; i++) {
+            logPosterior[i] = -0.5 * GRID[i] * GRID[i];
+        }
+        summarize();
+    }
+
+    /**
+     * Add one scored response
+     * @param discrimination Discrimination (a) of the item
+     * @param difficulty Difficulty (b) of the item
+     * @param correct Whether the answer was correct
+     */
+    public void update(double discrimination, double difficulty, boolean correct) {
+        for (int i = 0; i < POINTS; i++) {
+            // log P = -log(1 + e^-z) and log(1 - P) = -log(1 + e^z), without rounding P to 1
+            double z = discrimination * (GRID[i] - difficulty);
+            logPosterior[i] -= Math.log1p(Math.exp(correct ? -z : z));
+        }
+        summarize();
+    }
+
+    /**
+     * Current ability estimate, the posterior mean
+     */
+    public double getEstimate() {
+        return estimate;
+    }
+
+    /**
+     * Posterior standard deviation of the ability estimate
+     */
+    public double getStandardError() {
+        return standardError;
+    }
+
+    private void summarize() {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : logPosterior) {
+            max = Math.max(max, value);
+        }
+        double total = 0;
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < POINTS; i++) {
+            // Shifted by the maximum so the largest weight is 1 and nothing underflows to 0 at once
+            double weight = Math.exp(logPosterior[i] - max);
+            total += weight;
+            sum += weight * GRID[i];
+            sumOfSquares += weight * GRID[i] * GRID[i];
+        }
+        estimate = sum / total;
+        standardError = Math.sqrt(Math.max(0, sumOfSquares / total - estimate * estimate));
+    }
+}
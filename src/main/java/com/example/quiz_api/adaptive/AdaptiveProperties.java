@@ -0,0 +1,47 @@
+package com.example.quiz_api.adaptive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for adaptive sessions
+ * Bound from the quiz.adaptive.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "quiz.adaptive")
+public class AdaptiveProperties {
+
+    /**
+     * Ability buckets the item information tables are ranked in
+     * More buckets pick items closer to the exact estimate and cost one
+     * int per item per bucket
+     */
+    private int abilityBuckets = 33;
+
+    /**
+     * Questions asked when a session does not set its own limit
+     */
+    private int maxItems = 30;
+
+    /**
+     * A session stops early once its ability standard error falls to this
+     */
+    private double targetError = 0.3;
+
+    /**
+     * Seconds without a request after which an unfinished session is dropped
+     */
+    private long idleSeconds = 1800;
+
+    /**
+     * Seconds a finished session stays readable before it is dropped
+     */
+    private long finishedRetentionSeconds = 300;
+
+    /**
+     * Sessions held at once per quiz; starting another is refused
+     */
+    private int maxSessionsPerQuiz = 10_000;
+}
@@ -0,0 +1,146 @@
+package com.example.quiz_api.adaptive;
+
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.service.TimingWheel;
+
+import java.util.BitSet;
+
+/**
+ * State of one learner's adaptive session
+ * The session pins the quiz revision it started on and that revision's
+ * information table, and releases both when it finishes. All access goes
+ * through AdaptiveSessionManager while holding the session's monitor, except
+ * the expiry fields, which the manager's timing wheel reads without it.
+ */
+class AdaptiveSession {
+
+    private final long id;
+    private final Long quizId;
+    private final long quizVersion;
+    private final int maxItems;
+    private final double targetError;
+
+    private final AbilityEstimator estimator = new AbilityEstimator();
+    private final BitSet administered = new BitSet();
+
+    private Quiz revision;
+    private ItemInformationTable table;
+
+    // Item index of the question awaiting an answer, -1 once finished
+    private int current = -1;
+    private int answered;
+    private int correct;
+
+    // When the session may be dropped, on the System.nanoTime() scale
+    private volatile long expiresAtNanos;
+    private volatile TimingWheel.Timeout<AdaptiveSession> expiry;
+
+    AdaptiveSession(long id, Quiz revision, ItemInformationTable table, int maxItems,
+                    double targetError) {
+        this.id = id;
+        this.quizId = revision.getId();
+        this.quizVersion = revision.getVersion();
+        this.revision = revision;
+        this.table = table;
+        this.maxItems = maxItems;
+        this.targetError = targetError;
+    }
+
+    /**
+     * Pick the most informative item at the current estimate
+     * @return false if the pool is exhausted
+     */
+    boolean advance() {
+        current = table.select(estimator.getEstimate(), administered);
+        if (current < 0) {
+            return false;
+        }
+        administered.set(current);
+        return true;
+    }
+
+    /**
+     * Score the answer to the current item and choose the next one
+     * The session finishes after maxItems answers, once the standard error
+     * reaches targetError, or when the pool runs out
+     * @param isCorrect Whether the answer was correct
+     */
+    void record(boolean isCorrect) {
+        estimator.update(table.discrimination(current), table.difficulty(current), isCorrect);
+        answered++;
+        if (isCorrect) {
+            correct++;
+        }
+        if (answered >= maxItems || estimator.getStandardError() <= targetError || !advance()) {
+            finish();
+        }
+    }
+
+    /**
+     * Stop the session and release its revision and table
+     */
+    void finish() {
+        current = -1;
+        revision = null;
+        table = null;
+    }
+
+    boolean isFinished() {
+        return current < 0;
+    }
+
+    /**
+     * ID of the question awaiting an answer, or null once finished
+     */
+    Long currentQuestionId() {
+        return current >= 0 ? table.questionId(current) : null;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    Long getQuizId() {
+        return quizId;
+    }
+
+    long getQuizVersion() {
+        return quizVersion;
+    }
+
+    Quiz getRevision() {
+        return revision;
+    }
+
+    int getAnswered() {
+        return answered;
+    }
+
+    int getCorrect() {
+        return correct;
+    }
+
+    double getAbility() {
+        return estimator.getEstimate();
+    }
+
+    double getStandardError() {
+        return estimator.getStandardError();
+    }
+
+    long getExpiresAtNanos() {
+        return expiresAtNanos;
+    }
+
+    void setExpiresAtNanos(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    TimingWheel.Timeout<AdaptiveSession> getExpiry() {
+        return expiry;
+    }
+
+    void setExpiry(TimingWheel.Timeout<AdaptiveSession> expiry) {
+        this.expiry = expiry;
+    }
+}
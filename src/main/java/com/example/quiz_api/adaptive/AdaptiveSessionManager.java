@@ -0,0 +1,382 @@
+package com.example.quiz_api.adaptive;
+
+import com.example.quiz_api.dto.AdaptiveSessionResponse;
+import com.example.quiz_api.dto.CreateAdaptiveSessionRequest;
+import com.example.quiz_api.dto.QuestionResponse;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.exception.ConflictException;
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.exception.ValidationException;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.repository.RepositoryListener;
+import com.example.quiz_api.service.QuizService;
+import com.example.quiz_api.service.SingleFlight;
+import com.example.quiz_api.service.TimingWheel;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs computerized adaptive sessions over a quiz's questions
+ * Each answer updates the learner's ability estimate, and the next question
+ * is the one that tells most about a learner of that ability. Questions are
+ * scored with the two-parameter logistic model using their difficulty and
+ * discrimination; uncalibrated questions count as difficulty 0 and
+ * discrimination 1.
+ *
+ * Item information is ranked once per quiz revision into an
+ * ItemInformationTable shared by every session on that revision, so picking
+ * a question does not scan the pool. Concurrent sessions on a revision
+ * whose table is missing share one build.
+ *
+ * Sessions are dropped after quiz.adaptive.idle-seconds without a request,
+ * and finished sessions after quiz.adaptive.finished-retention-seconds.
+ * Each session has one entry in a timing wheel; requests only move its
+ * expiry time forward, and the entry is placed again when it fires early.
+ * At most quiz.adaptive.max-sessions-per-quiz sessions are held per quiz.
+ */
+@Component
+public class AdaptiveSessionManager implements RepositoryListener {
+
+    private static final ConflictException FINISHED =
+            new ConflictException("Adaptive session has finished");
+
+    private static final ConflictException NOT_CURRENT =
+            new ConflictException("Answer is not for the current question");
+
+    private static final ConflictException TOO_MANY_SESSIONS =
+            new ConflictException("Too many adaptive sessions for this quiz");
+
+    private static final int MAX_ITEMS_LIMIT = 1_000;
+    private static final long EXPIRY_TICK_MILLIS = 1_000;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private AdaptiveProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, AdaptiveSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> sessionsPerQuiz = new ConcurrentHashMap<>();
+    private final AtomicLong sessionIdCounter = new AtomicLong(1);
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    private TimingWheel<AdaptiveSession> wheel;
+
+    // Table of each quiz's latest revision that a session asked for
+    private final Map<Long, CachedTable> tables = new ConcurrentHashMap<>();
+    private final SingleFlight<TableKey, ItemInformationTable> tableBuilds = new SingleFlight<>();
+
+    @PostConstruct
+    void init() {
+        repository.addListener(this);
+        wheel = new TimingWheel<>(EXPIRY_TICK_MILLIS, TimeUnit.MILLISECONDS, this::expire);
+        wheel.start("adaptive-session-expiry");
+
+        Gauge.builder("quiz.adaptive.sessions", sessions, Map::size)
+                .description("Adaptive sessions held in memory")
+                .register(meterRegistry);
+        Gauge.builder("quiz.adaptive.tables", tables, Map::size)
+                .description("Item information tables cached")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.adaptive.responses", responses, LongAdder::sum)
+                .description("Answers scored in adaptive sessions")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.adaptive.sessions.expired", expired, LongAdder::sum)
+                .description("Adaptive sessions dropped after idling or finishing")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.adaptive.table.builds", tableBuilds,
+                        SingleFlight::getExecutionCount)
+                .description("Item information tables built")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        wheel.stop();
+    }
+
+    /**
+     * Start an adaptive session
+     * @param request Quiz and optional stopping rules
+     * @return The session with its first question
+     * @throws NotFoundException if the quiz does not exist
+     * @throws ValidationException if the quiz has no questions or a stopping rule is out of range
+     * @throws ConflictException if the quiz already has quiz.adaptive.max-sessions-per-quiz sessions
+     */
+    public AdaptiveSessionResponse createSession(CreateAdaptiveSessionRequest request) {
+        int maxItems = request.getMaxItems() != null ?
+                request.getMaxItems() : properties.getMaxItems();
+        if (maxItems < 1 || maxItems > MAX_ITEMS_LIMIT) {
+            throw new ValidationException("Max items must be between 1 and " + MAX_ITEMS_LIMIT);
+        }
+        double targetError = request.getTargetError() != null ?
+                request.getTargetError() : properties.getTargetError();
+        if (!(targetError >= 0 && targetError <= 1)) {
+            throw new ValidationException("Target error must be between 0 and 1");
+        }
+        Quiz quiz = quizService.getQuizById(request.getQuizId());
+        if (quiz.getQuestionIds().isEmpty()) {
+            throw new ValidationException("Quiz has no questions");
+        }
+
+        ItemInformationTable table = tableFor(quiz);
+        reserve(quiz.getId());
+        AdaptiveSession session = new AdaptiveSession(sessionIdCounter.getAndIncrement(), quiz,
+                table, maxItems, targetError);
+        synchronized (session) {
+            session.advance();
+            touch(session);
+            sessions.put(session.getId(), session);
+            scheduleExpiry(session);
+            return toResponse(session);
+        }
+    }
+
+    /**
+     * Get the state of an adaptive session
+     * @param sessionId ID of the session
+     * @return Session state, with the question awaiting an answer
+     * @throws NotFoundException if the session does not exist
+     */
+    public AdaptiveSessionResponse getSession(long sessionId) {
+        AdaptiveSession session = findSession(sessionId);
+        synchronized (session) {
+            touch(session);
+            return toResponse(session);
+        }
+    }
+
+    /**
+     * Answer the current question and get the next one
+     * @param sessionId ID of the session
+     * @param answer Answer to the current question
+     * @return Session state after the answer
+     * @throws ConflictException if the session has finished or the answer is for another question
+     */
+    public AdaptiveSessionResponse answer(long sessionId, SubmitAnswersRequest.Answer answer) {
+        AdaptiveSession session = findSession(sessionId);
+        synchronized (session) {
+            if (session.isFinished()) {
+                throw FINISHED;
+            }
+            Long questionId = session.currentQuestionId();
+            if (!questionId.equals(answer.getQuestionId())) {
+                throw NOT_CURRENT;
+            }
+            Question question = session.getRevision().findQuestion(questionId);
+            session.record(quizService.checkAnswer(question, answer.getSelectedOptions()));
+            responses.increment();
+            if (session.isFinished()) {
+                // Readable for a while so the learner can fetch the result
+                session.setExpiresAtNanos(System.nanoTime() +
+                        TimeUnit.SECONDS.toNanos(properties.getFinishedRetentionSeconds()));
+                scheduleExpiry(session);
+            } else {
+                touch(session);
+            }
+            return toResponse(session);
+        }
+    }
+
+    /**
+     * End an adaptive session and forget it
+     * @param sessionId ID of the session
+     * @throws NotFoundException if the session does not exist
+     */
+    public void endSession(long sessionId) {
+        AdaptiveSession session = sessions.remove(sessionId);
+        if (session == null) {
+            throw NotFoundException.ADAPTIVE_SESSION;
+        }
+        release(session);
+    }
+
+    /**
+     * Number of sessions dropped after idling or finishing
+     * @return Expired session count
+     */
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    @Override
+    public void quizSaved(Quiz quiz) {
+        // A newer revision makes the cached table stale; drop it rather than keep it alive
+        tables.computeIfPresent(quiz.getId(),
+                (id, cached) -> cached.version() >= quiz.getVersion() ? cached : null);
+    }
+
+    @Override
+    public void questionSaved(Question question) {
+        // Tables follow quiz revisions, which change with the quiz save that follows
+    }
+
+    @Override
+    public void cleared() {
+        tables.clear();
+    }
+
+    /**
+     * Expiry handler, run on the wheel's thread
+     * A session used since it was scheduled is placed again at its new time
+     */
+    private void expire(AdaptiveSession session) {
+        if (sessions.get(session.getId()) != session) {
+            return;
+        }
+        synchronized (session) {
+            if (session.getExpiresAtNanos() - System.nanoTime() > 0) {
+                session.setExpiry(wheel.scheduleAt(session, session.getExpiresAtNanos()));
+                return;
+            }
+            if (!sessions.remove(session.getId(), session)) {
+                return;
+            }
+        }
+        expired.increment();
+        release(session);
+    }
+
+    // Called while holding the session's monitor
+    private void touch(AdaptiveSession session) {
+        if (!session.isFinished()) {
+            session.setExpiresAtNanos(System.nanoTime() +
+                    TimeUnit.SECONDS.toNanos(properties.getIdleSeconds()));
+        }
+    }
+
+    /**
+     * Place the session's wheel entry at its expiry time, replacing any earlier one
+     */
+    private void scheduleExpiry(AdaptiveSession session) {
+        TimingWheel.Timeout<AdaptiveSession> previous = session.getExpiry();
+        if (previous != null) {
+            previous.cancel();
+        }
+        session.setExpiry(wheel.scheduleAt(session, session.getExpiresAtNanos()));
+    }
+
+    private void reserve(Long quizId) {
+        int limit = properties.getMaxSessionsPerQuiz();
+        boolean[] reserved = new boolean[1];
+        sessionsPerQuiz.compute(quizId, (id, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= limit) {
+                return count;
+            }
+            reserved[0] = true;
+            return current + 1;
+        });
+        if (!reserved[0]) {
+            throw TOO_MANY_SESSIONS;
+        }
+    }
+
+    /**
+     * Finish a session that was just removed and free its place in the quiz's limit
+     */
+    private void release(AdaptiveSession session) {
+        TimingWheel.Timeout<AdaptiveSession> expiry = session.getExpiry();
+        if (expiry != null) {
+            expiry.cancel();
+        }
+        synchronized (session) {
+            session.finish();
+        }
+        sessionsPerQuiz.computeIfPresent(session.getQuizId(), (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private AdaptiveSession findSession(long sessionId) {
+        AdaptiveSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw NotFoundException.ADAPTIVE_SESSION;
+        }
+        return session;
+    }
+
+    /**
+     * Information table of a quiz revision, built at most once per revision
+     */
+    private ItemInformationTable tableFor(Quiz quiz) {
+        CachedTable cached = tables.get(quiz.getId());
+        if (cached != null && cached.version() == quiz.getVersion()) {
+            return cached.table();
+        }
+        ItemInformationTable table = tableBuilds.execute(
+                new TableKey(quiz.getId(), quiz.getVersion()), () -> buildTable(quiz));
+        // Only cache the quiz's latest revision; older sessions keep their own reference
+        if (repository.findQuizById(quiz.getId())
+                .filter(latest -> latest.getVersion() == quiz.getVersion()).isPresent()) {
+            tables.merge(quiz.getId(), new CachedTable(quiz.getVersion(), table),
+                    (previous, built) -> previous.version() >= built.version() ? previous : built);
+        }
+        return table;
+    }
+
+    private ItemInformationTable buildTable(Quiz quiz) {
+        List<Long> questionIds = quiz.getQuestionIds();
+        int items = questionIds.size();
+        long[] ids = new long[items];
+        double[] discrimination = new double[items];
+        double[] difficulty = new double[items];
+        int i = 0;
+        for (Long questionId : questionIds) {
+            Question question = quiz.findQuestion(questionId);
+            ids[i] = questionId;
+            discrimination[i] = question.getDiscrimination() != null ?
+                    question.getDiscrimination() : 1.0;
+            difficulty[i] = question.getDifficulty() != null ? question.getDifficulty() : 0.0;
+            i++;
+        }
+        return ItemInformationTable.build(ids, discrimination, difficulty,
+                properties.getAbilityBuckets());
+    }
+
+    private AdaptiveSessionResponse toResponse(AdaptiveSession session) {
+        QuestionResponse next = null;
+        Long questionId = session.currentQuestionId();
+        if (questionId != null) {
+            Question question = session.getRevision().findQuestion(questionId);
+            next = new QuestionResponse(question.getId(), question.getText(), question.getType(),
+                    question.getOptions(), question.getWordLimit());
+        }
+        return new AdaptiveSessionResponse(
+                session.getId(),
+                session.getQuizId(),
+                session.getQuizVersion(),
+                session.isFinished(),
+                session.getAnswered(),
+                session.getCorrect(),
+                session.getAbility(),
+                session.getStandardError(),
+                next
+        );
+    }
+
+    private record TableKey(Long quizId, long version) {
+    }
+
+    private record CachedTable(long version, ItemInformationTable table) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.quiz_api.adaptive;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Items of one question pool ranked by Fisher information, per ability bucket
+ * Items follow the two-parameter logistic model: a learner of ability theta
+ * answers item i correctly with probability 1 / (1 + exp(-a_i (theta - b_i))),
+ * and the item's information at theta is a_i^2 P (1 - P). The ability range
+ * is cut into equal buckets and each bucket lists every item by its
+ * information at the bucket's centre, most informative first.
+ *
+ * Selecting the next item finds the bucket by arithmetic and walks its list
+ * past items already given, so a step costs O(1 + items given) regardless of
+ * pool size. Building the table sorts the pool once per bucket. Tables are
+ * immutable and shared by every session on the same question pool.
+ */
+public final class ItemInformationTable {
+
+    public static final double MIN_ABILITY = -4.0;
+    public static final double MAX_ABILITY = 4.0;
+
+    private final long[] questionIds;
+    private final double[] discrimination;
+    private final double[] difficulty;
+    private final double bucketWidth;
+
+    // Item indices per bucket, by information at the bucket centre, descending
+    private final int[][] ranked;
+
+    private ItemInformationTable(long[] questionIds, double[] discrimination, double[] difficulty,
+                                 int[][] ranked) {
+        this.questionIds = questionIds;
+        this.discrimination = discrimination;
+        this.difficulty = difficulty;
+        this.ranked = ranked;
+        this.bucketWidth = (MAX_ABILITY - MIN_ABILITY) / ranked.length;
+    }
+
+    /**
+     * Rank a pool of items in every ability bucket
+     * @param questionIds Question ID of each item
+     * @param discrimination Discrimination (a) of each item, above 0
+     * @param difficulty Difficulty (b) of each item
+     * @param buckets Number of ability buckets between MIN_ABILITY and MAX_ABILITY
+     * @return The table
+     */
+    public static ItemInformationTable build(long[] questionIds, double[] discrimination,
+                                             double[] difficulty, int buckets) {
+        if (discrimination.length != questionIds.length || difficulty.length != questionIds.length) {
+            throw new IllegalArgumentException("Item parameter arrays differ in length");
+        }
+        if (buckets < 1) {
+            throw new IllegalArgumentException("At least one ability bucket is required");
+        }
+        int items = questionIds.length;
+        double width = (MAX_ABILITY - MIN_ABILITY) / buckets;
+        int[][] ranked = new int[buckets][];
+        // Sort (information, index) pairs packed into longs: information is
+        // non-negative, so its raw bits order like the value
+        long[] keys = new long[items];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            double centre = MIN_ABILITY + (bucket + 0.5) * width;
+            for (int i = 0; i < items; i++) {
+                float information = (float) information(discrimination[i], difficulty[i], centre);
+                keys[i] = ((long) Float.floatToIntBits(information) << 32) | i;
+            }
+            Arrays.sort(keys);
+            int[] order = new int[items];
+            for (int i = 0; i < items; i++) {
+                order[i] = (int) keys[items - 1 - i];
+            }
+            ranked[bucket] = order;
+        }
+        return new ItemInformationTable(questionIds.clone(), discrimination.clone(),
+                difficulty.clone(), ranked);
+    }
+
+    /**
+     * Most informative item at an ability that has not been given yet
+     * @param ability Current ability estimate
+     * @param administered Indices of items already given
+     * @return Item index, or -1 if every item has been given
+     */
+    public int select(double ability, BitSet administered) {
+        for (int item : ranked[bucket(ability)]) {
+            if (!administered.get(item)) {
+                return item;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Bucket holding an ability; abilities outside the range use the end buckets
+     */
+    int bucket(double ability) {
+        int bucket = (int) Math.floor((ability - MIN_ABILITY) / bucketWidth);
+        return Math.max(0, Math.min(ranked.length - 1, bucket));
+    }
+
+    /**
+     * Probability that a learner of an ability answers an item correctly
+     * @param item Item index
+     * @param ability Learner ability
+     * @return Probability of a correct answer
+     */
+    public double probability(int item, double ability) {
+        return probability(discrimination[item], difficulty[item], ability);
+    }
+
+    static double probability(double a, double b, double ability) {
+        return 1.0 / (1.0 + Math.exp(-a * (ability - b)));
+    }
+
+    /**
+     * Fisher information of an item at an ability
+     */
+    static double information(double a, double b, double ability) {
+        double p = probability(a, b, ability);
+        return a * a * p * (1 - p);
+    }
+
+    public long questionId(int item) {
+        return questionIds[item];
+    }
+
+    public double discrimination(int item) {
+        return discrimination[item];
+    }
+
+    public double difficulty(int item) {
+        return difficulty[item];
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    public int buckets() {
+        return ranked.length;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.quiz_api.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global concurrency limit that adapts to observed latency (AIMD)
+ * The limit grows by one while requests stay under the target latency
+ * and the limit is actually being used, and shrinks multiplicatively
+ * whenever a request exceeds the target
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long targetLatencyMillis, double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyMillis * 1_000_000L;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Reserve a slot for a request
+     * @return true if the request may proceed; callers must then call onComplete
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a slot and feed the request latency into the limit
+     * Concurrent updates may overwrite each other, which only loses
+     * a single step of adjustment
+     * @param latencyNanos Time the request spent being processed
+     */
+    public void onComplete(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        double currentLimit = limit;
+        if (latencyNanos > targetLatencyNanos) {
+            limit = Math.max(minLimit, currentLimit * backoffRatio);
+        } else if (current * 2 >= currentLimit && currentLimit < maxLimit) {
+            limit = Math.min(maxLimit, currentLimit + 1);
+        }
+    }
+
+    /**
+     * Current concurrency limit
+     * @return Maximum number of requests allowed in flight
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Requests currently in flight
+     * @return In-flight count
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
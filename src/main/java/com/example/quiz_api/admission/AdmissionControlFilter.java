@@ -0,0 +1,121 @@
+package com.example.quiz_api.admission;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+
+/**
+ * Admission control in front of the quiz endpoints
+ * Applies a per-client token bucket first and then a global adaptive
+ * concurrency limit. Rejections are written directly from preallocated
+ * bodies, so shedding load costs no exceptions or JSON serialization.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String PROTECTED_PATH = "/api/quizzes";
+
+    private static final String ATTEMPTS_PATH = "/api/attempts";
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"success\":false,\"error\":\"Too many requests\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] OVERLOADED_BODY =
+            "{\"success\":false,\"error\":\"Server is overloaded, please retry\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private AdmissionProperties properties;
+
+    private ClientRateLimiter clientRateLimiter;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @PostConstruct
+    void init() {
+        clientRateLimiter = new ClientRateLimiter(
+                properties.getClientRatePerSecond(),
+                properties.getClientBurst(),
+                properties.getMaxClients(),
+                properties.getClientIdleTimeoutMillis());
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                properties.getInitialConcurrencyLimit(),
+                properties.getMinConcurrencyLimit(),
+                properties.getMaxConcurrencyLimit(),
+                properties.getTargetLatencyMillis(),
+                properties.getBackoffRatio());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !properties.isEnabled() ||
+                !(uri.startsWith(PROTECTED_PATH) || uri.startsWith(ATTEMPTS_PATH));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
+
+        if (!clientRateLimiter.tryAcquire(clientId(request), start)) {
+            response.setHeader("Retry-After", "1");
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_BODY);
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            response.setHeader("Retry-After", "1");
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, OVERLOADED_BODY);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.onComplete(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Resolve the client identity from the authenticated principal or remote address
+     * Nothing the client sends itself is trusted, so rotating a header cannot
+     * buy fresh buckets. Behind a proxy, server.forward-headers-strategy
+     * makes the remote address the one the trusted proxy forwarded.
+     */
+    private String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, byte[] body)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Current global concurrency limit
+     * @return Maximum number of requests allowed in flight
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimiter.getLimit();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.quiz_api.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for admission control in front of the quiz endpoints
+ * Bound from the quiz.admission.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "quiz.admission")
+public class AdmissionProperties {
+
+    /**
+     * Whether admission control is applied at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * Sustained requests per second allowed for each client
+     */
+    private double clientRatePerSecond = 50;
+
+    /**
+     * Maximum burst size for each client
+     */
+    private int clientBurst = 100;
+
+    /**
+     * Maximum number of client buckets kept in memory
+     */
+    private int maxClients = 10_000;
+
+    /**
+     * Buckets unused for this long are evicted
+     */
+    private long clientIdleTimeoutMillis = 60_000;
+
+    /**
+     * Starting value of the global concurrency limit
+     */
+    private int initialConcurrencyLimit = 200;
+
+    /**
+     * Lower bound of the global concurrency limit
+     */
+    private int minConcurrencyLimit = 10;
+
+    /**
+     * Upper bound of the global concurrency limit
+     */
+    private int maxConcurrencyLimit = 1_000;
+
+    /**
+     * Requests slower than this shrink the global concurrency limit
+     */
+    private long targetLatencyMillis = 250;
+
+    /**
+     * Factor applied to the limit when a request exceeds the target latency
+     */
+    private double backoffRatio = 0.9;
+}
@@ -0,0 +1,107 @@
+package com.example.quiz_api.admission;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets held in a bounded concurrent map
+ * Buckets idle for longer than the idle timeout are swept out about once a
+ * second. If the map is still full of active clients, a new client evicts
+ * the least recently used tenth of them. Every client therefore keeps a
+ * bucket of its own, and no bucket is shared between clients.
+ */
+public class ClientRateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    // Share of a full map evicted at once, so the scan is paid once per many new clients
+    private static final int EVICT_FRACTION = 10;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxClients;
+    private final long idleTimeoutNanos;
+    private final AtomicLong lastSweepNanos = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    public ClientRateLimiter(double ratePerSecond, int burst, int maxClients,
+                             long idleTimeoutMillis) {
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.idleTimeoutNanos = idleTimeoutMillis * 1_000_000L;
+        this.lastSweepNanos.set(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+    }
+
+    /**
+     * Take a token from the client's bucket
+     * @param clientId Client identifier
+     * @param nowNanos Current time from System.nanoTime()
+     * @return true if the client is within its rate
+     */
+    public boolean tryAcquire(String clientId, long nowNanos) {
+        evictIdle(nowNanos);
+        TokenBucket bucket = buckets.get(clientId);
+        if (bucket == null) {
+            bucket = newBucket(clientId, nowNanos);
+        }
+        return bucket.tryAcquire(nowNanos);
+    }
+
+    private TokenBucket newBucket(String clientId, long nowNanos) {
+        if (buckets.size() >= maxClients) {
+            evictLeastRecent(nowNanos);
+        }
+        return buckets.computeIfAbsent(clientId,
+                id -> new TokenBucket(ratePerSecond, burst, nowNanos));
+    }
+
+    /**
+     * Remove buckets that have not been used within the idle timeout
+     * Runs at most once per second regardless of how many callers ask
+     * @param nowNanos Current time from System.nanoTime()
+     */
+    void evictIdle(long nowNanos) {
+        long last = lastSweepNanos.get();
+        if (nowNanos - last < SWEEP_INTERVAL_NANOS ||
+                !lastSweepNanos.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        buckets.values().removeIf(
+                bucket -> nowNanos - bucket.getLastAccessNanos() > idleTimeoutNanos);
+    }
+
+    /**
+     * Remove the least recently used buckets of a full map
+     * An evicted client that returns starts again with a full bucket
+     * @param nowNanos Current time from System.nanoTime()
+     */
+    private void evictLeastRecent(long nowNanos) {
+        synchronized (evictionLock) {
+            if (buckets.size() < maxClients) {
+                return;
+            }
+            long[] ages = buckets.values().stream()
+                    .mapToLong(bucket -> nowNanos - bucket.getLastAccessNanos())
+                    .toArray();
+            if (ages.length == 0) {
+                return;
+            }
+            Arrays.sort(ages);
+            long cutoff = ages[ages.length - Math.max(1, ages.length / EVICT_FRACTION)];
+            buckets.values().removeIf(
+                    bucket -> nowNanos - bucket.getLastAccessNanos() >= cutoff);
+        }
+    }
+
+    /**
+     * Number of clients currently tracked
+     * @return Bucket count
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.quiz_api.admission;
+
+/**
+ * Token bucket rate limiter for a single client
+ * Tokens refill continuously up to the burst capacity
+ */
+public class TokenBucket {
+
+    private final double ratePerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private volatile long lastAccessNanos;
+
+    /**
+     * Create a full bucket
+     * @param ratePerSecond Tokens added per second
+     * @param capacity Maximum number of stored tokens
+     * @param nowNanos Current time from System.nanoTime()
+     */
+    public TokenBucket(double ratePerSecond, double capacity, long nowNanos) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000d;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Take one token if available
+     * @param nowNanos Current time from System.nanoTime()
+     * @return true if the request may proceed
+     */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        lastAccessNanos = nowNanos;
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * ratePerNano);
+            lastRefillNanos = nowNanos;
+        }
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Time of the last acquire attempt
+     * @return Timestamp from System.nanoTime()
+     */
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.quiz_api.config;
+
+import com.example.quiz_api.live.LiveQuizWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Configuration for the live session WebSocket endpoint
+ * Participants connect to /ws/live/{sessionId}
+ */
+@Configuration
+@EnableWebSocket
+public class LiveWebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private LiveQuizWebSocketHandler liveQuizWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(liveQuizWebSocketHandler, "/ws/live/*");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.quiz_api.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Wire format of snowflake IDs
+ * Snowflake IDs use up to 63 bits, while a JavaScript number holds integers
+ * exactly only up to 2^53 - 1. With quiz.ids.strategy=snowflake, longs
+ * outside that range are written as strings in JSON and CBOR responses;
+ * smaller values, such as versions and counts, stay numbers. Requests may
+ * send IDs as strings or numbers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "quiz.ids.strategy", havingValue = "snowflake")
+public class SnowflakeJsonConfig {
+
+    /**
+     * Largest integer a JavaScript number represents exactly
+     */
+    public static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+
+    /**
+     * Jackson module writing unsafe longs as strings
+     * Registered with every ObjectMapper Spring Boot builds
+     * @return The module
+     */
+    @Bean
+    public Module snowflakeIdModule() {
+        SimpleModule module = new SimpleModule("snowflake-ids");
+        module.addSerializer(Long.class, new SafeLongSerializer());
+        module.addSerializer(Long.TYPE, new SafeLongSerializer());
+        return module;
+    }
+
+    private static final class SafeLongSerializer extends StdSerializer<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private SafeLongSerializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            if (value > MAX_SAFE_INTEGER || value < -MAX_SAFE_INTEGER) {
+                generator.writeString(value.toString());
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+    }
+}
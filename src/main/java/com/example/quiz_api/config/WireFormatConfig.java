@@ -0,0 +1,67 @@
+package com.example.quiz_api.config;
+
+import com.example.quiz_api.timing.Stage;
+import com.example.quiz_api.timing.StageTimer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Configuration for the binary wire format
+ * Clients sending Accept: application/cbor receive CBOR instead of JSON,
+ * and request bodies may be sent as Content-Type: application/cbor
+ * Both converters time response serialization as Stage.SERIALIZATION
+ */
+@Configuration
+public class WireFormatConfig {
+
+    /**
+     * CBOR message converter sharing the application's Jackson settings
+     * (property inclusion, date handling and registered modules)
+     * @param builder Jackson builder configured by Spring Boot
+     * @return Converter registered alongside the JSON converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.factory(new CBORFactory()).indentOutput(false).build()) {
+            @Override
+            @SuppressWarnings("try")
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException {
+                try (StageTimer timer = StageTimer.start(Stage.SERIALIZATION)) {
+                    super.writeInternal(object, type, outputMessage);
+                }
+            }
+        };
+    }
+
+    /**
+     * JSON message converter, replacing Spring Boot's to time serialization
+     * @param objectMapper Object mapper configured by Spring Boot
+     * @return Converter for application/json
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            @SuppressWarnings("try")
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException {
+                try (StageTimer timer = StageTimer.start(Stage.SERIALIZATION)) {
+                    super.writeInternal(object, type, outputMessage);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.quiz_api.controller;
+
+import com.example.quiz_api.adaptive.AdaptiveSessionManager;
+import com.example.quiz_api.dto.AdaptiveSessionResponse;
+import com.example.quiz_api.dto.ApiResponse;
+import com.example.quiz_api.dto.CreateAdaptiveSessionRequest;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for computerized adaptive sessions
+ * A session asks one question at a time from a quiz's questions, choosing
+ * each by the learner's running ability estimate
+ */
+@RestController
+@RequestMapping("/api/adaptive-sessions")
+public class AdaptiveSessionController {
+
+    @Autowired
+    private AdaptiveSessionManager sessionManager;
+
+    /**
+     * Start an adaptive session over a quiz's questions
+     * POST /api/adaptive-sessions
+     * @param request Quiz and optional stopping rules
+     * @return Created session with its first question
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<AdaptiveSessionResponse>> createSession(
+            @Valid @RequestBody CreateAdaptiveSessionRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(sessionManager.createSession(request)));
+    }
+
+    /**
+     * Get the state of an adaptive session
+     * GET /api/adaptive-sessions/{sessionId}
+     * @param sessionId ID of the session
+     * @return Session state with the question awaiting an answer
+     */
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<ApiResponse<AdaptiveSessionResponse>> getSession(
+            @PathVariable long sessionId) {
+        return ResponseEntity.ok(ApiResponse.success(sessionManager.getSession(sessionId)));
+    }
+
+    /**
+     * Answer the current question
+     * POST /api/adaptive-sessions/{sessionId}/answer
+     * @param sessionId ID of the session
+     * @param answer Answer to the current question
+     * @return Updated estimate and the next question, or the final state
+     */
+    @PostMapping("/{sessionId}/answer")
+    public ResponseEntity<ApiResponse<AdaptiveSessionResponse>> answer(
+            @PathVariable long sessionId,
+            @Valid @RequestBody SubmitAnswersRequest.Answer answer) {
+        return ResponseEntity.ok(ApiResponse.success(sessionManager.answer(sessionId, answer)));
+    }
+
+    /**
+     * End an adaptive session
+     * DELETE /api/adaptive-sessions/{sessionId}
+     * @param sessionId ID of the session
+     * @return Empty success response
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> endSession(@PathVariable long sessionId) {
+        sessionManager.endSession(sessionId);
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.quiz_api.controller;
+
+import com.example.quiz_api.timing.Stage;
+import com.example.quiz_api.timing.StageTimer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Writes list responses in the ApiResponse envelope without building them in memory
+ * The envelope is opened, each item is serialized as it is pulled from the
+ * iterator, and output is flushed in chunks, so time-to-first-byte and heap
+ * use do not grow with the number of items
+ */
+@Component
+public class ApiResponseStreamer {
+
+    /**
+     * Number of items written between flushes
+     */
+    static final int FLUSH_EVERY = 64;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    private ObjectWriter jsonWriter;
+    private ObjectWriter cborWriter;
+
+    @PostConstruct
+    void init() {
+        jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        cborWriter = cborConverter.getObjectMapper().writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Stream a successful response whose data is a list
+     * @param request Current request, used for content negotiation
+     * @param response Response to write to
+     * @param items Items of the data list, consumed lazily
+     */
+    @SuppressWarnings("try")
+    public void writeList(HttpServletRequest request, HttpServletResponse response,
+                          Iterator<?> items) throws IOException {
+        boolean cbor = prefersCbor(request);
+        ObjectWriter writer = cbor ? cborWriter : jsonWriter;
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cbor ?
+                MediaType.APPLICATION_CBOR_VALUE : MediaType.APPLICATION_JSON_VALUE);
+
+        try (StageTimer timer = StageTimer.start(Stage.SERIALIZATION);
+             JsonGenerator generator = writer.createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeFieldName("data");
+            generator.writeStartArray();
+            int written = 0;
+            while (items.hasNext()) {
+                writer.writeValue(generator, items.next());
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Whether the client ranks CBOR above JSON in its Accept header
+     * An explicit CBOR entry beats wildcards of equal quality, matching
+     * Spring's negotiation for the buffered endpoints; JSON wins other ties
+     */
+    private boolean prefersCbor(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isEmpty()) {
+            return false;
+        }
+        double cborQuality = 0;
+        double jsonQuality = 0;
+        double wildcardQuality = 0;
+        for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            double quality = mediaType.getQualityValue();
+            if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                cborQuality = Math.max(cborQuality, quality);
+            } else if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                wildcardQuality = Math.max(wildcardQuality, quality);
+            } else if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                jsonQuality = Math.max(jsonQuality, quality);
+            }
+        }
+        return cborQuality > jsonQuality && cborQuality >= wildcardQuality;
+    }
+}
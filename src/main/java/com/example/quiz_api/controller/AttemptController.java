@@ -0,0 +1,92 @@
+package com.example.quiz_api.controller;
+
+import com.example.quiz_api.dto.ApiResponse;
+import com.example.quiz_api.dto.AttemptResponse;
+import com.example.quiz_api.dto.QuestionResponse;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.service.AttemptService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for quiz attempts
+ * Attempts are started at POST /api/quizzes/{quizId}/attempts
+ */
+@RestController
+@RequestMapping("/api/attempts")
+public class AttemptController {
+
+    @Autowired
+    private AttemptService attemptService;
+
+    /**
+     * Get an attempt with its saved answers and, once finished, its result
+     * GET /api/attempts/{attemptId}
+     * @param attemptId ID of the attempt
+     * @return The attempt
+     */
+    @GetMapping("/{attemptId}")
+    public ResponseEntity<ApiResponse<AttemptResponse>> getAttempt(@PathVariable Long attemptId) {
+        return ResponseEntity.ok(ApiResponse.success(attemptService.getAttempt(attemptId)));
+    }
+
+    /**
+     * Get the questions of an open attempt, as of the quiz revision it started on
+     * GET /api/attempts/{attemptId}/questions
+     * @param attemptId ID of the attempt
+     * @return Questions without correct answers
+     */
+    @GetMapping("/{attemptId}/questions")
+    public ResponseEntity<ApiResponse<List<QuestionResponse>>> getQuestions(
+            @PathVariable Long attemptId) {
+        return ResponseEntity.ok(ApiResponse.success(attemptService.getAttemptQuestions(attemptId)));
+    }
+
+    /**
+     * Save answers without submitting
+     * PUT /api/attempts/{attemptId}/answers
+     * @param attemptId ID of the attempt
+     * @param request Answers to save
+     * @return The attempt with its saved answers
+     */
+    @PutMapping("/{attemptId}/answers")
+    public ResponseEntity<ApiResponse<AttemptResponse>> saveAnswers(
+            @PathVariable Long attemptId,
+            @Valid @RequestBody SubmitAnswersRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(attemptService.saveAnswers(attemptId, request)));
+    }
+
+    /**
+     * Autosave answers while the attempt is in progress
+     * POST /api/attempts/{attemptId}/autosave
+     * Saves are coalesced and written to the store periodically
+     * @param attemptId ID of the attempt
+     * @param request Answers to save
+     * @return Empty accepted response
+     */
+    @PostMapping("/{attemptId}/autosave")
+    public ResponseEntity<ApiResponse<Void>> autosave(
+            @PathVariable Long attemptId,
+            @Valid @RequestBody SubmitAnswersRequest request) {
+        attemptService.autosave(attemptId, request);
+        return ResponseEntity.accepted().body(ApiResponse.success(null));
+    }
+
+    /**
+     * Submit an attempt for grading
+     * POST /api/attempts/{attemptId}/submit
+     * @param attemptId ID of the attempt
+     * @param request Optional final answers; saved answers are graded if omitted
+     * @return The graded attempt
+     */
+    @PostMapping("/{attemptId}/submit")
+    public ResponseEntity<ApiResponse<AttemptResponse>> submit(
+            @PathVariable Long attemptId,
+            @Valid @RequestBody(required = false) SubmitAnswersRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(attemptService.submit(attemptId, request)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.quiz_api.controller;
+
+import com.example.quiz_api.export.ExportFormat;
+import com.example.quiz_api.export.QuizExporter;
+import com.example.quiz_api.export.SpoolFileSender;
+import com.example.quiz_api.security.OperatorGuard;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * REST Controller for exporting quizzes
+ * Exports are spooled to disk and sent from there, with Range support
+ * for resuming interrupted downloads.
+ * Questions are exported without their correct answers; operators get
+ * them with answers=true and the X-Operator-Token header.
+ */
+@RestController
+@RequestMapping("/api/quizzes")
+public class ExportController {
+
+    @Autowired
+    private QuizExporter exporter;
+
+    @Autowired
+    private SpoolFileSender sender;
+
+    @Autowired
+    private OperatorGuard operatorGuard;
+
+    /**
+     * Export every quiz with its questions
+     * GET /api/quizzes/export?format=ndjson|cbor&answers=false
+     * @param format Output format, NDJSON by default
+     * @param answers Whether to include correct answers; operators only
+     * @param operatorToken Operator token, required for answers
+     * @param request Current request
+     * @param response Response the export is sent in
+     */
+    @GetMapping("/export")
+    public void exportAll(@RequestParam(defaultValue = "ndjson") String format,
+                          @RequestParam(defaultValue = "false") boolean answers,
+                          @RequestHeader(value = OperatorGuard.HEADER, required = false)
+                          String operatorToken,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        if (answers) {
+            operatorGuard.check(operatorToken);
+        }
+        sender.send(request, response, exporter.exportAll(exportFormat, answers));
+    }
+
+    /**
+     * Export one quiz with its questions
+     * GET /api/quizzes/{quizId}/export?format=ndjson|cbor&answers=false
+     * @param quizId ID of the quiz
+     * @param format Output format, NDJSON by default
+     * @param answers Whether to include correct answers; operators only
+     * @param operatorToken Operator token, required for answers
+     * @param request Current request
+     * @param response Response the export is sent in
+     */
+    @GetMapping("/{quizId}/export")
+    public void exportQuiz(@PathVariable Long quizId,
+                           @RequestParam(defaultValue = "ndjson") String format,
+                           @RequestParam(defaultValue = "false") boolean answers,
+                           @RequestHeader(value = OperatorGuard.HEADER, required = false)
+                           String operatorToken,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        if (answers) {
+            operatorGuard.check(operatorToken);
+        }
+        sender.send(request, response, exporter.exportQuiz(quizId, exportFormat, answers));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.quiz_api.controller;
+
+import com.example.quiz_api.dto.ApiResponse;
+import com.example.quiz_api.exception.ConflictException;
+import com.example.quiz_api.exception.ForbiddenException;
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.exception.ValidationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+/**
+ * Maps exceptions from all controllers to ApiResponse error bodies
+ * Domain exceptions carry prebuilt bodies, so the common error paths
+ * allocate nothing beyond the ResponseEntity
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final ApiResponse<Void> MALFORMED_BODY =
+            ApiResponse.error("Malformed request body");
+
+    /**
+     * Missing quizzes and questions
+     * @return 404 Not Found
+     */
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleNotFound(NotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getBody());
+    }
+
+    /**
+     * Business rule violations
+     * @return 400 Bad Request
+     */
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<ApiResponse<Void>> handleValidation(ValidationException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getBody());
+    }
+
+    /**
+     * Requests lacking the credentials for a resource
+     * @return 403 Forbidden
+     */
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<ApiResponse<Void>> handleForbidden(ForbiddenException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getBody());
+    }
+
+    /**
+     * Requests conflicting with current state
+     * @return 409 Conflict
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiResponse<Void>> handleConflict(ConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getBody());
+    }
+
+    /**
+     * Bean validation failures on request bodies
+     * @return 400 Bad Request with the first field error
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ApiResponse<Void>> handleInvalidArgument(
+            MethodArgumentNotValidException e) {
+        FieldError fieldError = e.getBindingResult().getFieldError();
+        String message = fieldError != null ?
+                fieldError.getDefaultMessage() : "Invalid request";
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(message));
+    }
+
+    /**
+     * Path variables and query parameters of the wrong type
+     * @return 400 Bad Request naming the parameter
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTypeMismatch(
+            MethodArgumentTypeMismatchException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid value for parameter '" + e.getName() + "'"));
+    }
+
+    /**
+     * Request bodies that cannot be parsed
+     * @return 400 Bad Request
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleUnreadable(HttpMessageNotReadableException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(MALFORMED_BODY);
+    }
+}
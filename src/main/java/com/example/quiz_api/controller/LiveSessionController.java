@@ -0,0 +1,81 @@
+package com.example.quiz_api.controller;
+
+import com.example.quiz_api.dto.ApiResponse;
+import com.example.quiz_api.dto.CreateLiveSessionRequest;
+import com.example.quiz_api.dto.LiveSessionResponse;
+import com.example.quiz_api.live.LiveSessionManager;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for hosting live quiz sessions
+ * Participants play over the WebSocket endpoint /ws/live/{sessionId};
+ * the host creates and drives the session here
+ */
+@RestController
+@RequestMapping("/api/live-sessions")
+public class LiveSessionController {
+
+    private static final String HOST_TOKEN_HEADER = "X-Host-Token";
+
+    @Autowired
+    private LiveSessionManager sessionManager;
+
+    /**
+     * Start a live session for a quiz
+     * POST /api/live-sessions
+     * @param request Quiz to play
+     * @return Created session with its host token
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<LiveSessionResponse>> createSession(
+            @Valid @RequestBody CreateLiveSessionRequest request) {
+        LiveSessionResponse session = sessionManager.createSession(request.getQuizId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(session));
+    }
+
+    /**
+     * Get the state of a live session
+     * GET /api/live-sessions/{sessionId}
+     * @param sessionId ID of the session
+     * @return Session state
+     */
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<ApiResponse<LiveSessionResponse>> getSession(
+            @PathVariable long sessionId) {
+        return ResponseEntity.ok(ApiResponse.success(sessionManager.getSession(sessionId)));
+    }
+
+    /**
+     * Broadcast the next question to all participants
+     * POST /api/live-sessions/{sessionId}/advance
+     * @param sessionId ID of the session
+     * @param hostToken Host token from session creation
+     * @return Session state after advancing
+     */
+    @PostMapping("/{sessionId}/advance")
+    public ResponseEntity<ApiResponse<LiveSessionResponse>> advance(
+            @PathVariable long sessionId,
+            @RequestHeader(value = HOST_TOKEN_HEADER, required = false) String hostToken) {
+        return ResponseEntity.ok(ApiResponse.success(sessionManager.advance(sessionId, hostToken)));
+    }
+
+    /**
+     * End a live session and disconnect its participants
+     * DELETE /api/live-sessions/{sessionId}
+     * @param sessionId ID of the session
+     * @param hostToken Host token from session creation
+     * @return Empty success response
+     */
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> endSession(
+            @PathVariable long sessionId,
+            @RequestHeader(value = HOST_TOKEN_HEADER, required = false) String hostToken) {
+        sessionManager.endSession(sessionId, hostToken);
+        return ResponseEntity.ok(ApiResponse.success(null));
+    }
+}
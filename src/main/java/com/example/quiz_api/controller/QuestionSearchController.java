@@ -0,0 +1,38 @@
+package com.example.quiz_api.controller;
+
+import com.example.quiz_api.dto.ApiResponse;
+import com.example.quiz_api.dto.QuestionSearchResult;
+import com.example.quiz_api.search.QuestionSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for searching the question bank
+ * Lets authors find existing questions by their text or option texts
+ */
+@RestController
+@RequestMapping("/api/questions")
+public class QuestionSearchController {
+
+    @Autowired
+    private QuestionSearchService searchService;
+
+    /**
+     * Search questions by text
+     * GET /api/questions/search?q=capital%20fra&limit=20&prefix=true
+     * @param query Free text; the last word may be incomplete unless prefix is false
+     * @param limit Maximum results
+     * @param prefix Whether the last word may be incomplete
+     * @return Matching questions without correct answers, best first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<QuestionSearchResult>>> search(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Boolean prefix) {
+        return ResponseEntity.ok(ApiResponse.success(searchService.search(query, limit, prefix)));
+    }
+}
@@ -3,18 +3,27 @@ package com.example.quiz_api.controller;
 import com.example.quiz_api.dto.*;
 import com.example.quiz_api.model.Question;
 import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.service.AttemptService;
+import com.example.quiz_api.service.ChangeFeed;
 import com.example.quiz_api.service.QuizService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * REST Controller for Quiz API endpoints
  * Handles all HTTP requests related to quizzes
+ * Errors are mapped to responses by GlobalExceptionHandler
  */
 @RestController
 @RequestMapping("/api/quizzes")
@@ -23,6 +32,15 @@ public class QuizController {
     @Autowired
     private QuizService quizService;
 
+    @Autowired
+    private ApiResponseStreamer responseStreamer;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private AttemptService attemptService;
+
     /**
      * Create a new quiz
      * POST /api/quizzes
@@ -32,88 +50,145 @@ public class QuizController {
     @PostMapping
     public ResponseEntity<ApiResponse<Quiz>> createQuiz(
             @Valid @RequestBody CreateQuizRequest request) {
-        try {
-            Quiz quiz = quizService.createQuiz(request);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success(quiz));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(ApiResponse.error(e.getMessage()));
-        }
+        Quiz quiz = quizService.createQuiz(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(quiz));
     }
 
     /**
      * Get all quizzes
      * GET /api/quizzes
-     * @return List of all quizzes
+     * The list of all quizzes is streamed straight from the repository
+     * @param request Current request
+     * @param response Response the list is written to
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<QuizListResponse>>> getAllQuizzes() {
-        try {
-            List<QuizListResponse> quizzes = quizService.getAllQuizzes();
-            return ResponseEntity.ok(ApiResponse.success(quizzes));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error(e.getMessage()));
+    public void getAllQuizzes(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        try (Stream<QuizListResponse> quizzes = quizService.streamAllQuizzes()) {
+            responseStreamer.writeList(request, response, quizzes.iterator());
         }
     }
 
+    /**
+     * Get quizzes changed since a catalog version
+     * GET /api/quizzes?since={version}&epoch={epoch}
+     * @param since Version returned by the client's previous sync
+     * @param epoch Epoch returned with that version
+     * @return Changed quizzes and the epoch and version for the next sync
+     */
+    @GetMapping(params = "since")
+    public ResponseEntity<ApiResponse<QuizChangesResponse>> getQuizChanges(
+            @RequestParam long since,
+            @RequestParam(required = false) String epoch) {
+        return ResponseEntity.ok(ApiResponse.success(
+                quizService.getQuizzesChangedSince(since, epoch)));
+    }
+
+    /**
+     * Stream quiz and question changes as Server-Sent Events
+     * GET /api/quizzes/events
+     * Reconnecting clients send Last-Event-ID to replay missed events
+     * @param lastEventId ID of the last event the client received
+     * @return Event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
     /**
      * Add a question to a quiz
      * POST /api/quizzes/{quizId}/questions
      * @param quizId ID of the quiz
      * @param request Question details
-     * @return Created question
+     * @return Created question, or the shared question it matched
      */
     @PostMapping("/{quizId}/questions")
-    public ResponseEntity<ApiResponse<Question>> addQuestion(
+    public ResponseEntity<ApiResponse<AddQuestionResponse>> addQuestion(
             @PathVariable Long quizId,
             @Valid @RequestBody AddQuestionRequest request) {
-        try {
-            Question question = quizService.addQuestionToQuiz(quizId, request);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success(question));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(ApiResponse.error(e.getMessage()));
-        }
+        Question question = quizService.addQuestionToQuiz(quizId, request);
+        AddQuestionResponse added = new AddQuestionResponse(
+                question.getId(),
+                quizId,
+                question.getText(),
+                question.getType(),
+                question.getOptions(),
+                question.getCorrectAnswerIds(),
+                question.getCorrectAnswerTexts(),
+                question.getWordLimit(),
+                question.getDifficulty(),
+                question.getDiscrimination(),
+                question.getWeight()
+        );
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(added));
+    }
+
+    /**
+     * Remove a question from a quiz
+     * DELETE /api/quizzes/{quizId}/questions/{questionId}
+     * @param quizId ID of the quiz
+     * @param questionId ID of the question
+     * @return The quiz without the question
+     */
+    @DeleteMapping("/{quizId}/questions/{questionId}")
+    public ResponseEntity<ApiResponse<Quiz>> removeQuestion(
+            @PathVariable Long quizId,
+            @PathVariable Long questionId) {
+        Quiz quiz = quizService.removeQuestionFromQuiz(quizId, questionId);
+        return ResponseEntity.ok(ApiResponse.success(quiz));
     }
 
     /**
      * Get all questions for a quiz
      * GET /api/quizzes/{quizId}/questions
+     * The questions (without correct answers) are streamed from the shared list
      * @param quizId ID of the quiz
-     * @return List of questions (without correct answers)
+     * @param request Current request
+     * @param response Response the list is written to
      */
     @GetMapping("/{quizId}/questions")
-    public ResponseEntity<ApiResponse<List<QuestionResponse>>> getQuizQuestions(
-            @PathVariable Long quizId) {
-        try {
-            List<QuestionResponse> questions = quizService.getQuizQuestions(quizId);
-            return ResponseEntity.ok(ApiResponse.success(questions));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(ApiResponse.error(e.getMessage()));
-        }
+    public void getQuizQuestions(@PathVariable Long quizId,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        List<QuestionResponse> questions = quizService.getQuizQuestions(quizId);
+        responseStreamer.writeList(request, response, questions.iterator());
     }
 
     /**
      * Submit answers for a quiz
      * POST /api/quizzes/{quizId}/submit
+     * Retries carrying the same Idempotency-Key header get the original result
      * @param quizId ID of the quiz
+     * @param idempotencyKey Optional client-chosen key identifying this submission
      * @param request Answer submission
      * @return Score and results
      */
     @PostMapping("/{quizId}/submit")
     public ResponseEntity<ApiResponse<SubmitAnswersResponse>> submitAnswers(
             @PathVariable Long quizId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody SubmitAnswersRequest request) {
-        try {
-            SubmitAnswersResponse response = quizService.submitQuizAnswers(quizId, request);
-            return ResponseEntity.ok(ApiResponse.success(response));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(ApiResponse.error(e.getMessage()));
-        }
+        SubmitAnswersResponse response =
+                quizService.submitQuizAnswers(quizId, request, idempotencyKey);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Start an attempt at a quiz
+     * POST /api/quizzes/{quizId}/attempts
+     * Timed quizzes must be taken this way; the attempt is auto-submitted
+     * with its saved answers when the time limit runs out
+     * @param quizId ID of the quiz
+     * @return Created attempt with its deadline
+     */
+    @PostMapping("/{quizId}/attempts")
+    public ResponseEntity<ApiResponse<AttemptResponse>> startAttempt(@PathVariable Long quizId) {
+        AttemptResponse attempt = attemptService.startAttempt(quizId);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(attempt));
     }
-}
\ No newline at end of file
+}
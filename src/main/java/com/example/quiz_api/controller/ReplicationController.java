@@ -0,0 +1,65 @@
+package com.example.quiz_api.controller;
+
+import com.example.quiz_api.dto.ApiResponse;
+import com.example.quiz_api.dto.FollowLeaderRequest;
+import com.example.quiz_api.dto.ReplicationStatusResponse;
+import com.example.quiz_api.replication.ReplicationManager;
+import com.example.quiz_api.security.OperatorGuard;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for replication status and failover
+ * Failover requires the operator token in X-Operator-Token
+ */
+@RestController
+@RequestMapping("/api/replication")
+public class ReplicationController {
+
+    @Autowired
+    private ReplicationManager replicationManager;
+
+    @Autowired
+    private OperatorGuard operatorGuard;
+
+    /**
+     * Get this instance's role, log position and lag
+     * GET /api/replication
+     * @return Replication status
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<ReplicationStatusResponse>> getStatus() {
+        return ResponseEntity.ok(ApiResponse.success(replicationManager.getStatus()));
+    }
+
+    /**
+     * Promote this follower to leader
+     * POST /api/replication/promote
+     * @param operatorToken Operator token
+     * @return Status after promotion
+     */
+    @PostMapping("/promote")
+    public ResponseEntity<ApiResponse<ReplicationStatusResponse>> promote(
+            @RequestHeader(value = OperatorGuard.HEADER, required = false) String operatorToken) {
+        operatorGuard.check(operatorToken);
+        return ResponseEntity.ok(ApiResponse.success(replicationManager.promote()));
+    }
+
+    /**
+     * Follow another leader
+     * POST /api/replication/follow
+     * @param request Leader host and replication port
+     * @param operatorToken Operator token
+     * @return Status after switching
+     */
+    @PostMapping("/follow")
+    public ResponseEntity<ApiResponse<ReplicationStatusResponse>> follow(
+            @Valid @RequestBody FollowLeaderRequest request,
+            @RequestHeader(value = OperatorGuard.HEADER, required = false) String operatorToken) {
+        operatorGuard.check(operatorToken);
+        return ResponseEntity.ok(ApiResponse.success(
+                replicationManager.follow(request.getHost(), request.getPort())));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.quiz_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO describing an adaptive session
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdaptiveSessionResponse {
+
+    /**
+     * Session ID used to answer questions
+     */
+    private Long id;
+
+    /**
+     * Quiz whose questions form the item pool
+     */
+    private Long quizId;
+
+    /**
+     * Change version of the quiz revision the session is pinned to
+     */
+    private long quizVersion;
+
+    /**
+     * Whether the session has stopped asking questions
+     */
+    private Boolean finished;
+
+    /**
+     * Questions answered so far
+     */
+    private Integer answered;
+
+    /**
+     * Questions answered correctly so far
+     */
+    private Integer correct;
+
+    /**
+     * Current ability estimate on the item response theory scale
+     */
+    private Double ability;
+
+    /**
+     * Standard error of the ability estimate
+     */
+    private Double standardError;
+
+    /**
+     * Question to answer next (without correct answers), null once finished
+     */
+    private QuestionResponse question;
+}
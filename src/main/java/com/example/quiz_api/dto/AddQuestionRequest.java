@@ -52,4 +52,22 @@ public class AddQuestionRequest {
      * Optional, defaults to 300
      */
     private Integer wordLimit;
+
+    /**
+     * Item response theory difficulty, used by adaptive sessions
+     * Optional, between -6 and 6
+     */
+    private Double difficulty;
+
+    /**
+     * Item response theory discrimination, used by adaptive sessions
+     * Optional, above 0 and at most 6
+     */
+    private Double discrimination;
+
+    /**
+     * Points the question is worth
+     * Optional, above 0 and at most 1000, defaults to 1
+     */
+    private Double weight;
 }
\ No newline at end of file
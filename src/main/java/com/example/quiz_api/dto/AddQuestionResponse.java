@@ -0,0 +1,75 @@
+package com.example.quiz_api.dto;
+
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.QuestionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a question added to a quiz
+ * Includes correct answers, for the quiz's author. Questions are shared
+ * between quizzes, so quizId is the quiz the question was added to.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AddQuestionResponse {
+
+    /**
+     * Unique identifier for the question
+     */
+    private Long id;
+
+    /**
+     * ID of the quiz the question was added to
+     */
+    private Long quizId;
+
+    /**
+     * The question text
+     */
+    private String text;
+
+    /**
+     * Type of question
+     */
+    private QuestionType type;
+
+    /**
+     * List of options for choice-based questions
+     */
+    private List<Option> options;
+
+    /**
+     * List of correct option IDs for choice-based questions
+     */
+    private List<Long> correctAnswerIds;
+
+    /**
+     * List of correct text answers for text-based questions
+     */
+    private List<String> correctAnswerTexts;
+
+    /**
+     * Word limit for text questions
+     */
+    private Integer wordLimit;
+
+    /**
+     * Item response theory difficulty, or null if not calibrated
+     */
+    private Double difficulty;
+
+    /**
+     * Item response theory discrimination, or null if not calibrated
+     */
+    private Double discrimination;
+
+    /**
+     * Points the question is worth, or null for 1
+     */
+    private Double weight;
+}
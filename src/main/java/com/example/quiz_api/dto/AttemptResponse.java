@@ -0,0 +1,64 @@
+package com.example.quiz_api.dto;
+
+import com.example.quiz_api.model.AttemptStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO describing a quiz attempt
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttemptResponse {
+
+    /**
+     * Attempt ID used to save answers and submit
+     */
+    private Long id;
+
+    /**
+     * Quiz being attempted
+     */
+    private Long quizId;
+
+    /**
+     * Change version of the quiz revision the attempt is graded against
+     */
+    private long quizVersion;
+
+    /**
+     * Current state of the attempt
+     */
+    private AttemptStatus status;
+
+    /**
+     * Timestamp when the attempt was started
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Time after which answers are no longer accepted, or null if untimed
+     */
+    private LocalDateTime deadline;
+
+    /**
+     * Timestamp when the attempt was submitted or expired
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * Saved answers by question ID, so a client can resume the attempt
+     */
+    private Map<Long, List<Long>> answers;
+
+    /**
+     * Grading result once the attempt is submitted or expired
+     */
+    private SubmitAnswersResponse result;
+}
@@ -0,0 +1,45 @@
+package com.example.quiz_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change notification sent on the quiz event stream
+ * The id is also the SSE event id, so clients can resume after it
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeEvent {
+
+    public static final String QUIZ_CREATED = "quiz-created";
+    public static final String QUESTION_ADDED = "question-added";
+    public static final String QUESTION_REMOVED = "question-removed";
+
+    /**
+     * Sent instead of a replay when the requested events are no longer buffered;
+     * the client should reload the catalog
+     */
+    public static final String RESET = "reset";
+
+    /**
+     * Sequence number of the event, increasing by one per change
+     */
+    private long id;
+
+    /**
+     * Kind of change, also used as the SSE event name
+     */
+    private String type;
+
+    /**
+     * Quiz that changed
+     */
+    private Long quizId;
+
+    /**
+     * Question that changed, for question events
+     */
+    private Long questionId;
+}
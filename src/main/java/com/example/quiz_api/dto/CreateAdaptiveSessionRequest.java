@@ -0,0 +1,33 @@
+package com.example.quiz_api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for starting an adaptive session over a quiz's questions
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateAdaptiveSessionRequest {
+
+    /**
+     * ID of the quiz whose questions form the item pool
+     */
+    @NotNull(message = "Quiz ID is required")
+    private Long quizId;
+
+    /**
+     * Maximum questions to ask
+     * Optional, defaults to quiz.adaptive.max-items
+     */
+    private Integer maxItems;
+
+    /**
+     * Stop once the ability standard error is at most this
+     * Optional, defaults to quiz.adaptive.target-error
+     */
+    private Double targetError;
+}
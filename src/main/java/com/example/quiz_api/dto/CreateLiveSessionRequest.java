@@ -0,0 +1,21 @@
+package com.example.quiz_api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for starting a live session of a quiz
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateLiveSessionRequest {
+
+    /**
+     * ID of the quiz to play
+     */
+    @NotNull(message = "Quiz ID is required")
+    private Long quizId;
+}
@@ -1,6 +1,11 @@
 package com.example.quiz_api.dto;
 
+import com.example.quiz_api.model.PartialCredit;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -19,4 +24,35 @@ public class CreateQuizRequest {
      */
     @NotBlank(message = "Quiz title is required")
     private String title;
+
+    /**
+     * Optional time limit for each attempt in seconds
+     * Omit for an untimed quiz
+     */
+    @Positive(message = "Time limit must be positive")
+    @Max(value = 604800, message = "Time limit cannot exceed one week")
+    private Integer timeLimitSeconds;
+
+    /**
+     * Optional partial credit for multiple choice questions
+     * Omit to score them all-or-nothing
+     */
+    private PartialCredit partialCredit;
+
+    /**
+     * Optional share of a question's points deducted for a wrong answer
+     * Between 0 and 1; omit for no negative marking
+     */
+    @DecimalMin(value = "0", message = "Negative marking must be between 0 and 1")
+    @DecimalMax(value = "1", message = "Negative marking must be between 0 and 1")
+    private Double negativeMarking;
+
+    public CreateQuizRequest(String title) {
+        this.title = title;
+    }
+
+    public CreateQuizRequest(String title, Integer timeLimitSeconds) {
+        this.title = title;
+        this.timeLimitSeconds = timeLimitSeconds;
+    }
 }
\ No newline at end of file
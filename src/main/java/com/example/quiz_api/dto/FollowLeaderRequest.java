@@ -0,0 +1,32 @@
+package com.example.quiz_api.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for pointing an instance at a new leader
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowLeaderRequest {
+
+    /**
+     * Host of the leader
+     */
+    @NotBlank(message = "Leader host is required")
+    private String host;
+
+    /**
+     * Replication port of the leader
+     */
+    @NotNull(message = "Leader port is required")
+    @Min(value = 1, message = "Invalid port")
+    @Max(value = 65535, message = "Invalid port")
+    private Integer port;
+}
@@ -0,0 +1,50 @@
+package com.example.quiz_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO describing a live session
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LiveSessionResponse {
+
+    /**
+     * Session ID participants connect to at /ws/live/{id}
+     */
+    private Long id;
+
+    /**
+     * Quiz being played
+     */
+    private Long quizId;
+
+    /**
+     * Secret the host sends in X-Host-Token to control the session
+     * Only returned when the session is created
+     */
+    private String hostToken;
+
+    /**
+     * Number of questions in the session
+     */
+    private Integer questionCount;
+
+    /**
+     * Index of the current question, -1 before the first one
+     */
+    private Integer currentQuestion;
+
+    /**
+     * Connected participants
+     */
+    private Integer participants;
+
+    /**
+     * Whether all questions have been played
+     */
+    private Boolean finished;
+}
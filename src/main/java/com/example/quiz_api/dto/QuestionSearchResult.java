@@ -0,0 +1,25 @@
+package com.example.quiz_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for one question search match
+ * The question is shown as quiz takers see it, without correct answers
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuestionSearchResult {
+
+    /**
+     * The matching question
+     */
+    private QuestionResponse question;
+
+    /**
+     * BM25 relevance score; higher is a better match
+     */
+    private double score;
+}
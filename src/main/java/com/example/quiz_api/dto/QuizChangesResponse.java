@@ -0,0 +1,39 @@
+package com.example.quiz_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for delta sync of the quiz catalog
+ * Contains the quizzes changed since the client's version and the epoch and
+ * version to send on the next request
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizChangesResponse {
+
+    /**
+     * Run of change versions the version belongs to
+     */
+    private String epoch;
+
+    /**
+     * High-water mark of changes included in this response
+     */
+    private long version;
+
+    /**
+     * True if this is the whole catalog because the client's epoch or
+     * version is unknown here; the client must drop quizzes not listed
+     */
+    private boolean reset;
+
+    /**
+     * Summaries of the quizzes changed since the requested version
+     */
+    private List<QuizListResponse> quizzes;
+}
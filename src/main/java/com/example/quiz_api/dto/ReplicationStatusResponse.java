@@ -0,0 +1,54 @@
+package com.example.quiz_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO describing this instance's replication state
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReplicationStatusResponse {
+
+    /**
+     * none, leader or follower
+     */
+    private String role;
+
+    /**
+     * Current leadership term, in hex
+     */
+    private String epoch;
+
+    /**
+     * Latest log sequence held by this instance
+     */
+    private Long sequence;
+
+    /**
+     * Whether a follower is connected to its leader
+     */
+    private Boolean connected;
+
+    /**
+     * Leader sequences a follower has not applied yet
+     */
+    private Long lagRecords;
+
+    /**
+     * Time since a follower last confirmed it had every leader write
+     */
+    private Long lagMillis;
+
+    /**
+     * Followers connected to a leader
+     */
+    private Integer followers;
+
+    /**
+     * Port a leader accepts followers on
+     */
+    private Integer port;
+}
@@ -24,11 +24,27 @@ public class SubmitAnswersResponse {
      */
     private Integer total;
 
+    /**
+     * Points earned, after weights, partial credit and negative marking
+     */
+    private Double points;
+
+    /**
+     * Points the quiz is worth, the sum of its question weights
+     */
+    private Double maxPoints;
+
     /**
      * Detailed results for each question
      */
     private List<QuestionResult> results;
 
+    public SubmitAnswersResponse(Integer score, Integer total, List<QuestionResult> results) {
+        this.score = score;
+        this.total = total;
+        this.results = results;
+    }
+
     /**
      * Result for a single question
      */
@@ -43,8 +59,18 @@ public class SubmitAnswersResponse {
         private Long questionId;
 
         /**
-         * Whether the answer was correct
+         * Whether the answer earned full credit
          */
         private Boolean correct;
+
+        /**
+         * Points earned for the answer, negative under negative marking
+         */
+        private Double points;
+
+        public QuestionResult(Long questionId, Boolean correct) {
+            this.questionId = questionId;
+            this.correct = correct;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.quiz_api.exception;
+
+/**
+ * Raised when a request conflicts with the current state of a resource
+ * Mapped to 409 Conflict
+ */
+public class ConflictException extends QuizApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.quiz_api.exception;
+
+/**
+ * Raised when a request lacks the credentials for the resource it targets
+ * Mapped to 403 Forbidden
+ */
+public class ForbiddenException extends QuizApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
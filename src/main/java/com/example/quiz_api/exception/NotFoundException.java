@@ -0,0 +1,41 @@
+package com.example.quiz_api.exception;
+
+/**
+ * Raised when a requested resource does not exist
+ * Mapped to 404 Not Found
+ */
+public class NotFoundException extends QuizApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Shared instance for missing quizzes, thrown on every miss without allocation
+     */
+    public static final NotFoundException QUIZ = new NotFoundException("Quiz not found");
+
+    /**
+     * Shared instance for missing questions
+     */
+    public static final NotFoundException QUESTION = new NotFoundException("Question not found");
+
+    /**
+     * Shared instance for missing live sessions
+     */
+    public static final NotFoundException LIVE_SESSION =
+            new NotFoundException("Live session not found");
+
+    /**
+     * Shared instance for missing attempts
+     */
+    public static final NotFoundException ATTEMPT = new NotFoundException("Attempt not found");
+
+    /**
+     * Shared instance for missing adaptive sessions
+     */
+    public static final NotFoundException ADAPTIVE_SESSION =
+            new NotFoundException("Adaptive session not found");
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
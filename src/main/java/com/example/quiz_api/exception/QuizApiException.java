@@ -0,0 +1,30 @@
+package com.example.quiz_api.exception;
+
+import com.example.quiz_api.dto.ApiResponse;
+
+/**
+ * Base class for domain errors raised by the service layer
+ * These exceptions do not capture stack traces: they describe expected
+ * outcomes such as a missing quiz, not programming errors, and capturing
+ * the stack would dominate the cost of rejecting a request. The error
+ * body is built once per exception, so shared instances cost nothing to throw.
+ */
+public abstract class QuizApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ApiResponse<Void> body;
+
+    protected QuizApiException(String message) {
+        super(message, null, false, false);
+        this.body = ApiResponse.error(message);
+    }
+
+    /**
+     * Error body returned to the client
+     * @return Prebuilt error response
+     */
+    public ApiResponse<Void> getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.quiz_api.exception;
+
+/**
+ * Raised when a request is well-formed but violates a business rule
+ * Mapped to 400 Bad Request
+ */
+public class ValidationException extends QuizApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ValidationException(String message) {
+        super(message);
+    }
+}
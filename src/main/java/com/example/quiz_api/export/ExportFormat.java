@@ -0,0 +1,51 @@
+package com.example.quiz_api.export;
+
+import com.example.quiz_api.exception.ValidationException;
+
+/**
+ * Formats a quiz export can be written in
+ * Both are sequences of self-contained records, one per quiz or question,
+ * so exports can be produced and consumed without holding them in memory
+ */
+public enum ExportFormat {
+
+    /**
+     * Newline-delimited JSON, one record per line
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Concatenated CBOR records (RFC 8742), the compact binary format
+     */
+    CBOR("application/cbor-seq", "cbor");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Look up a format by its file extension
+     * @param name Format name from the request, case-insensitive
+     * @return The matching format
+     */
+    public static ExportFormat parse(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Export format must be ndjson or cbor");
+    }
+}
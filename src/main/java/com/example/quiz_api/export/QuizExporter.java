@@ -0,0 +1,312 @@
+package com.example.quiz_api.export;
+
+import com.example.quiz_api.dto.QuestionResponse;
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.repository.RepositoryListener;
+import com.example.quiz_api.service.SingleFlight;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Writes quizzes and their questions to export files on local disk
+ * Records are serialized one at a time through a buffered stream, so
+ * spooling the whole repository needs the same memory as spooling one quiz.
+ * The latest full export per format is kept and reused until the repository
+ * changes; concurrent requests for the same content share one spooling run.
+ * Replaced and single-quiz files are deleted once they are older than
+ * quiz.export.retain-seconds, which leaves time for downloads handed to the
+ * container to open them.
+ * Questions are exported as quiz takers see them unless answers are asked
+ * for; exports with answer keys are spooled and tagged separately.
+ */
+@Component
+public class QuizExporter implements RepositoryListener {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quiz.export.spool-dir:}")
+    private String spoolDirectory;
+
+    @Value("${quiz.export.retain-seconds:60}")
+    private long retainSeconds;
+
+    private Path spoolDir;
+    private boolean ownsSpoolDir;
+    private ObjectWriter jsonWriter;
+    private ObjectWriter cborWriter;
+
+    // Entity tags embed the start time, so a restarted server never matches an old tag
+    private final String instanceTag = Long.toHexString(System.currentTimeMillis());
+    private final AtomicLong fileSequence = new AtomicLong();
+
+    // Change versions restart after clear(), so tags also carry a clear count
+    private volatile long generation;
+
+    private final Map<ExportKey, SpoolFile> fullExports = new ConcurrentHashMap<>();
+    private final SingleFlight<String, SpoolFile> spooling = new SingleFlight<>();
+    private final Queue<Retired> retired = new ConcurrentLinkedQueue<>();
+    private final LongAdder spooledFiles = new LongAdder();
+    private final LongAdder spooledBytes = new LongAdder();
+
+    @PostConstruct
+    void init() throws IOException {
+        if (spoolDirectory.isBlank()) {
+            spoolDir = Files.createTempDirectory("quiz-export-");
+            ownsSpoolDir = true;
+        } else {
+            spoolDir = Files.createDirectories(Paths.get(spoolDirectory));
+        }
+        jsonWriter = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+        cborWriter = cborConverter.getObjectMapper().writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        repository.addListener(this);
+
+        FunctionCounter.builder("quiz.export.spooled.files", spooledFiles, LongAdder::sum)
+                .description("Export files written to the spool directory")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.export.spooled.bytes", spooledBytes, LongAdder::sum)
+                .description("Bytes written to the spool directory")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fullExports.values().forEach(file -> delete(file.path()));
+        fullExports.clear();
+        Retired file;
+        while ((file = retired.poll()) != null) {
+            delete(file.path());
+        }
+        if (ownsSpoolDir) {
+            delete(spoolDir);
+        }
+    }
+
+    /**
+     * Export every quiz with its questions
+     * Reuses the previous export while the repository has not changed
+     * @param format Output format
+     * @param answers Whether to include correct answers
+     * @return Spooled export file
+     */
+    public SpoolFile exportAll(ExportFormat format, boolean answers) {
+        purgeRetired();
+        long generation = this.generation;
+        long version = repository.getChangeVersion();
+        String etag = tag(generation, "all", version, format, answers);
+        ExportKey key = new ExportKey(format, answers);
+        SpoolFile current = fullExports.get(key);
+        if (current != null && current.etag().equals(etag)) {
+            return current;
+        }
+        return spooling.execute(etag, () -> {
+            SpoolFile cached = fullExports.get(key);
+            if (cached != null && cached.etag().equals(etag)) {
+                return cached;
+            }
+            // Quizzes saved while spooling may be included; the next request
+            // sees a newer version and spools again
+            SpoolFile file = spool(etag, "quizzes." + format.getExtension(), format,
+                    answers, repository.streamAllQuizzes());
+            SpoolFile[] replaced = new SpoolFile[1];
+            fullExports.compute(key, (ignored, previous) -> {
+                if (previous != null && previous.sequence() > file.sequence()) {
+                    replaced[0] = file;
+                    return previous;
+                }
+                replaced[0] = previous;
+                return file;
+            });
+            if (replaced[0] != null) {
+                retire(replaced[0]);
+            }
+            return file;
+        });
+    }
+
+    /**
+     * Export one quiz with its questions
+     * A quiz snapshot and its questions never change, so spooling the same
+     * version again produces the same bytes under the same entity tag.
+     * @param quizId ID of the quiz
+     * @param format Output format
+     * @param answers Whether to include correct answers
+     * @return Spooled export file
+     */
+    public SpoolFile exportQuiz(Long quizId, ExportFormat format, boolean answers) {
+        purgeRetired();
+        long generation = this.generation;
+        Quiz quiz = repository.findQuizById(quizId)
+                .orElseThrow(() -> NotFoundException.QUIZ);
+        String etag = tag(generation, "q" + quizId, quiz.getVersion(), format, answers);
+        return spooling.execute(etag, () -> {
+            SpoolFile file = spool(etag, "quiz-" + quizId + "." + format.getExtension(),
+                    format, answers, Stream.of(quiz));
+            retire(file);
+            return file;
+        });
+    }
+
+    @Override
+    public void quizSaved(Quiz quiz) {
+        // Full exports are checked against the change version when requested
+    }
+
+    @Override
+    public void questionSaved(Question question) {
+        // Questions are exported with their quiz
+    }
+
+    @Override
+    public void cleared() {
+        generation++;
+        fullExports.values().forEach(this::retire);
+        fullExports.clear();
+    }
+
+    /**
+     * Directory export files are spooled to
+     * @return Spool directory
+     */
+    public Path getSpoolDirectory() {
+        return spoolDir;
+    }
+
+    private SpoolFile spool(String etag, String filename, ExportFormat format,
+                            boolean answers, Stream<Quiz> quizzes) {
+        long sequence = fileSequence.incrementAndGet();
+        Path path = spoolDir.resolve("export-" + sequence + "." + format.getExtension());
+        ObjectWriter writer = format == ExportFormat.CBOR ? cborWriter : jsonWriter;
+        try (quizzes;
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+             JsonGenerator generator = writer.createGenerator(out)) {
+            Iterator<Quiz> iterator = quizzes.iterator();
+            while (iterator.hasNext()) {
+                Quiz quiz = iterator.next();
+                writeRecord(generator, writer, format, new ExportRecord("quiz", quiz));
+                // Questions as this revision holds them, so the body matches its ETag
+                for (Long questionId : quiz.getQuestionIds()) {
+                    Question question = quiz.findQuestion(questionId);
+                    writeRecord(generator, writer, format, new ExportRecord("question",
+                            answers ? question : withoutAnswers(question)));
+                }
+            }
+        } catch (IOException e) {
+            delete(path);
+            throw new UncheckedIOException("Failed to spool export", e);
+        }
+        try {
+            long length = Files.size(path);
+            spooledFiles.increment();
+            spooledBytes.add(length);
+            return new SpoolFile(path, length, etag, format, filename, sequence);
+        } catch (IOException e) {
+            delete(path);
+            throw new UncheckedIOException("Failed to spool export", e);
+        }
+    }
+
+    private static QuestionResponse withoutAnswers(Question question) {
+        return new QuestionResponse(
+                question.getId(),
+                question.getText(),
+                question.getType(),
+                question.getOptions(),
+                question.getWordLimit()
+        );
+    }
+
+    private void writeRecord(JsonGenerator generator, ObjectWriter writer, ExportFormat format,
+                             ExportRecord record) throws IOException {
+        writer.writeValue(generator, record);
+        if (format == ExportFormat.NDJSON) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    private String tag(long generation, String scope, long version, ExportFormat format,
+                       boolean answers) {
+        return "\"" + instanceTag + "-" + generation + "-" + scope + "-" + version + "-" +
+                format.getExtension() + (answers ? "-answers" : "") + "\"";
+    }
+
+    private void retire(SpoolFile file) {
+        retired.add(new Retired(file.path(), System.nanoTime()));
+    }
+
+    private void purgeRetired() {
+        long cutoff = System.nanoTime() - TimeUnit.SECONDS.toNanos(retainSeconds);
+        Retired file;
+        // Files are retired in time order, so the oldest is at the head
+        while ((file = retired.peek()) != null && file.retiredAt() - cutoff <= 0) {
+            if (retired.remove(file)) {
+                delete(file.path());
+            }
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Left for the next cleanup of the spool directory
+        }
+    }
+
+    /**
+     * One line of an export: a quiz, or a question of the quiz before it
+     */
+    record ExportRecord(String type, Object data) {
+    }
+
+    private record ExportKey(ExportFormat format, boolean answers) {
+    }
+
+    private record Retired(Path path, long retiredAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.quiz_api.export;
+
+import java.nio.file.Path;
+
+/**
+ * A finished export spooled to local disk
+ * The file is never modified once spooled, so its entity tag identifies
+ * its bytes for resumed downloads.
+ * @param path Location of the spooled file
+ * @param length Size in bytes
+ * @param etag Quoted entity tag of the content
+ * @param format Format the file is written in
+ * @param filename Name suggested to clients downloading it
+ * @param sequence Spool order, higher is newer
+ */
+public record SpoolFile(Path path, long length, String etag, ExportFormat format,
+                        String filename, long sequence) {
+}
@@ -0,0 +1,174 @@
+package com.example.quiz_api.export;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends spooled files, whole or as a single byte range
+ * On Tomcat's NIO connector the file is handed to the container's sendfile
+ * support, which writes it to the socket with FileChannel.transferTo after
+ * the request returns, so the bytes never pass through the heap. Elsewhere
+ * the file is transferred to the response stream from a FileChannel.
+ * Ranges follow RFC 9110: a single satisfiable range gets 206, a range
+ * starting past the end gets 416, and anything else (including multiple
+ * ranges and an If-Range that does not match) gets the whole file.
+ */
+@Component
+public class SpoolFileSender {
+
+    // Request attributes of Tomcat's sendfile support
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final LongAdder sendfileResponses = new LongAdder();
+    private final LongAdder transferredResponses = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        FunctionCounter.builder("quiz.export.sendfile", sendfileResponses, LongAdder::sum)
+                .description("Export downloads handed to the container's sendfile")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.export.transferred", transferredResponses, LongAdder::sum)
+                .description("Export downloads transferred to the response stream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Send a spooled file, honouring Range and If-Range
+     * @param request Current request
+     * @param response Response to send the file in
+     * @param file File to send
+     */
+    public void send(HttpServletRequest request, HttpServletResponse response, SpoolFile file)
+            throws IOException {
+        long length = file.length();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, file.etag());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.filename()).build().toString());
+
+        ByteRange range = new ByteRange(0, length - 1);
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, file)) {
+            ByteRange requested = parseRange(rangeHeader, length);
+            if (requested == UNSATISFIABLE) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setContentLengthLong(0);
+                return;
+            }
+            if (requested != null) {
+                range = requested;
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + range.start() + "-" + range.end() + "/" + length);
+            }
+        }
+        response.setContentType(file.format().getMediaType());
+        response.setContentLengthLong(range.length());
+        if (range.length() == 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            sendfileResponses.increment();
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    throw new EOFException("Spooled export ended early");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+        transferredResponses.increment();
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, SpoolFile file) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // Only entity tags are issued, so a date never matches
+        return ifRange == null || ifRange.trim().equals(file.etag());
+    }
+
+    /**
+     * Parse a Range header against the file length
+     * @return The range to send, UNSATISFIABLE, or null to send the whole file
+     */
+    static ByteRange parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return suffix < 0 ? null : UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            return new ByteRange(start, Math.min(end, length - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Inclusive byte range of a file
+     */
+    record ByteRange(long start, long end) {
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.quiz_api.id;
+
+/**
+ * Source of unique entity IDs
+ * Implementations are thread-safe
+ */
+public interface IdGenerator {
+
+    /**
+     * Issue the next ID
+     * @return A positive ID never returned before by this generator
+     */
+    long nextId();
+
+    /**
+     * Never issue an ID at or below one issued elsewhere, where the layout
+     * could produce it; used when taking over from another instance
+     * @param id An existing ID
+     */
+    default void advancePast(long id) {
+    }
+
+    /**
+     * Start issuing from the beginning again, where the layout allows it
+     * Only for clearing data in tests
+     */
+    default void reset() {
+    }
+}
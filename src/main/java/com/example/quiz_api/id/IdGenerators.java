@@ -0,0 +1,44 @@
+package com.example.quiz_api.id;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+
+/**
+ * Creates the configured ID generator for each entity type
+ * Snowflake generators of all entity types share one timestamp lease,
+ * kept in quiz.ids.lease-file.
+ */
+@Component
+public class IdGenerators {
+
+    @Autowired
+    private IdProperties properties;
+
+    private TimestampLease lease;
+
+    @PostConstruct
+    void init() {
+        if (properties.getStrategy() == IdProperties.Strategy.SNOWFLAKE) {
+            if (properties.getLeaseFile().isBlank()) {
+                throw new IllegalStateException("Snowflake IDs require quiz.ids.lease-file");
+            }
+            lease = new TimestampLease(Paths.get(properties.getLeaseFile()),
+                    properties.getLeaseMillis(), System::currentTimeMillis);
+        }
+    }
+
+    /**
+     * Create a generator for one entity type
+     * @return A new generator using the configured strategy
+     */
+    public IdGenerator create() {
+        if (properties.getStrategy() == IdProperties.Strategy.SNOWFLAKE) {
+            return new SnowflakeIdGenerator(properties.getNodeId(), properties.getBlockSize(),
+                    System::currentTimeMillis, lease);
+        }
+        return new SequentialIdGenerator();
+    }
+}
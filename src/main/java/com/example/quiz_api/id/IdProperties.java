@@ -0,0 +1,45 @@
+package com.example.quiz_api.id;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for entity ID generation
+ * Bound from the quiz.ids.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "quiz.ids")
+public class IdProperties {
+
+    /**
+     * sequential for dense per-instance IDs, snowflake for IDs unique across instances
+     */
+    private Strategy strategy = Strategy.SEQUENTIAL;
+
+    /**
+     * This instance's node ID for snowflake IDs, 0 to 1023, unique per instance
+     */
+    private long nodeId = 0;
+
+    /**
+     * Snowflake IDs each thread reserves at a time
+     */
+    private int blockSize = 64;
+
+    /**
+     * File keeping the snowflake timestamp lease across restarts; required for snowflake IDs
+     */
+    private String leaseFile = "";
+
+    /**
+     * How far ahead of the clock each lease extension reaches
+     */
+    private long leaseMillis = 10_000;
+
+    public enum Strategy {
+        SEQUENTIAL,
+        SNOWFLAKE
+    }
+}
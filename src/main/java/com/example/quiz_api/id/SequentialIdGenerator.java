@@ -0,0 +1,27 @@
+package com.example.quiz_api.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dense IDs 1, 2, 3... from one shared counter
+ * Only unique within a single instance
+ */
+public class SequentialIdGenerator implements IdGenerator {
+
+    private final AtomicLong counter = new AtomicLong(1);
+
+    @Override
+    public long nextId() {
+        return counter.getAndIncrement();
+    }
+
+    @Override
+    public void advancePast(long id) {
+        counter.accumulateAndGet(id + 1, Math::max);
+    }
+
+    @Override
+    public void reset() {
+        counter.set(1);
+    }
+}
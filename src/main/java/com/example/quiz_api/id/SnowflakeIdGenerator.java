@@ -0,0 +1,137 @@
+package com.example.quiz_api.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style IDs unique across nodes
+ * An ID packs 41 bits of milliseconds since 2024-01-01, a 10-bit node ID
+ * and a 12-bit sequence, so IDs from different nodes never collide and
+ * sort roughly by creation time.
+ *
+ * Each thread reserves a block of timestamp and sequence values with one
+ * CAS and issues IDs from it without touching shared state. When more than
+ * 4096 IDs are needed in a millisecond, or the clock moves backwards, the
+ * reservation runs ahead of the clock instead of waiting, so IDs stay
+ * unique at the cost of their timestamp running slightly ahead. IDs from
+ * one thread are increasing; IDs from different threads interleave only
+ * by block.
+ *
+ * With a TimestampLease, IDs start at the lease the previous run left and
+ * never pass the current lease end before it is extended on disk, so a
+ * clock set back while the node was down cannot repeat IDs either.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    /**
+     * 2024-01-01T00:00:00Z
+     */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final int blockSize;
+    private final LongSupplier clock;
+    private final TimestampLease lease;
+
+    // Next unreserved (milliseconds << SEQUENCE_BITS | sequence) stamp
+    private final AtomicLong nextStamp = new AtomicLong();
+
+    // Per thread: next stamp to issue and the end of the reserved block
+    private final ThreadLocal<long[]> blocks = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * @param nodeId Node ID, unique per running instance, 0 to 1023
+     * @param blockSize IDs reserved per thread at a time
+     */
+    public SnowflakeIdGenerator(long nodeId, int blockSize) {
+        this(nodeId, blockSize, System::currentTimeMillis);
+    }
+
+    /**
+     * @param nodeId Node ID, unique per running instance, 0 to 1023
+     * @param blockSize IDs reserved per thread at a time
+     * @param clock Wall clock in epoch milliseconds
+     */
+    public SnowflakeIdGenerator(long nodeId, int blockSize, LongSupplier clock) {
+        this(nodeId, blockSize, clock, null);
+    }
+
+    /**
+     * @param nodeId Node ID, unique per running instance, 0 to 1023
+     * @param blockSize IDs reserved per thread at a time
+     * @param clock Wall clock in epoch milliseconds
+     * @param lease Persisted timestamp bound shared by the node's generators, or null
+     */
+    public SnowflakeIdGenerator(long nodeId, int blockSize, LongSupplier clock, TimestampLease lease) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.blockSize = blockSize;
+        this.clock = clock;
+        this.lease = lease;
+        if (lease != null) {
+            nextStamp.set(stampOf(lease.getFloor()));
+        }
+    }
+
+    @Override
+    public long nextId() {
+        long[] block = blocks.get();
+        if (block[0] == block[1]) {
+            reserve(block);
+        }
+        long stamp = block[0]++;
+        return ((stamp >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) |
+                nodeBits | (stamp & SEQUENCE_MASK);
+    }
+
+    private void reserve(long[] block) {
+        long now = stampOf(clock.getAsLong());
+        while (true) {
+            long current = nextStamp.get();
+            long start = Math.max(current, now);
+            if (lease != null && start + blockSize > stampOf(lease.getEnd())) {
+                // Written to disk before any ID in the block is issued
+                lease.extend(((start + blockSize) >>> SEQUENCE_BITS) + EPOCH_MILLIS + 1);
+                continue;
+            }
+            if (nextStamp.compareAndSet(current, start + blockSize)) {
+                block[0] = start;
+                block[1] = start + blockSize;
+                return;
+            }
+        }
+    }
+
+    private static long stampOf(long millis) {
+        return Math.max(0, millis - EPOCH_MILLIS) << SEQUENCE_BITS;
+    }
+
+    /**
+     * Node ID encoded in an ID
+     * @param id ID from a SnowflakeIdGenerator
+     * @return Node ID
+     */
+    public static long nodeOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    /**
+     * Creation time encoded in an ID
+     * @param id ID from a SnowflakeIdGenerator
+     * @return Epoch milliseconds
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+}
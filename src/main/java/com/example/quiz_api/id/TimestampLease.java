@@ -0,0 +1,99 @@
+package com.example.quiz_api.id;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongSupplier;
+
+/**
+ * Persisted upper bound on the timestamps a node's snowflake IDs carry
+ * No ID is issued with a timestamp at or past the lease end until a later
+ * end has been written to disk, and a restarted node issues IDs from the
+ * stored end onwards. A clock that steps backwards across a restart
+ * therefore cannot bring back timestamps an earlier run already used.
+ * The lease is extended leaseMillis at a time, so the file is written
+ * about once per lease rather than per ID.
+ */
+public class TimestampLease {
+
+    private final Path file;
+    private final long leaseMillis;
+    private final LongSupplier clock;
+
+    // Lease end stored by the previous run; IDs of this run start there
+    private final long floor;
+    private volatile long end;
+
+    /**
+     * Load the lease left by the previous run, if any
+     * @param file File holding the lease end
+     * @param leaseMillis How far past the clock each extension reaches
+     * @param clock Wall clock in epoch milliseconds
+     * @throws UncheckedIOException if the file exists but cannot be read
+     */
+    public TimestampLease(Path file, long leaseMillis, LongSupplier clock) {
+        if (leaseMillis < 1) {
+            throw new IllegalArgumentException("Lease must be positive");
+        }
+        this.file = file;
+        this.leaseMillis = leaseMillis;
+        this.clock = clock;
+        try {
+            floor = Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        end = floor;
+    }
+
+    /**
+     * Earliest timestamp this run may issue
+     * @return Epoch milliseconds, 0 on a first start
+     */
+    public long getFloor() {
+        return floor;
+    }
+
+    /**
+     * Timestamp IDs must stay below until the lease is extended
+     * @return Epoch milliseconds
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Extend the lease past a timestamp and write it durably
+     * @param millis Timestamp that must fall inside the lease
+     * @return The new lease end
+     * @throws UncheckedIOException if the lease cannot be written
+     */
+    public synchronized long extend(long millis) {
+        if (millis < end) {
+            return end;
+        }
+        long next = Math.max(millis, clock.getAsLong()) + leaseMillis;
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(Long.toString(next).getBytes()));
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        end = next;
+        return next;
+    }
+}
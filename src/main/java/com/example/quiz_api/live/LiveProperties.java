@@ -0,0 +1,50 @@
+package com.example.quiz_api.live;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for host-led live quiz sessions over WebSockets
+ * Bound from the quiz.live.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "quiz.live")
+public class LiveProperties {
+
+    /**
+     * How often answer statistics are pushed to participants
+     */
+    private long tickMillis = 250;
+
+    /**
+     * Threads used to fan frames out to participants
+     */
+    private int broadcastThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum connections per session
+     */
+    private int maxParticipants = 50_000;
+
+    /**
+     * A participant whose send has been blocked this long is disconnected
+     */
+    private int sendTimeLimitMillis = 5_000;
+
+    /**
+     * A participant with more than this many bytes queued is disconnected
+     */
+    private int sendBufferSizeLimit = 64 * 1024;
+
+    /**
+     * A session nobody has advanced, joined or answered for this long is ended
+     */
+    private long idleSeconds = 3_600;
+
+    /**
+     * A finished session stays readable this long before it is ended
+     */
+    private long finishedRetentionSeconds = 60;
+}
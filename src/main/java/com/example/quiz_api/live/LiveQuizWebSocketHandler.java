@@ -0,0 +1,67 @@
+package com.example.quiz_api.live;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.net.URI;
+
+/**
+ * WebSocket endpoint for live session participants at /ws/live/{sessionId}
+ * The server sends question, stats, answer and finished frames; participants
+ * send answers as {"questionId": ..., "selectedOptions": [...]}.
+ */
+@Component
+public class LiveQuizWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String PARTICIPANT = "participant";
+
+    private static final CloseStatus SESSION_UNAVAILABLE =
+            CloseStatus.POLICY_VIOLATION.withReason("Live session not found or full");
+
+    @Autowired
+    private LiveSessionManager sessionManager;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession connection) throws Exception {
+        Long sessionId = parseSessionId(connection.getUri());
+        Participant participant = sessionId != null ?
+                sessionManager.join(sessionId, connection) : null;
+        if (participant == null) {
+            connection.close(SESSION_UNAVAILABLE);
+            return;
+        }
+        connection.getAttributes().put(PARTICIPANT, participant);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession connection, TextMessage message) {
+        Participant participant = (Participant) connection.getAttributes().get(PARTICIPANT);
+        if (participant != null) {
+            sessionManager.answer(participant, message.getPayload());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession connection, CloseStatus status) {
+        Participant participant = (Participant) connection.getAttributes().get(PARTICIPANT);
+        if (participant != null) {
+            sessionManager.leave(participant);
+        }
+    }
+
+    private static Long parseSessionId(URI uri) {
+        if (uri == null) {
+            return null;
+        }
+        String path = uri.getPath();
+        try {
+            return Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.quiz_api.live;
+
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.Question;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * State of one host-led live quiz
+ * Questions and their broadcast frames are fixed when the session starts.
+ * Participants are split into stripes so a broadcast can be fanned out in
+ * parallel, and answers are tallied in LongAdders so concurrent answers
+ * never contend on a lock.
+ */
+public class LiveSession {
+
+    private final long id;
+    private final Long quizId;
+    private final String hostToken;
+    private final List<Question> questions;
+    private final List<TextMessage> questionFrames;
+    private final List<QuestionStats> stats;
+    private final List<Set<Participant>> stripes;
+    private final AtomicInteger participantCount = new AtomicInteger();
+
+    // -1 before the first question, questions.size() once finished
+    private volatile int currentIndex = -1;
+
+    // On the System.nanoTime() scale
+    private volatile long lastActivityNanos = System.nanoTime();
+    private volatile long finishedAtNanos;
+
+    LiveSession(long id, Long quizId, String hostToken, List<Question> questions,
+                List<TextMessage> questionFrames, int stripeCount) {
+        this.id = id;
+        this.quizId = quizId;
+        this.hostToken = hostToken;
+        this.questions = questions;
+        this.questionFrames = questionFrames;
+        this.stats = new ArrayList<>(questions.size());
+        for (Question question : questions) {
+            stats.add(new QuestionStats(question));
+        }
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    String getHostToken() {
+        return hostToken;
+    }
+
+    public int getQuestionCount() {
+        return questions.size();
+    }
+
+    /**
+     * Index of the question being played
+     * @return -1 before the first question, the question count once finished
+     */
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    public boolean isFinished() {
+        return currentIndex >= questions.size();
+    }
+
+    public int getParticipantCount() {
+        return participantCount.get();
+    }
+
+    /**
+     * Move to the next question
+     * @return New current index
+     */
+    synchronized int advance() {
+        if (!isFinished()) {
+            currentIndex = currentIndex + 1;
+            if (isFinished()) {
+                finishedAtNanos = System.nanoTime();
+            }
+        }
+        return currentIndex;
+    }
+
+    /**
+     * Record that the host or a participant used the session
+     */
+    void touch() {
+        lastActivityNanos = System.nanoTime();
+    }
+
+    /**
+     * Whether the session should be ended
+     * @param nowNanos Current time on the System.nanoTime() scale
+     * @param idleNanos Time without activity after which an open session is ended
+     * @param retentionNanos Time after finishing after which a session is ended
+     */
+    boolean isExpired(long nowNanos, long idleNanos, long retentionNanos) {
+        if (isFinished()) {
+            return nowNanos - finishedAtNanos >= retentionNanos;
+        }
+        return nowNanos - lastActivityNanos >= idleNanos;
+    }
+
+    Question getQuestion(int index) {
+        return questions.get(index);
+    }
+
+    TextMessage getQuestionFrame(int index) {
+        return questionFrames.get(index);
+    }
+
+    QuestionStats getStats(int index) {
+        return stats.get(index);
+    }
+
+    List<Set<Participant>> getStripes() {
+        return stripes;
+    }
+
+    /**
+     * Add a participant unless the session is full
+     * @return false if the session has reached its limit
+     */
+    boolean join(Participant participant, int maxParticipants) {
+        if (participantCount.incrementAndGet() > maxParticipants) {
+            participantCount.decrementAndGet();
+            return false;
+        }
+        stripeOf(participant).add(participant);
+        return true;
+    }
+
+    void leave(Participant participant) {
+        if (stripeOf(participant).remove(participant)) {
+            participantCount.decrementAndGet();
+        }
+    }
+
+    private Set<Participant> stripeOf(Participant participant) {
+        return stripes.get(Math.floorMod(System.identityHashCode(participant), stripes.size()));
+    }
+
+    /**
+     * Lock-free answer counters for one question
+     */
+    static final class QuestionStats {
+
+        private final LongAdder answered = new LongAdder();
+        private final LongAdder correct = new LongAdder();
+        private final long[] optionIds;
+        private final LongAdder[] optionCounts;
+        private final Map<Long, Integer> optionIndex = new HashMap<>();
+
+        // Answer count when statistics were last pushed, written by the tick thread
+        private long lastPushed = -1;
+
+        private QuestionStats(Question question) {
+            List<Option> options = question.getOptions() != null ?
+                    question.getOptions() : List.of();
+            optionIds = new long[options.size()];
+            optionCounts = new LongAdder[options.size()];
+            for (int i = 0; i < options.size(); i++) {
+                optionIds[i] = options.get(i).getId();
+                optionCounts[i] = new LongAdder();
+                optionIndex.put(optionIds[i], i);
+            }
+        }
+
+        void record(List<Long> selectedOptions, boolean isCorrect) {
+            answered.increment();
+            if (isCorrect) {
+                correct.increment();
+            }
+            for (Long optionId : selectedOptions) {
+                Integer index = optionIndex.get(optionId);
+                if (index != null) {
+                    optionCounts[index].increment();
+                }
+            }
+        }
+
+        long getAnswered() {
+            return answered.sum();
+        }
+
+        long getCorrect() {
+            return correct.sum();
+        }
+
+        Map<Long, Long> getOptionCounts() {
+            Map<Long, Long> counts = new HashMap<>();
+            for (int i = 0; i < optionIds.length; i++) {
+                counts.put(optionIds[i], optionCounts[i].sum());
+            }
+            return counts;
+        }
+
+        /**
+         * Whether answers arrived since the last push; marks them as pushed
+         */
+        boolean takeChanged(long answeredNow) {
+            if (answeredNow == lastPushed) {
+                return false;
+            }
+            lastPushed = answeredNow;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.example.quiz_api.live;
+
+import com.example.quiz_api.dto.LiveSessionResponse;
+import com.example.quiz_api.dto.QuestionResponse;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.exception.ForbiddenException;
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.exception.ValidationException;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs host-led live quiz sessions
+ * The host creates a session over REST and advances it question by question.
+ * Each question is serialized once when the session starts and the same
+ * frame is sent to every participant. Participant answers are graded with
+ * QuizService.checkAnswer and tallied in lock-free counters, and the totals
+ * are pushed to everyone at a fixed tick rather than per answer.
+ *
+ * The same tick ends sessions the host abandoned: those nobody has advanced,
+ * joined or answered for quiz.live.idle-seconds, and finished ones after
+ * quiz.live.finished-retention-seconds.
+ */
+@Component
+public class LiveSessionManager {
+
+    private static final ForbiddenException INVALID_HOST_TOKEN =
+            new ForbiddenException("Invalid host token");
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LiveProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, LiveSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong sessionIdCounter = new AtomicLong(1);
+    private final SecureRandom random = new SecureRandom();
+    private final LongAdder answersReceived = new LongAdder();
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder sessionsExpired = new LongAdder();
+
+    private ObjectWriter writer;
+    private ObjectReader answerReader;
+
+    // One single-threaded lane per participant stripe keeps frames in order
+    private ExecutorService[] broadcastLanes;
+    private ScheduledExecutorService ticker;
+
+    private TextMessage finishedFrame;
+    private TextMessage correctFrame;
+    private TextMessage incorrectFrame;
+    private TextMessage notAcceptedFrame;
+    private TextMessage malformedFrame;
+
+    @PostConstruct
+    void init() {
+        writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        answerReader = objectMapper.readerFor(SubmitAnswersRequest.Answer.class);
+
+        finishedFrame = encode(new EventFrame("finished"));
+        correctFrame = encode(new AnswerFrame("answer", true));
+        incorrectFrame = encode(new AnswerFrame("answer", false));
+        notAcceptedFrame = encode(new ErrorFrame("error",
+                "Answer is not for the current question or was already given"));
+        malformedFrame = encode(new ErrorFrame("error", "Malformed answer"));
+
+        broadcastLanes = new ExecutorService[Math.max(1, properties.getBroadcastThreads())];
+        for (int i = 0; i < broadcastLanes.length; i++) {
+            String name = "live-broadcast-" + i;
+            broadcastLanes[i] = Executors.newSingleThreadExecutor(task -> daemon(task, name));
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(task -> daemon(task, "live-tick"));
+        ticker.scheduleAtFixedRate(this::tick, properties.getTickMillis(),
+                properties.getTickMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("quiz.live.sessions", sessions, Map::size)
+                .description("Live sessions in progress")
+                .register(meterRegistry);
+        Gauge.builder("quiz.live.participants", this, LiveSessionManager::getParticipantCount)
+                .description("Participants connected to live sessions")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.live.answers", answersReceived, LongAdder::sum)
+                .description("Answers received from participants")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.live.frames.sent", framesSent, LongAdder::sum)
+                .description("Frames queued to participants")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.live.sessions.expired", sessionsExpired, LongAdder::sum)
+                .description("Live sessions ended after idling or finishing")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        for (ExecutorService lane : broadcastLanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    /**
+     * Start a live session for a quiz
+     * @param quizId ID of the quiz to play
+     * @return The session, including the host token
+     */
+    public LiveSessionResponse createSession(Long quizId) {
+        // One revision supplies both the frames and the questions graded against them
+        Quiz quiz = quizService.getQuizById(quizId);
+        List<QuestionResponse> views = quizService.getQuizQuestions(quiz);
+        if (views.isEmpty()) {
+            throw new ValidationException("Quiz has no questions");
+        }
+        List<Question> questions = new ArrayList<>(views.size());
+        List<TextMessage> frames = new ArrayList<>(views.size());
+        for (int i = 0; i < views.size(); i++) {
+            questions.add(quiz.findQuestion(quiz.getQuestionIds().get(i)));
+            frames.add(encode(new QuestionFrame("question", i, views.size(), views.get(i))));
+        }
+
+        byte[] token = new byte[16];
+        random.nextBytes(token);
+        LiveSession session = new LiveSession(sessionIdCounter.getAndIncrement(), quizId,
+                HexFormat.of().formatHex(token), questions, frames, broadcastLanes.length);
+        sessions.put(session.getId(), session);
+        return toResponse(session, true);
+    }
+
+    /**
+     * Get the state of a live session
+     * @param sessionId Session ID
+     * @return Session state
+     */
+    public LiveSessionResponse getSession(long sessionId) {
+        return toResponse(findSession(sessionId), false);
+    }
+
+    /**
+     * Move a session to its next question and broadcast it
+     * The final statistics of the previous question go out first. Advancing
+     * past the last question broadcasts a finished frame.
+     * @param sessionId Session ID
+     * @param hostToken Token returned when the session was created
+     * @return Session state after advancing
+     */
+    public LiveSessionResponse advance(long sessionId, String hostToken) {
+        LiveSession session = findSession(sessionId);
+        checkHost(session, hostToken);
+        session.touch();
+
+        int previous = session.getCurrentIndex();
+        int index = session.advance();
+        if (index == previous) {
+            return toResponse(session, false);
+        }
+        if (previous >= 0) {
+            pushStats(session, previous);
+        }
+        broadcast(session, session.isFinished() ? finishedFrame : session.getQuestionFrame(index));
+        return toResponse(session, false);
+    }
+
+    /**
+     * End a session and disconnect its participants
+     * @param sessionId Session ID
+     * @param hostToken Token returned when the session was created
+     */
+    public void endSession(long sessionId, String hostToken) {
+        LiveSession session = findSession(sessionId);
+        checkHost(session, hostToken);
+        close(session);
+    }
+
+    /**
+     * Register a new WebSocket connection with a session
+     * Participants joining mid-question receive the current question.
+     * @param sessionId Session ID from the connection URI
+     * @param connection The connection
+     * @return The participant, or null if the session does not exist or is full
+     */
+    Participant join(long sessionId, WebSocketSession connection) {
+        LiveSession session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        Participant participant = new Participant(session, connection, properties);
+        if (!session.join(participant, properties.getMaxParticipants())) {
+            return null;
+        }
+        session.touch();
+        int index = session.getCurrentIndex();
+        if (index >= 0 && !session.isFinished()) {
+            participant.send(session.getQuestionFrame(index));
+        }
+        return participant;
+    }
+
+    void leave(Participant participant) {
+        participant.getSession().leave(participant);
+    }
+
+    /**
+     * Grade an answer to the current question and tell the participant the result
+     * Answers to other questions and repeated answers are rejected.
+     * @param participant Participant who answered
+     * @param payload JSON answer with questionId and selectedOptions
+     */
+    void answer(Participant participant, String payload) {
+        SubmitAnswersRequest.Answer answer;
+        try {
+            answer = answerReader.readValue(payload);
+        } catch (JsonProcessingException e) {
+            participant.send(malformedFrame);
+            return;
+        }
+        if (answer.getQuestionId() == null || answer.getSelectedOptions() == null) {
+            participant.send(malformedFrame);
+            return;
+        }
+
+        LiveSession session = participant.getSession();
+        int index = session.getCurrentIndex();
+        if (index < 0 || session.isFinished()) {
+            participant.send(notAcceptedFrame);
+            return;
+        }
+        Question question = session.getQuestion(index);
+        if (!question.getId().equals(answer.getQuestionId()) || !participant.markAnswered(index)) {
+            participant.send(notAcceptedFrame);
+            return;
+        }
+
+        answersReceived.increment();
+        session.touch();
+        boolean correct = quizService.checkAnswer(question, answer.getSelectedOptions());
+        session.getStats(index).record(answer.getSelectedOptions(), correct);
+        participant.send(correct ? correctFrame : incorrectFrame);
+    }
+
+    /**
+     * Number of participants across all sessions
+     * @return Participant count
+     */
+    public int getParticipantCount() {
+        int count = 0;
+        for (LiveSession session : sessions.values()) {
+            count += session.getParticipantCount();
+        }
+        return count;
+    }
+
+    /**
+     * Number of sessions ended after idling or finishing
+     * @return Expired session count
+     */
+    public long getExpiredCount() {
+        return sessionsExpired.sum();
+    }
+
+    /**
+     * Push statistics of each session's current question if answers arrived,
+     * and end expired sessions
+     */
+    private void tick() {
+        try {
+            long now = System.nanoTime();
+            long idleNanos = TimeUnit.SECONDS.toNanos(properties.getIdleSeconds());
+            long retentionNanos = TimeUnit.SECONDS.toNanos(properties.getFinishedRetentionSeconds());
+            for (LiveSession session : sessions.values()) {
+                if (session.isExpired(now, idleNanos, retentionNanos)) {
+                    if (close(session)) {
+                        sessionsExpired.increment();
+                    }
+                    continue;
+                }
+                int index = session.getCurrentIndex();
+                if (index >= 0 && !session.isFinished()) {
+                    pushStats(session, index);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Keep the schedule running; the next tick retries
+        }
+    }
+
+    private void pushStats(LiveSession session, int index) {
+        LiveSession.QuestionStats stats = session.getStats(index);
+        synchronized (stats) {
+            long answered = stats.getAnswered();
+            if (!stats.takeChanged(answered)) {
+                return;
+            }
+            broadcast(session, encode(new StatsFrame("stats", session.getQuestion(index).getId(),
+                    session.getParticipantCount(), answered, stats.getCorrect(),
+                    stats.getOptionCounts())));
+        }
+    }
+
+    /**
+     * Send a frame to every participant, one task per stripe
+     */
+    private void broadcast(LiveSession session, TextMessage frame) {
+        List<Set<Participant>> stripes = session.getStripes();
+        for (int i = 0; i < stripes.size(); i++) {
+            Set<Participant> stripe = stripes.get(i);
+            if (stripe.isEmpty()) {
+                continue;
+            }
+            framesSent.add(stripe.size());
+            broadcastLanes[i % broadcastLanes.length].execute(() -> {
+                for (Participant participant : stripe) {
+                    participant.send(frame);
+                }
+            });
+        }
+    }
+
+    /**
+     * Forget a session and disconnect its participants
+     * @return false if the session was already gone
+     */
+    private boolean close(LiveSession session) {
+        if (!sessions.remove(session.getId(), session)) {
+            return false;
+        }
+        for (Set<Participant> stripe : session.getStripes()) {
+            stripe.forEach(Participant::close);
+        }
+        return true;
+    }
+
+    private LiveSession findSession(long sessionId) {
+        LiveSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw NotFoundException.LIVE_SESSION;
+        }
+        return session;
+    }
+
+    private void checkHost(LiveSession session, String hostToken) {
+        if (hostToken == null || !MessageDigest.isEqual(
+                hostToken.getBytes(StandardCharsets.UTF_8),
+                session.getHostToken().getBytes(StandardCharsets.UTF_8))) {
+            throw INVALID_HOST_TOKEN;
+        }
+    }
+
+    private LiveSessionResponse toResponse(LiveSession session, boolean includeHostToken) {
+        return new LiveSessionResponse(
+                session.getId(),
+                session.getQuizId(),
+                includeHostToken ? session.getHostToken() : null,
+                session.getQuestionCount(),
+                session.getCurrentIndex(),
+                session.getParticipantCount(),
+                session.isFinished()
+        );
+    }
+
+    private TextMessage encode(Object frame) {
+        try {
+            return new TextMessage(writer.writeValueAsString(frame));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    record QuestionFrame(String type, int index, int total, QuestionResponse question) {
+    }
+
+    record StatsFrame(String type, Long questionId, int participants, long answered,
+                      long correct, Map<Long, Long> options) {
+    }
+
+    record AnswerFrame(String type, boolean correct) {
+    }
+
+    record ErrorFrame(String type, String error) {
+    }
+
+    record EventFrame(String type) {
+    }
+}
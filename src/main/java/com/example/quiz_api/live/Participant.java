@@ -0,0 +1,83 @@
+package com.example.quiz_api.live;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A WebSocket connection taking part in a live session
+ * Sends go through a ConcurrentWebSocketSessionDecorator, so a broadcast
+ * never waits on a slow client: frames queue up to the buffer limit and
+ * the connection is closed once the limit or send time limit is exceeded.
+ */
+public class Participant {
+
+    private final LiveSession session;
+    private final WebSocketSession connection;
+
+    // Index of the last question answered, so each question is answered once
+    private final AtomicInteger lastAnswered = new AtomicInteger(-1);
+
+    Participant(LiveSession session, WebSocketSession connection, LiveProperties properties) {
+        this.session = session;
+        this.connection = new ConcurrentWebSocketSessionDecorator(connection,
+                properties.getSendTimeLimitMillis(), properties.getSendBufferSizeLimit());
+    }
+
+    /**
+     * Live session this participant joined
+     * @return The session
+     */
+    public LiveSession getSession() {
+        return session;
+    }
+
+    /**
+     * Claim the right to answer a question
+     * @param questionIndex Index of the question
+     * @return false if the participant already answered it
+     */
+    boolean markAnswered(int questionIndex) {
+        int previous;
+        do {
+            previous = lastAnswered.get();
+            if (previous >= questionIndex) {
+                return false;
+            }
+        } while (!lastAnswered.compareAndSet(previous, questionIndex));
+        return true;
+    }
+
+    /**
+     * Send a frame, dropping the participant if the connection is gone or too slow
+     * @param frame Encoded frame, shared between participants
+     */
+    void send(WebSocketMessage<?> frame) {
+        if (!connection.isOpen()) {
+            session.leave(this);
+            return;
+        }
+        try {
+            connection.sendMessage(frame);
+        } catch (IOException | RuntimeException e) {
+            // Closed, or the send buffer or time limit was exceeded
+            session.leave(this);
+        }
+    }
+
+    /**
+     * Disconnect the participant, for example when the host ends the session
+     */
+    void close() {
+        session.leave(this);
+        try {
+            connection.close(CloseStatus.GOING_AWAY);
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
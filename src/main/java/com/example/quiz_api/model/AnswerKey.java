@@ -0,0 +1,120 @@
+package com.example.quiz_api.model;
+
+import java.util.List;
+
+/**
+ * Correct options of a choice question as a bitmask over its options
+ * Bit i stands for the question's i-th option. A selection is turned into
+ * the same kind of mask, so exact matching is one comparison and partial
+ * credit is a few popcounts, whatever the number of options. Option IDs
+ * are usually consecutive, so an ID is first tried at its offset from the
+ * first option and otherwise found by a scan of the question's options.
+ */
+public final class AnswerKey {
+
+    /**
+     * Most options a choice question can have
+     */
+    public static final int MAX_OPTIONS = Long.SIZE;
+
+    private final long[] optionIds;
+    private final long correctMask;
+    private final long optionMask;
+
+    private AnswerKey(long[] optionIds, long correctMask) {
+        this.optionIds = optionIds;
+        this.correctMask = correctMask;
+        this.optionMask = optionIds.length == Long.SIZE ? -1L : (1L << optionIds.length) - 1;
+    }
+
+    /**
+     * Build the key of a choice question
+     * @param options Options of the question, at most MAX_OPTIONS
+     * @param correctAnswerIds IDs of the correct options
+     * @return The key
+     */
+    public static AnswerKey of(List<Option> options, List<Long> correctAnswerIds) {
+        if (options.size() > MAX_OPTIONS) {
+            throw new IllegalArgumentException("More than " + MAX_OPTIONS + " options");
+        }
+        long[] optionIds = new long[options.size()];
+        for (int i = 0; i < optionIds.length; i++) {
+            optionIds[i] = options.get(i).getId();
+        }
+        AnswerKey key = new AnswerKey(optionIds, 0);
+        return new AnswerKey(optionIds, key.maskOf(correctAnswerIds));
+    }
+
+    /**
+     * Mask of the options a learner selected
+     * IDs that are not options of the question set no bit, and repeated IDs
+     * set one, so a selection is well formed exactly when the mask's
+     * popcount equals the selection's size
+     * @param selectedOptions Selected option IDs
+     * @return The mask
+     */
+    public long maskOf(List<Long> selectedOptions) {
+        if (optionIds.length == 0) {
+            return 0;
+        }
+        long mask = 0;
+        for (Long selected : selectedOptions) {
+            if (selected == null) {
+                continue;
+            }
+            long id = selected;
+            long offset = id - optionIds[0];
+            if (offset >= 0 && offset < optionIds.length && optionIds[(int) offset] == id) {
+                mask |= 1L << offset;
+                continue;
+            }
+            for (int i = 0; i < optionIds.length; i++) {
+                if (optionIds[i] == id) {
+                    mask |= 1L << i;
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Credit earned by a selection, from 0 to 1
+     * @param selectedOptions Selected option IDs
+     * @param partialCredit How to score a selection that is not exactly right
+     * @return 1 for exactly the correct options, a fraction for partly right
+     * selections under partial credit, 0 for no selection or otherwise
+     */
+    public double credit(List<Long> selectedOptions, PartialCredit partialCredit) {
+        if (selectedOptions.isEmpty()) {
+            // A blank answer judges no option, so it earns nothing under any policy
+            return 0;
+        }
+        long selected = maskOf(selectedOptions);
+        if (Long.bitCount(selected) != selectedOptions.size()) {
+            // Unknown or repeated option IDs
+            return 0;
+        }
+        if (selected == correctMask) {
+            return 1;
+        }
+        if (partialCredit == PartialCredit.PROPORTIONAL) {
+            long judgedRight = ~(selected ^ correctMask) & optionMask;
+            return (double) Long.bitCount(judgedRight) / optionIds.length;
+        }
+        if (partialCredit == PartialCredit.PENALIZE_WRONG) {
+            int right = Long.bitCount(selected & correctMask);
+            int wrong = Long.bitCount(selected & ~correctMask);
+            return Math.max(0, right - wrong) / (double) Long.bitCount(correctMask);
+        }
+        return 0;
+    }
+
+    public long getCorrectMask() {
+        return correctMask;
+    }
+
+    public int getOptionCount() {
+        return optionIds.length;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.quiz_api.model;
+
+import com.example.quiz_api.dto.SubmitAnswersResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents one quiz taker's attempt at a quiz
+ * Saved answers are kept separately in AttemptRepository and graded once,
+ * on submission or when the time limit runs out. The attempt pins the quiz
+ * revision it started on, so later edits to the quiz do not change what
+ * it is graded against.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Attempt {
+
+    /**
+     * Unique identifier for the attempt
+     */
+    private Long id;
+
+    /**
+     * ID of the quiz being attempted
+     */
+    private Long quizId;
+
+    /**
+     * Change version of the quiz revision the attempt is pinned to
+     */
+    private long quizVersion;
+
+    /**
+     * The pinned quiz revision, released once the attempt is graded
+     * so an unreferenced revision can be garbage-collected
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Quiz revision;
+
+    /**
+     * Current state of the attempt
+     */
+    private AttemptStatus status;
+
+    /**
+     * Timestamp when the attempt was started
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Time after which answers are no longer accepted, or null if untimed
+     */
+    private LocalDateTime deadline;
+
+    /**
+     * Timestamp when answers were last saved, or when the attempt started
+     */
+    private LocalDateTime lastActivityAt;
+
+    /**
+     * Timestamp when the attempt was submitted or expired
+     */
+    private LocalDateTime submittedAt;
+
+    /**
+     * Grading result, set once the attempt is submitted or expired
+     */
+    private SubmitAnswersResponse result;
+
+    /**
+     * Constructor for starting a new attempt
+     */
+    public Attempt(Quiz revision, LocalDateTime startedAt, LocalDateTime deadline) {
+        this.quizId = revision.getId();
+        this.quizVersion = revision.getVersion();
+        this.revision = revision;
+        this.status = AttemptStatus.IN_PROGRESS;
+        this.startedAt = startedAt;
+        this.lastActivityAt = startedAt;
+        this.deadline = deadline;
+    }
+}
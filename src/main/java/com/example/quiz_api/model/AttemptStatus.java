@@ -0,0 +1,13 @@
+package com.example.quiz_api.model;
+
+public enum AttemptStatus {
+
+    // started and accepting answers
+    IN_PROGRESS,
+
+    // submitted by the quiz taker
+    SUBMITTED,
+
+    // auto-submitted when the time limit ran out, or after idling if untimed
+    EXPIRED
+}
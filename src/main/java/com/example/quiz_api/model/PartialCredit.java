@@ -0,0 +1,17 @@
+package com.example.quiz_api.model;
+
+/**
+ * How a quiz scores multiple choice answers that are only partly right
+ * Single choice and text questions are always all-or-nothing
+ */
+public enum PartialCredit {
+
+    // all-or-nothing: credit only for exactly the correct options
+    NONE,
+
+    // share of options judged right, picked if correct and left out if not
+    PROPORTIONAL,
+
+    // correct picks minus wrong picks, over the number of correct options, at least 0
+    PENALIZE_WRONG
+}
@@ -0,0 +1,198 @@
+package com.example.quiz_api.model;
+
+import java.util.Arrays;
+
+/**
+ * Immutable map from long keys to values that shares structure between versions
+ * A hash array mapped trie: each node branches 32 ways on five bits of the
+ * key's hash and stores only the occupied branches, located through a
+ * bitmap. Adding or removing a key copies the O(log n) nodes on its path;
+ * the new map shares every other node with the old one.
+ * The hash is a bijection of the key, so two keys always part at some
+ * level and no collision buckets are needed.
+ * @param <V> Value type
+ */
+public final class PersistentLongMap<V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentLongMap<?> EMPTY =
+            new PersistentLongMap<>(new Node(0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentLongMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentLongMap<V> empty() {
+        return (PersistentLongMap<V>) EMPTY;
+    }
+
+    /**
+     * Value stored for a key
+     * @param key The key
+     * @return The value, or null if the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long hash = hash(key);
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[node.index(bit)];
+            if (slot instanceof Node child) {
+                node = child;
+            } else {
+                Entry entry = (Entry) slot;
+                return entry.key == key ? (V) entry.value : null;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * A map with the key set to the value
+     * @param key The key
+     * @param value The value, not null
+     * @return The new map; this one is unchanged
+     */
+    public PersistentLongMap<V> put(long key, V value) {
+        boolean added = !containsKey(key);
+        Node updated = put(root, new Entry(key, hash(key), value), 0);
+        return new PersistentLongMap<>(updated, added ? size + 1 : size);
+    }
+
+    /**
+     * A map without the key
+     * @param key The key
+     * @return The new map, or this one if the key is absent
+     */
+    public PersistentLongMap<V> remove(long key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        // The root never collapses, so the result is a node
+        Node updated = (Node) remove(root, key, hash(key), 0);
+        return new PersistentLongMap<>(updated, size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static Node put(Node node, Entry entry, int shift) {
+        int bit = bit(entry.hash, shift);
+        int index = node.index(bit);
+        if ((node.bitmap & bit) == 0) {
+            return node.insert(bit, index, entry);
+        }
+        Object slot = node.slots[index];
+        if (slot instanceof Node child) {
+            return node.replace(index, put(child, entry, shift + BITS));
+        }
+        Entry existing = (Entry) slot;
+        if (existing.key == entry.key) {
+            return node.replace(index, entry);
+        }
+        // Two keys share this branch: push both down a level
+        Node pushed = put(leafNode(existing, shift + BITS), entry, shift + BITS);
+        return node.replace(index, pushed);
+    }
+
+    /**
+     * Remove a key known to be present
+     * @return The new node, or the last remaining entry of a node that
+     *         collapses into its parent
+     */
+    private static Object remove(Node node, long key, long hash, int shift) {
+        int bit = bit(hash, shift);
+        int index = node.index(bit);
+        Object slot = node.slots[index];
+        if (slot instanceof Node child) {
+            Object updated = remove(child, key, hash, shift + BITS);
+            return collapse(node.replace(index, updated), shift);
+        }
+        return collapse(node.delete(bit, index), shift);
+    }
+
+    /**
+     * A non-root node holding a single entry is replaced by that entry
+     */
+    private static Object collapse(Node node, int shift) {
+        if (shift > 0 && node.slots.length == 1 && node.slots[0] instanceof Entry entry) {
+            return entry;
+        }
+        return node;
+    }
+
+    private static Node leafNode(Entry entry, int shift) {
+        return new Node(bit(entry.hash, shift), new Object[]{entry});
+    }
+
+    private static int bit(long hash, int shift) {
+        return 1 << ((int) (hash >>> shift) & MASK);
+    }
+
+    /**
+     * Invertible mix of the key, so sequential IDs spread across branches
+     */
+    private static long hash(long key) {
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        return key ^ (key >>> 31);
+    }
+
+    private record Entry(long key, long hash, Object value) {
+    }
+
+    private static final class Node {
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        private Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private Node insert(int bit, int index, Object slot) {
+            Object[] updated = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, updated, 0, index);
+            updated[index] = slot;
+            System.arraycopy(slots, index, updated, index + 1, slots.length - index);
+            return new Node(bitmap | bit, updated);
+        }
+
+        private Node replace(int index, Object slot) {
+            Object[] updated = Arrays.copyOf(slots, slots.length);
+            updated[index] = slot;
+            return new Node(bitmap, updated);
+        }
+
+        private Node delete(int bit, int index) {
+            Object[] updated = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, updated, 0, index);
+            System.arraycopy(slots, index + 1, updated, index, slots.length - index - 1);
+            return new Node(bitmap & ~bit, updated);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.quiz_api.model;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable list that shares structure between versions
+ * Elements are kept in a treap ordered by position: every node records the
+ * size of its subtree, and random priorities keep the tree balanced in
+ * expectation. Appending, replacing or removing an element copies only
+ * the O(log n) nodes on its path, and the new list shares every other
+ * node with the old one, so both stay valid and cheap to keep.
+ * Mutators inherited from List throw UnsupportedOperationException.
+ * @param <E> Element type
+ */
+public final class PersistentVector<E> extends AbstractList<E> {
+
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(null);
+
+    private final Node<E> root;
+
+    private PersistentVector(Node<E> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Build a vector holding the elements in iteration order
+     * @param elements Elements to copy
+     * @return The vector
+     */
+    public static <E> PersistentVector<E> of(Iterable<? extends E> elements) {
+        if (elements instanceof PersistentVector<?>) {
+            @SuppressWarnings("unchecked")
+            PersistentVector<E> vector = (PersistentVector<E>) elements;
+            return vector;
+        }
+        PersistentVector<E> vector = empty();
+        for (E element : elements) {
+            vector = vector.append(element);
+        }
+        return vector;
+    }
+
+    /**
+     * A vector with the element added at the end
+     * @param element Element to add
+     * @return The new vector; this one is unchanged
+     */
+    public PersistentVector<E> append(E element) {
+        return new PersistentVector<>(merge(root, new Node<>(element, nextPriority(), null, null)));
+    }
+
+    /**
+     * A vector with the element at an index replaced
+     * @param index Position to replace
+     * @param element New element
+     * @return The new vector; this one is unchanged
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public PersistentVector<E> with(int index, E element) {
+        checkIndex(index);
+        return new PersistentVector<>(replace(root, index, element));
+    }
+
+    /**
+     * A vector without the element at an index
+     * @param index Position to remove
+     * @return The new vector; this one is unchanged
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public PersistentVector<E> without(int index) {
+        checkIndex(index);
+        Split<E> head = split(root, index);
+        Split<E> tail = split(head.right, 1);
+        return new PersistentVector<>(merge(head.left, tail.right));
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.element;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new InOrder<>(root);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static int nextPriority() {
+        return ThreadLocalRandom.current().nextInt();
+    }
+
+    /**
+     * Concatenate two trees, copying only the nodes along the seam
+     */
+    private static <E> Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority >= right.priority) {
+            return new Node<>(left.element, left.priority, left.left, merge(left.right, right));
+        }
+        return new Node<>(right.element, right.priority, merge(left, right.left), right.right);
+    }
+
+    /**
+     * Copy the path to a position, with the element there replaced
+     */
+    private static <E> Node<E> replace(Node<E> node, int index, E element) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node<>(node.element, node.priority, replace(node.left, index, element), node.right);
+        }
+        if (index == leftSize) {
+            return new Node<>(element, node.priority, node.left, node.right);
+        }
+        return new Node<>(node.element, node.priority, node.left,
+                replace(node.right, index - leftSize - 1, element));
+    }
+
+    /**
+     * Split a tree into its first count elements and the rest
+     */
+    private static <E> Split<E> split(Node<E> node, int count) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+        int leftSize = size(node.left);
+        if (count <= leftSize) {
+            Split<E> split = split(node.left, count);
+            return new Split<>(split.left,
+                    new Node<>(node.element, node.priority, split.right, node.right));
+        }
+        Split<E> split = split(node.right, count - leftSize - 1);
+        return new Split<>(new Node<>(node.element, node.priority, node.left, split.left),
+                split.right);
+    }
+
+    private record Split<E>(Node<E> left, Node<E> right) {
+    }
+
+    private static final class Node<E> {
+
+        private final E element;
+        private final int priority;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int size;
+
+        private Node(E element, int priority, Node<E> left, Node<E> right) {
+            this.element = element;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private static final class InOrder<E> implements Iterator<E> {
+
+        private final Deque<Node<E>> path = new ArrayDeque<>();
+
+        private InOrder(Node<E> root) {
+            descend(root);
+        }
+
+        private void descend(Node<E> node) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<E> node = path.pop();
+            descend(node.right);
+            return node.element;
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.quiz_api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.List;
 
 /**
- * Represents a question in a quiz
- * Supports single choice, multiple choice, and text-based questions
+ * Represents a question in the shared question bank
+ * Supports single choice, multiple choice, and text-based questions.
+ * Quizzes reference questions by ID, so one question can be in many quizzes.
  */
 @Data
 @AllArgsConstructor
@@ -20,11 +27,6 @@ public class Question {
      */
     private Long id;
 
-    /**
-     * ID of the quiz this question belongs to
-     */
-    private Long quizId;
-
     /**
      * The question text
      */
@@ -58,4 +60,57 @@ public class Question {
      * Null for choice-based questions
      */
     private Integer wordLimit;
+
+    /**
+     * Item response theory difficulty (b): the ability at which a learner
+     * answers correctly with probability one half
+     * Null if the question is not calibrated; adaptive sessions assume 0
+     */
+    private Double difficulty;
+
+    /**
+     * Item response theory discrimination (a): how sharply the chance of
+     * a correct answer rises with ability around the difficulty
+     * Null if the question is not calibrated; adaptive sessions assume 1
+     */
+    private Double discrimination;
+
+    /**
+     * Points the question is worth when answered fully right
+     * Null counts as 1
+     */
+    private Double weight;
+
+    /**
+     * Correct options as a bitmask, built on first use for choice questions
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile AnswerKey answerKey;
+
+    /**
+     * Bitmask answer key of a choice question
+     * Stored questions do not change, so the key is built once and reused
+     * @return The key, or null for text questions
+     */
+    @JsonIgnore
+    public AnswerKey getAnswerKey() {
+        AnswerKey key = answerKey;
+        if (key == null && options != null && correctAnswerIds != null) {
+            key = AnswerKey.of(options, correctAnswerIds);
+            answerKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Points the question is worth, defaulting to 1
+     */
+    @JsonIgnore
+    public double getPoints() {
+        return weight != null ? weight : 1.0;
+    }
 }
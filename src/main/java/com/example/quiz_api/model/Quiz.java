@@ -1,8 +1,11 @@
 package com.example.quiz_api.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -10,6 +13,10 @@ import java.util.List;
 
 /**
  * Represents a quiz containing multiple questions
+ * Stored quizzes are immutable revisions: every change publishes a new Quiz
+ * whose question list and question index share unchanged parts with the
+ * previous revision. A revision carries the questions it was built with,
+ * so it can still be graded after later revisions change or remove them.
  */
 @Data
 @AllArgsConstructor
@@ -27,7 +34,9 @@ public class Quiz {
     private String title;
 
     /**
-     * List of question IDs belonging to this quiz
+     * IDs of the questions this quiz references, in order
+     * Questions are shared between quizzes with the same question.
+     * A PersistentVector on stored revisions
      */
     private List<Long> questionIds;
 
@@ -36,6 +45,38 @@ public class Quiz {
      */
     private LocalDateTime createdAt;
 
+    /**
+     * Global change version stamped when the quiz was last saved
+     */
+    private long version;
+
+    /**
+     * Time allowed for an attempt in seconds, or null if the quiz is untimed
+     * Timed quizzes are only taken through attempts
+     */
+    private Integer timeLimitSeconds;
+
+    /**
+     * How partly right multiple choice answers are scored
+     * Null scores them all-or-nothing
+     */
+    private PartialCredit partialCredit;
+
+    /**
+     * Share of a question's points deducted for an answer that earns no credit
+     * Unanswered questions are never deducted. Null for no negative marking
+     */
+    private Double negativeMarking;
+
+    /**
+     * The revision's questions by ID, built when the quiz is stored
+     * Not serialized; null on quizzes that were never stored
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private PersistentLongMap<Question> questions;
+
     /**
      * Constructor for creating a new quiz
      */
@@ -45,4 +86,26 @@ public class Quiz {
         this.questionIds = new ArrayList<>();
         this.createdAt = LocalDateTime.now();
     }
+
+    /**
+     * Whether this quiz references a question
+     * @param questionId ID of the question
+     * @return true if the question is part of the quiz
+     */
+    public boolean containsQuestion(Long questionId) {
+        if (questionId == null) {
+            return false;
+        }
+        return questions != null ?
+                questions.containsKey(questionId) : questionIds.contains(questionId);
+    }
+
+    /**
+     * A question as it was when this revision was stored
+     * @param questionId ID of the question
+     * @return The question, or null if it is not part of this revision
+     */
+    public Question findQuestion(Long questionId) {
+        return questionId != null && questions != null ? questions.get(questionId) : null;
+    }
 }
@@ -0,0 +1,104 @@
+package com.example.quiz_api.replication;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Ordered, compacted log of repository writes
+ * Only the latest record of each entity is kept, so the log never grows
+ * beyond the size of the data and replaying it from any sequence brings a
+ * follower up to date. A superseded record is only dropped when its
+ * replacement is appended with a higher sequence, so a reader never misses
+ * an entity's latest state.
+ */
+public class ReplicationLog {
+
+    private final NavigableMap<Long, ReplicationRecord> records = new ConcurrentSkipListMap<>();
+
+    // Sequence of the latest record of each entity; guarded by this
+    private final Map<EntityKey, Long> latest = new HashMap<>();
+    private long lastSequence;
+
+    /**
+     * Append a local write with the next sequence
+     * @return The sequence assigned
+     */
+    public synchronized long append(byte type, long entityId, byte[] payload) {
+        long sequence = lastSequence + 1;
+        put(new ReplicationRecord(sequence, type, entityId, payload));
+        return sequence;
+    }
+
+    /**
+     * Append a record received from the leader, keeping its sequence
+     */
+    public synchronized void appendReplicated(ReplicationRecord record) {
+        put(record);
+    }
+
+    private void put(ReplicationRecord record) {
+        records.put(record.sequence(), record);
+        Long previous = latest.put(new EntityKey(record.type(), record.entityId()), record.sequence());
+        if (previous != null) {
+            records.remove(previous);
+        }
+        lastSequence = record.sequence();
+        notifyAll();
+    }
+
+    /**
+     * Read records after a sequence, in order
+     * @param sequence Exclusive lower bound
+     * @param max Maximum records to return
+     * @return Up to max records, empty if the reader is up to date
+     */
+    public List<ReplicationRecord> readAfter(long sequence, int max) {
+        List<ReplicationRecord> batch = new ArrayList<>(Math.min(max, 64));
+        for (ReplicationRecord record : records.tailMap(sequence, false).values()) {
+            batch.add(record);
+            if (batch.size() == max) {
+                break;
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Wait until a record after the sequence is appended
+     * @param sequence Sequence the caller has read up to
+     * @param timeoutMillis Maximum time to wait
+     */
+    public synchronized void awaitAfter(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (lastSequence <= sequence && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Records currently retained
+     * @return Record count
+     */
+    public int size() {
+        return records.size();
+    }
+
+    public synchronized void clear() {
+        records.clear();
+        latest.clear();
+        lastSequence = 0;
+    }
+
+    private record EntityKey(byte type, long id) {
+    }
+}
@@ -0,0 +1,579 @@
+package com.example.quiz_api.replication;
+
+import com.example.quiz_api.dto.ChangeEvent;
+import com.example.quiz_api.dto.ReplicationStatusResponse;
+import com.example.quiz_api.exception.ConflictException;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.repository.RepositoryListener;
+import com.example.quiz_api.service.ChangeFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Leader/follower replication of quizzes and questions
+ * A leader appends every saved quiz and question to a compacted log and
+ * streams it over TCP to its followers, one thread per follower. Followers
+ * apply the stream in order, serve reads and reject writes. A follower can
+ * be promoted to leader and the others pointed at it; they resume from
+ * their last sequence, or resync from scratch if they saw writes the new
+ * leader never received.
+ *
+ * Each leadership term has a random epoch ID. The epoch history, with the
+ * sequence each epoch started at, travels with the stream, so a leader can
+ * tell whether a reconnecting follower's position is part of its own history.
+ *
+ * Peers authenticate each other before anything else is exchanged: each
+ * side sends a random challenge and proves it holds quiz.replication.secret
+ * with an HMAC over both challenges. A follower never resets its data for,
+ * and a leader never streams to, a peer that fails. The leader listens on
+ * quiz.replication.bind-address, loopback by default.
+ *
+ * Created eagerly even with lazy initialization, so a leader listens and a
+ * follower connects as soon as the instance starts.
+ */
+@Component
+@Lazy(false)
+public class ReplicationManager implements RepositoryListener {
+
+    private static final int BATCH_SIZE = 256;
+
+    private static final ConflictException READ_ONLY =
+            new ConflictException("This instance is a read-only replica");
+
+    private static final ConflictException NOT_A_FOLLOWER =
+            new ConflictException("Only a follower can be promoted");
+
+    private static final ConflictException NO_SECRET =
+            new ConflictException("Replication secret is not configured");
+
+    private static final int NONCE_LENGTH = 16;
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 5_000;
+    private static final String HMAC = "HmacSHA256";
+    private static final int PROOF_LENGTH = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final byte[] LEADER_PROOF = "leader".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FOLLOWER_PROOF = "follower".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private ReplicationProperties properties;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReplicationLog log = new ReplicationLog();
+    private volatile ReplicationProperties.Role role;
+    private volatile List<Epoch> epochs = List.of();
+
+    // Leader side
+    private ServerSocket serverSocket;
+    private final Set<Socket> followerSockets = ConcurrentHashMap.newKeySet();
+
+    // Follower side
+    private Thread followerThread;
+    private volatile Socket leaderSocket;
+    private volatile boolean following;
+    private volatile boolean connected;
+    private volatile long leaderSequence;
+    private volatile long caughtUpAtMillis = System.currentTimeMillis();
+
+    @PostConstruct
+    void init() {
+        role = properties.getRole();
+        if (role != ReplicationProperties.Role.NONE && properties.getSecret().isEmpty()) {
+            throw new IllegalStateException("Replication requires quiz.replication.secret");
+        }
+        repository.addListener(this);
+        if (role == ReplicationProperties.Role.LEADER) {
+            startLeader();
+        } else if (role == ReplicationProperties.Role.FOLLOWER) {
+            startFollower(properties.getLeaderHost(), properties.getLeaderPort());
+        }
+
+        Gauge.builder("quiz.replication.sequence", log, ReplicationLog::getLastSequence)
+                .description("Latest replication log sequence on this instance")
+                .register(meterRegistry);
+        Gauge.builder("quiz.replication.lag.records", this, ReplicationManager::getLagRecords)
+                .description("Leader sequences this follower has not applied yet")
+                .register(meterRegistry);
+        Gauge.builder("quiz.replication.lag", this, ReplicationManager::getLagMillis)
+                .baseUnit("milliseconds")
+                .description("Time since this follower last had every leader write")
+                .register(meterRegistry);
+        Gauge.builder("quiz.replication.followers", followerSockets, Set::size)
+                .description("Followers connected to this leader")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        stopFollower();
+        stopLeader();
+    }
+
+    @Override
+    public void quizSaved(Quiz quiz) {
+        if (role == ReplicationProperties.Role.LEADER) {
+            log.append(ReplicationRecord.QUIZ, quiz.getId(), serialize(quiz));
+        }
+    }
+
+    @Override
+    public void questionSaved(Question question) {
+        if (role == ReplicationProperties.Role.LEADER) {
+            log.append(ReplicationRecord.QUESTION, question.getId(), serialize(question));
+        }
+    }
+
+    @Override
+    public void questionRemoved(Question question) {
+        if (role == ReplicationProperties.Role.LEADER) {
+            // Tombstone: replaces the question's record in the compacted log
+            log.append(ReplicationRecord.QUESTION, question.getId(), new byte[0]);
+        }
+    }
+
+    /**
+     * Reject writes on a follower
+     * @throws ConflictException if this instance is a follower
+     */
+    public void checkWritable() {
+        if (role == ReplicationProperties.Role.FOLLOWER) {
+            throw READ_ONLY;
+        }
+    }
+
+    /**
+     * Promote this follower to leader
+     * It stops following and accepts followers on quiz.replication.port
+     * @return Status after promotion
+     * @throws ConflictException if this instance is not a follower
+     */
+    public synchronized ReplicationStatusResponse promote() {
+        if (role != ReplicationProperties.Role.FOLLOWER) {
+            throw NOT_A_FOLLOWER;
+        }
+        stopFollower();
+        role = ReplicationProperties.Role.LEADER;
+        startLeader();
+        return getStatus();
+    }
+
+    /**
+     * Follow a leader, stepping down first if this instance leads
+     * @param host Leader host
+     * @param port Leader replication port
+     * @return Status after switching
+     * @throws ConflictException if no replication secret is configured
+     */
+    public synchronized ReplicationStatusResponse follow(String host, int port) {
+        if (properties.getSecret().isEmpty()) {
+            throw NO_SECRET;
+        }
+        stopFollower();
+        stopLeader();
+        role = ReplicationProperties.Role.FOLLOWER;
+        startFollower(host, port);
+        return getStatus();
+    }
+
+    /**
+     * Current replication state
+     * @return Role, log position and lag
+     */
+    public ReplicationStatusResponse getStatus() {
+        List<Epoch> history = epochs;
+        ServerSocket server = serverSocket;
+        return new ReplicationStatusResponse(
+                role.name().toLowerCase(),
+                history.isEmpty() ? null : Long.toHexString(history.get(history.size() - 1).id()),
+                log.getLastSequence(),
+                role == ReplicationProperties.Role.FOLLOWER ? connected : null,
+                role == ReplicationProperties.Role.FOLLOWER ? getLagRecords() : null,
+                role == ReplicationProperties.Role.FOLLOWER ? getLagMillis() : null,
+                role == ReplicationProperties.Role.LEADER ? followerSockets.size() : null,
+                role == ReplicationProperties.Role.LEADER && server != null ?
+                        server.getLocalPort() : null
+        );
+    }
+
+    /**
+     * Leader sequences not yet applied, 0 on a leader
+     * @return Sequence lag
+     */
+    public long getLagRecords() {
+        if (role != ReplicationProperties.Role.FOLLOWER) {
+            return 0;
+        }
+        return Math.max(0, leaderSequence - log.getLastSequence());
+    }
+
+    /**
+     * Time since this follower last confirmed it had every leader write, 0 on a leader
+     * @return Lag in milliseconds
+     */
+    public long getLagMillis() {
+        if (role != ReplicationProperties.Role.FOLLOWER) {
+            return 0;
+        }
+        return System.currentTimeMillis() - caughtUpAtMillis;
+    }
+
+    // ---- Leader ----
+
+    private void startLeader() {
+        List<Epoch> history = new ArrayList<>(epochs);
+        history.add(new Epoch(ThreadLocalRandom.current().nextLong(), log.getLastSequence()));
+        epochs = List.copyOf(history);
+        try {
+            ServerSocket server = new ServerSocket();
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress(
+                    InetAddress.getByName(properties.getBindAddress()), properties.getPort()));
+            serverSocket = server;
+            daemon(() -> accept(server), "replication-accept").start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot listen for followers", e);
+        }
+    }
+
+    private void stopLeader() {
+        ServerSocket server = serverSocket;
+        serverSocket = null;
+        if (server != null) {
+            closeQuietly(server);
+        }
+        for (Socket socket : followerSockets) {
+            closeQuietly(socket);
+        }
+        followerSockets.clear();
+    }
+
+    private void accept(ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                followerSockets.add(socket);
+                daemon(() -> serve(socket), "replication-sender").start();
+            } catch (IOException e) {
+                // Closed on step-down, or a failed accept; the loop condition decides
+            }
+        }
+    }
+
+    /**
+     * Stream the log to one follower until it disconnects
+     */
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            // An unauthenticated peer may not hold a sender thread for long
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            byte[] followerNonce = new byte[NONCE_LENGTH];
+            in.readFully(followerNonce);
+            byte[] leaderNonce = nonce();
+            out.write(leaderNonce);
+            out.write(proof(LEADER_PROOF, followerNonce, leaderNonce));
+            out.flush();
+            byte[] followerProof = new byte[PROOF_LENGTH];
+            in.readFully(followerProof);
+            if (!MessageDigest.isEqual(followerProof, proof(FOLLOWER_PROOF, leaderNonce, followerNonce))) {
+                return;
+            }
+            socket.setSoTimeout(0);
+
+            long followerEpoch = in.readLong();
+            long cursor = in.readLong();
+            List<Epoch> history = epochs;
+            boolean reset = !canResume(history, followerEpoch, cursor);
+            out.writeInt(history.size());
+            for (Epoch epoch : history) {
+                out.writeLong(epoch.id());
+                out.writeLong(epoch.startSequence());
+            }
+            out.writeBoolean(reset);
+            if (reset) {
+                cursor = 0;
+            }
+
+            while (!socket.isClosed()) {
+                List<ReplicationRecord> batch = log.readAfter(cursor, BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    ReplicationRecord.heartbeat(log.getLastSequence()).writeTo(out);
+                    out.flush();
+                    log.awaitAfter(cursor, properties.getHeartbeatMillis());
+                    continue;
+                }
+                for (ReplicationRecord record : batch) {
+                    record.writeTo(out);
+                }
+                cursor = batch.get(batch.size() - 1).sequence();
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Follower went away; it resumes from its own position when it reconnects
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followerSockets.remove(socket);
+        }
+    }
+
+    /**
+     * Whether a follower's log is a prefix of this leader's
+     * It is if the follower's position is within the part of its epoch
+     * that this leader also received
+     */
+    private boolean canResume(List<Epoch> history, long followerEpoch, long cursor) {
+        if (cursor == 0) {
+            return true;
+        }
+        if (cursor > log.getLastSequence()) {
+            return false;
+        }
+        for (int i = 0; i < history.size(); i++) {
+            if (history.get(i).id() == followerEpoch) {
+                return i == history.size() - 1 || cursor <= history.get(i + 1).startSequence();
+            }
+        }
+        return false;
+    }
+
+    // ---- Follower ----
+
+    private void startFollower(String host, int port) {
+        following = true;
+        connected = false;
+        caughtUpAtMillis = System.currentTimeMillis();
+        followerThread = daemon(() -> followLoop(host, port), "replication-follower");
+        followerThread.start();
+    }
+
+    private void stopFollower() {
+        following = false;
+        connected = false;
+        Thread thread = followerThread;
+        followerThread = null;
+        Socket socket = leaderSocket;
+        if (socket != null) {
+            closeQuietly(socket);
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                // Nothing may be applied once this returns
+                thread.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void followLoop(String host, int port) {
+        while (following) {
+            try (Socket socket = new Socket()) {
+                leaderSocket = socket;
+                socket.connect(new InetSocketAddress(host, port), 2_000);
+                socket.setTcpNoDelay(true);
+                // A silent leader is treated as gone
+                socket.setSoTimeout((int) Math.max(1_000, properties.getHeartbeatMillis() * 5));
+                receive(socket);
+            } catch (IOException | RuntimeException e) {
+                // Leader unreachable or stream broken; retry from the last applied sequence
+            } finally {
+                connected = false;
+                leaderSocket = null;
+            }
+            if (following) {
+                try {
+                    Thread.sleep(properties.getReconnectMillis());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        byte[] followerNonce = nonce();
+        out.write(followerNonce);
+        out.flush();
+        byte[] leaderNonce = new byte[NONCE_LENGTH];
+        in.readFully(leaderNonce);
+        byte[] leaderProof = new byte[PROOF_LENGTH];
+        in.readFully(leaderProof);
+        if (!MessageDigest.isEqual(leaderProof, proof(LEADER_PROOF, followerNonce, leaderNonce))) {
+            throw new IOException("Leader failed authentication");
+        }
+        out.write(proof(FOLLOWER_PROOF, leaderNonce, followerNonce));
+
+        List<Epoch> known = epochs;
+        out.writeLong(known.isEmpty() ? 0 : known.get(known.size() - 1).id());
+        out.writeLong(log.getLastSequence());
+        out.flush();
+
+        int count = in.readInt();
+        List<Epoch> history = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            history.add(new Epoch(in.readLong(), in.readLong()));
+        }
+        boolean reset = in.readBoolean();
+        if (!following) {
+            return;
+        }
+        if (reset) {
+            repository.clear();
+            log.clear();
+        }
+        epochs = List.copyOf(history);
+        connected = true;
+
+        while (following) {
+            ReplicationRecord record = ReplicationRecord.readFrom(in);
+            leaderSequence = Math.max(leaderSequence, record.sequence());
+            if (record.type() == ReplicationRecord.HEARTBEAT) {
+                if (log.getLastSequence() >= record.sequence()) {
+                    caughtUpAtMillis = System.currentTimeMillis();
+                }
+                continue;
+            }
+            apply(record);
+        }
+    }
+
+    private void apply(ReplicationRecord record) throws IOException {
+        if (record.type() == ReplicationRecord.QUIZ) {
+            Quiz quiz = objectMapper.readValue(record.payload(), Quiz.class);
+            Quiz previous = repository.findQuizById(quiz.getId()).orElse(null);
+            Quiz stored = repository.replicateQuiz(quiz);
+            publishChanges(previous, stored);
+        } else if (record.type() == ReplicationRecord.QUESTION) {
+            if (record.payload().length == 0) {
+                repository.replicateQuestionRemoval(record.entityId());
+            } else {
+                Question question = objectMapper.readValue(record.payload(), Question.class);
+                // Quizzes that arrived before the question only list it now
+                for (Quiz completed : repository.replicateQuestion(question)) {
+                    changeFeed.publish(ChangeEvent.QUESTION_ADDED, completed.getId(), question.getId());
+                }
+            }
+        }
+        log.appendReplicated(record);
+    }
+
+    /**
+     * Publish the change events a replicated quiz snapshot implies
+     * Shared questions are added to a quiz without a question record of
+     * their own, so question events come from the quiz's references
+     */
+    private void publishChanges(Quiz previous, Quiz stored) {
+        if (previous == null) {
+            changeFeed.publish(ChangeEvent.QUIZ_CREATED, stored.getId(), null);
+        }
+        for (Long questionId : stored.getQuestionIds()) {
+            if (previous == null || !previous.containsQuestion(questionId)) {
+                changeFeed.publish(ChangeEvent.QUESTION_ADDED, stored.getId(), questionId);
+            }
+        }
+        if (previous != null) {
+            for (Long questionId : previous.getQuestionIds()) {
+                if (!stored.containsQuestion(questionId)) {
+                    changeFeed.publish(ChangeEvent.QUESTION_REMOVED, stored.getId(), questionId);
+                }
+            }
+        }
+    }
+
+    private static byte[] nonce() {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    /**
+     * HMAC of both challenges under the shared secret, bound to the prover's role
+     * so one side's proof cannot be replayed as the other's
+     */
+    private byte[] proof(byte[] role, byte[] challenge, byte[] response) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), HMAC));
+            mac.update(role);
+            mac.update(challenge);
+            return mac.doFinal(response);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC + " is unavailable", e);
+        }
+    }
+
+    private byte[] serialize(Object entity) {
+        try {
+            return objectMapper.writeValueAsBytes(entity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing left to do with it
+        }
+    }
+
+    /**
+     * A leadership term and the log sequence it started after
+     */
+    private record Epoch(long id, long startSequence) {
+    }
+}
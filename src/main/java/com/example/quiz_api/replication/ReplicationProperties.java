@@ -0,0 +1,63 @@
+package com.example.quiz_api.replication;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for leader/follower replication of quizzes and questions
+ * Bound from the quiz.replication.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "quiz.replication")
+public class ReplicationProperties {
+
+    /**
+     * none, leader or follower
+     */
+    private Role role = Role.NONE;
+
+    /**
+     * Port a leader accepts follower connections on, 0 for any free port
+     */
+    private int port = 7070;
+
+    /**
+     * Address a leader accepts follower connections on
+     * Loopback by default; set an internal interface to replicate across hosts
+     */
+    private String bindAddress = "127.0.0.1";
+
+    /**
+     * Secret leader and followers prove to each other before replicating
+     * Required unless the role is none
+     */
+    private String secret = "";
+
+    /**
+     * Leader a follower connects to
+     */
+    private String leaderHost = "localhost";
+
+    /**
+     * Replication port of the leader
+     */
+    private int leaderPort = 7070;
+
+    /**
+     * How often an idle leader tells followers its latest sequence
+     */
+    private long heartbeatMillis = 200;
+
+    /**
+     * How long a follower waits before reconnecting to its leader
+     */
+    private long reconnectMillis = 500;
+
+    public enum Role {
+        NONE,
+        LEADER,
+        FOLLOWER
+    }
+}
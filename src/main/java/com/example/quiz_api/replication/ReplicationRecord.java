@@ -0,0 +1,51 @@
+package com.example.quiz_api.replication;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * One frame of the replication stream
+ * On the wire: sequence (8 bytes), type (1), entity ID (8), payload
+ * length (4) and the payload, which is the entity as JSON.
+ * @param sequence Position in the leader's log; for heartbeats the leader's latest sequence
+ * @param type QUIZ, QUESTION or HEARTBEAT
+ * @param entityId ID of the saved entity; for heartbeats the leader's clock
+ * @param payload Serialized entity, empty for heartbeats
+ */
+public record ReplicationRecord(long sequence, byte type, long entityId, byte[] payload) {
+
+    public static final byte QUIZ = 1;
+    public static final byte QUESTION = 2;
+    public static final byte HEARTBEAT = 3;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    // Refuse frames no entity could need, rather than allocating them
+    private static final int MAX_PAYLOAD = 64 * 1024 * 1024;
+
+    public static ReplicationRecord heartbeat(long lastSequence) {
+        return new ReplicationRecord(lastSequence, HEARTBEAT, System.currentTimeMillis(), EMPTY);
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(sequence);
+        out.writeByte(type);
+        out.writeLong(entityId);
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    public static ReplicationRecord readFrom(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        byte type = in.readByte();
+        long entityId = in.readLong();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD) {
+            throw new IOException("Invalid replication frame length " + length);
+        }
+        byte[] payload = length == 0 ? EMPTY : new byte[length];
+        in.readFully(payload);
+        return new ReplicationRecord(sequence, type, entityId, payload);
+    }
+}
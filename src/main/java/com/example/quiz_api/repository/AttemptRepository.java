@@ -0,0 +1,143 @@
+package com.example.quiz_api.repository;
+
+import com.example.quiz_api.id.IdGenerator;
+import com.example.quiz_api.id.IdGenerators;
+import com.example.quiz_api.model.Attempt;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repository for quiz attempts
+ * Uses in-memory storage with thread-safe collections. Saved answers are
+ * packed into one long array per attempt, laid out as question ID, option
+ * count, then the option IDs, for each answered question in order.
+ */
+@Repository
+public class AttemptRepository {
+
+    private final Map<Long, Attempt> attempts = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> answers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private IdGenerators idGenerators;
+
+    private IdGenerator attemptIds;
+
+    @PostConstruct
+    void init() {
+        attemptIds = idGenerators.create();
+    }
+
+    /**
+     * Save a new attempt
+     * @param attempt The attempt to save
+     * @return The saved attempt with a generated ID
+     */
+    public Attempt save(Attempt attempt) {
+        if (attempt.getId() == null) {
+            attempt.setId(attemptIds.nextId());
+        }
+        attempts.put(attempt.getId(), attempt);
+        return attempt;
+    }
+
+    /**
+     * Find an attempt by its ID
+     * @param id The attempt ID
+     * @return Optional containing the attempt if found
+     */
+    public Optional<Attempt> findById(Long id) {
+        return Optional.ofNullable(attempts.get(id));
+    }
+
+    /**
+     * Merge answers into an attempt's saved answers
+     * Each answer replaces any earlier answer to the same question. Callers
+     * writing the same attempt must not run concurrently.
+     * @param attemptId The attempt ID
+     * @param changes Selected options by question ID
+     */
+    public void saveAnswers(Long attemptId, Map<Long, List<Long>> changes) {
+        Map<Long, List<Long>> merged = findAnswers(attemptId);
+        merged.putAll(changes);
+        answers.put(attemptId, pack(merged));
+    }
+
+    /**
+     * Get an attempt's saved answers
+     * @param attemptId The attempt ID
+     * @return Modifiable copy of the selected options by question ID, in answer order
+     */
+    public Map<Long, List<Long>> findAnswers(Long attemptId) {
+        long[] packed = answers.get(attemptId);
+        return packed == null ? new LinkedHashMap<>() : unpack(packed);
+    }
+
+    private static long[] pack(Map<Long, List<Long>> answers) {
+        int length = 0;
+        for (List<Long> options : answers.values()) {
+            length += 2 + options.size();
+        }
+        long[] packed = new long[length];
+        int i = 0;
+        for (Map.Entry<Long, List<Long>> entry : answers.entrySet()) {
+            packed[i++] = entry.getKey();
+            packed[i++] = entry.getValue().size();
+            for (Long option : entry.getValue()) {
+                packed[i++] = option;
+            }
+        }
+        return packed;
+    }
+
+    private static Map<Long, List<Long>> unpack(long[] packed) {
+        Map<Long, List<Long>> answers = new LinkedHashMap<>();
+        int i = 0;
+        while (i < packed.length) {
+            long questionId = packed[i++];
+            int count = (int) packed[i++];
+            List<Long> options = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                options.add(packed[i++]);
+            }
+            answers.put(questionId, Collections.unmodifiableList(options));
+        }
+        return answers;
+    }
+
+    /**
+     * Delete an attempt and its saved answers
+     * @param id The attempt ID
+     * @return true if the attempt existed
+     */
+    public boolean delete(Long id) {
+        answers.remove(id);
+        return attempts.remove(id) != null;
+    }
+
+    /**
+     * Number of stored attempts
+     * @return Attempt count
+     */
+    public int count() {
+        return attempts.size();
+    }
+
+    /**
+     * Clear all data (useful for testing)
+     */
+    public void clear() {
+        attempts.clear();
+        answers.clear();
+        attemptIds.reset();
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.quiz_api.repository;
+
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Shared store of questions, deduplicated by content and reference-counted
+ * Questions are indexed by a key of their text, type, option texts, correct
+ * answers, word limit, calibration and weight. Adding content that is already stored returns
+ * the stored question instead of a copy, unless the quiz already references
+ * it. Each quiz reference counts once; a question is dropped when its last
+ * reference is released.
+ *
+ * All changes to the questions sharing one content key run inside that
+ * key's ConcurrentHashMap.compute, so finding a match and taking a
+ * reference to it cannot race with releasing its last reference.
+ */
+class QuestionBank {
+
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<QuestionContent, List<Entry>> byContent = new ConcurrentHashMap<>();
+
+    /**
+     * Take a reference to a question with the draft's content
+     * Caller holds the quiz's write lock, so its references do not change
+     * @param draft New question; stored with a fresh ID if no match is free
+     * @param quiz Quiz that will reference the question
+     * @param ids Source of question IDs
+     * @return The referenced question and whether it was newly stored
+     */
+    Acquired acquire(Question draft, Quiz quiz, Supplier<Long> ids) {
+        Acquired[] result = new Acquired[1];
+        byContent.compute(QuestionContent.of(draft), (content, entries) -> {
+            if (entries != null) {
+                for (Entry entry : entries) {
+                    if (!quiz.containsQuestion(entry.question.getId())) {
+                        entry.references++;
+                        result[0] = new Acquired(entry.question, false);
+                        return entries;
+                    }
+                }
+            }
+            draft.setId(ids.get());
+            Entry entry = new Entry(draft, content, 1);
+            byId.put(draft.getId(), entry);
+            result[0] = new Acquired(draft, true);
+            List<Entry> updated = entries != null ? entries : new ArrayList<>(1);
+            updated.add(entry);
+            return updated;
+        });
+        return result[0];
+    }
+
+    /**
+     * Take another reference to a stored question
+     * @param questionId ID of the question
+     */
+    void retain(Long questionId) {
+        Entry entry = byId.get(questionId);
+        if (entry != null) {
+            byContent.computeIfPresent(entry.content, (content, entries) -> {
+                entry.references++;
+                return entries;
+            });
+        }
+    }
+
+    /**
+     * Release a reference, dropping the question when none are left
+     * @param questionId ID of the question
+     * @return The dropped question, or null if it is still referenced
+     */
+    Question release(Long questionId) {
+        Entry entry = byId.get(questionId);
+        if (entry == null) {
+            return null;
+        }
+        Question[] dropped = new Question[1];
+        byContent.computeIfPresent(entry.content, (content, entries) -> {
+            if (--entry.references > 0) {
+                return entries;
+            }
+            dropped[0] = remove(entry, entries);
+            return entries.isEmpty() ? null : entries;
+        });
+        return dropped[0];
+    }
+
+    /**
+     * Release a reference but keep the question, even with none left
+     * Followers can skip superseded quiz revisions, so a question can lose
+     * its last reference here while a later revision still uses it; it is
+     * dropped when the leader's removal arrives instead
+     * @param questionId ID of the question
+     */
+    void unreference(Long questionId) {
+        Entry entry = byId.get(questionId);
+        if (entry != null) {
+            byContent.computeIfPresent(entry.content, (content, entries) -> {
+                if (entry.references > 0) {
+                    entry.references--;
+                }
+                return entries;
+            });
+        }
+    }
+
+    /**
+     * Store a question copied from another instance, without references
+     * References are taken as the quizzes that use it are stored
+     * @param question The question, keeping its ID
+     */
+    void storeUnreferenced(Question question) {
+        byContent.compute(QuestionContent.of(question), (content, entries) -> {
+            List<Entry> updated = entries != null ? entries : new ArrayList<>(1);
+            if (!byId.containsKey(question.getId())) {
+                Entry entry = new Entry(question, content, 0);
+                byId.put(question.getId(), entry);
+                updated.add(entry);
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Drop a question if no quiz references it
+     * @param questionId ID of the question
+     * @return The dropped question, or null
+     */
+    Question dropIfUnreferenced(Long questionId) {
+        Entry entry = byId.get(questionId);
+        if (entry == null) {
+            return null;
+        }
+        Question[] dropped = new Question[1];
+        byContent.computeIfPresent(entry.content, (content, entries) -> {
+            if (entry.references == 0) {
+                dropped[0] = remove(entry, entries);
+            }
+            return entries.isEmpty() ? null : entries;
+        });
+        return dropped[0];
+    }
+
+    Question find(Long questionId) {
+        Entry entry = byId.get(questionId);
+        return entry != null ? entry.question : null;
+    }
+
+    /**
+     * Number of quiz references to a question
+     * @param questionId ID of the question
+     * @return Reference count, 0 if not stored
+     */
+    int references(Long questionId) {
+        Entry entry = byId.get(questionId);
+        return entry != null ? entry.references : 0;
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    void clear() {
+        byContent.clear();
+        byId.clear();
+    }
+
+    private Question remove(Entry entry, List<Entry> entries) {
+        entries.remove(entry);
+        byId.remove(entry.question.getId());
+        return entry.question;
+    }
+
+    /**
+     * Result of taking a reference
+     * @param question The referenced question
+     * @param created Whether it was stored by this call
+     */
+    record Acquired(Question question, boolean created) {
+    }
+
+    private static final class Entry {
+
+        private final Question question;
+        private final QuestionContent content;
+
+        // Changed only inside compute for the entry's content key
+        private volatile int references;
+
+        private Entry(Question question, QuestionContent content, int references) {
+            this.question = question;
+            this.content = content;
+            this.references = references;
+        }
+    }
+
+    /**
+     * Content key of a question
+     * Correct options are identified by position, since option IDs differ
+     * between copies of the same question
+     */
+    private record QuestionContent(String text, QuestionType type, List<String> options,
+                                   List<Integer> correctOptions, List<String> correctTexts,
+                                   Integer wordLimit, Double difficulty, Double discrimination,
+                                   Double weight) {
+
+        static QuestionContent of(Question question) {
+            List<String> options = null;
+            List<Integer> correctOptions = null;
+            if (question.getOptions() != null) {
+                options = new ArrayList<>(question.getOptions().size());
+                List<Long> optionIds = new ArrayList<>(question.getOptions().size());
+                for (Option option : question.getOptions()) {
+                    options.add(option.getText());
+                    optionIds.add(option.getId());
+                }
+                if (question.getCorrectAnswerIds() != null) {
+                    correctOptions = new ArrayList<>(question.getCorrectAnswerIds().size());
+                    for (Long correctId : question.getCorrectAnswerIds()) {
+                        correctOptions.add(optionIds.indexOf(correctId));
+                    }
+                }
+            }
+            return new QuestionContent(question.getText(), question.getType(), options,
+                    correctOptions, question.getCorrectAnswerTexts(), question.getWordLimit(),
+                    question.getDifficulty(), question.getDiscrimination(), question.getWeight());
+        }
+    }
+}
@@ -1,43 +1,348 @@
 package com.example.quiz_api.repository;
 
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.id.IdGenerator;
+import com.example.quiz_api.id.IdGenerators;
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.PersistentLongMap;
+import com.example.quiz_api.model.PersistentVector;
 import com.example.quiz_api.model.Question;
 import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.timing.Stage;
+import com.example.quiz_api.timing.StageTimer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Repository for managing quiz and question data
- * Uses in-memory storage with thread-safe collections
+ * Uses in-memory storage with thread-safe collections. Stored quizzes are
+ * immutable revisions: every write publishes a new Quiz, so readers never
+ * see one half-updated. A revision's question list and question index are
+ * persistent structures, so an edit copies O(log n) nodes and shares the
+ * rest with the previous revision. Only the latest revision is kept here;
+ * older ones stay alive exactly as long as something, such as an attempt,
+ * still references them.
+ *
+ * Questions live in a shared bank that quizzes reference by ID. Adding a
+ * question whose content is already stored references the stored question
+ * instead of copying it, and a question is dropped when the last quiz
+ * referencing it lets go.
+ *
+ * With quiz.repository.shards above 0, quizzes are partitioned by ID and
+ * each partition's writes run on its own single writer thread, including
+ * changes to the partition's question references. Otherwise writes run on
+ * the calling thread and writes to the same quiz are serialized by lock
+ * striping. Either way each quiz belongs to one write lane, a shard or a
+ * stripe, and lanes share no lock: change versions come from one atomic
+ * counter, and listeners run on the lane that made the change.
+ *
+ * Readers of the change version must never see a version whose change is
+ * not indexed yet, while lanes stamp and index concurrently. Before taking
+ * a version, a lane records a floor below it; the published version is the
+ * lowest floor of any lane still writing, or the counter when none is.
+ *
+ * Lookups and writes are timed as Stage.REPOSITORY, named by method.
  */
 @Repository
 public class QuizRepository {
 
     // Thread-safe maps for storing data
     private final Map<Long, Quiz> quizzes = new ConcurrentHashMap<>();
-    private final Map<Long, Question> questions = new ConcurrentHashMap<>();
+    private final QuestionBank questions = new QuestionBank();
 
-    // Thread-safe counters for generating unique IDs
-    private final AtomicLong quizIdCounter = new AtomicLong(1);
-    private final AtomicLong questionIdCounter = new AtomicLong(1);
-    private final AtomicLong optionIdCounter = new AtomicLong(1);
+    // Leader's question lists of replicated quizzes stored without some of
+    // their questions, until those questions arrive
+    private final Map<Long, List<Long>> pendingQuestionIds = new ConcurrentHashMap<>();
+
+    @Autowired
+    private IdGenerators idGenerators;
+
+    // Thread-safe generators for unique IDs, configured by quiz.ids.*
+    private IdGenerator quizIds;
+    private IdGenerator questionIds;
+    private IdGenerator optionIds;
+
+    // Latest change version of each quiz, ordered by version, for delta queries
+    private final NavigableMap<Long, Long> quizIdsByVersion = new ConcurrentSkipListMap<>();
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final AtomicLong publishedVersion = new AtomicLong();
+
+    // Identifies one run of change versions; replaced whenever they restart
+    private static final SecureRandom EPOCH_RANDOM = new SecureRandom();
+    private volatile String changeEpoch = newEpoch();
+
+    // Per write lane, a version below any it is still stamping, or IDLE;
+    // lanes are spaced a cache line apart so they do not share one
+    private static final long IDLE = Long.MAX_VALUE;
+    private static final int LANE_STRIDE = 8;
+    private AtomicLongArray laneFloors;
+    private int lanes;
+
+    private final List<RepositoryListener> listeners = new CopyOnWriteArrayList<>();
+
+    private static final int LOCK_STRIPES = 64;
+    private final Object[] quizLocks = new Object[LOCK_STRIPES];
+
+    @Value("${quiz.repository.shards:0}")
+    private int shardCount;
+
+    // Single-writer partitions, or null when writes run on the caller
+    private RepositoryShard[] shards;
+
+    @PostConstruct
+    void init() {
+        quizIds = idGenerators.create();
+        questionIds = idGenerators.create();
+        optionIds = idGenerators.create();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            quizLocks[i] = new Object();
+        }
+        if (shardCount > 0) {
+            shards = new RepositoryShard[shardCount];
+            for (int i = 0; i < shardCount; i++) {
+                shards[i] = new RepositoryShard("repository-shard-" + i);
+            }
+        }
+        lanes = shards != null ? shards.length : LOCK_STRIPES;
+        laneFloors = new AtomicLongArray(lanes * LANE_STRIDE);
+        for (int lane = 0; lane < lanes; lane++) {
+            laneFloors.set(lane * LANE_STRIDE, IDLE);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (shards != null) {
+            for (RepositoryShard shard : shards) {
+                shard.stop();
+            }
+        }
+    }
+
+    private int lane(Long quizId) {
+        return (int) Math.floorMod(quizId, (long) lanes);
+    }
 
     /**
      * Save or update a quiz
+     * Stamps the quiz with the next global change version, which also
+     * invalidates cached reads keyed by version
      * @param quiz The quiz to save
-     * @return The saved quiz with generated ID if new
+     * @return The stored snapshot, with generated ID if new
      */
+    @SuppressWarnings("try")
     public Quiz saveQuiz(Quiz quiz) {
-        if (quiz.getId() == null) {
-            quiz.setId(quizIdCounter.getAndIncrement());
+        try (StageTimer timer = StageTimer.start(Stage.REPOSITORY, "saveQuiz")) {
+            if (quiz.getId() == null) {
+                quiz.setId(quizIds.nextId());
+            }
+            return writeQuiz(quiz.getId(), () -> storeQuiz(quiz));
+        }
+    }
+
+    /**
+     * Store a quiz copied from another instance, keeping its ID
+     * The quiz is stamped with a local change version, and ID generation
+     * moves past its ID so this instance can take over writes later.
+     * Questions that have not arrived yet are left out of the stored
+     * revision; replicateQuestion stores a complete one once they do.
+     * @param quiz The quiz to store
+     * @return The stored snapshot
+     */
+    public Quiz replicateQuiz(Quiz quiz) {
+        quizIds.advancePast(quiz.getId());
+        return writeQuiz(quiz.getId(), () -> storeReplica(quiz));
+    }
+
+    private Quiz storeReplica(Quiz quiz) {
+        Quiz previous = quizzes.get(quiz.getId());
+        Quiz snapshot = storeQuiz(quiz);
+        if (snapshot.getQuestionIds().size() < quiz.getQuestionIds().size()) {
+            pendingQuestionIds.put(quiz.getId(), List.copyOf(quiz.getQuestionIds()));
+        } else {
+            pendingQuestionIds.remove(quiz.getId());
+        }
+        // Questions are shared, so references follow the quiz's changes
+        for (Long questionId : snapshot.getQuestionIds()) {
+            if (previous == null || !previous.containsQuestion(questionId)) {
+                questions.retain(questionId);
+            }
+        }
+        if (previous != null) {
+            for (Long questionId : previous.getQuestionIds()) {
+                if (!snapshot.containsQuestion(questionId)) {
+                    questions.unreference(questionId);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Store the leader's revision of a replicated quiz again, now that one
+     * of the questions it was stored without has arrived
+     * @return The new snapshot, or null if the quiz no longer waits for the question
+     */
+    private Quiz completeReplica(Long quizId, Long questionId) {
+        List<Long> questionIds = pendingQuestionIds.get(quizId);
+        Quiz quiz = quizzes.get(quizId);
+        if (questionIds == null || quiz == null || !questionIds.contains(questionId)) {
+            return null;
+        }
+        return storeReplica(new Quiz(quiz.getId(), quiz.getTitle(), questionIds,
+                quiz.getCreatedAt(), quiz.getVersion(), quiz.getTimeLimitSeconds(),
+                quiz.getPartialCredit(), quiz.getNegativeMarking(), null));
+    }
+
+    /**
+     * Add a question to a quiz in one step
+     * If the bank already holds a question with the same content that the
+     * quiz does not reference yet, the quiz references that one instead
+     * @param quizId ID of the quiz
+     * @param question The question to add
+     * @return The referenced question: the stored match, or the new question with generated ID
+     * @throws NotFoundException if the quiz does not exist
+     */
+    @SuppressWarnings("try")
+    public Question appendQuestionToQuiz(Long quizId, Question question) {
+        try (StageTimer timer = StageTimer.start(Stage.REPOSITORY, "appendQuestionToQuiz")) {
+            return writeQuiz(quizId, () -> appendQuestion(quizId, question));
+        }
+    }
+
+    /**
+     * Remove a question from a quiz
+     * The question stays in the bank while other quizzes reference it
+     * @param quizId ID of the quiz
+     * @param questionId ID of the question
+     * @return The quiz snapshot without the question
+     * @throws NotFoundException if the quiz does not exist or does not reference the question
+     */
+    @SuppressWarnings("try")
+    public Quiz removeQuestionFromQuiz(Long quizId, Long questionId) {
+        try (StageTimer timer = StageTimer.start(Stage.REPOSITORY, "removeQuestionFromQuiz")) {
+            return writeQuiz(quizId, () -> removeQuestion(quizId, questionId));
+        }
+    }
+
+    /**
+     * Run a write on the quiz's lane: its shard's writer, or under its lock stripe
+     */
+    private <T> T writeQuiz(Long quizId, Supplier<T> command) {
+        if (shards != null) {
+            return shards[lane(quizId)].execute(command);
+        }
+        synchronized (quizLocks[lane(quizId)]) {
+            return command.get();
+        }
+    }
+
+    private Question appendQuestion(Long quizId, Question question) {
+        Quiz quiz = quizzes.get(quizId);
+        if (quiz == null) {
+            throw NotFoundException.QUIZ;
+        }
+        QuestionBank.Acquired acquired = questions.acquire(question, quiz, questionIds::nextId);
+        Question saved = acquired.question();
+        if (acquired.created()) {
+            for (RepositoryListener listener : listeners) {
+                listener.questionSaved(saved);
+            }
+        }
+        // The published revision is never modified; store a successor instead
+        storeRevision(quiz, PersistentVector.of(quiz.getQuestionIds()).append(saved.getId()),
+                quiz.getQuestions().put(saved.getId(), saved));
+        return saved;
+    }
+
+    private Quiz removeQuestion(Long quizId, Long questionId) {
+        Quiz quiz = quizzes.get(quizId);
+        if (quiz == null) {
+            throw NotFoundException.QUIZ;
+        }
+        if (!quiz.containsQuestion(questionId)) {
+            throw NotFoundException.QUESTION;
+        }
+        PersistentVector<Long> questionIds = PersistentVector.of(quiz.getQuestionIds());
+        Quiz snapshot = storeRevision(quiz, questionIds.without(questionIds.indexOf(questionId)),
+                quiz.getQuestions().remove(questionId));
+        releaseQuestion(questionId);
+        return snapshot;
+    }
+
+    private void releaseQuestion(Long questionId) {
+        Question dropped = questions.release(questionId);
+        if (dropped != null) {
+            for (RepositoryListener listener : listeners) {
+                listener.questionRemoved(dropped);
+            }
+        }
+    }
+
+    /**
+     * Publish a revision of a quiz built from scratch
+     * Used for new and replicated quizzes; the questions come from the bank,
+     * and any the bank does not hold are left out of the revision
+     */
+    private Quiz storeQuiz(Quiz quiz) {
+        PersistentVector<Long> questionIds = PersistentVector.empty();
+        PersistentLongMap<Question> index = PersistentLongMap.empty();
+        for (Long questionId : quiz.getQuestionIds()) {
+            Question question = questions.find(questionId);
+            if (question != null) {
+                questionIds = questionIds.append(questionId);
+                index = index.put(questionId, question);
+            }
+        }
+        return storeRevision(quiz, questionIds, index);
+    }
+
+    /**
+     * Publish a revision of the quiz with the next change version
+     * Runs on the quiz's lane. The lane's floor holds the published version
+     * below this one until the revision is indexed and every listener has
+     * seen it, so delta readers never skip it.
+     */
+    private Quiz storeRevision(Quiz quiz, PersistentVector<Long> questionIds,
+                               PersistentLongMap<Question> index) {
+        int floor = lane(quiz.getId()) * LANE_STRIDE;
+        laneFloors.set(floor, lastVersion.get());
+        try {
+            long version = lastVersion.incrementAndGet();
+            Quiz snapshot = new Quiz(quiz.getId(), quiz.getTitle(), questionIds,
+                    quiz.getCreatedAt(), version, quiz.getTimeLimitSeconds(),
+                    quiz.getPartialCredit(), quiz.getNegativeMarking(), index);
+            Quiz previous = quizzes.put(snapshot.getId(), snapshot);
+            // Index the new version before dropping the old one, so the quiz is always listed
+            quizIdsByVersion.put(version, snapshot.getId());
+            if (previous != null) {
+                quizIdsByVersion.remove(previous.getVersion(), snapshot.getId());
+            }
+            for (RepositoryListener listener : listeners) {
+                listener.quizSaved(snapshot);
+            }
+            return snapshot;
+        } finally {
+            laneFloors.set(floor, IDLE);
         }
-        quizzes.put(quiz.getId(), quiz);
-        return quiz;
     }
 
     /**
@@ -45,8 +350,11 @@ public class QuizRepository {
      * @param id The quiz ID
      * @return Optional containing the quiz if found
      */
+    @SuppressWarnings("try")
     public Optional<Quiz> findQuizById(Long id) {
-        return Optional.ofNullable(quizzes.get(id));
+        try (StageTimer timer = StageTimer.start(Stage.REPOSITORY, "findQuizById")) {
+            return Optional.ofNullable(quizzes.get(id));
+        }
     }
 
     /**
@@ -58,16 +366,106 @@ public class QuizRepository {
     }
 
     /**
-     * Save or update a question
-     * @param question The question to save
-     * @return The saved question with generated ID if new
+     * Stream all quizzes without copying the collection
+     * The stream is weakly consistent with concurrent updates
+     * @return Stream over all quizzes
      */
-    public Question saveQuestion(Question question) {
-        if (question.getId() == null) {
-            question.setId(questionIdCounter.getAndIncrement());
+    public Stream<Quiz> streamAllQuizzes() {
+        return quizzes.values().stream();
+    }
+
+    /**
+     * Latest change version visible to readers
+     * Every change up to it is indexed, and no lane will stamp one at or
+     * below it: the counter is read first, so a lane that looks idle takes
+     * a later version, and a lane caught writing holds it at its floor.
+     * A lane that read its floor before an earlier call but set it after
+     * would pull the minimum back, so the result never falls below what
+     * was already handed out.
+     * @return High-water mark of quiz changes, 0 if nothing was saved
+     */
+    public long getChangeVersion() {
+        long version = lastVersion.get();
+        for (int lane = 0; lane < lanes; lane++) {
+            version = Math.min(version, laneFloors.get(lane * LANE_STRIDE));
+        }
+        return publishedVersion.accumulateAndGet(version, Math::max);
+    }
+
+    /**
+     * Identifier of the current run of change versions
+     * Versions restart from 0 when the process restarts or the repository is
+     * cleared, including a replica resyncing from scratch; each restart gets
+     * a new epoch, so a version is only meaningful with the epoch it came with
+     * @return Random epoch ID, fixed until the next restart or clear
+     */
+    public String getChangeEpoch() {
+        return changeEpoch;
+    }
+
+    private static String newEpoch() {
+        return HexFormat.of().toHexDigits(EPOCH_RANDOM.nextLong());
+    }
+
+    /**
+     * Stream quizzes whose latest change is in the given version range
+     * Cost is proportional to the number of changed quizzes, not the catalog.
+     * A quiz changed again after toVersion is left out; it is reported by the
+     * next query from toVersion.
+     * @param fromVersion Exclusive lower bound
+     * @param toVersion Inclusive upper bound, normally getChangeVersion()
+     * @return Stream of changed quizzes in version order
+     */
+    public Stream<Quiz> streamQuizzesChangedBetween(long fromVersion, long toVersion) {
+        return quizIdsByVersion.subMap(fromVersion, false, toVersion, true).values().stream()
+                .map(quizzes::get);
+    }
+
+    /**
+     * Store a question copied from another instance, keeping its IDs
+     * It is referenced once the quizzes using it are replicated. A compacted
+     * log can deliver a quiz before a question it uses; such quizzes were
+     * stored without the question and get a complete revision here.
+     * @param question The question to store
+     * @return Revisions of replicated quizzes that now include the question
+     */
+    public List<Quiz> replicateQuestion(Question question) {
+        questionIds.advancePast(question.getId());
+        if (question.getOptions() != null) {
+            for (Option option : question.getOptions()) {
+                optionIds.advancePast(option.getId());
+            }
+        }
+        questions.storeUnreferenced(question);
+        for (RepositoryListener listener : listeners) {
+            listener.questionSaved(question);
+        }
+        List<Quiz> completed = new ArrayList<>();
+        for (Map.Entry<Long, List<Long>> pending : pendingQuestionIds.entrySet()) {
+            if (pending.getValue().contains(question.getId())) {
+                Long quizId = pending.getKey();
+                Quiz snapshot = writeQuiz(quizId, () -> completeReplica(quizId, question.getId()));
+                if (snapshot != null) {
+                    completed.add(snapshot);
+                }
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Drop a question another instance removed, unless a quiz here still references it
+     * Replicated quizzes never drop questions themselves; the removal comes
+     * after every quiz change that released the question on the leader
+     * @param questionId ID of the question
+     */
+    public void replicateQuestionRemoval(Long questionId) {
+        Question dropped = questions.dropIfUnreferenced(questionId);
+        if (dropped != null) {
+            for (RepositoryListener listener : listeners) {
+                listener.questionRemoved(dropped);
+            }
         }
-        questions.put(question.getId(), question);
-        return question;
     }
 
     /**
@@ -75,8 +473,28 @@ public class QuizRepository {
      * @param id The question ID
      * @return Optional containing the question if found
      */
+    @SuppressWarnings("try")
     public Optional<Question> findQuestionById(Long id) {
-        return Optional.ofNullable(questions.get(id));
+        try (StageTimer timer = StageTimer.start(Stage.REPOSITORY, "findQuestionById")) {
+            return Optional.ofNullable(questions.find(id));
+        }
+    }
+
+    /**
+     * Number of quizzes referencing a question
+     * @param questionId The question ID
+     * @return Reference count, 0 if the question is not stored
+     */
+    public int getQuestionReferences(Long questionId) {
+        return questions.references(questionId);
+    }
+
+    /**
+     * Number of distinct questions stored
+     * @return Question count
+     */
+    public int getQuestionCount() {
+        return questions.size();
     }
 
     /**
@@ -84,17 +502,34 @@ public class QuizRepository {
      * @return New unique option ID
      */
     public Long generateOptionId() {
-        return optionIdCounter.getAndIncrement();
+        return optionIds.nextId();
+    }
+
+    /**
+     * Register a listener for quiz and question writes
+     * @param listener The listener
+     */
+    public void addListener(RepositoryListener listener) {
+        listeners.add(listener);
     }
 
     /**
      * Clear all data (useful for testing)
+     * Must not run concurrently with writes
      */
     public void clear() {
         quizzes.clear();
+        pendingQuestionIds.clear();
+        quizIdsByVersion.clear();
+        lastVersion.set(0);
+        publishedVersion.set(0);
+        changeEpoch = newEpoch();
+        for (RepositoryListener listener : listeners) {
+            listener.cleared();
+        }
         questions.clear();
-        quizIdCounter.set(1);
-        questionIdCounter.set(1);
-        optionIdCounter.set(1);
+        quizIds.reset();
+        questionIds.reset();
+        optionIds.reset();
     }
 }
\ No newline at end of file
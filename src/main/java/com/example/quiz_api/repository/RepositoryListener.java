@@ -0,0 +1,30 @@
+package com.example.quiz_api.repository;
+
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.Quiz;
+
+/**
+ * Observer of QuizRepository writes
+ * Called on the writing thread, after the entity is stored. Saves of one
+ * quiz are reported in version order; saves of quizzes in different write
+ * lanes may be reported concurrently, from different threads.
+ */
+public interface RepositoryListener {
+
+    void quizSaved(Quiz quiz);
+
+    void questionSaved(Question question);
+
+    /**
+     * Called after a question is dropped because no quiz references it
+     * @param question The dropped question
+     */
+    default void questionRemoved(Question question) {
+    }
+
+    /**
+     * Called when all data is cleared
+     */
+    default void cleared() {
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.quiz_api.repository;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Single writer thread owning one partition of the repository
+ * Callers hand commands over a lock-free queue and wait for the result;
+ * the writer drains the queue in order, so commands on one partition never
+ * run concurrently and need no locks of their own.
+ */
+public class RepositoryShard {
+
+    // Empty polls before the writer parks, absorbing bursts without a wakeup;
+    // on a single core spinning only delays the threads it is waiting for
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 1_000 : 1;
+
+    private final Queue<Command<?>> commands = new ConcurrentLinkedQueue<>();
+    private final Thread writer;
+    private volatile boolean sleeping;
+    private volatile boolean running = true;
+
+    /**
+     * @param name Writer thread name
+     */
+    public RepositoryShard(String name) {
+        writer = new Thread(this::run, name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Run a command on this shard's writer and wait for it
+     * Commands issued from the writer itself run inline
+     * @param command Work to run
+     * @return The command's result
+     */
+    public <T> T execute(Supplier<T> command) {
+        if (Thread.currentThread() == writer) {
+            return command.get();
+        }
+        Command<T> queued = new Command<>(command);
+        commands.add(queued);
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+        try {
+            return queued.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stop the writer once queued commands have run
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writer);
+    }
+
+    private void run() {
+        int idle = 0;
+        while (running || !commands.isEmpty()) {
+            Command<?> command = commands.poll();
+            if (command != null) {
+                command.run();
+                idle = 0;
+            } else if (++idle < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                // Re-check after announcing sleep, so a command added meanwhile is not missed
+                sleeping = true;
+                if (commands.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                sleeping = false;
+                idle = 0;
+            }
+        }
+    }
+
+    private static final class Command<T> {
+
+        private final Supplier<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        Command(Supplier<T> work) {
+            this.work = work;
+        }
+
+        void run() {
+            try {
+                result.complete(work.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
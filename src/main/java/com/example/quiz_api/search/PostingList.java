@@ -0,0 +1,135 @@
+package com.example.quiz_api.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing one term, with the term's frequency in each
+ * Postings are appended in increasing document order and stored as
+ * variable-byte encoded pairs of (document gap, frequency), so a typical
+ * posting takes two bytes instead of eight.
+ *
+ * One writer appends under the index's write lock; readers take a cursor
+ * without locking. The writer publishes a grown array before writing past
+ * the old one and publishes the new length last, so a reader that reads
+ * the length first always finds that many bytes in the array it reads next.
+ */
+final class PostingList {
+
+    private volatile byte[] bytes = new byte[8];
+    private volatile int length;
+
+    // Documents indexed with this term that have not been removed
+    private volatile int documentFrequency;
+
+    // Writer only
+    private int lastDocument = -1;
+
+    /**
+     * Append a document; must be above every document appended before
+     * @param document Document number
+     * @param frequency Occurrences of the term in the document, at least 1
+     */
+    void append(int document, int frequency) {
+        byte[] buffer = bytes;
+        int position = length;
+        if (position + 10 > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + 10));
+            bytes = buffer;
+        }
+        position = write(buffer, position, document - lastDocument);
+        position = write(buffer, position, frequency);
+        lastDocument = document;
+        documentFrequency = documentFrequency + 1;
+        length = position;
+    }
+
+    /**
+     * Record that a document holding the term was removed
+     * Its posting stays until the index compacts; readers skip it
+     */
+    void removeDocument() {
+        documentFrequency = documentFrequency - 1;
+    }
+
+    int documentFrequency() {
+        return documentFrequency;
+    }
+
+    /**
+     * Encoded size of the postings
+     * @return Bytes written
+     */
+    int size() {
+        return length;
+    }
+
+    /**
+     * @return A cursor over the postings appended so far
+     */
+    Cursor cursor() {
+        int end = length;
+        return new Cursor(bytes, end);
+    }
+
+    private static int write(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Forward-only reader of a posting list snapshot
+     */
+    static final class Cursor {
+
+        static final int END = Integer.MAX_VALUE;
+
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+        private int document = -1;
+        private int frequency;
+
+        private Cursor(byte[] bytes, int end) {
+            this.bytes = bytes;
+            this.end = end;
+        }
+
+        /**
+         * Move to the next posting
+         * @return The document, or END when there are no more
+         */
+        int next() {
+            if (position >= end) {
+                document = END;
+                return END;
+            }
+            document += read();
+            frequency = read();
+            return document;
+        }
+
+        int document() {
+            return document;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        private int read() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.example.quiz_api.search;
+
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.Question;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index of question and option texts, ranked with BM25
+ * Each indexed question becomes a document numbered in the order it was
+ * added. Every term maps to a PostingList of the documents holding it, and
+ * the dictionary is sorted so the last query term can also match as a
+ * prefix while an author is still typing it.
+ *
+ * Adding a question tokenizes it before taking the write lock, then
+ * appends one posting per distinct term. Queries never lock: they read
+ * posting lists and the document table through volatile publication and
+ * see every question added before they started. Removed questions are
+ * skipped until a quarter of the documents are removed; the writer then
+ * copies the live postings into a renumbered segment and publishes it,
+ * while queries already running finish on the old one.
+ *
+ * Queries walk the posting lists of their terms together in document
+ * order and keep the best results in a heap, so a query costs one pass
+ * over the postings of its terms and never touches other documents.
+ */
+public final class QuestionIndex {
+
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int INITIAL_DOCUMENTS = 1024;
+    // Removed documents always tolerated, so a small index does not compact on every removal
+    private static final int MIN_COMPACTION = 64;
+
+    private final double k1;
+    private final double b;
+    private final int prefixExpansions;
+
+    private final Object writeLock = new Object();
+
+    private volatile Segment segment = new Segment(new ConcurrentSkipListMap<>(), INITIAL_DOCUMENTS);
+    private volatile int documents;
+    private volatile int liveDocuments;
+    private volatile long liveLength;
+    private volatile long postingBytes;
+
+    // Writer only
+    private DocumentMap documentsByQuestion = new DocumentMap();
+
+    /**
+     * @param k1 BM25 term frequency saturation, usually 1.2
+     * @param b BM25 document length normalization, from 0 (none) to 1
+     * @param prefixExpansions Terms a prefix may match, the most common first
+     */
+    public QuestionIndex(double k1, double b, int prefixExpansions) {
+        if (!(k1 >= 0) || !(b >= 0 && b <= 1) || prefixExpansions < 1) {
+            throw new IllegalArgumentException("Invalid BM25 parameters");
+        }
+        this.k1 = k1;
+        this.b = b;
+        this.prefixExpansions = prefixExpansions;
+    }
+
+    /**
+     * Index a question's text and option texts
+     * @param question The question
+     * @return false if the question was already indexed
+     */
+    public boolean add(Question question) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = tokenize(question, frequencies);
+        synchronized (writeLock) {
+            long questionId = question.getId();
+            if (documentsByQuestion.get(questionId) >= 0) {
+                return false;
+            }
+            Segment segment = this.segment;
+            int document = documents;
+            segment.ensureCapacity(document + 1);
+            segment.questionIds[document] = questionId;
+            segment.lengths[document] = length;
+            long bytes = 0;
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                PostingList postings = segment.terms.get(entry.getKey());
+                if (postings == null) {
+                    postings = new PostingList();
+                    segment.terms.put(entry.getKey(), postings);
+                }
+                int before = postings.size();
+                postings.append(document, entry.getValue()[0]);
+                bytes += postings.size() - before;
+            }
+            documentsByQuestion.put(questionId, document);
+            postingBytes += bytes;
+            liveLength += length;
+            liveDocuments = liveDocuments + 1;
+            documents = document + 1;
+            return true;
+        }
+    }
+
+    /**
+     * Stop returning a question
+     * @param question The question as it was indexed
+     * @return false if the question was not indexed
+     */
+    public boolean remove(Question question) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        tokenize(question, frequencies);
+        synchronized (writeLock) {
+            int document = documentsByQuestion.remove(question.getId());
+            if (document < 0) {
+                return false;
+            }
+            Segment segment = this.segment;
+            for (String term : frequencies.keySet()) {
+                PostingList postings = segment.terms.get(term);
+                if (postings != null) {
+                    postings.removeDocument();
+                }
+            }
+            liveLength -= segment.lengths[document];
+            segment.lengths[document] = -1;
+            liveDocuments = liveDocuments - 1;
+            int removed = documents - liveDocuments;
+            if (removed > MIN_COMPACTION && removed > documents / 4) {
+                compact();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Remove every question
+     */
+    public void clear() {
+        synchronized (writeLock) {
+            documents = 0;
+            liveDocuments = 0;
+            liveLength = 0;
+            postingBytes = 0;
+            segment = new Segment(new ConcurrentSkipListMap<>(), INITIAL_DOCUMENTS);
+            documentsByQuestion = new DocumentMap();
+        }
+    }
+
+    /**
+     * Find the questions that best match a query
+     * Questions match any query term and rank by BM25. With prefix set, the
+     * last term also matches longer terms that start with it.
+     * @param query Free text
+     * @param limit Maximum results
+     * @param prefix Whether the last term may be incomplete
+     * @return Matches, best first; ties go to the older question
+     */
+    public List<Hit> search(String query, int limit, boolean prefix) {
+        List<String> queryTerms = new ArrayList<>(queryTerms(query));
+        if (queryTerms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        int live = liveDocuments;
+        if (live <= 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(1.0, (double) liveLength / live);
+
+        Segment segment = this.segment;
+        List<PostingList.Cursor> cursors = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (int i = 0; i < queryTerms.size(); i++) {
+            String term = queryTerms.get(i);
+            if (prefix && i == queryTerms.size() - 1) {
+                for (PostingList postings : expand(segment.terms, term)) {
+                    addCursor(postings, live, cursors, weights);
+                }
+            } else {
+                addCursor(segment.terms.get(term), live, cursors, weights);
+            }
+        }
+        if (cursors.isEmpty()) {
+            return List.of();
+        }
+
+        // Read after the postings, so the table covers every document in them
+        int[] lengths = segment.lengths;
+        long[] questionIds = segment.questionIds;
+        int count = cursors.size();
+        PostingList.Cursor[] walking = cursors.toArray(new PostingList.Cursor[0]);
+        double[] idf = new double[count];
+        for (int i = 0; i < count; i++) {
+            idf[i] = weights.get(i);
+            walking[i].next();
+        }
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        while (true) {
+            int document = PostingList.Cursor.END;
+            for (PostingList.Cursor cursor : walking) {
+                document = Math.min(document, cursor.document());
+            }
+            if (document == PostingList.Cursor.END) {
+                break;
+            }
+            int length = lengths[document];
+            double score = 0;
+            for (int i = 0; i < count; i++) {
+                PostingList.Cursor cursor = walking[i];
+                if (cursor.document() == document) {
+                    if (length >= 0) {
+                        double frequency = cursor.frequency();
+                        score += idf[i] * frequency * (k1 + 1) /
+                                (frequency + k1 * (1 - b + b * length / averageLength));
+                    }
+                    cursor.next();
+                }
+            }
+            if (length < 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(questionIds[document], score));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new Hit(questionIds[document], score));
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(WORST_FIRST.reversed());
+        return hits;
+    }
+
+    /**
+     * Questions currently indexed
+     */
+    public int size() {
+        return liveDocuments;
+    }
+
+    /**
+     * Distinct terms in the dictionary
+     */
+    public int termCount() {
+        return segment.terms.size();
+    }
+
+    /**
+     * Encoded size of all posting lists, including removed questions' postings
+     * not yet compacted away
+     */
+    public long postingBytes() {
+        return postingBytes;
+    }
+
+    private void addCursor(PostingList postings, int live,
+                           List<PostingList.Cursor> cursors, List<Double> weights) {
+        if (postings == null) {
+            return;
+        }
+        int frequency = postings.documentFrequency();
+        if (frequency <= 0) {
+            return;
+        }
+        cursors.add(postings.cursor());
+        weights.add(Math.log(1 + (live - frequency + 0.5) / (frequency + 0.5)));
+    }
+
+    /**
+     * Posting lists of the terms starting with a prefix, the most common first
+     */
+    private List<PostingList> expand(NavigableMap<String, PostingList> terms, String prefix) {
+        List<PostingList> matches = new ArrayList<>();
+        for (PostingList postings : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            matches.add(postings);
+        }
+        if (matches.size() > prefixExpansions) {
+            matches.sort(Comparator.comparingInt(PostingList::documentFrequency).reversed());
+            return matches.subList(0, prefixExpansions);
+        }
+        return matches;
+    }
+
+    private static Set<String> queryTerms(String query) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        Tokenizer.tokenize(query, term -> {
+            if (queryTerms.size() < MAX_QUERY_TERMS) {
+                queryTerms.add(term);
+            }
+        });
+        return queryTerms;
+    }
+
+    /**
+     * Count each term of a question's text and options
+     * @return Total terms
+     */
+    private static int tokenize(Question question, Map<String, int[]> frequencies) {
+        int length = Tokenizer.tokenize(question.getText(),
+                term -> frequencies.computeIfAbsent(term, t -> new int[1])[0]++);
+        if (question.getOptions() != null) {
+            for (Option option : question.getOptions()) {
+                length += Tokenizer.tokenize(option.getText(),
+                        term -> frequencies.computeIfAbsent(term, t -> new int[1])[0]++);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Renumber the live documents from 0 and copy their postings into a new
+     * segment, dropping removed documents and terms left without postings
+     * Runs under the write lock; queries keep reading the old segment.
+     */
+    private void compact() {
+        Segment old = segment;
+        int[] renumbered = new int[documents];
+        Segment compacted = new Segment(new ConcurrentSkipListMap<>(),
+                Math.max(INITIAL_DOCUMENTS, liveDocuments * 2));
+        DocumentMap byQuestion = new DocumentMap();
+        int live = 0;
+        for (int document = 0; document < documents; document++) {
+            if (old.lengths[document] < 0) {
+                renumbered[document] = -1;
+                continue;
+            }
+            renumbered[document] = live;
+            compacted.questionIds[live] = old.questionIds[document];
+            compacted.lengths[live] = old.lengths[document];
+            byQuestion.put(old.questionIds[document], live);
+            live++;
+        }
+
+        long bytes = 0;
+        for (Map.Entry<String, PostingList> entry : old.terms.entrySet()) {
+            PostingList postings = null;
+            PostingList.Cursor cursor = entry.getValue().cursor();
+            for (int document = cursor.next(); document != PostingList.Cursor.END; document = cursor.next()) {
+                if (renumbered[document] >= 0) {
+                    if (postings == null) {
+                        postings = new PostingList();
+                    }
+                    postings.append(renumbered[document], cursor.frequency());
+                }
+            }
+            if (postings != null) {
+                compacted.terms.put(entry.getKey(), postings);
+                bytes += postings.size();
+            }
+        }
+
+        segment = compacted;
+        documentsByQuestion = byQuestion;
+        documents = live;
+        postingBytes = bytes;
+    }
+
+    // Lower score first; on equal scores the newer question counts as worse
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Hit::questionId, Comparator.reverseOrder());
+
+    /**
+     * A matching question
+     * @param questionId ID of the question
+     * @param score BM25 score; higher is a better match
+     */
+    public record Hit(long questionId, double score) {
+    }
+
+    /**
+     * Term dictionary and document table, replaced whole on compaction
+     * so a query never mixes document numbers from before and after it
+     */
+    private static final class Segment {
+
+        final NavigableMap<String, PostingList> terms;
+        // Document table; a grown array is published before entries past the old one are written
+        volatile long[] questionIds;
+        // Terms in each document, or -1 once removed
+        volatile int[] lengths;
+
+        Segment(NavigableMap<String, PostingList> terms, int capacity) {
+            this.terms = terms;
+            this.questionIds = new long[capacity];
+            this.lengths = new int[capacity];
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity <= questionIds.length) {
+                return;
+            }
+            int grown = Math.max(capacity, questionIds.length * 2);
+            questionIds = Arrays.copyOf(questionIds, grown);
+            lengths = Arrays.copyOf(lengths, grown);
+        }
+    }
+
+    /**
+     * Open-addressing map from question ID to document number
+     * About 24 bytes per question instead of the 80 of a boxed HashMap entry
+     */
+    private static final class DocumentMap {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(1024);
+        private int[] values = new int[1024];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 3 > keys.length * 2) {
+                rehash(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        /**
+         * @return The removed value, or -1 if the key was absent
+         */
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (keys[slot] != key) {
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int value = values[slot];
+            keys[slot] = EMPTY;
+            size--;
+            // Re-insert the rest of the run so lookups do not stop at the hole
+            for (int next = (slot + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                long moved = keys[next];
+                int movedValue = values[next];
+                keys[next] = EMPTY;
+                size--;
+                put(moved, movedValue);
+            }
+            return value;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(capacity);
+            values = new int[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
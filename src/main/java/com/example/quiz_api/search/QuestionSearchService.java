@@ -0,0 +1,129 @@
+package com.example.quiz_api.search;
+
+import com.example.quiz_api.dto.QuestionResponse;
+import com.example.quiz_api.dto.QuestionSearchResult;
+import com.example.quiz_api.exception.ValidationException;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.repository.RepositoryListener;
+import com.example.quiz_api.timing.Stage;
+import com.example.quiz_api.timing.StageTimer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Full-text search over the question bank
+ * Keeps a QuestionIndex in step with the repository: questions are indexed
+ * when they are stored, on the writing thread, and removed when they are
+ * dropped. Shared questions are stored once, so they are found once.
+ * Created eagerly even with lazy initialization, so it sees every question,
+ * including replicated ones that arrive before the first request.
+ */
+@Component
+@Lazy(false)
+public class QuestionSearchService implements RepositoryListener {
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private SearchProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private QuestionIndex index;
+
+    private final LongAdder searches = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        index = new QuestionIndex(properties.getK1(), properties.getB(),
+                properties.getPrefixExpansions());
+        repository.addListener(this);
+
+        Gauge.builder("quiz.search.questions", this, service -> service.index.size())
+                .description("Questions in the search index")
+                .register(meterRegistry);
+        Gauge.builder("quiz.search.terms", this, service -> service.index.termCount())
+                .description("Distinct terms in the search index")
+                .register(meterRegistry);
+        Gauge.builder("quiz.search.postings.bytes", this, service -> service.index.postingBytes())
+                .description("Compressed size of the search index's posting lists")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.search.queries", searches, LongAdder::sum)
+                .description("Question searches served")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void quizSaved(Quiz quiz) {
+        // Quizzes only reference questions; their texts are indexed once
+    }
+
+    @Override
+    public void questionSaved(Question question) {
+        index.add(question);
+    }
+
+    @Override
+    public void questionRemoved(Question question) {
+        index.remove(question);
+    }
+
+    @Override
+    public void cleared() {
+        index.clear();
+    }
+
+    /**
+     * Search question and option texts
+     * Every term of the query can match, and the last one also matches as
+     * a prefix unless prefix is false, so results follow an author's typing
+     * @param query Free text
+     * @param limit Maximum results, or null for the default
+     * @param prefix Whether the last term may be incomplete, or null for true
+     * @return Matching questions without correct answers, best first
+     * @throws ValidationException if the query is blank or the limit is out of range
+     */
+    @SuppressWarnings("try")
+    public List<QuestionSearchResult> search(String query, Integer limit, Boolean prefix) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query is required");
+        }
+        int max = limit != null ? limit : properties.getDefaultLimit();
+        if (max < 1 || max > properties.getMaxLimit()) {
+            throw new ValidationException("Limit must be between 1 and " + properties.getMaxLimit());
+        }
+        searches.increment();
+
+        List<QuestionIndex.Hit> hits;
+        try (StageTimer timer = StageTimer.start(Stage.SEARCH)) {
+            hits = index.search(query, max, prefix == null || prefix);
+        }
+        List<QuestionSearchResult> results = new ArrayList<>(hits.size());
+        for (QuestionIndex.Hit hit : hits) {
+            // A question dropped after the search matched it is left out
+            repository.findQuestionById(hit.questionId()).ifPresent(question ->
+                    results.add(new QuestionSearchResult(new QuestionResponse(
+                            question.getId(),
+                            question.getText(),
+                            question.getType(),
+                            question.getOptions(),
+                            question.getWordLimit()
+                    ), hit.score())));
+        }
+        return results;
+    }
+}
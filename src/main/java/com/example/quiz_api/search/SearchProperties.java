@@ -0,0 +1,41 @@
+package com.example.quiz_api.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for question search
+ * Bound from the quiz.search.* properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "quiz.search")
+public class SearchProperties {
+
+    /**
+     * BM25 term frequency saturation
+     * Higher values keep rewarding repeated terms for longer
+     */
+    private double k1 = 1.2;
+
+    /**
+     * BM25 length normalization, from 0 (none) to 1 (full)
+     */
+    private double b = 0.75;
+
+    /**
+     * Results returned when a search does not set its own limit
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Largest limit a search may ask for
+     */
+    private int maxLimit = 100;
+
+    /**
+     * Terms an incomplete last query term may match, the most common first
+     */
+    private int prefixExpansions = 32;
+}
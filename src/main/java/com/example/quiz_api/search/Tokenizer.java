@@ -0,0 +1,47 @@
+package com.example.quiz_api.search;
+
+import java.util.function.Consumer;
+
+/**
+ * Splits text into lowercase search terms
+ * A term is a run of letters or digits; everything else separates terms.
+ * Terms longer than MAX_TERM_LENGTH are cut to it, so a pasted blob does
+ * not create one huge dictionary entry.
+ */
+final class Tokenizer {
+
+    static final int MAX_TERM_LENGTH = 32;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Pass each term of a text to a consumer, in order and with repeats
+     * @param text Text to split, may be null
+     * @param terms Receives each term
+     * @return Number of terms passed
+     */
+    static int tokenize(String text, Consumer<String> terms) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                terms.accept(text.substring(start, Math.min(i, start + MAX_TERM_LENGTH))
+                        .toLowerCase());
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.quiz_api.security;
+
+import com.example.quiz_api.exception.ForbiddenException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards operator-only endpoints with a shared token
+ * Operators send quiz.operator.token in the X-Operator-Token header.
+ * With no token configured, operator endpoints are disabled rather than open.
+ */
+@Component
+public class OperatorGuard {
+
+    /**
+     * Header operators send their token in
+     */
+    public static final String HEADER = "X-Operator-Token";
+
+    private static final ForbiddenException OPERATOR_TOKEN_REQUIRED =
+            new ForbiddenException("Operator token required");
+
+    @Value("${quiz.operator.token:}")
+    private String token;
+
+    /**
+     * Check a request's operator token
+     * @param presented Token from the request header, or null
+     * @throws ForbiddenException if operator access is disabled or the token does not match
+     */
+    public void check(String presented) {
+        if (!isOperator(presented)) {
+            throw OPERATOR_TOKEN_REQUIRED;
+        }
+    }
+
+    /**
+     * Whether a request carries the operator token
+     * @param presented Token from the request header, or null
+     * @return True only if a token is configured and matches
+     */
+    public boolean isOperator(String presented) {
+        return presented != null && !token.isEmpty() && MessageDigest.isEqual(
+                presented.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,448 @@
+package com.example.quiz_api.service;
+
+import com.example.quiz_api.dto.AttemptResponse;
+import com.example.quiz_api.dto.QuestionResponse;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.exception.ConflictException;
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.model.Attempt;
+import com.example.quiz_api.model.AttemptStatus;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.AttemptRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service for timed quiz attempts
+ * Every timed attempt has one entry in a hierarchical timing wheel rather
+ * than its own scheduled task, so millions of open attempts cost one timer
+ * thread and a small object each. When a deadline passes the attempt is
+ * graded with the answers saved so far.
+ *
+ * Autosaves are coalesced in memory per attempt and written to the
+ * repository's packed answer store every quiz.autosave.flush-millis, so a
+ * learner saving every few seconds costs one store write per interval.
+ * Every read and write of an attempt's answers holds the attempt's
+ * monitor, which makes the buffer and the store change together.
+ *
+ * An attempt is validated and graded against the quiz revision it started
+ * on. The attempt holds that revision until it is graded; revisions no
+ * attempt holds are left to the garbage collector. Untimed attempts have no
+ * deadline, so they get an idle timeout on the same wheel instead: one that
+ * saves no answers for quiz.attempts.idle-seconds is graded and marked
+ * EXPIRED, which releases its revision. Saves only move the attempt's last
+ * activity forward; the timer is placed again when it fires early.
+ *
+ * Graded attempts are kept for quiz.attempts.retention-seconds so takers can
+ * read their result, then deleted with their answers. Retention timers run
+ * on a separate, coarser wheel.
+ */
+@Service
+public class AttemptService {
+
+    private static final ConflictException ALREADY_SUBMITTED =
+            new ConflictException("Attempt has already been submitted");
+
+    private static final ConflictException TIME_EXPIRED =
+            new ConflictException("Attempt time limit has expired");
+
+    @Autowired
+    private AttemptRepository repository;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quiz.attempts.tick-millis:100}")
+    private long tickMillis;
+
+    @Value("${quiz.autosave.flush-millis:2000}")
+    private long autosaveFlushMillis;
+
+    @Value("${quiz.attempts.idle-seconds:86400}")
+    private long idleSeconds;
+
+    @Value("${quiz.attempts.retention-seconds:604800}")
+    private long retentionSeconds;
+
+    // Deadline or idle timers of open attempts, by attempt ID
+    private final Map<Long, TimingWheel.Timeout<Long>> deadlines = new ConcurrentHashMap<>();
+    private final LongAdder autoSubmitted = new LongAdder();
+    private final LongAdder idleExpired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    // Answers saved since the last flush, by attempt ID then question ID
+    private final Map<Long, Map<Long, List<Long>>> unsaved = new ConcurrentHashMap<>();
+    private final LongAdder autosaves = new LongAdder();
+    private final LongAdder answerWrites = new LongAdder();
+
+    private TimingWheel<Long> wheel;
+    // Deletion timers of graded attempts
+    private TimingWheel<Long> retention;
+    private ScheduledExecutorService autosaveFlusher;
+
+    @PostConstruct
+    void init() {
+        wheel = new TimingWheel<>(tickMillis, TimeUnit.MILLISECONDS, this::expire);
+        wheel.start("attempt-deadlines");
+        retention = new TimingWheel<>(1, TimeUnit.SECONDS, this::evict);
+        retention.start("attempt-retention");
+        autosaveFlusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "attempt-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        autosaveFlusher.scheduleWithFixedDelay(this::flushAutosaves, autosaveFlushMillis,
+                autosaveFlushMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("quiz.attempts.deadlines", wheel, TimingWheel::size)
+                .description("Open attempts waiting for their deadline or idle timeout")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.attempts.auto.submitted", autoSubmitted, LongAdder::sum)
+                .description("Attempts graded automatically when their time ran out")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.attempts.idle.expired", idleExpired, LongAdder::sum)
+                .description("Untimed attempts graded automatically after idling")
+                .register(meterRegistry);
+        Gauge.builder("quiz.attempts.retained", retention, TimingWheel::size)
+                .description("Graded attempts waiting to be deleted")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.attempts.evicted", evicted, LongAdder::sum)
+                .description("Graded attempts deleted after their retention period")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.attempts.autosave.requests", autosaves, LongAdder::sum)
+                .description("Autosave requests accepted")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.attempts.autosave.writes", answerWrites, LongAdder::sum)
+                .description("Coalesced answer writes to the attempt store")
+                .register(meterRegistry);
+        Gauge.builder("quiz.attempts.autosave.pending", unsaved, Map::size)
+                .description("Attempts with autosaved answers not yet written")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        wheel.stop();
+        retention.stop();
+        autosaveFlusher.shutdownNow();
+        flushAutosaves();
+    }
+
+    /**
+     * Start an attempt at a quiz
+     * Timed quizzes get a deadline after which the attempt is auto-submitted;
+     * untimed ones are auto-submitted after quiz.attempts.idle-seconds without a save
+     * @param quizId ID of the quiz
+     * @return The new attempt
+     * @throws NotFoundException if the quiz does not exist
+     */
+    public AttemptResponse startAttempt(Long quizId) {
+        Quiz quiz = quizService.getQuizById(quizId);
+        Integer limit = quiz.getTimeLimitSeconds();
+        LocalDateTime now = LocalDateTime.now();
+        Attempt attempt = repository.save(new Attempt(quiz, now,
+                limit != null ? now.plusSeconds(limit) : null));
+        deadlines.put(attempt.getId(), wheel.schedule(attempt.getId(),
+                limit != null ? limit : idleSeconds, TimeUnit.SECONDS));
+        return toResponse(attempt);
+    }
+
+    /**
+     * Get an attempt
+     * @param attemptId ID of the attempt
+     * @return The attempt, with its result once finished
+     * @throws NotFoundException if the attempt does not exist
+     */
+    public AttemptResponse getAttempt(Long attemptId) {
+        Attempt attempt = findAttempt(attemptId);
+        synchronized (attempt) {
+            flush(attempt);
+            return toResponse(attempt);
+        }
+    }
+
+    /**
+     * Get the questions of an open attempt (without correct answers)
+     * Lists the quiz revision the attempt is pinned to, which may differ
+     * from the quiz's current questions
+     * @param attemptId ID of the attempt
+     * @return Questions for the quiz taker
+     * @throws ConflictException if the attempt is finished
+     */
+    public List<QuestionResponse> getAttemptQuestions(Long attemptId) {
+        Quiz revision = findAttempt(attemptId).getRevision();
+        if (revision == null) {
+            throw ALREADY_SUBMITTED;
+        }
+        return quizService.getQuizQuestions(revision);
+    }
+
+    /**
+     * Save answers to an open attempt
+     * Answers replace any earlier answer to the same question and are
+     * written to the store before returning
+     * @param attemptId ID of the attempt
+     * @param request Answers to save
+     * @return The attempt with its saved answers
+     * @throws ConflictException if the attempt is finished or out of time
+     */
+    public AttemptResponse saveAnswers(Long attemptId, SubmitAnswersRequest request) {
+        Attempt attempt = findAttempt(attemptId);
+        validateAnswers(attempt, request.getAnswers());
+        synchronized (attempt) {
+            ensureOpen(attempt);
+            bufferAnswers(attempt, request.getAnswers());
+            flush(attempt);
+            attempt.setLastActivityAt(LocalDateTime.now());
+            return toResponse(attempt);
+        }
+    }
+
+    /**
+     * Autosave answers to an open attempt
+     * Answers are buffered and written with any other autosaves of the
+     * attempt at the next flush; reads, saves and submission see them at once
+     * @param attemptId ID of the attempt
+     * @param request Answers to save
+     * @throws ConflictException if the attempt is finished or out of time
+     */
+    public void autosave(Long attemptId, SubmitAnswersRequest request) {
+        Attempt attempt = findAttempt(attemptId);
+        validateAnswers(attempt, request.getAnswers());
+        synchronized (attempt) {
+            ensureOpen(attempt);
+            bufferAnswers(attempt, request.getAnswers());
+            attempt.setLastActivityAt(LocalDateTime.now());
+        }
+        autosaves.increment();
+    }
+
+    /**
+     * Submit an attempt for grading
+     * @param attemptId ID of the attempt
+     * @param request Final answers to save first, or null to grade the saved answers
+     * @return The graded attempt
+     * @throws ConflictException if the attempt is finished or out of time
+     */
+    public AttemptResponse submit(Long attemptId, SubmitAnswersRequest request) {
+        Attempt attempt = findAttempt(attemptId);
+        if (request != null) {
+            validateAnswers(attempt, request.getAnswers());
+        }
+        AttemptResponse response;
+        synchronized (attempt) {
+            ensureOpen(attempt);
+            if (request != null) {
+                bufferAnswers(attempt, request.getAnswers());
+            }
+            finish(attempt, AttemptStatus.SUBMITTED);
+            response = toResponse(attempt);
+        }
+        TimingWheel.Timeout<Long> timeout = deadlines.remove(attemptId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        return response;
+    }
+
+    /**
+     * Timing wheel backing attempt deadlines
+     * @return The wheel
+     */
+    public TimingWheel<Long> getDeadlineWheel() {
+        return wheel;
+    }
+
+    /**
+     * Number of attempts auto-submitted at their deadline
+     * @return Auto-submitted count
+     */
+    public long getAutoSubmittedCount() {
+        return autoSubmitted.sum();
+    }
+
+    /**
+     * Number of untimed attempts auto-submitted after idling
+     * @return Idle-expired count
+     */
+    public long getIdleExpiredCount() {
+        return idleExpired.sum();
+    }
+
+    /**
+     * Number of graded attempts deleted after their retention period
+     * @return Evicted count
+     */
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    /**
+     * Number of coalesced answer writes to the attempt store
+     * @return Store write count
+     */
+    public long getAnswerWriteCount() {
+        return answerWrites.sum();
+    }
+
+    /**
+     * Write every attempt's buffered autosaves to the store
+     * Runs every quiz.autosave.flush-millis on the flusher thread
+     */
+    public void flushAutosaves() {
+        for (Long attemptId : unsaved.keySet()) {
+            try {
+                repository.findById(attemptId).ifPresent(attempt -> {
+                    synchronized (attempt) {
+                        flush(attempt);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Keep flushing the other attempts; this one is retried next time
+            }
+        }
+    }
+
+    /**
+     * Deadline and idle timeout handler, run on the wheel's thread
+     */
+    private void expire(Long attemptId) {
+        deadlines.remove(attemptId);
+        repository.findById(attemptId).ifPresent(attempt -> {
+            synchronized (attempt) {
+                if (attempt.getStatus() != AttemptStatus.IN_PROGRESS) {
+                    return;
+                }
+                if (attempt.getDeadline() != null) {
+                    finish(attempt, AttemptStatus.EXPIRED);
+                    autoSubmitted.increment();
+                    return;
+                }
+                LocalDateTime idleAt = attempt.getLastActivityAt().plusSeconds(idleSeconds);
+                long remaining = Duration.between(LocalDateTime.now(), idleAt).toMillis();
+                if (remaining > 0) {
+                    // Saved since the timer was set; wait out the rest
+                    deadlines.put(attemptId, wheel.schedule(attemptId, remaining, TimeUnit.MILLISECONDS));
+                    return;
+                }
+                finish(attempt, AttemptStatus.EXPIRED);
+                idleExpired.increment();
+            }
+        });
+    }
+
+    /**
+     * Retention handler, run on the retention wheel's thread
+     */
+    private void evict(Long attemptId) {
+        if (repository.delete(attemptId)) {
+            evicted.increment();
+        }
+    }
+
+    private Attempt findAttempt(Long attemptId) {
+        return repository.findById(attemptId)
+                .orElseThrow(() -> NotFoundException.ATTEMPT);
+    }
+
+    /**
+     * Reject changes to a finished attempt
+     * An attempt past its deadline whose timer has not fired yet is
+     * expired here, so the deadline holds to the millisecond
+     */
+    private void ensureOpen(Attempt attempt) {
+        if (attempt.getStatus() != AttemptStatus.IN_PROGRESS) {
+            throw ALREADY_SUBMITTED;
+        }
+        if (attempt.getDeadline() != null && LocalDateTime.now().isAfter(attempt.getDeadline())) {
+            finish(attempt, AttemptStatus.EXPIRED);
+            autoSubmitted.increment();
+            throw TIME_EXPIRED;
+        }
+    }
+
+    /**
+     * Check every answer before saving any of them
+     * A finished attempt has released its revision; ensureOpen rejects it
+     */
+    private void validateAnswers(Attempt attempt, List<SubmitAnswersRequest.Answer> answers) {
+        Quiz revision = attempt.getRevision();
+        if (revision == null) {
+            return;
+        }
+        for (SubmitAnswersRequest.Answer answer : answers) {
+            quizService.findQuizQuestion(revision, answer.getQuestionId());
+        }
+    }
+
+    /**
+     * Merge answers into the attempt's unsaved buffer; caller holds the attempt's monitor
+     */
+    private void bufferAnswers(Attempt attempt, List<SubmitAnswersRequest.Answer> answers) {
+        Map<Long, List<Long>> buffer =
+                unsaved.computeIfAbsent(attempt.getId(), id -> new LinkedHashMap<>());
+        for (SubmitAnswersRequest.Answer answer : answers) {
+            buffer.put(answer.getQuestionId(), List.copyOf(answer.getSelectedOptions()));
+        }
+    }
+
+    /**
+     * Write the attempt's buffered answers to the store; caller holds the attempt's monitor
+     */
+    private void flush(Attempt attempt) {
+        Map<Long, List<Long>> changes = unsaved.remove(attempt.getId());
+        if (changes != null) {
+            repository.saveAnswers(attempt.getId(), changes);
+            answerWrites.increment();
+        }
+    }
+
+    private void finish(Attempt attempt, AttemptStatus status) {
+        flush(attempt);
+        Map<Long, List<Long>> saved = repository.findAnswers(attempt.getId());
+        List<SubmitAnswersRequest.Answer> answers = new ArrayList<>(saved.size());
+        saved.forEach((questionId, selected) ->
+                answers.add(new SubmitAnswersRequest.Answer(questionId, selected)));
+        attempt.setResult(quizService.gradeAnswers(attempt.getRevision(), answers));
+        attempt.setStatus(status);
+        attempt.setSubmittedAt(LocalDateTime.now());
+        // Unpin the revision now that the result is kept
+        attempt.setRevision(null);
+        retention.schedule(attempt.getId(), retentionSeconds, TimeUnit.SECONDS);
+    }
+
+    private AttemptResponse toResponse(Attempt attempt) {
+        return new AttemptResponse(
+                attempt.getId(),
+                attempt.getQuizId(),
+                attempt.getQuizVersion(),
+                attempt.getStatus(),
+                attempt.getStartedAt(),
+                attempt.getDeadline(),
+                attempt.getSubmittedAt(),
+                repository.findAnswers(attempt.getId()),
+                attempt.getResult()
+        );
+    }
+}
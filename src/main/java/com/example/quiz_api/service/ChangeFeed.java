@@ -0,0 +1,277 @@
+package com.example.quiz_api.service;
+
+import com.example.quiz_api.dto.ChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes quiz changes to Server-Sent Events subscribers
+ * Events are encoded once and kept in a ring buffer of recent events, so a
+ * reconnecting client can resume from its Last-Event-ID. Subscribers are not
+ * given their own queues: each one keeps a cursor into the ring, and a
+ * subscriber that falls more than max-lag events behind is disconnected
+ * instead of buffering for it. Sends run on a fixed pool of
+ * quiz.events.dispatcher-threads, so a slow client never blocks the request
+ * that made a change. A subscriber queues at most one send task at a time,
+ * so the pool's queue never holds more tasks than there are subscribers.
+ */
+@Component
+public class ChangeFeed {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${quiz.events.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${quiz.events.max-lag:256}")
+    private int maxLag;
+
+    @Value("${quiz.events.timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    @Value("${quiz.events.dispatcher-threads:16}")
+    private int dispatcherThreadCount;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder droppedSubscribers = new LongAdder();
+    private final AtomicLong dispatcherThreads = new AtomicLong();
+
+    private EventRing<EncodedEvent> ring;
+    private ObjectWriter writer;
+    private ExecutorService dispatcher;
+
+    @PostConstruct
+    void init() {
+        ring = new EventRing<>(bufferSize);
+        maxLag = Math.min(maxLag, ring.capacity());
+        // SSE data must be a single line
+        writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        int threads = Math.max(1, dispatcherThreadCount);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task,
+                    "change-feed-" + dispatcherThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Idle feeds hold no threads
+        pool.allowCoreThreadTimeOut(true);
+        dispatcher = pool;
+
+        Gauge.builder("quiz.events.subscribers", subscribers, Set::size)
+                .description("Connected change feed subscribers")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.events.dropped", droppedSubscribers, LongAdder::sum)
+                .description("Subscribers disconnected for falling too far behind")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.events.published", ring, EventRing::getLastSequence)
+                .description("Change events published")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * Publish a change to all subscribers
+     * @param type Event type, one of the ChangeEvent constants
+     * @param quizId Quiz that changed
+     * @param questionId Question that changed, or null
+     * @return Sequence number of the event
+     */
+    public long publish(String type, Long quizId, Long questionId) {
+        long sequence = ring.append(id -> encode(new ChangeEvent(id, type, quizId, questionId)));
+        for (Subscriber subscriber : subscribers) {
+            if (sequence - subscriber.cursor > maxLag) {
+                drop(subscriber);
+            } else {
+                subscriber.signal();
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Open a stream of change events
+     * Events after lastEventId are replayed first. If they are no longer
+     * buffered, or the id is from before a restart, a reset event is sent
+     * and the stream continues with new events only.
+     * @param lastEventId Last event the client saw, or null for new events only
+     * @return Emitter for the stream
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutSeconds * 1000);
+        long last = ring.getLastSequence();
+        long cursor = last;
+        boolean reset = false;
+        if (lastEventId != null) {
+            if (lastEventId > last || lastEventId < ring.getOldestSequence() - 1 ||
+                    last - lastEventId > maxLag) {
+                reset = true;
+            } else {
+                cursor = lastEventId;
+            }
+        }
+
+        Subscriber subscriber = new Subscriber(emitter, cursor);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        if (reset) {
+            try {
+                emitter.send(encode(new ChangeEvent(cursor, ChangeEvent.RESET, null, null)).data);
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+        }
+        subscribers.add(subscriber);
+        subscriber.signal();
+        return emitter;
+    }
+
+    /**
+     * Disconnect every subscriber (useful for testing)
+     */
+    public void disconnectAll() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscribers.remove(subscriber)) {
+                subscriber.closed = true;
+                subscriber.signal();
+            }
+        }
+    }
+
+    /**
+     * Number of connected subscribers
+     * @return Subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Subscribers disconnected for falling behind
+     * @return Dropped subscriber count
+     */
+    public long getDroppedCount() {
+        return droppedSubscribers.sum();
+    }
+
+    /**
+     * Sequence number of the latest event
+     * @return Last event id, or 0 if nothing was published
+     */
+    public long getLastEventId() {
+        return ring.getLastSequence();
+    }
+
+    private EncodedEvent encode(ChangeEvent event) {
+        try {
+            return new EncodedEvent(SseEmitter.event()
+                    .id(Long.toString(event.getId()))
+                    .name(event.getType())
+                    .data(writer.writeValueAsString(event), MediaType.APPLICATION_JSON)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            droppedSubscribers.increment();
+            // Completed by the dispatcher, which may be blocked writing to this client
+            subscriber.closed = true;
+            subscriber.signal();
+        }
+    }
+
+    /**
+     * Event with its SSE frame prebuilt, shared by all subscribers
+     */
+    private record EncodedEvent(Set<DataWithMediaType> data) {
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void signal() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException e) {
+                    subscribers.remove(this);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                do {
+                    while (!closed && cursor < ring.getLastSequence()) {
+                        EncodedEvent event = ring.get(cursor + 1);
+                        if (event == null) {
+                            drop(this);
+                            break;
+                        }
+                        emitter.send(event.data);
+                        cursor++;
+                    }
+                    if (closed) {
+                        emitter.complete();
+                        return;
+                    }
+                    scheduled.set(false);
+                } while (cursor < ring.getLastSequence() && scheduled.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // Client disconnected or the stream already completed
+                subscribers.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.quiz_api.service;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * Fixed-size ring buffer of the most recent events, addressed by sequence number
+ * Sequence numbers start at 1. Appends are serialized; reads are lock-free
+ * and return null once an event has been overwritten.
+ * @param <E> Event type
+ */
+public class EventRing<E> {
+
+    private final AtomicReferenceArray<Slot<E>> slots;
+    private final int mask;
+    private volatile long lastSequence;
+
+    /**
+     * @param capacity Number of events kept, rounded up to a power of two
+     */
+    public EventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Append an event, overwriting the oldest one if the ring is full
+     * @param factory Builds the event from its sequence number
+     * @return Sequence number of the appended event
+     */
+    public synchronized long append(LongFunction<E> factory) {
+        long sequence = lastSequence + 1;
+        slots.set((int) (sequence & mask), new Slot<>(sequence, factory.apply(sequence)));
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Look up an event by sequence number
+     * @param sequence Sequence number
+     * @return The event, or null if it was overwritten or not yet appended
+     */
+    public E get(long sequence) {
+        if (sequence < 1 || sequence > lastSequence) {
+            return null;
+        }
+        Slot<E> slot = slots.get((int) (sequence & mask));
+        return slot != null && slot.sequence == sequence ? slot.event : null;
+    }
+
+    /**
+     * Sequence number of the latest event
+     * @return Last sequence, or 0 if nothing was appended
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Sequence number of the oldest event still held
+     * @return Oldest sequence, or 1 if nothing was appended
+     */
+    public long getOldestSequence() {
+        return Math.max(1, lastSequence - slots.length() + 1);
+    }
+
+    /**
+     * Number of events the ring holds when full
+     * @return Capacity
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    private record Slot<E>(long sequence, E event) {
+    }
+}
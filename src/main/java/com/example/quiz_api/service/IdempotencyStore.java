@@ -0,0 +1,200 @@
+package com.example.quiz_api.service;
+
+import com.example.quiz_api.exception.ConflictException;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded, TTL-evicting store of results keyed by client idempotency keys
+ * The first request for a key runs the computation; duplicates arriving while
+ * it is in flight wait for it, and later duplicates get the stored result.
+ * Every entry has the same TTL, so insertion order is also expiry order and a
+ * FIFO queue is enough to evict both expired entries and the oldest entries
+ * once the store is full.
+ * @param <V> Result type; results are shared, so they should not be mutated
+ */
+public class IdempotencyStore<V> {
+
+    /**
+     * Rough fixed cost of an entry: map node, entry, future, queue node, key
+     * and a digest-sized fingerprint
+     */
+    private static final long ENTRY_OVERHEAD_BYTES = 352;
+
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final ToLongFunction<V> sizeEstimator;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+
+    /**
+     * @param maxEntries Maximum number of stored keys
+     * @param ttlMillis How long a completed result is kept
+     * @param sizeEstimator Approximate heap size of a result in bytes
+     */
+    public IdempotencyStore(int maxEntries, long ttlMillis, ToLongFunction<V> sizeEstimator) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.sizeEstimator = sizeEstimator;
+    }
+
+    /**
+     * Run the computation once per key, sharing the result with duplicates
+     * @param key Idempotency key
+     * @param fingerprint Identifies the request, compared with equals; use a
+     *                    collision-resistant digest rather than hashCode, since
+     *                    a collision returns one request's result for another
+     * @param computation Work to run for the first request
+     * @return The computed or stored result
+     * @throws ConflictException if the key was used for a different request
+     */
+    public V execute(String key, Object fingerprint, Supplier<V> computation) {
+        long now = System.nanoTime();
+        evict(now);
+
+        Entry<V> entry = new Entry<>(key, fingerprint, now);
+        Entry<V> existing = entries.putIfAbsent(key, entry);
+        while (existing != null && existing.isExpired(now, ttlNanos)) {
+            if (entries.remove(key, existing)) {
+                estimatedBytes.addAndGet(-existing.size);
+            }
+            existing = entries.putIfAbsent(key, entry);
+        }
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                conflicts.increment();
+                throw new ConflictException(
+                        "Idempotency key was already used for a different request");
+            }
+            hits.increment();
+            return await(existing.future);
+        }
+
+        misses.increment();
+        insertionOrder.add(entry);
+        try {
+            V result = computation.get();
+            entry.size = ENTRY_OVERHEAD_BYTES + sizeEstimator.applyAsLong(result);
+            estimatedBytes.addAndGet(entry.size);
+            entry.future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            // Failed requests are not remembered, so the client may retry them
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop expired entries and the oldest entries beyond capacity
+     * Entries still in flight are never evicted. Only one thread evicts at
+     * a time; others skip rather than wait.
+     */
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            Entry<V> head;
+            while ((head = insertionOrder.peek()) != null && head.future.isDone() &&
+                    (head.isExpired(now, ttlNanos) || entries.size() > maxEntries)) {
+                insertionOrder.poll();
+                if (entries.remove(head.key, head)) {
+                    estimatedBytes.addAndGet(-head.size);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Requests answered from a stored or in-flight result
+     * @return Deduplicated request count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Requests that ran the computation
+     * @return Computation count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Requests rejected for reusing a key with a different payload
+     * @return Conflict count
+     */
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    /**
+     * Number of keys currently stored
+     * @return Entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Approximate heap used by stored results
+     * @return Estimated bytes
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes.get();
+    }
+
+    private static final class Entry<V> {
+
+        private final String key;
+        private final Object fingerprint;
+        private final long createdNanos;
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long size;
+
+        private Entry(String key, Object fingerprint, long createdNanos) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.createdNanos = createdNanos;
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return future.isDone() && now - createdNanos > ttlNanos;
+        }
+    }
+}
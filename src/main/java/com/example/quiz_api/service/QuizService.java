@@ -1,15 +1,31 @@
 package com.example.quiz_api.service;
 
 import com.example.quiz_api.dto.*;
+import com.example.quiz_api.exception.ConflictException;
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.exception.ValidationException;
 import com.example.quiz_api.model.*;
+import com.example.quiz_api.replication.ReplicationManager;
 import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.timing.Stage;
+import com.example.quiz_api.timing.StageTimer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer containing business logic for quiz operations
@@ -17,60 +33,184 @@ import java.util.stream.Collectors;
 @Service
 public class QuizService {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private static final ConflictException TIMED_QUIZ =
+            new ConflictException("Timed quizzes must be taken through an attempt");
+
     @Autowired
     private QuizRepository repository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private ReplicationManager replicationManager;
+
+    @Autowired
+    private QuizSummaryView summaryView;
+
+    @Value("${quiz.coalescing.enabled:true}")
+    private boolean coalescingEnabled;
+
+    @Value("${quiz.idempotency.max-entries:100000}")
+    private int idempotencyMaxEntries;
+
+    @Value("${quiz.idempotency.ttl-seconds:86400}")
+    private long idempotencyTtlSeconds;
+
+    // Concurrent reads of the same quiz version share one computation
+    private final SingleFlight<QuestionsKey, List<QuestionResponse>> questionsFlight =
+            new SingleFlight<>();
+
+    // Graded submissions by quiz ID and client Idempotency-Key
+    private IdempotencyStore<SubmitAnswersResponse> submissions;
+
+    @PostConstruct
+    void init() {
+        submissions = new IdempotencyStore<>(idempotencyMaxEntries,
+                idempotencyTtlSeconds * 1000, QuizService::estimateSize);
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        FunctionCounter.builder("quiz.questions.coalescing.calls", questionsFlight,
+                        SingleFlight::getExecutionCount)
+                .tag("result", "executed")
+                .description("Question list computations actually run")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.questions.coalescing.calls", questionsFlight,
+                        SingleFlight::getCoalescedCount)
+                .tag("result", "coalesced")
+                .description("Question list reads served by an in-flight computation")
+                .register(meterRegistry);
+        Gauge.builder("quiz.questions.coalescing.ratio", questionsFlight,
+                        SingleFlight::getCoalescingRatio)
+                .description("Fraction of question list reads that were coalesced")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("quiz.submissions.idempotency.requests", submissions,
+                        IdempotencyStore::getHitCount)
+                .tag("result", "duplicate")
+                .description("Submissions answered from an earlier request with the same key")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.submissions.idempotency.requests", submissions,
+                        IdempotencyStore::getMissCount)
+                .tag("result", "graded")
+                .description("Keyed submissions that were graded")
+                .register(meterRegistry);
+        FunctionCounter.builder("quiz.submissions.idempotency.requests", submissions,
+                        IdempotencyStore::getConflictCount)
+                .tag("result", "conflict")
+                .description("Keys reused with a different request body")
+                .register(meterRegistry);
+        Gauge.builder("quiz.submissions.idempotency.entries", submissions,
+                        IdempotencyStore::size)
+                .description("Idempotency keys currently stored")
+                .register(meterRegistry);
+        Gauge.builder("quiz.submissions.idempotency.memory", submissions,
+                        IdempotencyStore::getEstimatedBytes)
+                .baseUnit("bytes")
+                .description("Estimated heap used by stored submission results")
+                .register(meterRegistry);
+    }
+
     /**
      * Create a new quiz
-     * @param request Quiz creation request with title
+     * @param request Quiz creation request with title, optional time limit and scoring policy
      * @return Created quiz
+     * @throws ConflictException on a read-only replica
+     * @throws ValidationException if negative marking is outside 0 to 1
      */
     public Quiz createQuiz(CreateQuizRequest request) {
+        replicationManager.checkWritable();
+        Double negativeMarking = request.getNegativeMarking();
+        if (negativeMarking != null && !(negativeMarking >= 0 && negativeMarking <= 1)) {
+            throw new ValidationException("Negative marking must be between 0 and 1");
+        }
         String title = request.getTitle().trim();
         Quiz quiz = new Quiz(null, title);
-        return repository.saveQuiz(quiz);
+        quiz.setTimeLimitSeconds(request.getTimeLimitSeconds());
+        quiz.setPartialCredit(request.getPartialCredit());
+        quiz.setNegativeMarking(negativeMarking);
+        quiz = repository.saveQuiz(quiz);
+        changeFeed.publish(ChangeEvent.QUIZ_CREATED, quiz.getId(), null);
+        return quiz;
     }
 
     /**
      * Get all quizzes with metadata
-     * @return List of quiz summaries
+     * @return Shared, unmodifiable list of quiz summaries
      */
     public List<QuizListResponse> getAllQuizzes() {
-        return repository.findAllQuizzes().stream()
-                .map(quiz -> new QuizListResponse(
-                        quiz.getId(),
-                        quiz.getTitle(),
-                        quiz.getQuestionIds().size(),
-                        quiz.getCreatedAt()
-                ))
+        return summaryView.list();
+    }
+
+    /**
+     * Stream quiz summaries from the summary view
+     * @return Stream of quiz summaries
+     */
+    public Stream<QuizListResponse> streamAllQuizzes() {
+        return summaryView.list().stream();
+    }
+
+    /**
+     * Get the quizzes changed after a catalog version
+     * Versions restart with a new epoch after a restart or a clear, which
+     * is also the only way quizzes are removed. A version from another
+     * epoch, or newer than the server's, returns the whole catalog marked
+     * as a reset, so the client replaces its copy.
+     * @param sinceVersion Version from the client's previous sync, 0 for all
+     * @param epoch Epoch from the client's previous sync, or null if unknown
+     * @return Changed quiz summaries, the epoch and the new high-water mark
+     */
+    public QuizChangesResponse getQuizzesChangedSince(long sinceVersion, String epoch) {
+        if (sinceVersion < 0) {
+            throw new ValidationException("Version cannot be negative");
+        }
+        String currentEpoch = repository.getChangeEpoch();
+        long version = repository.getChangeVersion();
+        boolean reset = sinceVersion > version ||
+                (sinceVersion > 0 && epoch != null && !epoch.equals(currentEpoch));
+        long from = reset ? 0 : sinceVersion;
+        List<QuizListResponse> changed = repository.streamQuizzesChangedBetween(from, version)
+                .map(quiz -> summaryView.get(quiz.getId()))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return new QuizChangesResponse(currentEpoch, version, reset, changed);
     }
 
     /**
      * Get a quiz by ID
      * @param quizId The quiz ID
      * @return The quiz
-     * @throws IllegalArgumentException if quiz not found
+     * @throws NotFoundException if quiz not found
      */
     public Quiz getQuizById(Long quizId) {
         return repository.findQuizById(quizId)
-                .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
+                .orElseThrow(() -> NotFoundException.QUIZ);
     }
 
     /**
      * Add a question to a quiz
+     * A question with the same content already in the bank is shared rather
+     * than copied, so the result may carry an existing ID and option IDs
      * @param quizId ID of the quiz
      * @param request Question details
-     * @return Created question
+     * @return Created or shared question
+     * @throws ConflictException on a read-only replica
      */
     public Question addQuestionToQuiz(Long quizId, AddQuestionRequest request) {
-        Quiz quiz = getQuizById(quizId);
+        replicationManager.checkWritable();
+        getQuizById(quizId);
 
         // Validate question data
         validateQuestion(request);
 
         Question question = new Question();
-        question.setQuizId(quizId);
         question.setText(request.getText());
         question.setType(request.getType());
 
@@ -96,23 +236,41 @@ public class QuizService {
             question.setWordLimit(request.getWordLimit() != null ?
                     request.getWordLimit() : 300);
         }
+        question.setDifficulty(request.getDifficulty());
+        question.setDiscrimination(request.getDiscrimination());
+        question.setWeight(request.getWeight());
 
-        // Save question and add to quiz
-        Question savedQuestion = repository.saveQuestion(question);
-        quiz.getQuestionIds().add(savedQuestion.getId());
-        repository.saveQuiz(quiz);
+        // Save question and add to quiz atomically
+        Question savedQuestion = repository.appendQuestionToQuiz(quizId, question);
+        changeFeed.publish(ChangeEvent.QUESTION_ADDED, quizId, savedQuestion.getId());
 
         return savedQuestion;
     }
 
+    /**
+     * Remove a question from a quiz
+     * The question is deleted from the bank once no quiz references it
+     * @param quizId ID of the quiz
+     * @param questionId ID of the question
+     * @return The quiz without the question
+     * @throws NotFoundException if the quiz does not exist or does not contain the question
+     * @throws ConflictException on a read-only replica
+     */
+    public Quiz removeQuestionFromQuiz(Long quizId, Long questionId) {
+        replicationManager.checkWritable();
+        Quiz quiz = repository.removeQuestionFromQuiz(quizId, questionId);
+        changeFeed.publish(ChangeEvent.QUESTION_REMOVED, quizId, questionId);
+        return quiz;
+    }
+
     /**
      * Validate question data based on type
      * @param request Question request to validate
-     * @throws IllegalArgumentException if validation fails
+     * @throws ValidationException if validation fails
      */
     private void validateQuestion(AddQuestionRequest request) {
         if (request.getText() == null || request.getText().trim().isEmpty()) {
-            throw new IllegalArgumentException("Question text is required");
+            throw new ValidationException("Question text is required");
         }
 
         QuestionType type = request.getType();
@@ -120,34 +278,42 @@ public class QuizService {
         // Validate single choice questions
         if (type == QuestionType.SINGLE) {
             if (request.getOptions() == null || request.getOptions().size() < 2) {
-                throw new IllegalArgumentException(
+                throw new ValidationException(
                         "Single choice questions must have at least 2 options");
             }
             if (request.getCorrectAnswers() == null ||
                     request.getCorrectAnswers().size() != 1) {
-                throw new IllegalArgumentException(
+                throw new ValidationException(
                         "Single choice questions must have exactly 1 correct answer");
             }
+            if (request.getOptions().size() > AnswerKey.MAX_OPTIONS) {
+                throw new ValidationException(
+                        "Questions cannot have more than " + AnswerKey.MAX_OPTIONS + " options");
+            }
             int correctIdx = request.getCorrectAnswers().get(0);
             if (correctIdx < 0 || correctIdx >= request.getOptions().size()) {
-                throw new IllegalArgumentException("Invalid correct answer index");
+                throw new ValidationException("Invalid correct answer index");
             }
         }
 
         // Validate multiple choice questions
         if (type == QuestionType.MULTIPLE) {
             if (request.getOptions() == null || request.getOptions().size() < 2) {
-                throw new IllegalArgumentException(
+                throw new ValidationException(
                         "Multiple choice questions must have at least 2 options");
             }
             if (request.getCorrectAnswers() == null ||
                     request.getCorrectAnswers().isEmpty()) {
-                throw new IllegalArgumentException(
+                throw new ValidationException(
                         "Multiple choice questions must have at least 1 correct answer");
             }
+            if (request.getOptions().size() > AnswerKey.MAX_OPTIONS) {
+                throw new ValidationException(
+                        "Questions cannot have more than " + AnswerKey.MAX_OPTIONS + " options");
+            }
             for (int idx : request.getCorrectAnswers()) {
                 if (idx < 0 || idx >= request.getOptions().size()) {
-                    throw new IllegalArgumentException("Invalid correct answer index");
+                    throw new ValidationException("Invalid correct answer index");
                 }
             }
         }
@@ -156,29 +322,74 @@ public class QuizService {
         if (type == QuestionType.TEXT) {
             if (request.getCorrectAnswerTexts() == null ||
                     request.getCorrectAnswerTexts().isEmpty()) {
-                throw new IllegalArgumentException(
+                throw new ValidationException(
                         "Text questions must have at least 1 correct answer");
             }
             Integer limit = request.getWordLimit() != null ?
                     request.getWordLimit() : 300;
             if (limit < 1 || limit > 300) {
-                throw new IllegalArgumentException(
+                throw new ValidationException(
                         "Word limit must be between 1 and 300 characters");
             }
         }
+
+        // Validate item response theory parameters
+        Double difficulty = request.getDifficulty();
+        if (difficulty != null && !(difficulty >= -6 && difficulty <= 6)) {
+            throw new ValidationException("Difficulty must be between -6 and 6");
+        }
+        Double discrimination = request.getDiscrimination();
+        if (discrimination != null && !(discrimination > 0 && discrimination <= 6)) {
+            throw new ValidationException("Discrimination must be above 0 and at most 6");
+        }
+
+        Double weight = request.getWeight();
+        if (weight != null && !(weight > 0 && weight <= 1000)) {
+            throw new ValidationException("Weight must be above 0 and at most 1000");
+        }
     }
 
     /**
      * Get all questions for a quiz (without correct answers)
+     * Concurrent callers for the same quiz version share one computation,
+     * so the returned list is shared and unmodifiable
      * @param quizId ID of the quiz
      * @return List of questions for quiz takers
      */
+    @SuppressWarnings("try")
     public List<QuestionResponse> getQuizQuestions(Long quizId) {
-        Quiz quiz = getQuizById(quizId);
+        Quiz quiz;
+        try (StageTimer timer = StageTimer.start(Stage.QUIZ_LOOKUP)) {
+            quiz = getQuizById(quizId);
+        }
+        return getQuizQuestions(quiz);
+    }
+
+    /**
+     * Get the questions of one quiz revision (without correct answers)
+     * Older revisions, such as the one an attempt is pinned to, list the
+     * questions as they were in that revision
+     * @param quiz The quiz revision
+     * @return List of questions for quiz takers
+     */
+    public List<QuestionResponse> getQuizQuestions(Quiz quiz) {
+        if (!coalescingEnabled) {
+            return loadQuizQuestions(quiz);
+        }
+        return questionsFlight.execute(new QuestionsKey(quiz.getId(), quiz.getVersion()),
+                () -> loadQuizQuestions(quiz));
+    }
+
+    @SuppressWarnings("try")
+    private List<QuestionResponse> loadQuizQuestions(Quiz quiz) {
+        try (StageTimer timer = StageTimer.start(Stage.QUESTION_LOOKUP)) {
+            return toQuestionResponses(quiz);
+        }
+    }
 
+    private static List<QuestionResponse> toQuestionResponses(Quiz quiz) {
         return quiz.getQuestionIds().stream()
-                .map(questionId -> repository.findQuestionById(questionId)
-                        .orElseThrow(() -> new IllegalArgumentException("Question not found")))
+                .map(quiz::findQuestion)
                 .map(question -> new QuestionResponse(
                         question.getId(),
                         question.getText(),
@@ -186,7 +397,7 @@ public class QuizService {
                         question.getOptions(),
                         question.getWordLimit()
                 ))
-                .collect(Collectors.toList());
+                .collect(Collectors.toUnmodifiableList());
     }
 
     /**
@@ -194,63 +405,228 @@ public class QuizService {
      * @param quizId ID of the quiz
      * @param request Answer submission request
      * @return Scoring results
+     * @throws ConflictException if the quiz is timed and must be taken as an attempt
      */
+    @SuppressWarnings("try")
     public SubmitAnswersResponse submitQuizAnswers(Long quizId, SubmitAnswersRequest request) {
-        Quiz quiz = getQuizById(quizId);
-
-        int score = 0;
-        List<SubmitAnswersResponse.QuestionResult> results = new ArrayList<>();
-
-        for (SubmitAnswersRequest.Answer answer : request.getAnswers()) {
-            Question question = repository.findQuestionById(answer.getQuestionId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Invalid question ID: " + answer.getQuestionId()));
+        Quiz quiz;
+        try (StageTimer timer = StageTimer.start(Stage.QUIZ_LOOKUP)) {
+            quiz = getQuizById(quizId);
+        }
+        if (quiz.getTimeLimitSeconds() != null) {
+            throw TIMED_QUIZ;
+        }
+        return gradeAnswers(quiz, request.getAnswers());
+    }
 
-            if (!question.getQuizId().equals(quizId)) {
-                throw new IllegalArgumentException(
-                        "Question does not belong to this quiz");
+    /**
+     * Score answers against a quiz
+     * Shared by direct submissions and timed attempts. Each question earns
+     * its weight times the credit of the answer, following the quiz's
+     * partial credit and negative marking. `score` still counts the answers
+     * that earned full credit. Questions are looked up before any answer is
+     * graded, so the two stages are timed apart.
+     * @param quiz The quiz revision to grade against
+     * @param answers Answers to grade
+     * @return Scoring results
+     * @throws ValidationException if an answer is for a question outside the quiz
+     */
+    @SuppressWarnings("try")
+    public SubmitAnswersResponse gradeAnswers(Quiz quiz, List<SubmitAnswersRequest.Answer> answers) {
+        PartialCredit partialCredit = quiz.getPartialCredit() != null ?
+                quiz.getPartialCredit() : PartialCredit.NONE;
+        double negativeMarking = quiz.getNegativeMarking() != null ? quiz.getNegativeMarking() : 0;
+        Question[] questions = new Question[answers.size()];
+        try (StageTimer timer = StageTimer.start(Stage.QUESTION_LOOKUP)) {
+            for (int i = 0; i < questions.length; i++) {
+                questions[i] = findQuizQuestion(quiz, answers.get(i).getQuestionId());
             }
+        }
+        try (StageTimer timer = StageTimer.start(Stage.GRADING)) {
+            return grade(quiz, answers, questions, partialCredit, negativeMarking);
+        }
+    }
 
-            boolean isCorrect = checkAnswer(question, answer.getSelectedOptions());
+    private SubmitAnswersResponse grade(Quiz quiz, List<SubmitAnswersRequest.Answer> answers,
+                                        Question[] questions, PartialCredit partialCredit,
+                                        double negativeMarking) {
+        int score = 0;
+        double points = 0;
+        List<SubmitAnswersResponse.QuestionResult> results = new ArrayList<>(answers.size());
+
+        for (int i = 0; i < questions.length; i++) {
+            SubmitAnswersRequest.Answer answer = answers.get(i);
+            Question question = questions[i];
+            List<Long> selected = answer.getSelectedOptions();
+
+            double credit = creditFor(question, selected, partialCredit);
+            double earned;
+            if (credit > 0) {
+                earned = credit * question.getPoints();
+            } else {
+                earned = selected.isEmpty() ? 0 : -negativeMarking * question.getPoints();
+            }
+            boolean isCorrect = credit == 1;
             if (isCorrect) {
                 score++;
             }
+            points += earned;
 
             results.add(new SubmitAnswersResponse.QuestionResult(
-                    answer.getQuestionId(), isCorrect));
+                    answer.getQuestionId(), isCorrect, earned));
+        }
+
+        return new SubmitAnswersResponse(score, quiz.getQuestionIds().size(), points,
+                maxPoints(quiz), results);
+    }
+
+    /**
+     * Points a quiz revision is worth, the sum of its questions' weights
+     */
+    private static double maxPoints(Quiz quiz) {
+        double maxPoints = 0;
+        for (Long questionId : quiz.getQuestionIds()) {
+            Question question = quiz.findQuestion(questionId);
+            if (question != null) {
+                maxPoints += question.getPoints();
+            }
         }
+        return maxPoints;
+    }
 
-        return new SubmitAnswersResponse(score, quiz.getQuestionIds().size(), results);
+    /**
+     * Look up a question that must belong to a quiz
+     * Membership is checked against the quiz revision's own questions, since
+     * a question can be shared by many quizzes and removed after the
+     * revision was read
+     * @param quiz The quiz revision
+     * @param questionId ID of the question
+     * @return The question as it is in the revision
+     * @throws ValidationException if the question is missing or not in the quiz
+     */
+    public Question findQuizQuestion(Quiz quiz, Long questionId) {
+        Question question = quiz.findQuestion(questionId);
+        if (question != null) {
+            return question;
+        }
+        if (questionId == null || repository.findQuestionById(questionId).isEmpty()) {
+            throw new ValidationException("Invalid question ID: " + questionId);
+        }
+        throw new ValidationException("Question does not belong to this quiz");
+    }
+
+    /**
+     * Submit answers with an optional client idempotency key
+     * Retries with the same key return the original result instead of
+     * grading again; concurrent retries wait for the original grading
+     * @param quizId ID of the quiz
+     * @param request Answer submission request
+     * @param idempotencyKey Client-chosen key, or null to always grade
+     * @return Scoring results
+     * @throws ConflictException if the key was used for a different submission
+     */
+    public SubmitAnswersResponse submitQuizAnswers(Long quizId, SubmitAnswersRequest request,
+                                                   String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return submitQuizAnswers(quizId, request);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ValidationException(
+                    "Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        return submissions.execute(quizId + ":" + idempotencyKey, fingerprint(request),
+                () -> submitQuizAnswers(quizId, request));
+    }
+
+    /**
+     * SHA-256 of a submission's answers, in order, as hex
+     * Each field is written at a fixed width with its list length ahead of
+     * it, so different submissions never encode to the same bytes
+     */
+    private static String fingerprint(SubmitAnswersRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is unavailable", e);
+        }
+        List<SubmitAnswersRequest.Answer> answers = request.getAnswers();
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2);
+        updateDigest(digest, buffer, answers == null ? -1 : answers.size());
+        for (SubmitAnswersRequest.Answer answer : answers == null ?
+                List.<SubmitAnswersRequest.Answer>of() : answers) {
+            List<Long> selected = answer == null ? null : answer.getSelectedOptions();
+            updateDigest(digest, buffer, answer == null ? null : answer.getQuestionId());
+            updateDigest(digest, buffer, selected == null ? -1 : selected.size());
+            for (Long optionId : selected == null ? List.<Long>of() : selected) {
+                updateDigest(digest, buffer, optionId);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // A present flag ahead of each value keeps null apart from every number
+    private static void updateDigest(MessageDigest digest, ByteBuffer buffer, Long value) {
+        buffer.clear();
+        buffer.putLong(value == null ? 0 : 1).putLong(value == null ? 0 : value);
+        digest.update(buffer.array());
+    }
+
+    private static void updateDigest(MessageDigest digest, ByteBuffer buffer, int length) {
+        updateDigest(digest, buffer, (long) length);
+    }
+
+    /**
+     * Idempotency store backing keyed submissions
+     * @return The store
+     */
+    public IdempotencyStore<SubmitAnswersResponse> getSubmissionStore() {
+        return submissions;
+    }
+
+    /**
+     * Approximate heap size of a submission result
+     */
+    private static long estimateSize(SubmitAnswersResponse response) {
+        return 64 + 64L * response.getResults().size();
     }
 
     /**
      * Check if an answer is correct
+     * Shared by submissions and live sessions so both grade the same way
      * @param question The question
      * @param selectedOptions Selected option IDs or text
      * @return true if correct, false otherwise
      */
-    private boolean checkAnswer(Question question, List<Long> selectedOptions) {
+    public boolean checkAnswer(Question question, List<Long> selectedOptions) {
+        return creditFor(question, selectedOptions, PartialCredit.NONE) == 1;
+    }
+
+    /**
+     * Credit an answer earns, from 0 for wrong to 1 for fully right
+     * Choice questions compare the selection's option bitmask with the
+     * question's answer key; only multiple choice questions can earn a
+     * fraction, and only under partial credit
+     * @param question The question
+     * @param selectedOptions Selected option IDs or text
+     * @param partialCredit How partly right multiple choice answers are scored
+     * @return The credit
+     */
+    public double creditFor(Question question, List<Long> selectedOptions,
+                            PartialCredit partialCredit) {
         // Check single choice
         if (question.getType() == QuestionType.SINGLE) {
-            return selectedOptions.size() == 1 &&
-                    question.getCorrectAnswerIds().contains(selectedOptions.get(0));
+            return question.getAnswerKey().credit(selectedOptions, PartialCredit.NONE);
         }
 
         // Check multiple choice
         if (question.getType() == QuestionType.MULTIPLE) {
-            if (selectedOptions.size() != question.getCorrectAnswerIds().size()) {
-                return false;
-            }
-            List<Long> sortedSelected = new ArrayList<>(selectedOptions);
-            List<Long> sortedCorrect = new ArrayList<>(question.getCorrectAnswerIds());
-            Collections.sort(sortedSelected);
-            Collections.sort(sortedCorrect);
-            return sortedSelected.equals(sortedCorrect);
+            return question.getAnswerKey().credit(selectedOptions, partialCredit);
         }
 
         // Check text answer
         if (question.getType() == QuestionType.TEXT) {
-            if (selectedOptions.isEmpty()) return false;
+            if (selectedOptions.isEmpty()) return 0;
 
             // Note: In real implementation, text would be passed differently
             String answer = String.valueOf(selectedOptions.get(0)).trim().toLowerCase();
@@ -259,13 +635,19 @@ public class QuizService {
                     question.getWordLimit() : 300;
 
             if (answer.length() > limit) {
-                return false;
+                return 0;
             }
 
             return question.getCorrectAnswerTexts().stream()
-                    .anyMatch(correct -> correct.toLowerCase().equals(answer));
+                    .anyMatch(correct -> correct.toLowerCase().equals(answer)) ? 1 : 0;
         }
 
-        return false;
+        return 0;
+    }
+
+    /**
+     * Key for coalescing question list reads
+     */
+    private record QuestionsKey(Long quizId, long version) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.example.quiz_api.service;
+
+import com.example.quiz_api.dto.QuizListResponse;
+import com.example.quiz_api.model.PersistentLongMap;
+import com.example.quiz_api.model.PersistentVector;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.repository.RepositoryListener;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ready-made quiz summaries for listing
+ * Every quiz save replaces that quiz's summary with one built from the
+ * saved snapshot, so a summary is never modified after it is published and
+ * its question count always matches its version. The list is maintained on
+ * the write side: a save updates a persistent vector of summaries in
+ * O(log n), sharing everything else with the previous list, and publishes
+ * it through a volatile reference. Listing is one volatile read whatever
+ * the write rate. Quizzes are listed in the order they were first saved.
+ * Created eagerly even with lazy initialization, so it sees every save,
+ * including replicated ones that arrive before the first request.
+ */
+@Component
+@Lazy(false)
+public class QuizSummaryView implements RepositoryListener {
+
+    @Autowired
+    private QuizRepository repository;
+
+    // Written only under this view's monitor; write lanes report saves concurrently
+    private volatile Published published = Published.EMPTY;
+
+    @PostConstruct
+    void init() {
+        repository.addListener(this);
+    }
+
+    @Override
+    public synchronized void quizSaved(Quiz quiz) {
+        QuizListResponse summary = new QuizListResponse(
+                quiz.getId(),
+                quiz.getTitle(),
+                quiz.getQuestionIds().size(),
+                quiz.getCreatedAt()
+        );
+        Published current = published;
+        Integer position = current.positions().get(quiz.getId());
+        if (position != null) {
+            published = new Published(current.positions(), current.summaries().with(position, summary));
+        } else {
+            published = new Published(
+                    current.positions().put(quiz.getId(), current.summaries().size()),
+                    current.summaries().append(summary));
+        }
+    }
+
+    @Override
+    public void questionSaved(Question question) {
+        // Question counts change with the quiz save that follows
+    }
+
+    @Override
+    public synchronized void cleared() {
+        published = Published.EMPTY;
+    }
+
+    /**
+     * All quiz summaries
+     * @return Shared, unmodifiable list; replaced rather than changed by later saves
+     */
+    public List<QuizListResponse> list() {
+        return published.summaries();
+    }
+
+    /**
+     * Summary of one quiz
+     * @param quizId ID of the quiz
+     * @return The summary, or null if the quiz does not exist
+     */
+    public QuizListResponse get(Long quizId) {
+        Published current = published;
+        Integer position = current.positions().get(quizId);
+        return position != null ? current.summaries().get(position) : null;
+    }
+
+    /**
+     * Summaries in listing order, and each quiz's position among them
+     */
+    private record Published(PersistentLongMap<Integer> positions,
+                             PersistentVector<QuizListResponse> summaries) {
+
+        private static final Published EMPTY =
+                new Published(PersistentLongMap.empty(), PersistentVector.empty());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.quiz_api.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single computation
+ * The first caller for a key runs the computation; callers arriving while
+ * it is in flight wait for and share its result. Nothing is cached once
+ * the computation completes.
+ * @param <K> Key type
+ * @param <V> Result type; results are shared, so they should be immutable
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Run the computation, or join the one already running for this key
+     * @param key Key identifying identical requests
+     * @param computation Work to run if no call is in flight
+     * @return The computed or shared result
+     */
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V result = computation.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Number of computations actually run
+     * @return Execution count
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * Number of callers that shared another caller's computation
+     * @return Coalesced call count
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Fraction of calls served by joining an in-flight computation
+     * @return Ratio between 0 and 1
+     */
+    public double getCoalescingRatio() {
+        long shared = coalesced.sum();
+        long total = shared + executions.sum();
+        return total == 0 ? 0 : (double) shared / total;
+    }
+}
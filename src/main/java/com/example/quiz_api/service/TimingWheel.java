@@ -0,0 +1,365 @@
+package com.example.quiz_api.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for large numbers of deadlines
+ * Time is divided into ticks. Level 0 has one slot per tick for the next
+ * 64 ticks, level 1 one slot per 64 ticks, and so on; when a lower level
+ * wraps around, the next slot of the level above is cascaded down. Adding
+ * and cancelling a timeout are O(1), and a tick only touches the timeouts
+ * that expire or cascade, however many are pending.
+ *
+ * Any thread may schedule or cancel. Only one thread advances the wheel,
+ * either the worker started with start() or a caller of advance(); new and
+ * cancelled timeouts are handed to it through lock-free queues, so the slot
+ * lists are never shared. Expiry handlers run on that thread and should
+ * return quickly.
+ * @param <T> Payload passed to the expiry handler
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int DEFAULT_LEVELS = 6;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Consumer<T> onExpire;
+    private final int levels;
+
+    // Levels 0 to levels - 1, plus a single-slot overflow level for deadlines
+    // beyond the top level's span, placed again each time the top level cascades
+    private final Timeout<T>[][] slots;
+    private final int overflow;
+
+    private final Queue<Timeout<T>> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final LongAdder pending = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    // Owned by the advancing thread
+    private long currentTick;
+
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    /**
+     * @param tickDuration Duration of one tick; deadlines are rounded up to it
+     * @param unit Unit of tickDuration
+     * @param onExpire Called with the payload of each expired timeout
+     */
+    public TimingWheel(long tickDuration, TimeUnit unit, Consumer<T> onExpire) {
+        this(unit.toNanos(tickDuration), System.nanoTime(), DEFAULT_LEVELS, onExpire);
+    }
+
+    /**
+     * @param tickNanos Duration of one tick in nanoseconds
+     * @param startNanos Time of tick 0, on the System.nanoTime() scale
+     * @param levels Number of levels; the wheel spans 64^levels ticks
+     * @param onExpire Called with the payload of each expired timeout
+     */
+    public TimingWheel(long tickNanos, long startNanos, int levels, Consumer<T> onExpire) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (levels < 1 || levels > 10) {
+            throw new IllegalArgumentException("Levels must be between 1 and 10");
+        }
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+        this.levels = levels;
+        this.onExpire = onExpire;
+        this.slots = newSlots(levels + 1);
+        this.overflow = levels;
+    }
+
+    // Java cannot create a generic array; the slots only ever hold this wheel's Timeout<T>
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Timeout<T>[][] newSlots(int levels) {
+        return new Timeout[levels][SLOTS];
+    }
+
+    /**
+     * Schedule a payload to expire after a delay
+     * @param payload Passed to the expiry handler
+     * @param delay Delay from now
+     * @param unit Unit of delay
+     * @return Handle for cancelling the timeout
+     */
+    public Timeout<T> schedule(T payload, long delay, TimeUnit unit) {
+        return scheduleAt(payload, System.nanoTime() + unit.toNanos(delay));
+    }
+
+    /**
+     * Schedule a payload to expire at a point in time
+     * @param payload Passed to the expiry handler
+     * @param deadlineNanos Deadline on the System.nanoTime() scale
+     * @return Handle for cancelling the timeout
+     */
+    public Timeout<T> scheduleAt(T payload, long deadlineNanos) {
+        long elapsed = Math.max(0, deadlineNanos - startNanos);
+        Timeout<T> timeout = new Timeout<>(this, payload, (elapsed + tickNanos - 1) / tickNanos);
+        pending.increment();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Process every tick up to the given time
+     * Must only be called from one thread at a time, and not while the
+     * worker thread is running.
+     * @param nowNanos Current time on the System.nanoTime() scale
+     */
+    public void advance(long nowNanos) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        removeCancelled();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            // Placed after cascading so timeouts already due land in this tick's slot
+            placeAdded();
+            int slot = (int) (currentTick & SLOT_MASK);
+            Timeout<T> due = slots[0][slot];
+            slots[0][slot] = null;
+            expireSlot(due);
+        }
+    }
+
+    /**
+     * Start a daemon thread that advances the wheel once per tick
+     * @param name Thread name
+     */
+    public synchronized void start(String name) {
+        if (worker != null) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(() -> {
+            while (running) {
+                long nextTick = startNanos + (currentTick + 1) * tickNanos;
+                long wait = nextTick - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(this, wait);
+                    continue;
+                }
+                try {
+                    advance(System.nanoTime());
+                } catch (RuntimeException e) {
+                    // A failing handler must not stop the clock
+                }
+            }
+        }, name);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * Stop the worker thread; pending timeouts are not run
+     */
+    public synchronized void stop() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            worker = null;
+        }
+    }
+
+    /**
+     * Number of timeouts that have neither expired nor been cancelled
+     * @return Pending timeout count
+     */
+    public long size() {
+        return pending.sum();
+    }
+
+    /**
+     * Number of timeouts that have expired
+     * @return Expired timeout count
+     */
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    /**
+     * Duration of one tick
+     * @return Tick length in nanoseconds
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    private void placeAdded() {
+        Timeout<T> timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state == Timeout.PENDING) {
+                place(timeout);
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            unlink(timeout);
+        }
+    }
+
+    /**
+     * Put a timeout in the lowest level whose span contains both now and its deadline
+     * Called while processing the current tick, before its level-0 slot expires
+     */
+    private void place(Timeout<T> timeout) {
+        long deadline = Math.max(timeout.deadlineTick, currentTick);
+        int level = 0;
+        while (level < levels && (deadline >>> (SLOT_BITS * (level + 1))) !=
+                (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = level == overflow ? 0 :
+                (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.level = level;
+        timeout.slot = slot;
+        Timeout<T> head = slots[level][slot];
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        slots[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.level < 0) {
+            return;
+        }
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else if (slots[timeout.level][timeout.slot] == timeout) {
+            slots[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    /**
+     * Move timeouts from higher levels down when the levels below wrap around
+     * Higher levels go first, so timeouts can fall through several levels
+     */
+    private void cascade() {
+        for (int level = overflow; level > 0; level--) {
+            // Overflow is rechecked whenever the top level moves to its next slot
+            int boundaryBits = SLOT_BITS * Math.min(level, levels - 1);
+            if ((currentTick & ((1L << boundaryBits) - 1)) != 0) {
+                continue;
+            }
+            int slot = level == overflow ? 0 :
+                    (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timeout<T> timeout = slots[level][slot];
+            slots[level][slot] = null;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                timeout.level = -1;
+                if (timeout.state == Timeout.PENDING) {
+                    place(timeout);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    private void expireSlot(Timeout<T> timeout) {
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.level = -1;
+            if (timeout.expire()) {
+                pending.decrement();
+                expired.increment();
+                try {
+                    onExpire.accept(timeout.payload);
+                } catch (RuntimeException e) {
+                    // One failing handler must not lose the rest of the slot
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * A scheduled deadline
+     * @param <T> Payload type
+     */
+    public static final class Timeout<T> {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimingWheel<T> wheel;
+        private final T payload;
+        private final long deadlineTick;
+        private volatile int state;
+
+        // Slot links, owned by the advancing thread
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int level = -1;
+        private int slot;
+
+        private Timeout(TimingWheel<T> wheel, T payload, long deadlineTick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancel the timeout if it has not expired yet
+         * @return true if this call cancelled it
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrement();
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        private boolean expire() {
+            return STATE.compareAndSet(this, PENDING, EXPIRED);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.quiz_api.timing;
+
+import java.util.Locale;
+
+/**
+ * Stage durations accumulated for one request
+ * Only touched by the thread serving the request. A stage that runs
+ * several times, such as repository operations, reports its total time
+ * and the number of runs.
+ */
+final class RequestTimings {
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[STAGES.length];
+    private final int[] counts = new int[STAGES.length];
+
+    void add(Stage stage, long elapsedNanos) {
+        nanos[stage.ordinal()] += elapsedNanos;
+        counts[stage.ordinal()]++;
+    }
+
+    long getNanos(Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    int getCount(Stage stage) {
+        return counts[stage.ordinal()];
+    }
+
+    /**
+     * Server-Timing header value for the stages seen so far
+     * Durations are in milliseconds, and "total" covers the request up to now
+     */
+    String toHeader() {
+        StringBuilder header = new StringBuilder(160);
+        for (Stage stage : STAGES) {
+            int count = counts[stage.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            append(header, stage.getMetricName(), nanos[stage.ordinal()]);
+            header.append(";desc=\"").append(stage.getDescription());
+            if (count > 1) {
+                header.append(" (").append(count).append(')');
+            }
+            header.append("\", ");
+        }
+        append(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String name, long elapsedNanos) {
+        header.append(name).append(";dur=")
+                .append(String.format(Locale.ROOT, "%.3f", elapsedNanos / 1e6));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.quiz_api.timing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Adds a Server-Timing header with stage durations to API responses
+ * Stages timed with StageTimer on the request thread are collected for
+ * the request. The response body is held back until the handler returns,
+ * up to quiz.timing.buffer-size bytes, so the header can include response
+ * serialization; a larger body sends the header once the buffer fills.
+ * Event streams and exports are left alone, since they are long-lived or
+ * handed to sendfile.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/";
+
+    public static final String HEADER = "Server-Timing";
+
+    @Autowired
+    private TimingProperties properties;
+
+    // Both the container and Spring call destroy, so unregister only once
+    private final AtomicBoolean collecting = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        if (properties.isServerTiming() && collecting.compareAndSet(false, true)) {
+            StageTimer.addHeaderCollector();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (collecting.compareAndSet(true, false)) {
+            StageTimer.removeHeaderCollector();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !properties.isServerTiming() || !uri.startsWith(API_PATH) ||
+                uri.endsWith("/events") || uri.contains("/export");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        RequestTimings timings = StageTimer.beginRequest();
+        ServerTimingResponse timed = new ServerTimingResponse(request, response, timings,
+                properties.getBufferSize());
+        boolean completed = false;
+        try {
+            chain.doFilter(request, timed);
+            completed = true;
+        } finally {
+            StageTimer.endRequest();
+            timed.finish(completed);
+        }
+    }
+}
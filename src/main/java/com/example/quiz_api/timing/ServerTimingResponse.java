@@ -0,0 +1,243 @@
+package com.example.quiz_api.timing;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Response that holds back its body so a Server-Timing header can be added last
+ * Up to a limit, body bytes are buffered and flushes from synchronous
+ * handlers are deferred. The header is set and the buffer written when the
+ * filter finishes, the buffer overflows, the handler flushes after going
+ * async, or the response is committed another way such as sendError.
+ * From then on the body passes straight through. Non-blocking writers
+ * commit the response too, and then use the container's stream directly.
+ */
+class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    private final HttpServletRequest request;
+    private final RequestTimings timings;
+    private final int limit;
+    private final ByteArrayOutputStream buffer;
+
+    private boolean headerSent;
+    private boolean passThrough;
+    private boolean closed;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    ServerTimingResponse(HttpServletRequest request, HttpServletResponse response,
+                         RequestTimings timings, int limit) {
+        super(response);
+        this.request = request;
+        this.timings = timings;
+        this.limit = limit;
+        this.buffer = new ByteArrayOutputStream(Math.min(limit, 1024));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new TimedOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            outputStream = new TimedOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        commit();
+        super.flushBuffer();
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return headerSent || super.isCommitted();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (!passThrough) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (!passThrough) {
+            buffer.reset();
+        }
+        super.reset();
+    }
+
+    @Override
+    public void sendError(int status, String message) throws IOException {
+        sendHeader();
+        passThrough = true;
+        super.sendError(status, message);
+    }
+
+    @Override
+    public void sendError(int status) throws IOException {
+        sendHeader();
+        passThrough = true;
+        super.sendError(status);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        sendHeader();
+        passThrough = true;
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Send the header and any held-back body once the handler has returned
+     * @param completed false if the handler threw, in which case the held-back
+     * body is dropped as the container would drop an uncommitted buffer
+     */
+    void finish(boolean completed) throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (passThrough) {
+            return;
+        }
+        if (!completed) {
+            buffer.reset();
+            sendHeader();
+            passThrough = true;
+            return;
+        }
+        commit();
+        if (closed) {
+            getResponse().getOutputStream().close();
+        }
+    }
+
+    /**
+     * Set the header and write the held-back body, switching to pass-through
+     */
+    private void commit() throws IOException {
+        if (passThrough) {
+            return;
+        }
+        sendHeader();
+        passThrough = true;
+        if (buffer.size() > 0) {
+            buffer.writeTo(getResponse().getOutputStream());
+            buffer.reset();
+        }
+    }
+
+    private void sendHeader() {
+        if (!headerSent) {
+            headerSent = true;
+            if (!getResponse().isCommitted()) {
+                setHeader(ServerTimingFilter.HEADER, timings.toHeader());
+            }
+        }
+    }
+
+    /**
+     * Body stream that buffers until the response commits
+     */
+    private class TimedOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!passThrough && buffer.size() + 1 > limit) {
+                commit();
+            }
+            if (passThrough) {
+                getResponse().getOutputStream().write(b);
+            } else {
+                buffer.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!passThrough && buffer.size() + length > limit) {
+                commit();
+            }
+            if (passThrough) {
+                getResponse().getOutputStream().write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Synchronous handlers finish soon, so their flushes wait for the filter;
+            // async handlers such as event streams need theirs to reach the client
+            if (!passThrough && request.isAsyncStarted()) {
+                commit();
+            }
+            if (passThrough) {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (passThrough) {
+                getResponse().getOutputStream().close();
+            } else {
+                closed = true;
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            // The buffer always takes held-back bytes; past it, the container decides
+            if (!passThrough && !request.isAsyncStarted()) {
+                return true;
+            }
+            try {
+                commit();
+                return getResponse().getOutputStream().isReady();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            // Commit first, so held-back bytes are written before non-blocking mode begins
+            try {
+                commit();
+                getResponse().getOutputStream().setWriteListener(listener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
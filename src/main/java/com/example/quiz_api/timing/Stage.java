@@ -0,0 +1,32 @@
+package com.example.quiz_api.timing;
+
+/**
+ * Stages of serving a request that are timed separately
+ * Each stage is reported under its metric name in the Server-Timing header
+ * and in the stage field of StageEvent.
+ */
+public enum Stage {
+
+    QUIZ_LOOKUP("quiz", "Quiz lookup"),
+    QUESTION_LOOKUP("questions", "Question lookups"),
+    GRADING("grade", "Grading"),
+    SERIALIZATION("serialize", "Response serialization"),
+    REPOSITORY("repo", "Repository operations"),
+    SEARCH("search", "Question search");
+
+    private final String metricName;
+    private final String description;
+
+    Stage(String metricName, String description) {
+        this.metricName = metricName;
+        this.description = description;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.quiz_api.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one timed stage of a request
+ * Stack traces are off by default, since the stage and operation already
+ * say where the time went.
+ */
+@Name(StageEvent.NAME)
+@Label("Request Stage")
+@Category("Quiz API")
+@Description("Time spent in one stage of serving a request")
+@StackTrace(false)
+class StageEvent extends Event {
+
+    static final String NAME = "com.example.quiz_api.Stage";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Operation")
+    @Description("Repository method, for repository stages")
+    String operation;
+}
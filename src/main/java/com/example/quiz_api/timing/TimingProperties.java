@@ -0,0 +1,28 @@
+package com.example.quiz_api.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for per-request stage timings
+ * Bound from the quiz.timing.* properties. Flight Recorder events need no
+ * setting: they are emitted whenever a recording enables them.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "quiz.timing")
+public class TimingProperties {
+
+    /**
+     * Whether API responses carry a Server-Timing header
+     */
+    private boolean serverTiming = false;
+
+    /**
+     * Response bytes held back so the header can include serialization
+     * Larger responses send the header with the stages timed before the
+     * buffer filled
+     */
+    private int bufferSize = 8192;
+}
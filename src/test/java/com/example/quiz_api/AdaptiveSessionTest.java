@@ -0,0 +1,271 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.adaptive.AbilityEstimator;
+import com.example.quiz_api.adaptive.AdaptiveProperties;
+import com.example.quiz_api.adaptive.AdaptiveSessionManager;
+import com.example.quiz_api.adaptive.ItemInformationTable;
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateAdaptiveSessionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for computerized adaptive sessions
+ */
+@SpringBootTest(properties = {"quiz.admission.enabled=false"})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AdaptiveSessionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private AdaptiveProperties properties;
+
+    @Autowired
+    private AdaptiveSessionManager sessionManager;
+
+    @Test
+    @Order(1)
+    @DisplayName("The table should pick the most informative unused item at the ability")
+    void testSelectsMostInformativeItem() {
+        long[] ids = {10, 11, 12, 13};
+        double[] discrimination = {1.0, 2.0, 1.0, 2.0};
+        double[] difficulty = {-2.0, -2.0, 2.0, 2.0};
+        ItemInformationTable table = ItemInformationTable.build(ids, discrimination, difficulty, 8);
+        BitSet administered = new BitSet();
+
+        assertEquals(1, table.select(-2.0, administered));
+        assertEquals(3, table.select(2.0, administered));
+        administered.set(3);
+        assertEquals(2, table.select(2.0, administered));
+        administered.set(0, 4);
+        assertEquals(-1, table.select(0.0, administered));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Simulated examinees should be estimated close to their true ability")
+    void testEstimatorRecoversAbility() {
+        Random random = new Random(1);
+        int items = 2_000;
+        long[] ids = new long[items];
+        double[] discrimination = new double[items];
+        double[] difficulty = new double[items];
+        for (int i = 0; i < items; i++) {
+            ids[i] = i;
+            discrimination[i] = 0.8 + random.nextDouble() * 1.2;
+            difficulty[i] = random.nextGaussian() * 1.5;
+        }
+        ItemInformationTable table = ItemInformationTable.build(ids, discrimination, difficulty, 33);
+
+        double squaredError = 0;
+        int examinees = 300;
+        for (int e = 0; e < examinees; e++) {
+            double ability = random.nextGaussian();
+            AbilityEstimator estimator = new AbilityEstimator();
+            BitSet administered = new BitSet();
+            for (int step = 0; step < 30; step++) {
+                int item = table.select(estimator.getEstimate(), administered);
+                administered.set(item);
+                boolean correct = random.nextDouble() < table.probability(item, ability);
+                estimator.update(table.discrimination(item), table.difficulty(item), correct);
+            }
+            squaredError += Math.pow(estimator.getEstimate() - ability, 2);
+            assertTrue(estimator.getStandardError() < 0.4);
+        }
+        assertTrue(Math.sqrt(squaredError / examinees) < 0.4);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("A learner answering everything right should climb and stop at the item limit")
+    void testSessionFlow() throws Exception {
+        Map<Long, Question> questions = createCalibratedQuiz(20);
+        Long quizId = quizIdOf(questions);
+
+        JsonNode session = data(mockMvc.perform(post("/api/adaptive-sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateAdaptiveSessionRequest(quizId, 5, 0.0))))
+                .andExpect(status().isCreated()));
+        long sessionId = session.get("id").asLong();
+        assertFalse(session.get("finished").asBoolean());
+        assertFalse(session.get("question").has("correctAnswerIds"));
+
+        double previous = session.get("ability").asDouble();
+        for (int i = 0; i < 5; i++) {
+            Question question = questions.get(session.get("question").get("id").asLong());
+            session = data(answer(sessionId, question, question.getCorrectAnswerIds().get(0))
+                    .andExpect(status().isOk()));
+            assertTrue(session.get("ability").asDouble() > previous);
+            previous = session.get("ability").asDouble();
+        }
+        assertTrue(session.get("finished").asBoolean());
+        assertEquals(5, session.get("correct").asInt());
+        assertFalse(session.has("question"));
+
+        Question any = questions.values().iterator().next();
+        answer(sessionId, any, any.getCorrectAnswerIds().get(0))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete("/api/adaptive-sessions/" + sessionId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/adaptive-sessions/" + sessionId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Answers for another question and invalid settings should be rejected")
+    void testRejectsInvalidRequests() throws Exception {
+        Map<Long, Question> questions = createCalibratedQuiz(3);
+        Long quizId = quizIdOf(questions);
+
+        JsonNode session = data(mockMvc.perform(post("/api/adaptive-sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateAdaptiveSessionRequest(quizId, null, null))))
+                .andExpect(status().isCreated()));
+        long current = session.get("question").get("id").asLong();
+        Question other = questions.values().stream()
+                .filter(question -> question.getId() != current).findFirst().orElseThrow();
+        answer(session.get("id").asLong(), other, other.getCorrectAnswerIds().get(0))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/api/adaptive-sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateAdaptiveSessionRequest(quizId, 0, null))))
+                .andExpect(status().isBadRequest());
+
+        AddQuestionRequest request = question("Uncalibrated", 0.0);
+        request.setDiscrimination(-1.0);
+        assertThrows(com.example.quiz_api.exception.ValidationException.class,
+                () -> quizService.addQuestionToQuiz(quizId, request));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Starting sessions beyond the per-quiz limit should be refused until one ends")
+    void testSessionsPerQuizAreCapped() throws Exception {
+        Long quizId = quizIdOf(createCalibratedQuiz(3));
+        int limit = properties.getMaxSessionsPerQuiz();
+        properties.setMaxSessionsPerQuiz(2);
+        try {
+            startSession(quizId).andExpect(status().isCreated());
+            long sessionId = data(startSession(quizId).andExpect(status().isCreated())).get("id").asLong();
+            startSession(quizId).andExpect(status().isConflict());
+
+            mockMvc.perform(delete("/api/adaptive-sessions/" + sessionId))
+                    .andExpect(status().isOk());
+            startSession(quizId).andExpect(status().isCreated());
+        } finally {
+            properties.setMaxSessionsPerQuiz(limit);
+        }
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("An idle session should be dropped and free its place")
+    void testIdleSessionsExpire() throws Exception {
+        Long quizId = quizIdOf(createCalibratedQuiz(3));
+        long idleSeconds = properties.getIdleSeconds();
+        int limit = properties.getMaxSessionsPerQuiz();
+        properties.setIdleSeconds(1);
+        properties.setMaxSessionsPerQuiz(1);
+        try {
+            long expired = sessionManager.getExpiredCount();
+            long sessionId = data(startSession(quizId).andExpect(status().isCreated())).get("id").asLong();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (sessionManager.getExpiredCount() == expired && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            mockMvc.perform(get("/api/adaptive-sessions/" + sessionId))
+                    .andExpect(status().isNotFound());
+            startSession(quizId).andExpect(status().isCreated());
+        } finally {
+            properties.setIdleSeconds(idleSeconds);
+            properties.setMaxSessionsPerQuiz(limit);
+        }
+    }
+
+    private ResultActions startSession(Long quizId) throws Exception {
+        return mockMvc.perform(post("/api/adaptive-sessions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new CreateAdaptiveSessionRequest(quizId, null, null))));
+    }
+
+    // Quiz ID of the questions created by createCalibratedQuiz
+    private final Map<Long, Long> quizOfQuestion = new HashMap<>();
+
+    private Map<Long, Question> createCalibratedQuiz(int count) {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Adaptive")).getId();
+        Map<Long, Question> questions = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Question question = quizService.addQuestionToQuiz(quizId,
+                    question("Adaptive " + quizId + "-" + i, -2.0 + 4.0 * i / count));
+            questions.put(question.getId(), question);
+            quizOfQuestion.put(question.getId(), quizId);
+        }
+        return questions;
+    }
+
+    private Long quizIdOf(Map<Long, Question> questions) {
+        return quizOfQuestion.get(questions.keySet().iterator().next());
+    }
+
+    private static AddQuestionRequest question(String text, double difficulty) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText(text);
+        request.setType(QuestionType.SINGLE);
+        request.setOptions(Arrays.asList("A", "B", "C"));
+        request.setCorrectAnswers(Arrays.asList(1));
+        request.setDifficulty(difficulty);
+        request.setDiscrimination(1.5);
+        return request;
+    }
+
+    private ResultActions answer(long sessionId, Question question, long optionId) throws Exception {
+        return mockMvc.perform(post("/api/adaptive-sessions/" + sessionId + "/answer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new SubmitAnswersRequest.Answer(question.getId(), List.of(optionId)))));
+    }
+
+    private JsonNode data(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString())
+                .get("data");
+    }
+}
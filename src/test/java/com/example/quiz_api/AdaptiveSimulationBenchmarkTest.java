@@ -0,0 +1,132 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.adaptive.AbilityEstimator;
+import com.example.quiz_api.adaptive.ItemInformationTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simulation of adaptive sessions over a large calibrated pool
+ * Simulated examinees with abilities drawn from a standard normal answer
+ * according to the two-parameter logistic model, until they reach the item
+ * limit or the target standard error. Reports test length, estimation
+ * accuracy, and the cost of choosing the next item from the information
+ * table against scanning the pool for the most informative item.
+ * Run with: mvn test -Pbenchmark -Dtest=AdaptiveSimulationBenchmarkTest -Dbench.examinees=10000
+ */
+@Tag("benchmark")
+class AdaptiveSimulationBenchmarkTest {
+
+    private static final int ITEMS = Integer.getInteger("bench.items", 50_000);
+    private static final int EXAMINEES = Integer.getInteger("bench.examinees", 10_000);
+    private static final int BUCKETS = Integer.getInteger("bench.buckets", 33);
+    private static final int MAX_ITEMS = 30;
+    private static final double TARGET_ERROR = 0.3;
+
+    @Test
+    @DisplayName("Adaptive sessions over simulated examinees")
+    void testSimulatedExaminees() {
+        Random random = new Random(42);
+        long[] ids = new long[ITEMS];
+        double[] discrimination = new double[ITEMS];
+        double[] difficulty = new double[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            ids[i] = i + 1;
+            discrimination[i] = Math.exp(random.nextGaussian() * 0.3);
+            difficulty[i] = random.nextGaussian() * 1.5;
+        }
+
+        long buildStart = System.nanoTime();
+        ItemInformationTable table = ItemInformationTable.build(ids, discrimination, difficulty, BUCKETS);
+        double buildMs = (System.nanoTime() - buildStart) / 1e6;
+
+        // Same examinees under both selectors, so only selection cost differs
+        Result scan = simulate(table, random.nextLong(), (ability, administered) ->
+                scan(table, ability, administered), EXAMINEES / 10);
+        simulate(table, 1, table::select, EXAMINEES / 10);
+        Result tabled = simulate(table, 7, table::select, EXAMINEES);
+
+        System.out.println();
+        System.out.printf("%,d items, %d ability buckets, %,d examinees, stop at %d items or SE %.2f%n",
+                ITEMS, BUCKETS, EXAMINEES, MAX_ITEMS, TARGET_ERROR);
+        System.out.printf("table build: %,.1f ms%n", buildMs);
+        System.out.printf("mean test length: %.1f items%n", tabled.meanLength());
+        System.out.printf("ability RMSE: %.3f, bias: %+.3f, mean SE: %.3f%n",
+                tabled.rmse(), tabled.bias(), tabled.meanError());
+        System.out.printf("%-28s %,12.0f ns/selection%n", "table:", tabled.nanosPerSelection());
+        System.out.printf("%-28s %,12.0f ns/selection (%,d examinees)%n", "linear scan:",
+                scan.nanosPerSelection(), EXAMINEES / 10);
+
+        assertTrue(tabled.rmse() < 0.4, "estimates should track true ability");
+        assertTrue(Math.abs(tabled.bias()) < 0.1, "estimates should be unbiased");
+        assertTrue(tabled.nanosPerSelection() < scan.nanosPerSelection(),
+                "table selection should beat a scan of the pool");
+    }
+
+    private static Result simulate(ItemInformationTable table, long seed, Selector selector,
+                                   int examinees) {
+        Random random = new Random(seed);
+        double squaredError = 0;
+        double error = 0;
+        double standardError = 0;
+        long administeredTotal = 0;
+        long selectionNanos = 0;
+        for (int e = 0; e < examinees; e++) {
+            double ability = random.nextGaussian();
+            AbilityEstimator estimator = new AbilityEstimator();
+            BitSet administered = new BitSet();
+            int length = 0;
+            while (length < MAX_ITEMS && estimator.getStandardError() > TARGET_ERROR) {
+                long start = System.nanoTime();
+                int item = selector.select(estimator.getEstimate(), administered);
+                selectionNanos += System.nanoTime() - start;
+                administered.set(item);
+                boolean correct = random.nextDouble() < table.probability(item, ability);
+                estimator.update(table.discrimination(item), table.difficulty(item), correct);
+                length++;
+            }
+            administeredTotal += length;
+            double difference = estimator.getEstimate() - ability;
+            squaredError += difference * difference;
+            error += difference;
+            standardError += estimator.getStandardError();
+        }
+        return new Result((double) administeredTotal / examinees, Math.sqrt(squaredError / examinees),
+                error / examinees, standardError / examinees,
+                (double) selectionNanos / administeredTotal);
+    }
+
+    // Baseline: most informative unused item at the exact ability, by scanning the pool
+    private static int scan(ItemInformationTable table, double ability, BitSet administered) {
+        int best = -1;
+        double bestInformation = -1;
+        for (int i = 0; i < table.size(); i++) {
+            if (administered.get(i)) {
+                continue;
+            }
+            double p = table.probability(i, ability);
+            double a = table.discrimination(i);
+            double information = a * a * p * (1 - p);
+            if (information > bestInformation) {
+                bestInformation = information;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @FunctionalInterface
+    private interface Selector {
+        int select(double ability, BitSet administered);
+    }
+
+    private record Result(double meanLength, double rmse, double bias, double meanError,
+                          double nanosPerSelection) {
+    }
+}
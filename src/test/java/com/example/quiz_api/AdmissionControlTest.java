@@ -0,0 +1,150 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.admission.AdaptiveConcurrencyLimiter;
+import com.example.quiz_api.admission.ClientRateLimiter;
+import com.example.quiz_api.admission.TokenBucket;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for per-client rate limiting and the adaptive concurrency limit
+ */
+@SpringBootTest(properties = {
+        "quiz.admission.client-rate-per-second=0.001",
+        "quiz.admission.client-burst=2"
+})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AdmissionControlTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @Order(1)
+    @DisplayName("Token bucket should allow a burst and then refill over time")
+    void testTokenBucketRefill() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(SECOND / 2));
+        assertTrue(bucket.tryAcquire(SECOND));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Client limiter should track clients independently")
+    void testClientsAreIndependent() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100, 60_000);
+
+        assertTrue(limiter.tryAcquire("a", 0));
+        assertFalse(limiter.tryAcquire("a", 0));
+        assertTrue(limiter.tryAcquire("b", 0));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Client limiter should evict idle clients when full")
+    void testIdleClientsAreEvicted() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, 1_000);
+        long now = System.nanoTime();
+
+        limiter.tryAcquire("a", now);
+        limiter.tryAcquire("b", now);
+        assertEquals(2, limiter.size());
+
+        limiter.tryAcquire("c", now + 5 * SECOND);
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Client limiter should evict the least recent clients when full of active ones")
+    void testFullLimiterEvictsLeastRecent() {
+        ClientRateLimiter limiter = new ClientRateLimiter(0.001, 1, 10, 60_000);
+        long now = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("client-" + i, now + i));
+        }
+
+        // Each newcomer gets a bucket of its own rather than a shared one
+        assertTrue(limiter.tryAcquire("new-a", now + 10));
+        assertFalse(limiter.tryAcquire("new-a", now + 11));
+        assertTrue(limiter.tryAcquire("new-b", now + 12));
+        assertFalse(limiter.tryAcquire("client-9", now + 13));
+
+        assertTrue(limiter.size() <= 10);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Concurrency limiter should reject above the limit")
+    void testConcurrencyLimitRejects() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 100, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onComplete(0);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Concurrency limit should shrink on slow requests and grow on fast ones")
+    void testConcurrencyLimitAdapts() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, 100, 0.5);
+
+        limiter.tryAcquire();
+        limiter.onComplete(SECOND);
+        assertEquals(4, limiter.getLimit());
+
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        limiter.onComplete(0);
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("GET /api/quizzes - Should return 429 once a client exceeds its burst")
+    void testRateLimitedClientGets429() throws Exception {
+        mockMvc.perform(get("/api/quizzes").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/quizzes").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isOk());
+
+        // A made-up client header does not buy a fresh bucket
+        mockMvc.perform(get("/api/quizzes").with(remoteAddr("10.0.0.1"))
+                        .header("X-Client-Id", "someone-else"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("Too many requests"));
+
+        mockMvc.perform(get("/api/quizzes").with(remoteAddr("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
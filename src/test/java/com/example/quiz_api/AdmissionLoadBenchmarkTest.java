@@ -0,0 +1,156 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.admission.AdmissionProperties;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test for admission control
+ * Measures p99 latency of well-behaved clients while abusive clients
+ * hammer GET /api/quizzes, with admission control off and on.
+ * Clients are told apart by X-Forwarded-For, which the server honours
+ * because the test's loopback connections count as a trusted proxy.
+ * Run with: mvn test -Pbenchmark -Dtest=AdmissionLoadBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.forward-headers-strategy=native",
+        "quiz.admission.client-rate-per-second=20",
+        "quiz.admission.client-burst=20",
+        "logging.level.root=WARN"
+})
+class AdmissionLoadBenchmarkTest {
+
+    private static final int ABUSIVE_THREADS = Integer.getInteger("bench.abusers", 64);
+    private static final int WELL_BEHAVED_CLIENTS = 8;
+    private static final int WELL_BEHAVED_RATE = 10;
+    private static final Duration PHASE = Duration.ofSeconds(Long.getLong("bench.seconds", 10));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AdmissionProperties properties;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newFixedThreadPool(ABUSIVE_THREADS + WELL_BEHAVED_CLIENTS))
+            .build();
+
+    @Test
+    @DisplayName("Well-behaved clients keep their p99 under abuse")
+    void testWellBehavedLatencyUnderAbuse() throws Exception {
+        runPhase(0);
+
+        Result baseline = runPhase(0);
+        properties.setEnabled(false);
+        Result unprotected = runPhase(ABUSIVE_THREADS);
+        properties.setEnabled(true);
+        Result protectedRun = runPhase(ABUSIVE_THREADS);
+
+        System.out.println();
+        System.out.println("phase                  p50(ms)   p99(ms)   ok     rejected  abuser-ok  abuser-rejected");
+        print("no abuse", baseline);
+        print("abuse, admission off", unprotected);
+        print("abuse, admission on", protectedRun);
+
+        assertEquals(0, protectedRun.rejected, "well-behaved clients must not be shed");
+        assertTrue(protectedRun.abuserRejected > 0, "abusive clients should be shed");
+    }
+
+    private Result runPhase(int abusers) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong abuserOk = new AtomicLong();
+        AtomicLong abuserRejected = new AtomicLong();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong rejected = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(abusers + WELL_BEHAVED_CLIENTS);
+        for (int i = 0; i < abusers; i++) {
+            String id = "10.0.1." + (i % 4);
+            pool.submit(() -> {
+                while (running.get()) {
+                    int status = send(id);
+                    (status == 200 ? abuserOk : abuserRejected).incrementAndGet();
+                }
+                return null;
+            });
+        }
+        long intervalNanos = 1_000_000_000L / WELL_BEHAVED_RATE;
+        for (int i = 0; i < WELL_BEHAVED_CLIENTS; i++) {
+            String id = "10.0.2." + i;
+            pool.submit(() -> {
+                long next = System.nanoTime();
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    int status = send(id);
+                    if (status == 200) {
+                        latencies.add(System.nanoTime() - start);
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                    next += intervalNanos;
+                    long sleep = next - System.nanoTime();
+                    if (sleep > 0) {
+                        TimeUnit.NANOSECONDS.sleep(sleep);
+                    }
+                }
+                return null;
+            });
+        }
+
+        Thread.sleep(PHASE.toMillis());
+        running.set(false);
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(percentile(sorted, 0.50), percentile(sorted, 0.99),
+                sorted.size(), rejected.get(), abuserOk.get(), abuserRejected.get());
+    }
+
+    private int send(String clientId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/quizzes"))
+                .header("X-Forwarded-For", clientId)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000d;
+    }
+
+    private static void print(String phase, Result result) {
+        System.out.printf("%-22s %8.2f %9.2f %6d %9d %10d %16d%n", phase,
+                result.p50, result.p99, result.ok, result.rejected,
+                result.abuserOk, result.abuserRejected);
+    }
+
+    private record Result(double p50, double p99, long ok, long rejected,
+                          long abuserOk, long abuserRejected) {
+    }
+}
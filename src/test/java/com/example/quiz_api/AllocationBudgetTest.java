@@ -0,0 +1,290 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.dto.QuestionResponse;
+import com.example.quiz_api.dto.QuizListResponse;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budgets for the request hot paths
+ * Each operation runs on a fixed fixture, and the bytes it allocates per
+ * run are compared with the budget recorded in allocation-budgets.properties.
+ * An operation over budget fails the build; every run prints each
+ * operation's allocation against its budget so increases are easy to spot.
+ * Listings include writing the JSON body, as the endpoints do.
+ * The tests are skipped on JVMs that cannot count a thread's allocations.
+ * Every run writes budgets proposed from its measurements to
+ * target/allocation-budgets.properties. Escape analysis depends on what
+ * the JIT has seen, so allocation is higher after the rest of the suite
+ * has run; after an intended change, take the proposal from a full run
+ * and copy it over src/test/resources/allocation-budgets.properties.
+ */
+@SpringBootTest(properties = {"quiz.admission.enabled=false"})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AllocationBudgetTest {
+
+    private static final String BUDGETS = "allocation-budgets.properties";
+    private static final Path PROPOSED_BUDGETS = Path.of("target", BUDGETS);
+
+    // Budgets are recorded with this much headroom over the measured value
+    private static final double HEADROOM = 1.25;
+
+    private static final int QUESTIONS = 50;
+    private static final int QUIZZES = 100;
+    private static final int WARMUP_RUNS = 20_000;
+    private static final int MEASURED_RUNS = 500;
+    private static final int ROUNDS = 5;
+
+    // Null on JVMs without the HotSpot extension that counts allocated bytes
+    private static final com.sun.management.ThreadMXBean THREADS =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads ?
+                    threads : null;
+
+    private static final Map<String, Long> measured = new LinkedHashMap<>();
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Quiz quiz;
+    private List<Question> questions;
+    private List<SubmitAnswersRequest.Answer> answers;
+    private ObjectWriter writer;
+
+    @BeforeAll
+    static void checkSupported() {
+        assumeTrue(THREADS != null && THREADS.isThreadAllocatedMemorySupported() &&
+                THREADS.isThreadAllocatedMemoryEnabled(), "Thread allocation counting is not available");
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository.clear();
+        quiz = quizService.createQuiz(new CreateQuizRequest("Allocation fixture"));
+        questions = new ArrayList<>();
+        answers = new ArrayList<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            Question question = quizService.addQuestionToQuiz(quiz.getId(), question(i));
+            questions.add(question);
+            answers.add(new SubmitAnswersRequest.Answer(question.getId(), answer(question, i)));
+        }
+        quiz = quizService.getQuizById(quiz.getId());
+        for (int i = 1; i < QUIZZES; i++) {
+            quizService.createQuiz(new CreateQuizRequest("Listed quiz " + i));
+        }
+        writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Checking answers should stay within its allocation budget")
+    void testCheckAnswerBudget() {
+        measure("checkAnswer", () -> {
+            long correct = 0;
+            for (int i = 0; i < QUESTIONS; i++) {
+                if (quizService.checkAnswer(questions.get(i), answers.get(i).getSelectedOptions())) {
+                    correct++;
+                }
+            }
+            return correct;
+        });
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Grading a submission should stay within its allocation budget")
+    void testGradingBudget() {
+        measure("grading", () -> quizService.gradeAnswers(quiz, answers).getScore());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Listing a quiz's questions should stay within its allocation budget")
+    void testQuestionListingBudget() {
+        measure("questionListing", () -> {
+            List<QuestionResponse> list = quizService.getQuizQuestions(quiz.getId());
+            return writeList(list.iterator());
+        });
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Listing quizzes should stay within its allocation budget")
+    void testQuizListingBudget() {
+        measure("quizListing", () -> {
+            try (Stream<QuizListResponse> quizzes = quizService.streamAllQuizzes()) {
+                return writeList(quizzes.iterator());
+            }
+        });
+    }
+
+    @AfterAll
+    static void report() throws IOException {
+        if (measured.isEmpty()) {
+            return;
+        }
+        Properties budgets = loadBudgets();
+        System.out.println();
+        System.out.printf("%-18s %12s %12s %12s%n", "operation", "bytes/op", "budget", "delta");
+        for (Map.Entry<String, Long> entry : measured.entrySet()) {
+            String budget = budgets.getProperty(entry.getKey());
+            System.out.printf("%-18s %,12d %12s %12s%n", entry.getKey(), entry.getValue(),
+                    budget == null ? "-" : String.format("%,d", Long.parseLong(budget)),
+                    budget == null ? "-" : String.format("%+,d", entry.getValue() - Long.parseLong(budget)));
+        }
+
+        // Proposed budgets go to target; accepting them is a source change
+        for (Map.Entry<String, Long> entry : measured.entrySet()) {
+            budgets.setProperty(entry.getKey(),
+                    Long.toString((long) Math.ceil(entry.getValue() * HEADROOM)));
+        }
+        Files.createDirectories(PROPOSED_BUDGETS.getParent());
+        try (Writer out = Files.newBufferedWriter(PROPOSED_BUDGETS)) {
+            out.write("# Allocated bytes per operation, enforced by AllocationBudgetTest\n");
+            out.write("# Proposed from a full run's measurements, written to target/ by every run\n");
+            for (String name : budgets.stringPropertyNames().stream().sorted().toList()) {
+                out.write(name + "=" + budgets.getProperty(name) + "\n");
+            }
+        }
+        System.out.println("Proposed budgets written to " + PROPOSED_BUDGETS);
+    }
+
+    /**
+     * Measure bytes allocated per run of an operation and check its budget
+     * The lowest of several rounds is kept, so a round disturbed by JIT
+     * compilation or another thread's work does not count
+     */
+    private static void measure(String name, OperationRun operation) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            sink += operation.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                sink += operation.run();
+            }
+            long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+            best = Math.min(best, allocated / MEASURED_RUNS);
+        }
+        assertTrue(sink >= 0);
+        measured.put(name, best);
+
+        String budget = loadBudgets().getProperty(name);
+        assertNotNull(budget, "No allocation budget recorded for " + name);
+        long limit = Long.parseLong(budget);
+        long delta = best - limit;
+        assertTrue(delta <= 0, String.format(
+                "%s allocated %,d bytes per run, %,d over its budget of %,d (%+.0f%%)",
+                name, best, delta, limit, 100.0 * delta / limit));
+    }
+
+    private static Properties loadBudgets() {
+        Properties budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getClassLoader().getResourceAsStream(BUDGETS)) {
+            if (in != null) {
+                budgets.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return budgets;
+    }
+
+    private long writeList(Iterator<?> items) {
+        try (JsonGenerator generator = writer.createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeFieldName("data");
+            generator.writeStartArray();
+            long written = 0;
+            while (items.hasNext()) {
+                writer.writeValue(generator, items.next());
+                written++;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A third each of single choice, multiple choice and text questions
+    private static AddQuestionRequest question(int i) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText("Allocation question " + i);
+        switch (i % 3) {
+            case 0 -> {
+                request.setType(QuestionType.SINGLE);
+                request.setOptions(List.of("A", "B", "C", "D"));
+                request.setCorrectAnswers(List.of(i % 4));
+            }
+            case 1 -> {
+                request.setType(QuestionType.MULTIPLE);
+                request.setOptions(List.of("A", "B", "C", "D"));
+                request.setCorrectAnswers(List.of(0, 2));
+            }
+            default -> {
+                request.setType(QuestionType.TEXT);
+                request.setCorrectAnswerTexts(List.of("42"));
+            }
+        }
+        return request;
+    }
+
+    // Right answers to two thirds of the questions and wrong ones to the rest
+    private static List<Long> answer(Question question, int i) {
+        if (question.getType() == QuestionType.TEXT) {
+            return List.of(i % 2 == 0 ? 42L : 7L);
+        }
+        List<Long> selected = new ArrayList<>(question.getCorrectAnswerIds());
+        if (i % 5 == 0) {
+            selected.set(0, question.getOptions().get(3).getId());
+        }
+        return selected;
+    }
+
+    @FunctionalInterface
+    private interface OperationRun {
+        long run();
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.service.AttemptService;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for timed quiz attempts and deadline enforcement
+ */
+@SpringBootTest(properties = {
+        "quiz.admission.enabled=false",
+        "quiz.attempts.tick-millis=20",
+        "quiz.attempts.idle-seconds=1",
+        "quiz.attempts.retention-seconds=2",
+        // Flushes are triggered by the tests
+        "quiz.autosave.flush-millis=600000"
+})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AttemptTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private AttemptService attemptService;
+
+    @Test
+    @Order(1)
+    @DisplayName("Attempt should save answers, grade them on submit and then close")
+    void testSubmitAttempt() throws Exception {
+        Long quizId = createQuiz(600);
+        Question first = addQuestion(quizId);
+        Question second = addQuestion(quizId);
+
+        JsonNode attempt = startAttempt(quizId);
+        long attemptId = attempt.get("id").asLong();
+        assertEquals("IN_PROGRESS", attempt.get("status").asText());
+        assertTrue(attempt.has("deadline"));
+
+        mockMvc.perform(put("/api/attempts/" + attemptId + "/answers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(first, first.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.answers." + first.getId() + "[0]")
+                        .value(first.getCorrectAnswerIds().get(0)));
+
+        mockMvc.perform(post("/api/attempts/" + attemptId + "/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(second, second.getOptions().get(0).getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("SUBMITTED"))
+                .andExpect(jsonPath("$.data.result.score").value(1))
+                .andExpect(jsonPath("$.data.result.total").value(2));
+
+        mockMvc.perform(post("/api/attempts/" + attemptId + "/submit"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+        assertEquals(0, attemptService.getDeadlineWheel().size());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Attempt past its deadline should be auto-submitted with its saved answers")
+    void testAttemptExpires() throws Exception {
+        Long quizId = createQuiz(1);
+        Question question = addQuestion(quizId);
+        long attemptId = startAttempt(quizId).get("id").asLong();
+        long autoSubmitted = attemptService.getAutoSubmittedCount();
+
+        mockMvc.perform(put("/api/attempts/" + attemptId + "/answers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(question, question.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isOk());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        JsonNode attempt = getAttempt(attemptId);
+        while (!"EXPIRED".equals(attempt.get("status").asText())) {
+            assertTrue(System.currentTimeMillis() < deadline, "attempt did not expire");
+            Thread.sleep(20);
+            attempt = getAttempt(attemptId);
+        }
+        assertEquals(1, attempt.get("result").get("score").asInt());
+        assertEquals(autoSubmitted + 1, attemptService.getAutoSubmittedCount());
+
+        mockMvc.perform(put("/api/attempts/" + attemptId + "/answers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(question, question.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Timed quizzes should only be submitted through an attempt")
+    void testTimedQuizRequiresAttempt() throws Exception {
+        Long quizId = createQuiz(60);
+        Question question = addQuestion(quizId);
+
+        mockMvc.perform(post("/api/quizzes/" + quizId + "/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(question, question.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Attempts should reject unknown IDs and questions from other quizzes")
+    void testAttemptValidation() throws Exception {
+        Long untimedQuiz = quizService.createQuiz(new CreateQuizRequest("Untimed")).getId();
+        Question other = addQuestion(createQuiz(60));
+        JsonNode attempt = startAttempt(untimedQuiz);
+        assertFalse(attempt.has("deadline"));
+
+        mockMvc.perform(put("/api/attempts/" + attempt.get("id").asLong() + "/answers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(other, other.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/attempts/999999"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/quizzes/999999/attempts"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/api/quizzes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Bad\",\"timeLimitSeconds\":0}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Rapid autosaves should be coalesced into one store write per flush")
+    void testAutosaveCoalescing() throws Exception {
+        Long quizId = createQuiz(600);
+        Question first = addQuestion(quizId);
+        Question second = addQuestion(quizId);
+        long attemptId = startAttempt(quizId).get("id").asLong();
+        long writesBefore = attemptService.getAnswerWriteCount();
+
+        for (Option option : first.getOptions()) {
+            mockMvc.perform(post("/api/attempts/" + attemptId + "/autosave")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(answers(first, option.getId())))
+                    .andExpect(status().isAccepted());
+        }
+        mockMvc.perform(post("/api/attempts/" + attemptId + "/autosave")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(second, second.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isAccepted());
+        assertEquals(writesBefore, attemptService.getAnswerWriteCount());
+
+        attemptService.flushAutosaves();
+        assertEquals(writesBefore + 1, attemptService.getAnswerWriteCount());
+
+        // The last autosave of each question wins
+        JsonNode attempt = getAttempt(attemptId);
+        long lastOption = first.getOptions().get(first.getOptions().size() - 1).getId();
+        assertEquals(lastOption, attempt.get("answers").get(first.getId().toString()).get(0).asLong());
+
+        mockMvc.perform(post("/api/attempts/" + attemptId + "/autosave")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(first, first.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isAccepted());
+
+        // Submitting without a body grades the autosaved answers, including unflushed ones
+        mockMvc.perform(post("/api/attempts/" + attemptId + "/submit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.result.score").value(2));
+        assertEquals(writesBefore + 2, attemptService.getAnswerWriteCount());
+
+        mockMvc.perform(post("/api/attempts/" + attemptId + "/autosave")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(first, first.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("An untimed attempt with no saves should be graded and release its revision")
+    void testIdleUntimedAttemptExpires() throws Exception {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Untimed Quiz")).getId();
+        Question question = addQuestion(quizId);
+        JsonNode started = startAttempt(quizId);
+        long attemptId = started.get("id").asLong();
+        assertFalse(started.has("deadline"));
+        long idleExpired = attemptService.getIdleExpiredCount();
+
+        mockMvc.perform(put("/api/attempts/" + attemptId + "/answers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(question, question.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isOk());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        JsonNode attempt = getAttempt(attemptId);
+        while (!"EXPIRED".equals(attempt.get("status").asText())) {
+            assertTrue(System.currentTimeMillis() < deadline, "idle attempt did not expire");
+            Thread.sleep(50);
+            attempt = getAttempt(attemptId);
+        }
+        assertEquals(1, attempt.get("result").get("score").asInt());
+        // Untimed attempts left open by earlier tests may expire in the meantime
+        assertTrue(attemptService.getIdleExpiredCount() > idleExpired);
+
+        mockMvc.perform(get("/api/attempts/" + attemptId + "/questions"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("A graded attempt should be deleted after its retention period")
+    void testGradedAttemptIsEvicted() throws Exception {
+        Long quizId = createQuiz(600);
+        Question question = addQuestion(quizId);
+        long attemptId = startAttempt(quizId).get("id").asLong();
+        long evicted = attemptService.getEvictedCount();
+
+        mockMvc.perform(post("/api/attempts/" + attemptId + "/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(question, question.getCorrectAnswerIds().get(0))))
+                .andExpect(status().isOk());
+        // Still readable right after grading
+        assertEquals("SUBMITTED", getAttempt(attemptId).get("status").asText());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (mockMvc.perform(get("/api/attempts/" + attemptId))
+                .andReturn().getResponse().getStatus() != 404) {
+            assertTrue(System.currentTimeMillis() < deadline, "graded attempt was not evicted");
+            Thread.sleep(100);
+        }
+        assertTrue(attemptService.getEvictedCount() > evicted);
+    }
+
+    private Long createQuiz(int timeLimitSeconds) {
+        CreateQuizRequest request = new CreateQuizRequest("Timed Quiz", timeLimitSeconds);
+        return quizService.createQuiz(request).getId();
+    }
+
+    private Question addQuestion(Long quizId) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText("What is 2 + 2?");
+        request.setType(QuestionType.SINGLE);
+        request.setOptions(Arrays.asList("3", "4", "5"));
+        request.setCorrectAnswers(Arrays.asList(1));
+        return quizService.addQuestionToQuiz(quizId, request);
+    }
+
+    private JsonNode startAttempt(Long quizId) throws Exception {
+        String response = mockMvc.perform(post("/api/quizzes/" + quizId + "/attempts"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).get("data");
+    }
+
+    private JsonNode getAttempt(long attemptId) throws Exception {
+        String response = mockMvc.perform(get("/api/attempts/" + attemptId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).get("data");
+    }
+
+    private String answers(Question question, long optionId) throws Exception {
+        return objectMapper.writeValueAsString(new SubmitAnswersRequest(List.of(
+                new SubmitAnswersRequest.Answer(question.getId(), List.of(optionId)))));
+    }
+}
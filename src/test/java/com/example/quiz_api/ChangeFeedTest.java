@@ -0,0 +1,176 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.ChangeEvent;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.service.ChangeFeed;
+import com.example.quiz_api.service.EventRing;
+import com.example.quiz_api.service.QuizService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Tests for the Server-Sent Events change feed
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"quiz.admission.enabled=false",
+                "quiz.events.buffer-size=64", "quiz.events.max-lag=32"})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ChangeFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @Order(1)
+    @DisplayName("Ring buffer should return recent events and forget overwritten ones")
+    void testEventRingOverwritesOldest() {
+        EventRing<String> ring = new EventRing<>(5);
+        assertEquals(8, ring.capacity());
+        assertNull(ring.get(1));
+
+        for (int i = 0; i < 20; i++) {
+            ring.append(sequence -> "event-" + sequence);
+        }
+
+        assertEquals(20, ring.getLastSequence());
+        assertEquals(13, ring.getOldestSequence());
+        assertNull(ring.get(12));
+        assertEquals("event-13", ring.get(13));
+        assertEquals("event-20", ring.get(20));
+        assertNull(ring.get(21));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("GET /api/quizzes/events - Should replay events after Last-Event-ID")
+    void testReplayFromLastEventId() throws Exception {
+        createQuiz("First");
+        long resumeFrom = changeFeed.getLastEventId();
+        createQuiz("Second");
+        createQuiz("Third");
+        long last = changeFeed.getLastEventId();
+
+        MvcResult result = mockMvc.perform(get("/api/quizzes/events")
+                        .header("Last-Event-ID", resumeFrom))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(result.getResponse(), "id:" + last + "\n");
+        assertFalse(body.contains("id:" + resumeFrom + "\n"));
+        assertTrue(body.contains("id:" + (resumeFrom + 1) + "\n"));
+        assertTrue(body.contains("event:" + ChangeEvent.QUIZ_CREATED));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("GET /api/quizzes/events - Should stream new events as they happen")
+    void testLiveEvents() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/quizzes/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Long quizId = createQuiz("Live");
+
+        String body = awaitContent(result.getResponse(), "\"quizId\":" + quizId);
+        assertTrue(body.contains("event:" + ChangeEvent.QUIZ_CREATED));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("GET /api/quizzes/events - Should send reset when missed events are gone")
+    void testResetWhenEventsEvicted() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            createQuiz("Filler " + i);
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/quizzes/events")
+                        .header("Last-Event-ID", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(result.getResponse(), "event:" + ChangeEvent.RESET);
+        assertTrue(body.contains("id:" + changeFeed.getLastEventId() + "\n"));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Slow consumers should be disconnected instead of buffered")
+    void testSlowConsumerIsDropped() throws Exception {
+        // Streams left open by earlier tests must not be the ones dropped
+        changeFeed.disconnectAll();
+        assertEquals(0, changeFeed.getSubscriberCount());
+        long droppedBefore = changeFeed.getDroppedCount();
+
+        try (Socket socket = new Socket()) {
+            // Subscribe but never read, so the socket buffers fill up
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /api/quizzes/events HTTP/1.1\r\nHost: localhost\r\n" +
+                    "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (changeFeed.getSubscriberCount() == 0 &&
+                    System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, changeFeed.getSubscriberCount());
+
+            deadline = System.currentTimeMillis() + 30_000;
+            while (changeFeed.getDroppedCount() == droppedBefore &&
+                    System.currentTimeMillis() < deadline) {
+                for (int i = 0; i < 16; i++) {
+                    changeFeed.publish(ChangeEvent.QUIZ_CREATED, (long) i, null);
+                }
+                Thread.sleep(1);
+            }
+        }
+
+        // The socket was the only subscriber, so it is the one that was dropped
+        assertEquals(droppedBefore + 1, changeFeed.getDroppedCount());
+        assertEquals(0, changeFeed.getSubscriberCount());
+    }
+
+    private Long createQuiz(String title) {
+        CreateQuizRequest request = new CreateQuizRequest();
+        request.setTitle(title);
+        return quizService.createQuiz(request).getId();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected)
+            throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString();
+        }
+        assertTrue(body.contains(expected), "missing " + expected + " in " + body);
+        return body;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.service.QuizService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark for question list coalescing
+ * 1,000 concurrent readers request the same quiz at once, with and
+ * without single-flight coalescing.
+ * Run with: mvn test -Pbenchmark -Dtest=CoalescingBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.root=WARN")
+class CoalescingBenchmarkTest {
+
+    private static final int READERS = Integer.getInteger("bench.readers", 1_000);
+    private static final int QUESTIONS = Integer.getInteger("bench.questions", 500);
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("1,000 concurrent identical readers")
+    void testConcurrentIdenticalReaders() throws Exception {
+        repository.clear();
+        Quiz quiz = createQuiz();
+
+        ExecutorService pool = Executors.newFixedThreadPool(READERS);
+        try {
+            ReflectionTestUtils.setField(quizService, "coalescingEnabled", false);
+            runRounds(pool, quiz.getId(), 5);
+            double uncoalesced = runRounds(pool, quiz.getId(), ROUNDS);
+
+            ReflectionTestUtils.setField(quizService, "coalescingEnabled", true);
+            runRounds(pool, quiz.getId(), 5);
+            double executedBefore = counter("executed");
+            double coalescedBefore = counter("coalesced");
+            double coalesced = runRounds(pool, quiz.getId(), ROUNDS);
+            double executed = counter("executed") - executedBefore;
+            double shared = counter("coalesced") - coalescedBefore;
+
+            System.out.println();
+            System.out.printf("readers=%d questions=%d rounds=%d%n", READERS, QUESTIONS, ROUNDS);
+            System.out.printf("without coalescing: %8.2f ms per round%n", uncoalesced);
+            System.out.printf("with coalescing:    %8.2f ms per round%n", coalesced);
+            System.out.printf("computations: %.0f, coalesced reads: %.0f, ratio: %.3f%n",
+                    executed, shared, shared / (executed + shared));
+
+            assertTrue(shared > 0, "concurrent identical reads should be coalesced");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private double runRounds(ExecutorService pool, Long quizId, int rounds) throws Exception {
+        long total = 0;
+        for (int round = 0; round < rounds; round++) {
+            CountDownLatch ready = new CountDownLatch(READERS);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>(READERS);
+            for (int i = 0; i < READERS; i++) {
+                futures.add(pool.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return quizService.getQuizQuestions(quizId).size();
+                }));
+            }
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                assertEquals(QUESTIONS, future.get());
+            }
+            total += System.nanoTime() - begin;
+        }
+        return total / 1_000_000d / rounds;
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("quiz.questions.coalescing.calls")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private Quiz createQuiz() {
+        CreateQuizRequest quizRequest = new CreateQuizRequest();
+        quizRequest.setTitle("Benchmark Quiz");
+        Quiz quiz = quizService.createQuiz(quizRequest);
+
+        for (int i = 0; i < QUESTIONS; i++) {
+            AddQuestionRequest request = new AddQuestionRequest();
+            request.setText("Question " + i);
+            request.setType(QuestionType.SINGLE);
+            request.setOptions(Arrays.asList("A", "B", "C", "D"));
+            request.setCorrectAnswers(Arrays.asList(i % 4));
+            quizService.addQuestionToQuiz(quiz.getId(), request);
+        }
+        return quiz;
+    }
+}
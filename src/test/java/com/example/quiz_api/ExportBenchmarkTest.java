@@ -0,0 +1,102 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.export.ExportFormat;
+import com.example.quiz_api.export.QuizExporter;
+import com.example.quiz_api.export.SpoolFile;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.service.QuizService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Spooling and download cost of full exports
+ * Reports how long spooling takes, how many bytes it allocates per record,
+ * and download throughput when the file is sent with sendfile. Allocation
+ * per record stays flat as the repository grows, since records are
+ * serialized one at a time.
+ * Run with: mvn test -Pbenchmark -Dtest=ExportBenchmarkTest
+ * Scale with -Dbench.quizzes=100000
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "quiz.admission.enabled=false",
+        "logging.level.root=WARN"
+})
+class ExportBenchmarkTest {
+
+    private static final int QUIZZES = Integer.getInteger("bench.quizzes", 20_000);
+    private static final int QUESTIONS_PER_QUIZ = 5;
+    private static final int DOWNLOADS = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private QuizExporter exporter;
+
+    @Test
+    @DisplayName("Spool time, allocation per record and sendfile download throughput")
+    void testExportThroughput() throws Exception {
+        repository.clear();
+        AddQuestionRequest question = new AddQuestionRequest();
+        question.setText("Which of these numbers is prime?");
+        question.setType(QuestionType.SINGLE);
+        question.setOptions(Arrays.asList("4", "6", "7", "9"));
+        question.setCorrectAnswers(Arrays.asList(2));
+        for (int i = 0; i < QUIZZES; i++) {
+            Long quizId = quizService.createQuiz(new CreateQuizRequest("Quiz " + i)).getId();
+            for (int q = 0; q < QUESTIONS_PER_QUIZ; q++) {
+                quizService.addQuestionToQuiz(quizId, question);
+            }
+        }
+        long records = (long) QUIZZES * (QUESTIONS_PER_QUIZ + 1);
+        HttpClient client = HttpClient.newHttpClient();
+
+        System.out.println();
+        System.out.printf("%,d quizzes, %,d records%n", QUIZZES, records);
+        System.out.println("format   size(MB)   spool(ms)   alloc/record(B)   download(MB/s)");
+        for (ExportFormat format : ExportFormat.values()) {
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            SpoolFile file = exporter.exportAll(format, false);
+            double spoolMillis = (System.nanoTime() - start) / 1e6;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port +
+                    "/api/quizzes/export?format=" + format.getExtension())).build();
+            long downloadStart = System.nanoTime();
+            for (int i = 0; i < DOWNLOADS; i++) {
+                HttpResponse<Void> response =
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                assertEquals(200, response.statusCode());
+            }
+            double seconds = (System.nanoTime() - downloadStart) / 1e9;
+
+            System.out.printf("%-8s %9.1f %11.0f %17d %16.0f%n", format,
+                    file.length() / 1e6, spoolMillis, allocated / records,
+                    file.length() * DOWNLOADS / 1e6 / seconds);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.security.OperatorGuard;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for quiz exports spooled to disk and sent with Range support
+ * MockMvc exercises the FileChannel transfer; requests over a real socket
+ * exercise Tomcat's sendfile path
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"quiz.admission.enabled=false", "quiz.operator.token=" + ExportTest.OPERATOR_TOKEN})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ExportTest {
+
+    static final String OPERATOR_TOKEN = "export-operator";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        repository.clear();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("NDJSON export should contain each quiz followed by its questions")
+    void testNdjsonExport() throws Exception {
+        Long first = createQuiz("First", 2);
+        Long second = createQuiz("Second", 1);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/quizzes/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse();
+
+        String body = response.getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> records = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            records.add(objectMapper.readTree(line));
+        }
+        assertEquals(5, records.size());
+        assertEquals(2, records.stream().filter(r -> r.get("type").asText().equals("quiz")).count());
+        for (int i = 0; i < records.size(); i++) {
+            JsonNode record = records.get(i);
+            if (record.get("type").asText().equals("question")) {
+                assertFalse(record.get("data").has("correctAnswerIds"));
+                assertFalse(record.get("data").has("correctAnswerTexts"));
+            } else {
+                Long quizId = record.get("data").get("id").asLong();
+                assertTrue(quizId.equals(first) || quizId.equals(second));
+                // Questions follow their quiz
+                JsonNode questionIds = record.get("data").get("questionIds");
+                for (int j = 1; j <= questionIds.size(); j++) {
+                    assertEquals(questionIds.get(j - 1).asLong(),
+                            records.get(i + j).get("data").get("id").asLong());
+                }
+            }
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Unchanged repository should reuse the spooled export and its ETag")
+    void testExportReusedUntilChanged() throws Exception {
+        Long quizId = createQuiz("Cached", 1);
+
+        String etag = mockMvc.perform(get("/api/quizzes/export"))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/quizzes/export"))
+                .andExpect(header().string("ETag", etag));
+
+        addQuestion(quizId);
+
+        String changed = mockMvc.perform(get("/api/quizzes/export"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("CBOR export should be a sequence of binary records")
+    void testCborExport() throws Exception {
+        createQuiz("Binary", 3);
+
+        byte[] cbor = mockMvc.perform(get("/api/quizzes/export").param("format", "cbor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/cbor-seq"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get("/api/quizzes/export"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<JsonNode> records = new ArrayList<>();
+        try (MappingIterator<JsonNode> iterator =
+                     new CBORMapper().readerFor(JsonNode.class).readValues(cbor)) {
+            iterator.forEachRemaining(records::add);
+        }
+        assertEquals(4, records.size());
+        assertEquals("quiz", records.get(0).get("type").asText());
+        assertEquals("Binary", records.get(0).get("data").get("title").asText());
+        assertEquals("question", records.get(3).get("type").asText());
+        assertTrue(cbor.length < json.length);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Range requests should return the requested bytes of the export")
+    void testRangeRequests() throws Exception {
+        createQuiz("Ranged", 4);
+        MockHttpServletResponse full = mockMvc.perform(get("/api/quizzes/export"))
+                .andReturn().getResponse();
+        byte[] bytes = full.getContentAsByteArray();
+        String etag = full.getHeader("ETag");
+
+        byte[] middle = mockMvc.perform(get("/api/quizzes/export").header("Range", "bytes=10-29"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 10-29/" + bytes.length))
+                .andExpect(header().string("Content-Length", "20"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(Arrays.copyOfRange(bytes, 10, 30), middle);
+
+        byte[] resumed = mockMvc.perform(get("/api/quizzes/export")
+                        .header("Range", "bytes=100-")
+                        .header("If-Range", etag))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(Arrays.copyOfRange(bytes, 100, bytes.length), resumed);
+
+        byte[] suffix = mockMvc.perform(get("/api/quizzes/export").header("Range", "bytes=-5"))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(Arrays.copyOfRange(bytes, bytes.length - 5, bytes.length), suffix);
+
+        mockMvc.perform(get("/api/quizzes/export")
+                        .header("Range", "bytes=100-")
+                        .header("If-Range", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Length", Integer.toString(bytes.length)));
+
+        mockMvc.perform(get("/api/quizzes/export").header("Range", "bytes=0-1,5-6"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/quizzes/export").header("Range", "bytes=" + bytes.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + bytes.length));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Downloads over a socket should be sent by the container's sendfile")
+    void testSendfileOverSocket() throws Exception {
+        Long quizId = createQuiz("Socket", 5);
+        byte[] expected = mockMvc.perform(get("/api/quizzes/export"))
+                .andReturn().getResponse().getContentAsByteArray();
+        double before = meterRegistry.get("quiz.export.sendfile").functionCounter().count();
+
+        HttpResponse<byte[]> full = httpClient.send(
+                HttpRequest.newBuilder(uri("/api/quizzes/export")).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, full.statusCode());
+        assertArrayEquals(expected, full.body());
+
+        HttpResponse<byte[]> partial = httpClient.send(
+                HttpRequest.newBuilder(uri("/api/quizzes/export"))
+                        .header("Range", "bytes=7-").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(206, partial.statusCode());
+        assertArrayEquals(Arrays.copyOfRange(expected, 7, expected.length), partial.body());
+
+        HttpResponse<String> single = httpClient.send(
+                HttpRequest.newBuilder(uri("/api/quizzes/" + quizId + "/export")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, single.statusCode());
+        assertEquals(new String(expected, StandardCharsets.UTF_8), single.body());
+        assertTrue(single.headers().firstValue("Content-Disposition").orElseThrow()
+                .contains("quiz-" + quizId + ".ndjson"));
+
+        assertEquals(before + 3,
+                meterRegistry.get("quiz.export.sendfile").functionCounter().count());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Single quiz export should keep its ETag and reject unknown quizzes and formats")
+    void testSingleQuizExport() throws Exception {
+        Long quizId = createQuiz("Single", 1);
+        createQuiz("Other", 2);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/quizzes/" + quizId + "/export"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertEquals(2, response.getContentAsString().split("\n").length);
+        mockMvc.perform(get("/api/quizzes/" + quizId + "/export"))
+                .andExpect(header().string("ETag", response.getHeader("ETag")));
+
+        mockMvc.perform(get("/api/quizzes/999/export"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/quizzes/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Answer keys should only be exported to operators")
+    void testAnswersRequireOperatorToken() throws Exception {
+        Long quizId = createQuiz("Answers", 2);
+        String publicEtag = mockMvc.perform(get("/api/quizzes/export"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/quizzes/export").param("answers", "true"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/quizzes/" + quizId + "/export").param("answers", "true")
+                        .header(OperatorGuard.HEADER, "guess"))
+                .andExpect(status().isForbidden());
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/quizzes/export")
+                        .param("answers", "true")
+                        .header(OperatorGuard.HEADER, OPERATOR_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertNotEquals(publicEtag, response.getHeader("ETag"));
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        JsonNode question = objectMapper.readTree(lines[1]).get("data");
+        assertEquals(1, question.get("correctAnswerIds").size());
+
+        String single = mockMvc.perform(get("/api/quizzes/" + quizId + "/export")
+                        .param("answers", "true")
+                        .header(OperatorGuard.HEADER, OPERATOR_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(objectMapper.readTree(single.split("\n")[2]).get("data").has("correctAnswerIds"));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Long createQuiz(String title, int questions) {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest(title)).getId();
+        for (int i = 0; i < questions; i++) {
+            addQuestion(quizId);
+        }
+        return quizId;
+    }
+
+    private void addQuestion(Long quizId) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText("What is 2 + 2?");
+        request.setType(QuestionType.SINGLE);
+        request.setOptions(Arrays.asList("3", "4", "5"));
+        request.setCorrectAnswers(Arrays.asList(1));
+        quizService.addQuestionToQuiz(quizId, request);
+    }
+}
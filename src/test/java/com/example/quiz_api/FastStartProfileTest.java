@@ -0,0 +1,61 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the fast-start profile's lazy bean initialization
+ */
+@SpringBootTest(properties = {"quiz.admission.enabled=false"})
+@ActiveProfiles("fast-start")
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FastStartProfileTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @Order(1)
+    @DisplayName("Only components that must run from startup should be created eagerly")
+    void testLazyInitialization() {
+        assertTrue(context.getBeanFactory().containsSingleton("quizSummaryView"));
+        assertTrue(context.getBeanFactory().containsSingleton("replicationManager"));
+        assertFalse(context.getBeanFactory().containsSingleton("quizExporter"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Lazily created beans should serve requests")
+    void testServesRequests() throws Exception {
+        mockMvc.perform(post("/api/quizzes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateQuizRequest("Lazy"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/quizzes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].title").value("Lazy"));
+        mockMvc.perform(get("/api/quizzes/export"))
+                .andExpect(status().isOk());
+        assertTrue(context.getBeanFactory().containsSingleton("quizExporter"));
+    }
+}
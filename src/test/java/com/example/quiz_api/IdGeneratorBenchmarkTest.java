@@ -0,0 +1,79 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.id.IdGenerator;
+import com.example.quiz_api.id.SequentialIdGenerator;
+import com.example.quiz_api.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of the ID generators under contention
+ * Every thread issues IDs in a tight loop from one shared generator, as
+ * option IDs are when many questions are added at once.
+ * Run with: mvn test -Pbenchmark -Dtest=IdGeneratorBenchmarkTest
+ * Scale with -Dbench.ids=20000000 -Dbench.threads=16
+ */
+@Tag("benchmark")
+class IdGeneratorBenchmarkTest {
+
+    private static final int IDS = Integer.getInteger("bench.ids", 5_000_000);
+    private static final int THREADS = Integer.getInteger("bench.threads",
+            Math.max(4, Runtime.getRuntime().availableProcessors()));
+    private static final int ROUNDS = 3;
+
+    @Test
+    @DisplayName("Shared counter versus per-thread snowflake blocks")
+    void testIdGeneratorThroughput() throws Exception {
+        Map<String, Supplier<IdGenerator>> generators = new LinkedHashMap<>();
+        generators.put("sequential (CAS per ID)", SequentialIdGenerator::new);
+        generators.put("snowflake block=1", () -> new SnowflakeIdGenerator(1, 1));
+        generators.put("snowflake block=64", () -> new SnowflakeIdGenerator(1, 64));
+        generators.put("snowflake block=1024", () -> new SnowflakeIdGenerator(1, 1024));
+
+        System.out.println();
+        System.out.printf("%,d IDs from %d threads, best of %d rounds%n", IDS, THREADS, ROUNDS);
+        System.out.println("generator                    ns/id   million ids/s");
+        for (Map.Entry<String, Supplier<IdGenerator>> entry : generators.entrySet()) {
+            double best = Double.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                best = Math.min(best, run(entry.getValue().get()));
+            }
+            System.out.printf("%-26s %7.1f %15.1f%n", entry.getKey(), best, 1e3 / best);
+        }
+    }
+
+    /**
+     * @return Wall-clock nanoseconds per ID across all threads
+     */
+    private double run(IdGenerator generator) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    long sink = 0;
+                    for (int i = 0; i < IDS / THREADS; i++) {
+                        sink ^= generator.nextId();
+                    }
+                    return sink;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<Long> future : futures) {
+                future.get();
+            }
+            return (double) (System.nanoTime() - begin) / IDS;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
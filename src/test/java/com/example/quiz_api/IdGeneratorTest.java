@@ -0,0 +1,129 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.id.IdGenerator;
+import com.example.quiz_api.id.SequentialIdGenerator;
+import com.example.quiz_api.id.SnowflakeIdGenerator;
+import com.example.quiz_api.id.TimestampLease;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ID generators
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class IdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000;
+
+    @Test
+    @Order(1)
+    @DisplayName("Simulated nodes sharing a frozen clock should never issue the same ID")
+    void testNoCollisionsAcrossNodes() throws Exception {
+        int nodes = 4;
+        int threadsPerNode = 4;
+        int idsPerThread = 25_000;
+        ExecutorService pool = Executors.newFixedThreadPool(nodes * threadsPerNode);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int node = 0; node < nodes; node++) {
+                // A frozen clock forces every node to run ahead of it
+                IdGenerator generator = new SnowflakeIdGenerator(node, 64, () -> NOW);
+                for (int t = 0; t < threadsPerNode; t++) {
+                    futures.add(pool.submit(() -> {
+                        long[] ids = new long[idsPerThread];
+                        for (int i = 0; i < idsPerThread; i++) {
+                            ids[i] = generator.nextId();
+                        }
+                        return ids;
+                    }));
+                }
+            }
+
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get();
+                for (int i = 0; i < ids.length; i++) {
+                    assertTrue(ids[i] > 0);
+                    assertTrue(i == 0 || ids[i] > ids[i - 1], "IDs from one thread must increase");
+                    assertTrue(seen.add(ids[i]), "duplicate ID " + ids[i]);
+                }
+            }
+            assertEquals(nodes * threadsPerNode * idsPerThread, seen.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Snowflake IDs should encode their node and creation time")
+    void testSnowflakeLayout() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1023, 16, () -> NOW);
+        long id = generator.nextId();
+
+        assertEquals(1023, SnowflakeIdGenerator.nodeOf(id));
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(id));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024, 16));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("A clock moving backwards should not repeat IDs")
+    void testClockMovingBackwards() {
+        long[] now = {NOW};
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, 1, () -> now[0]);
+        long first = generator.nextId();
+        now[0] -= 60_000;
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(second));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("A clock set back across a restart should not repeat IDs")
+    void testLeaseSurvivesRestart(@TempDir Path directory) {
+        Path file = directory.resolve("node.lease");
+        long[] now = {NOW};
+        TimestampLease lease = new TimestampLease(file, 10_000, () -> now[0]);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, 16, () -> now[0], lease);
+        long last = 0;
+        for (int i = 0; i < 1_000; i++) {
+            last = generator.nextId();
+        }
+        assertTrue(Files.exists(file));
+        assertTrue(SnowflakeIdGenerator.timestampOf(last) < lease.getEnd());
+
+        // Restart with the clock an hour behind
+        now[0] -= 3_600_000;
+        TimestampLease restarted = new TimestampLease(file, 10_000, () -> now[0]);
+        SnowflakeIdGenerator next = new SnowflakeIdGenerator(7, 16, () -> now[0], restarted);
+        long first = next.nextId();
+
+        assertEquals(lease.getEnd(), restarted.getFloor());
+        assertTrue(first > last);
+        assertTrue(SnowflakeIdGenerator.timestampOf(first) >= restarted.getFloor());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Sequential IDs should be dense and restart after reset")
+    void testSequentialIds() {
+        SequentialIdGenerator generator = new SequentialIdGenerator();
+        assertEquals(1, generator.nextId());
+        assertEquals(2, generator.nextId());
+        generator.reset();
+        assertEquals(1, generator.nextId());
+    }
+}
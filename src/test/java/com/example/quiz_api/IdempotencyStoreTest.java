@@ -0,0 +1,128 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.exception.ConflictException;
+import com.example.quiz_api.exception.ValidationException;
+import com.example.quiz_api.service.IdempotencyStore;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyStore submission deduplication
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class IdempotencyStoreTest {
+
+    @Test
+    @Order(1)
+    @DisplayName("Heavy concurrent retries should share one computation")
+    void testConcurrentRetriesShareResult() throws Exception {
+        IdempotencyStore<Object> store = new IdempotencyStore<>(1000, 60_000, result -> 16);
+        int retries = 200;
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Object graded = new Object();
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            Future<Object> original = pool.submit(() -> store.execute("key", 7, () -> {
+                runs.incrementAndGet();
+                computing.countDown();
+                await(release);
+                return graded;
+            }));
+            computing.await();
+
+            List<Future<Object>> duplicates = new ArrayList<>();
+            for (int i = 0; i < retries - 1; i++) {
+                duplicates.add(pool.submit(() -> store.execute("key", 7, () -> {
+                    runs.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            // Let some retries arrive while grading is in flight, the rest after
+            while (store.getHitCount() < 16) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertSame(graded, original.get(5, TimeUnit.SECONDS));
+            for (Future<Object> duplicate : duplicates) {
+                assertSame(graded, duplicate.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+            assertEquals(1, store.getMissCount());
+            assertEquals(retries - 1, store.getHitCount());
+            assertEquals(1, store.size());
+            assertTrue(store.getEstimatedBytes() > 16);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Reusing a key with a different request should conflict")
+    void testDifferentFingerprintConflicts() {
+        IdempotencyStore<String> store = new IdempotencyStore<>(10, 60_000, String::length);
+
+        assertEquals("first", store.execute("key", 1, () -> "first"));
+        assertThrows(ConflictException.class, () -> store.execute("key", 2, () -> "second"));
+        assertEquals(1, store.getConflictCount());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Failed computations should not be remembered")
+    void testFailuresAreNotStored() {
+        IdempotencyStore<String> store = new IdempotencyStore<>(10, 60_000, String::length);
+
+        assertThrows(ValidationException.class, () -> store.execute("key", 1, () -> {
+            throw new ValidationException("Invalid question ID: 9");
+        }));
+        assertEquals(0, store.size());
+        assertEquals("retried", store.execute("key", 1, () -> "retried"));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Expired entries should be computed again")
+    void testExpiredEntriesAreRecomputed() throws Exception {
+        IdempotencyStore<String> store = new IdempotencyStore<>(10, 1, String::length);
+
+        store.execute("key", 1, () -> "first");
+        Thread.sleep(5);
+
+        assertEquals("second", store.execute("key", 1, () -> "second"));
+        assertEquals(2, store.getMissCount());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Store should stay within capacity by evicting the oldest keys")
+    void testCapacityIsBounded() {
+        IdempotencyStore<String> store = new IdempotencyStore<>(100, 60_000, String::length);
+
+        for (int i = 0; i < 1000; i++) {
+            store.execute("key-" + i, 1, () -> "result");
+        }
+
+        assertTrue(store.size() <= 101, "size was " + store.size());
+        assertEquals("fresh", store.execute("key-0", 1, () -> "fresh"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.dto.LiveSessionResponse;
+import com.example.quiz_api.live.LiveSessionManager;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.service.QuizService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load generator for live sessions
+ * Opens thousands of participant sockets against one session, then for each
+ * question measures how long the broadcast takes to reach every socket and
+ * how long until the pushed statistics include every answer.
+ * Run with: mvn test -Pbenchmark -Dtest=LiveSessionLoadBenchmarkTest
+ * Scale with -Dbench.participants=20000 (needs a matching open-files limit)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "quiz.admission.enabled=false",
+        "quiz.live.tick-millis=100",
+        "server.tomcat.max-connections=60000",
+        "server.tomcat.accept-count=10000",
+        "logging.level.root=WARN"
+})
+class LiveSessionLoadBenchmarkTest {
+
+    private static final int PARTICIPANTS = Integer.getInteger("bench.participants", 5_000);
+    private static final int QUESTIONS = 5;
+    private static final int CONNECT_PARALLELISM = 64;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private LiveSessionManager sessionManager;
+
+    @Test
+    @DisplayName("Broadcast fan-out and answer aggregation with thousands of sockets")
+    void testLiveSessionUnderLoad() throws Exception {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Load Quiz")).getId();
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions.add(addQuestion(quizId));
+        }
+        LiveSessionResponse session = sessionManager.createSession(quizId);
+
+        StandardWebSocketClient client = new StandardWebSocketClient();
+        String url = "ws://localhost:" + port + "/ws/live/" + session.getId();
+        List<LoadClient> clients = new ArrayList<>(PARTICIPANTS);
+        long connectStart = System.nanoTime();
+        ExecutorService connector = Executors.newFixedThreadPool(CONNECT_PARALLELISM);
+        try {
+            List<Future<LoadClient>> pending = new ArrayList<>(PARTICIPANTS);
+            for (int i = 0; i < PARTICIPANTS; i++) {
+                pending.add(connector.submit(() -> {
+                    LoadClient loadClient = new LoadClient();
+                    loadClient.session = client.execute(loadClient, url).get(30, TimeUnit.SECONDS);
+                    return loadClient;
+                }));
+            }
+            for (Future<LoadClient> future : pending) {
+                clients.add(future.get());
+            }
+        } finally {
+            connector.shutdown();
+        }
+        double connectSeconds = (System.nanoTime() - connectStart) / 1e9;
+        awaitCondition(() -> sessionManager.getSession(session.getId())
+                .getParticipants() == PARTICIPANTS);
+
+        System.out.println();
+        System.out.printf("%d participants connected in %.1fs%n", PARTICIPANTS, connectSeconds);
+        System.out.println("question   fan-out p50(ms)   p99(ms)   max(ms)   all answers counted(ms)");
+
+        for (int q = 0; q < QUESTIONS; q++) {
+            Question question = questions.get(q);
+            String answer = "{\"questionId\":" + question.getId() + ",\"selectedOptions\":[" +
+                    question.getCorrectAnswerIds().get(0) + "]}";
+            for (LoadClient loadClient : clients) {
+                loadClient.prepare(q, answer);
+            }
+
+            long start = System.nanoTime();
+            sessionManager.advance(session.getId(), session.getHostToken());
+            for (LoadClient loadClient : clients) {
+                assertTrue(loadClient.questionReceived.await(30, TimeUnit.SECONDS),
+                        "question not delivered");
+            }
+            long[] latencies = clients.stream()
+                    .mapToLong(loadClient -> loadClient.questionNanos - start)
+                    .sorted()
+                    .toArray();
+            LoadClient observer = clients.get(0);
+            awaitCondition(() -> observer.lastAnsweredCount.get() >= PARTICIPANTS);
+            double aggregated = (observer.statsNanos - start) / 1e6;
+
+            System.out.printf("%-10d %15.1f %9.1f %9.1f %25.1f%n", q,
+                    latencies[latencies.length / 2] / 1e6,
+                    latencies[(int) (latencies.length * 0.99)] / 1e6,
+                    latencies[latencies.length - 1] / 1e6,
+                    aggregated);
+        }
+
+        for (LoadClient loadClient : clients) {
+            loadClient.session.close();
+        }
+    }
+
+    private Question addQuestion(Long quizId) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText("Pick the right answer");
+        request.setType(QuestionType.SINGLE);
+        request.setOptions(Arrays.asList("A", "B", "C", "D"));
+        request.setCorrectAnswers(Arrays.asList(2));
+        return quizService.addQuestionToQuiz(quizId, request);
+    }
+
+    private static void awaitCondition(Callable<Boolean> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (!condition.call()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Simulated participant that answers each question as soon as it arrives
+     */
+    private static class LoadClient extends TextWebSocketHandler {
+
+        private WebSocketSession session;
+        private volatile CountDownLatch questionReceived;
+        private volatile String answer;
+        private volatile long questionNanos;
+        private volatile long statsNanos;
+        private final AtomicLong lastAnsweredCount = new AtomicLong();
+
+        void prepare(int questionIndex, String answer) {
+            this.answer = answer;
+            this.questionReceived = new CountDownLatch(1);
+            this.lastAnsweredCount.set(0);
+        }
+
+        @Override
+        protected void handleTextMessage(WebSocketSession session, TextMessage message)
+                throws Exception {
+            String payload = message.getPayload();
+            if (payload.startsWith("{\"type\":\"question\"")) {
+                questionNanos = System.nanoTime();
+                questionReceived.countDown();
+                session.sendMessage(new TextMessage(answer));
+            } else if (payload.startsWith("{\"type\":\"stats\"")) {
+                int start = payload.indexOf("\"answered\":") + 11;
+                int end = payload.indexOf(',', start);
+                long answered = Long.parseLong(payload.substring(start, end));
+                if (answered > lastAnsweredCount.get()) {
+                    statsNanos = System.nanoTime();
+                    lastAnsweredCount.set(answered);
+                }
+            }
+        }
+    }
+}
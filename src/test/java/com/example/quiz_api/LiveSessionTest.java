@@ -0,0 +1,273 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateLiveSessionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.live.LiveProperties;
+import com.example.quiz_api.live.LiveSessionManager;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for host-led live quiz sessions over WebSockets
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"quiz.admission.enabled=false", "quiz.live.tick-millis=50"})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LiveSessionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private LiveProperties properties;
+
+    @Autowired
+    private LiveSessionManager liveSessionManager;
+
+    @LocalServerPort
+    private int port;
+
+    private final StandardWebSocketClient client = new StandardWebSocketClient();
+
+    @Test
+    @Order(1)
+    @DisplayName("Live session should broadcast questions, grade answers and push statistics")
+    void testLiveSessionFlow() throws Exception {
+        Long quizId = createQuiz();
+        Question first = addQuestion(quizId);
+        addQuestion(quizId);
+        long correctOption = first.getCorrectAnswerIds().get(0);
+        long wrongOption = first.getOptions().get(0).getId();
+
+        JsonNode session = createSession(quizId);
+        long sessionId = session.get("id").asLong();
+        String hostToken = session.get("hostToken").asText();
+
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            clients.add(connect(sessionId));
+        }
+        awaitParticipants(sessionId, 3);
+
+        advance(sessionId, hostToken)
+                .andExpect(jsonPath("$.data.currentQuestion").value(0));
+        for (Client participant : clients) {
+            JsonNode question = participant.await("question");
+            assertEquals(first.getId(), question.get("question").get("id").asLong());
+            assertFalse(question.get("question").has("correctAnswerIds"));
+        }
+
+        clients.get(0).answer(first.getId(), correctOption);
+        clients.get(1).answer(first.getId(), wrongOption);
+        assertTrue(clients.get(0).await("answer").get("correct").asBoolean());
+        assertFalse(clients.get(1).await("answer").get("correct").asBoolean());
+
+        clients.get(0).answer(first.getId(), wrongOption);
+        assertEquals("error", clients.get(0).await("error").get("type").asText());
+
+        JsonNode stats = clients.get(2).await("stats");
+        while (stats.get("answered").asLong() < 2) {
+            stats = clients.get(2).await("stats");
+        }
+        assertEquals(1, stats.get("correct").asLong());
+        assertEquals(1, stats.get("options").get(Long.toString(correctOption)).asLong());
+        assertEquals(3, stats.get("participants").asInt());
+
+        advance(sessionId, hostToken)
+                .andExpect(jsonPath("$.data.currentQuestion").value(1));
+        advance(sessionId, hostToken)
+                .andExpect(jsonPath("$.data.finished").value(true));
+        clients.get(2).await("finished");
+
+        for (Client participant : clients) {
+            participant.session.close();
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Advancing without the host token should be forbidden")
+    void testAdvanceRequiresHostToken() throws Exception {
+        Long quizId = createQuiz();
+        addQuestion(quizId);
+        long sessionId = createSession(quizId).get("id").asLong();
+
+        mockMvc.perform(post("/api/live-sessions/" + sessionId + "/advance")
+                        .header("X-Host-Token", "not-the-token"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false));
+
+        mockMvc.perform(get("/api/live-sessions/" + sessionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.currentQuestion").value(-1))
+                .andExpect(jsonPath("$.data.hostToken").doesNotExist());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Starting a live session for a quiz without questions should fail")
+    void testCreateSessionWithoutQuestions() throws Exception {
+        Long quizId = createQuiz();
+
+        mockMvc.perform(post("/api/live-sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateLiveSessionRequest(quizId))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/live-sessions/999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Finished and idle sessions should be ended without the host")
+    void testAbandonedSessionsAreEnded() throws Exception {
+        Long quizId = createQuiz();
+        addQuestion(quizId);
+        long idleSeconds = properties.getIdleSeconds();
+        long retentionSeconds = properties.getFinishedRetentionSeconds();
+        properties.setIdleSeconds(1);
+        properties.setFinishedRetentionSeconds(0);
+        try {
+            long expired = liveSessionManager.getExpiredCount();
+            JsonNode finished = createSession(quizId);
+            long finishedId = finished.get("id").asLong();
+            String hostToken = finished.get("hostToken").asText();
+            advance(finishedId, hostToken);
+            advance(finishedId, hostToken).andExpect(jsonPath("$.data.finished").value(true));
+            long idleId = createSession(quizId).get("id").asLong();
+
+            awaitEnded(finishedId);
+            awaitEnded(idleId);
+            assertTrue(liveSessionManager.getExpiredCount() >= expired + 2);
+        } finally {
+            properties.setIdleSeconds(idleSeconds);
+            properties.setFinishedRetentionSeconds(retentionSeconds);
+        }
+    }
+
+    private void awaitEnded(long sessionId) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (mockMvc.perform(get("/api/live-sessions/" + sessionId))
+                .andReturn().getResponse().getStatus() != 404) {
+            assertTrue(System.currentTimeMillis() < deadline, "session " + sessionId + " was not ended");
+            Thread.sleep(50);
+        }
+    }
+
+    private Long createQuiz() {
+        return quizService.createQuiz(new CreateQuizRequest("Live Quiz")).getId();
+    }
+
+    private Question addQuestion(Long quizId) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText("What is 2 + 2?");
+        request.setType(QuestionType.SINGLE);
+        request.setOptions(Arrays.asList("3", "4", "5"));
+        request.setCorrectAnswers(Arrays.asList(1));
+        return quizService.addQuestionToQuiz(quizId, request);
+    }
+
+    private JsonNode createSession(Long quizId) throws Exception {
+        String response = mockMvc.perform(post("/api/live-sessions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateLiveSessionRequest(quizId))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).get("data");
+    }
+
+    private ResultActions advance(long sessionId, String hostToken) throws Exception {
+        return mockMvc.perform(post("/api/live-sessions/" + sessionId + "/advance")
+                        .header("X-Host-Token", hostToken))
+                .andExpect(status().isOk());
+    }
+
+    private void awaitParticipants(long sessionId, int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        int participants = 0;
+        while (participants < expected && System.currentTimeMillis() < deadline) {
+            String response = mockMvc.perform(get("/api/live-sessions/" + sessionId))
+                    .andReturn().getResponse().getContentAsString();
+            participants = objectMapper.readTree(response).get("data").get("participants").asInt();
+            Thread.sleep(10);
+        }
+        assertEquals(expected, participants);
+    }
+
+    private Client connect(long sessionId) throws Exception {
+        Client participant = new Client();
+        participant.session = client.execute(participant,
+                "ws://localhost:" + port + "/ws/live/" + sessionId).get(5, TimeUnit.SECONDS);
+        return participant;
+    }
+
+    /**
+     * Test participant collecting every frame it receives
+     */
+    private class Client extends TextWebSocketHandler {
+
+        private final BlockingQueue<JsonNode> frames = new LinkedBlockingQueue<>();
+        private WebSocketSession session;
+
+        @Override
+        protected void handleTextMessage(WebSocketSession session, TextMessage message)
+                throws Exception {
+            frames.add(objectMapper.readTree(message.getPayload()));
+        }
+
+        JsonNode await(String type) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (System.currentTimeMillis() < deadline) {
+                JsonNode frame = frames.poll(100, TimeUnit.MILLISECONDS);
+                if (frame != null && type.equals(frame.get("type").asText())) {
+                    return frame;
+                }
+            }
+            throw new AssertionError("No " + type + " frame received");
+        }
+
+        void answer(Long questionId, long optionId) throws Exception {
+            session.sendMessage(new TextMessage("{\"questionId\":" + questionId +
+                    ",\"selectedOptions\":[" + optionId + "]}"));
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.service.QuizService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scaling of a mixed read, author and submit workload on the service layer
+ * Threads pick each operation at random in the ratio of bench.mix
+ * (reads:authoring:submissions) against a shared catalog, at 1, 2, 4 … up
+ * to bench.max-threads threads. Each step reports throughput and latency
+ * percentiles per operation, then checks that every question added is in
+ * its quiz and that question and option IDs are unique.
+ * Results above the machine's core count show oversubscription, not scaling.
+ * Run with: mvn test -Pbenchmark -Dtest=MixedWorkloadBenchmarkTest
+ * Tune with -Dbench.mix=90:5:5 -Dbench.max-threads=32 -Dbench.seconds=10
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"quiz.admission.enabled=false", "logging.level.root=WARN"})
+class MixedWorkloadBenchmarkTest {
+
+    private static final String MIX = System.getProperty("bench.mix", "80:10:10");
+    private static final int MAX_THREADS = Integer.getInteger("bench.max-threads",
+            Runtime.getRuntime().availableProcessors());
+    private static final long SECONDS = Long.getLong("bench.seconds", 3);
+    private static final int QUIZZES = Integer.getInteger("bench.quizzes", 256);
+    private static final int SEED_QUESTIONS = 10;
+
+    private static final int READ = 0;
+    private static final int AUTHOR = 1;
+    private static final int SUBMIT = 2;
+    private static final String[] OPERATIONS = {"read", "author", "submit"};
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Test
+    @DisplayName("Mixed workload throughput and latency from 1 thread up, without lost updates")
+    void testMixedWorkloadScaling() throws Exception {
+        int[] weights = Arrays.stream(MIX.split(":")).mapToInt(Integer::parseInt).toArray();
+        assertEquals(3, weights.length, "bench.mix takes reads:authoring:submissions");
+        int total = weights[READ] + weights[AUTHOR] + weights[SUBMIT];
+
+        // Warm up once with the most threads
+        run(MAX_THREADS, weights, total);
+
+        System.out.println();
+        System.out.printf("mix %s (read:author:submit), %d quizzes, %d s per step, %d cores%n",
+                MIX, QUIZZES, SECONDS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %10s", "threads", "k ops/s");
+        for (String operation : OPERATIONS) {
+            System.out.printf("   %-27s", operation + " p50/p99/p999 (us)");
+        }
+        System.out.println();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < MAX_THREADS; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(MAX_THREADS);
+        for (int threads : threadCounts) {
+            Step step = run(threads, weights, total);
+            System.out.printf("%-8d %10.1f", threads, step.operations / (step.seconds * 1e3));
+            for (Latencies latencies : step.latencies) {
+                System.out.printf("   %8.1f %8.1f %9.1f", latencies.percentile(0.50),
+                        latencies.percentile(0.99), latencies.percentile(0.999));
+            }
+            System.out.println();
+        }
+    }
+
+    private Step run(int threads, int[] weights, int total) throws Exception {
+        repository.clear();
+        long[] quizIds = new long[QUIZZES];
+        for (int i = 0; i < QUIZZES; i++) {
+            quizIds[i] = quizService.createQuiz(new CreateQuizRequest("Mixed " + i)).getId();
+            for (int q = 0; q < SEED_QUESTIONS; q++) {
+                quizService.addQuestionToQuiz(quizIds[i], question("Seed " + i + "-" + q));
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            AtomicBoolean running = new AtomicBoolean(true);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Worker>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Worker worker = new Worker(t, quizIds, weights, total);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    worker.run(running);
+                    return worker;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            Thread.sleep(SECONDS * 1000);
+            running.set(false);
+            List<Worker> workers = new ArrayList<>();
+            for (Future<Worker> future : futures) {
+                workers.add(future.get());
+            }
+            double seconds = (System.nanoTime() - begin) / 1e9;
+
+            verify(quizIds, workers);
+            Step step = new Step(seconds);
+            for (Worker worker : workers) {
+                for (int op = 0; op < OPERATIONS.length; op++) {
+                    step.latencies[op].addAll(worker.latencies[op]);
+                    step.operations += worker.latencies[op].size;
+                }
+            }
+            return step;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Check that no question addition was lost and no ID was handed out twice
+     */
+    private void verify(long[] quizIds, List<Worker> workers) {
+        int[] added = new int[QUIZZES];
+        Set<Long> addedIds = new HashSet<>();
+        Set<Long> optionIds = new HashSet<>();
+        for (Worker worker : workers) {
+            for (int i = 0; i < QUIZZES; i++) {
+                added[i] += worker.added[i];
+            }
+            for (Question question : worker.questions) {
+                assertTrue(addedIds.add(question.getId()), "Question ID handed out twice: " + question.getId());
+                for (Option option : question.getOptions()) {
+                    assertTrue(optionIds.add(option.getId()), "Option ID handed out twice: " + option.getId());
+                }
+            }
+        }
+
+        Set<Long> stored = new HashSet<>();
+        for (int i = 0; i < QUIZZES; i++) {
+            Quiz quiz = quizService.getQuizById(quizIds[i]);
+            List<Long> questionIds = quiz.getQuestionIds();
+            assertEquals(SEED_QUESTIONS + added[i], questionIds.size(),
+                    "Lost question additions on quiz " + quiz.getId());
+            for (Long questionId : questionIds) {
+                assertTrue(stored.add(questionId), "Question " + questionId + " stored twice");
+            }
+        }
+        assertTrue(stored.containsAll(addedIds), "Added questions missing from their quizzes");
+    }
+
+    private static AddQuestionRequest question(String text) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText(text);
+        request.setType(QuestionType.MULTIPLE);
+        request.setOptions(List.of("A", "B", "C", "D"));
+        request.setCorrectAnswers(List.of(0, 2));
+        return request;
+    }
+
+    /**
+     * One benchmark thread; its state is only read after it finishes
+     */
+    private final class Worker {
+
+        private final int index;
+        private final long[] quizIds;
+        private final int[] weights;
+        private final int total;
+        private final Latencies[] latencies = {new Latencies(), new Latencies(), new Latencies()};
+        private final int[] added = new int[QUIZZES];
+        private final List<Question> questions = new ArrayList<>();
+
+        private Worker(int index, long[] quizIds, int[] weights, int total) {
+            this.index = index;
+            this.quizIds = quizIds;
+            this.weights = weights;
+            this.total = total;
+        }
+
+        private void run(AtomicBoolean running) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long sink = 0;
+            int authored = 0;
+            while (running.get()) {
+                int quiz = random.nextInt(QUIZZES);
+                int pick = random.nextInt(total);
+                int op = pick < weights[READ] ? READ : pick < weights[READ] + weights[AUTHOR] ? AUTHOR : SUBMIT;
+                long start = System.nanoTime();
+                switch (op) {
+                    case READ -> sink += quizService.getQuizQuestions(quizIds[quiz]).size();
+                    case AUTHOR -> {
+                        Question question = quizService.addQuestionToQuiz(quizIds[quiz],
+                                question("Authored " + index + "-" + authored++));
+                        questions.add(question);
+                        added[quiz]++;
+                    }
+                    default -> sink += quizService.submitQuizAnswers(quizIds[quiz],
+                            submission(quizService.getQuizById(quizIds[quiz]))).getScore();
+                }
+                latencies[op].add(System.nanoTime() - start);
+            }
+            assertTrue(sink >= 0);
+        }
+
+        // Answers every question with its first two options
+        private SubmitAnswersRequest submission(Quiz quiz) {
+            List<SubmitAnswersRequest.Answer> answers = new ArrayList<>(quiz.getQuestionIds().size());
+            for (Long questionId : quiz.getQuestionIds()) {
+                List<Option> options = quiz.findQuestion(questionId).getOptions();
+                answers.add(new SubmitAnswersRequest.Answer(questionId,
+                        List.of(options.get(0).getId(), options.get(1).getId())));
+            }
+            SubmitAnswersRequest request = new SubmitAnswersRequest();
+            request.setAnswers(answers);
+            return request;
+        }
+    }
+
+    /**
+     * Latency samples in nanoseconds, appended without locking by one thread
+     */
+    private static final class Latencies {
+
+        private long[] values = new long[1 << 14];
+        private int size;
+        private boolean sorted;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        void addAll(Latencies other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            sorted = false;
+        }
+
+        /**
+         * @return The percentile in microseconds
+         */
+        double percentile(double p) {
+            if (size == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(values, 0, size);
+                sorted = true;
+            }
+            int index = (int) Math.ceil(p * size) - 1;
+            return values[Math.max(0, index)] / 1e3;
+        }
+    }
+
+    private static final class Step {
+
+        private final double seconds;
+        private final Latencies[] latencies = {new Latencies(), new Latencies(), new Latencies()};
+        private long operations;
+
+        private Step(double seconds) {
+            this.seconds = seconds;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.service.QuizService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Benchmark of quiz-not-found throughput before and after stackless errors
+ * "Before" reproduces the previous lookup, which threw a new
+ * IllegalArgumentException with a full stack trace on every miss. Both
+ * variants are thrown from a deep stack, as they are under Tomcat and
+ * Spring MVC, because stack capture cost grows with depth.
+ * Run with: mvn test -Pbenchmark -Dtest=NotFoundBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"logging.level.root=WARN", "quiz.admission.enabled=false"})
+@AutoConfigureMockMvc
+class NotFoundBenchmarkTest {
+
+    private static final int STACK_DEPTH = 120;
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 200_000);
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("404 throughput before and after")
+    void testNotFoundThroughput() throws Exception {
+        repository.clear();
+
+        LongSupplier before = () -> {
+            try {
+                Quiz quiz = repository.findQuizById(999L)
+                        .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
+                return quiz.getId();
+            } catch (IllegalArgumentException e) {
+                return e.getMessage().length();
+            }
+        };
+        LongSupplier after = () -> {
+            try {
+                return quizService.getQuizById(999L).getId();
+            } catch (NotFoundException e) {
+                return e.getMessage().length();
+            }
+        };
+
+        measure(before, ITERATIONS);
+        measure(after, ITERATIONS);
+        double beforeOps = measure(before, ITERATIONS);
+        double afterOps = measure(after, ITERATIONS);
+
+        int requests = ITERATIONS / 20;
+        for (int i = 0; i < requests; i++) {
+            mockMvc.perform(get("/api/quizzes/999/questions"));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            mockMvc.perform(get("/api/quizzes/999/questions"));
+        }
+        double endToEnd = requests / ((System.nanoTime() - start) / 1e9);
+
+        System.out.println();
+        System.out.printf("stack depth %d, %d lookups%n", STACK_DEPTH, ITERATIONS);
+        System.out.printf("before (IllegalArgumentException): %,12.0f misses/s%n", beforeOps);
+        System.out.printf("after (stackless NotFound):        %,12.0f misses/s%n", afterOps);
+        System.out.printf("after, full MockMvc 404 round trip: %,11.0f requests/s%n", endToEnd);
+
+        assertTrue(afterOps > beforeOps, "stackless misses should be cheaper");
+    }
+
+    private static double measure(LongSupplier lookup, int iterations) {
+        long start = System.nanoTime();
+        long sink = atDepth(STACK_DEPTH, lookup, iterations);
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink > 0);
+        return iterations / (elapsed / 1e9);
+    }
+
+    private static long atDepth(int depth, LongSupplier lookup, int iterations) {
+        if (depth > 0) {
+            return atDepth(depth - 1, lookup, iterations);
+        }
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += lookup.getAsLong();
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.search.QuestionIndex;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for full-text question search
+ */
+@SpringBootTest(properties = {"quiz.admission.enabled=false"})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class QuestionSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    private Long quizId;
+
+    @BeforeEach
+    void setUp() {
+        repository.clear();
+        quizId = quizService.createQuiz(new CreateQuizRequest("Geography")).getId();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Questions matching rarer and more query terms should rank first")
+    void testRanksByRelevance() throws Exception {
+        Question capital = addQuestion("What is the capital of France?", "Paris", "Lyon");
+        Question river = addQuestion("Which river flows through the capital?", "Seine", "Loire");
+        addQuestion("What is the largest ocean?", "Pacific", "Atlantic");
+
+        JsonNode results = search("capital France", null);
+
+        assertEquals(2, results.size());
+        assertEquals(capital.getId(), results.get(0).get("question").get("id").asLong());
+        assertEquals(river.getId(), results.get(1).get("question").get("id").asLong());
+        assertTrue(results.get(0).get("score").asDouble() > results.get(1).get("score").asDouble());
+        assertFalse(results.get(0).get("question").has("correctAnswerIds"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("The last word should match as a prefix unless prefix is off")
+    void testPrefixMatching() throws Exception {
+        Question capital = addQuestion("What is the capital of France?", "Paris", "Lyon");
+        addQuestion("Name a planet", "Mars", "Venus");
+
+        JsonNode typing = search("capit", null);
+        assertEquals(1, typing.size());
+        assertEquals(capital.getId(), typing.get(0).get("question").get("id").asLong());
+        assertEquals(0, search("capit", false).size());
+        assertEquals(1, search("franc", null).size());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Option texts should be searchable and shared questions found once")
+    void testOptionsAndSharedQuestions() throws Exception {
+        Question planet = addQuestion("Name a planet", "Mars", "Venus");
+        Long otherQuiz = quizService.createQuiz(new CreateQuizRequest("Astronomy")).getId();
+        quizService.addQuestionToQuiz(otherQuiz, request("Name a planet", "Mars", "Venus"));
+
+        JsonNode results = search("venus", null);
+
+        assertEquals(1, results.size());
+        assertEquals(planet.getId(), results.get(0).get("question").get("id").asLong());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Dropped questions should no longer be found")
+    void testDroppedQuestionsDisappear() throws Exception {
+        Question planet = addQuestion("Name a planet", "Mars", "Venus");
+        Question moon = addQuestion("Name a moon of Mars", "Phobos", "Titan");
+        assertEquals(2, search("mars", null).size());
+
+        quizService.removeQuestionFromQuiz(quizId, planet.getId());
+
+        JsonNode results = search("mars", null);
+        assertEquals(1, results.size());
+        assertEquals(moon.getId(), results.get(0).get("question").get("id").asLong());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Blank queries and out-of-range limits should be rejected")
+    void testValidation() throws Exception {
+        mockMvc.perform(get("/api/questions/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/questions/search"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/questions/search").param("q", "mars").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/questions/search").param("q", "mars").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Searches running during writes should see every question added before them")
+    void testConcurrentReadsAndWrites() throws Exception {
+        QuestionIndex index = new QuestionIndex(1.2, 0.75, 32);
+        int writers = 4;
+        int perWriter = 5_000;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        long id = (long) writer * perWriter + i + 1;
+                        index.add(question(id, "common term" + (id % 50) + " unique" + id));
+                    }
+                    return null;
+                }));
+            }
+            Future<Integer> reader = pool.submit(() -> {
+                int searches = 0;
+                while (writing.get()) {
+                    int before = index.size();
+                    List<QuestionIndex.Hit> hits = index.search("common", before + 10, false);
+                    assertTrue(hits.size() >= before);
+                    searches++;
+                }
+                return searches;
+            });
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            writing.set(false);
+            assertTrue(reader.get() > 0);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(writers * perWriter, index.size());
+        long id = 1234;
+        List<QuestionIndex.Hit> hits = index.search("unique" + id, 5, false);
+        assertEquals(id, hits.get(0).questionId());
+        // term7 ends 400 questions; term4 is also the prefix of term40 to term49
+        assertEquals(400, index.search("term7", 1_000, false).size());
+        assertEquals(11 * 400, index.search("term4", 10_000, true).size());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Removing and re-adding questions should not grow the postings without bound")
+    void testChurnStaysBounded() {
+        QuestionIndex index = new QuestionIndex(1.2, 0.75, 32);
+        int count = 1_000;
+        for (long id = 1; id <= count; id++) {
+            index.add(question(id, "common term" + (id % 50) + " unique" + id));
+        }
+        long initial = index.postingBytes();
+
+        long maximum = 0;
+        for (int round = 0; round < 20; round++) {
+            for (long id = 1; id <= count; id += 3) {
+                Question question = question(id, "common term" + (id % 50) + " unique" + id);
+                assertTrue(index.remove(question));
+                assertTrue(index.add(question));
+            }
+            maximum = Math.max(maximum, index.postingBytes());
+        }
+
+        // Compaction starts once a quarter of the documents are removed
+        assertTrue(maximum < initial * 3 / 2, maximum + " bytes after churn, " + initial + " before");
+        assertEquals(count, index.size());
+        assertEquals(count, index.search("common", count + 10, false).size());
+        assertEquals(20, index.search("term7", 100, false).size());
+        assertEquals(999, index.search("unique999", 1, false).get(0).questionId());
+    }
+
+    private Question addQuestion(String text, String... options) {
+        return quizService.addQuestionToQuiz(quizId, request(text, options));
+    }
+
+    private static AddQuestionRequest request(String text, String... options) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText(text);
+        request.setType(QuestionType.SINGLE);
+        request.setOptions(List.of(options));
+        request.setCorrectAnswers(List.of(0));
+        return request;
+    }
+
+    private static Question question(long id, String text) {
+        Question question = new Question();
+        question.setId(id);
+        question.setText(text);
+        question.setType(QuestionType.TEXT);
+        question.setOptions(List.of(new Option(id, "option")));
+        return question;
+    }
+
+    private JsonNode search(String query, Boolean prefix) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/questions/search").param("q", query);
+        if (prefix != null) {
+            request.param("prefix", prefix.toString());
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("data");
+    }
+}
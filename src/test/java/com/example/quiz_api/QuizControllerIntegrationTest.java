@@ -1,8 +1,11 @@
 package com.example.quiz_api;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.example.quiz_api.dto.*;
 import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
 import com.example.quiz_api.repository.QuizRepository;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +19,8 @@ import java.util.Arrays;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Integration tests for QuizController
@@ -109,6 +114,7 @@ class QuizControllerIntegrationTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.id").exists())
+                .andExpect(jsonPath("$.data.quizId").value(quizId))
                 .andExpect(jsonPath("$.data.text").value("What is Java?"));
     }
 
@@ -413,4 +419,272 @@ class QuizControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.score").value(1))
                 .andExpect(jsonPath("$.data.results[0].correct").value(true));
     }
+
+    @Test
+    @Order(11)
+    @DisplayName("GET /api/quizzes/{id}/questions - Should return CBOR when requested")
+    void testGetQuizQuestionsAsCbor() throws Exception {
+        Long quizId = createQuiz("CBOR Quiz");
+        addSingleChoiceQuestion(quizId);
+
+        byte[] body = mockMvc.perform(get("/api/quizzes/" + quizId + "/questions")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode response = new CBORMapper().readTree(body);
+        assertTrue(response.get("success").asBoolean());
+        assertEquals("What is 2 + 2?", response.get("data").get(0).get("text").asText());
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("POST /api/quizzes/{id}/submit - Should accept CBOR request bodies")
+    void testSubmitAnswersAsCbor() throws Exception {
+        Long quizId = createQuiz("CBOR Quiz");
+        JsonNode question = addSingleChoiceQuestion(quizId);
+
+        SubmitAnswersRequest.Answer answer = new SubmitAnswersRequest.Answer(
+                question.get("id").asLong(),
+                Arrays.asList(question.get("options").get(1).get("id").asLong()));
+        SubmitAnswersRequest submitRequest = new SubmitAnswersRequest(Arrays.asList(answer));
+
+        mockMvc.perform(post("/api/quizzes/" + quizId + "/submit")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(new CBORMapper().writeValueAsBytes(submitRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.score").value(1));
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("GET /api/quizzes - Should stream large lists in the response envelope")
+    void testGetAllQuizzesStreamsLargeList() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            repository.saveQuiz(new Quiz(null, "Quiz " + i));
+        }
+
+        mockMvc.perform(get("/api/quizzes"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.error").doesNotExist())
+                .andExpect(jsonPath("$.data", hasSize(500)))
+                .andExpect(jsonPath("$.data[0].title").exists());
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("GET /api/quizzes - Should stream CBOR when requested")
+    void testGetAllQuizzesAsCbor() throws Exception {
+        createQuiz("CBOR Quiz");
+
+        byte[] body = mockMvc.perform(get("/api/quizzes")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode response = new CBORMapper().readTree(body);
+        assertTrue(response.get("success").asBoolean());
+        assertEquals("CBOR Quiz", response.get("data").get(0).get("title").asText());
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("POST /api/quizzes/{id}/questions - Should return 404 for non-existent quiz")
+    void testAddQuestionToNonExistentQuiz() throws Exception {
+        AddQuestionRequest questionRequest = new AddQuestionRequest();
+        questionRequest.setText("Question?");
+        questionRequest.setType(QuestionType.SINGLE);
+        questionRequest.setOptions(Arrays.asList("A", "B"));
+        questionRequest.setCorrectAnswers(Arrays.asList(0));
+
+        mockMvc.perform(post("/api/quizzes/999/questions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(questionRequest)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("Quiz not found"));
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("POST /api/quizzes - Should return validation errors in the response envelope")
+    void testCreateQuizValidationError() throws Exception {
+        mockMvc.perform(post("/api/quizzes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("Quiz title is required"));
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("POST /api/quizzes/{id}/submit - Should replay the result for a repeated Idempotency-Key")
+    void testSubmitAnswersWithIdempotencyKey() throws Exception {
+        Long quizId = createQuiz("Retry Quiz");
+        JsonNode question = addSingleChoiceQuestion(quizId);
+
+        SubmitAnswersRequest.Answer answer = new SubmitAnswersRequest.Answer(
+                question.get("id").asLong(),
+                Arrays.asList(question.get("options").get(1).get("id").asLong()));
+        String body = objectMapper.writeValueAsString(
+                new SubmitAnswersRequest(Arrays.asList(answer)));
+
+        String first = mockMvc.perform(post("/api/quizzes/" + quizId + "/submit")
+                        .header("Idempotency-Key", "attempt-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.score").value(1))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String retry = mockMvc.perform(post("/api/quizzes/" + quizId + "/submit")
+                        .header("Idempotency-Key", "attempt-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(first, retry);
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("POST /api/quizzes/{id}/submit - Should reject a reused Idempotency-Key with a different body")
+    void testSubmitAnswersIdempotencyKeyConflict() throws Exception {
+        Long quizId = createQuiz("Retry Quiz");
+        JsonNode question = addSingleChoiceQuestion(quizId);
+        long questionId = question.get("id").asLong();
+
+        SubmitAnswersRequest correct = new SubmitAnswersRequest(Arrays.asList(
+                new SubmitAnswersRequest.Answer(questionId,
+                        Arrays.asList(question.get("options").get(1).get("id").asLong()))));
+        SubmitAnswersRequest wrong = new SubmitAnswersRequest(Arrays.asList(
+                new SubmitAnswersRequest.Answer(questionId,
+                        Arrays.asList(question.get("options").get(0).get("id").asLong()))));
+
+        mockMvc.perform(post("/api/quizzes/" + quizId + "/submit")
+                        .header("Idempotency-Key", "attempt-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(correct)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/quizzes/" + quizId + "/submit")
+                        .header("Idempotency-Key", "attempt-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(wrong)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("GET /api/quizzes?since - Should return quizzes changed after the version")
+    void testGetQuizChangesSince() throws Exception {
+        String initial = mockMvc.perform(get("/api/quizzes").param("since", "0"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long version = objectMapper.readTree(initial).get("data").get("version").asLong();
+        String epoch = objectMapper.readTree(initial).get("data").get("epoch").asText();
+
+        Long quizId = createQuiz("Delta Quiz");
+
+        mockMvc.perform(get("/api/quizzes").param("since", Long.toString(version)).param("epoch", epoch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.epoch").value(epoch))
+                .andExpect(jsonPath("$.data.reset").value(false))
+                .andExpect(jsonPath("$.data.version").value(greaterThan((int) version)))
+                .andExpect(jsonPath("$.data.quizzes", hasSize(1)))
+                .andExpect(jsonPath("$.data.quizzes[0].id").value(quizId));
+
+        // A version from another epoch gets the whole catalog
+        mockMvc.perform(get("/api/quizzes").param("since", "1").param("epoch", "stale"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.reset").value(true))
+                .andExpect(jsonPath("$.data.quizzes", hasSize(1)));
+
+        mockMvc.perform(get("/api/quizzes").param("since", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("DELETE /api/quizzes/{quizId}/questions/{questionId} - Should remove the question from the quiz")
+    void testRemoveQuestion() throws Exception {
+        Long quizId = createQuiz("Removal Quiz");
+        Long questionId = addSingleChoiceQuestion(quizId).get("id").asLong();
+
+        mockMvc.perform(delete("/api/quizzes/" + quizId + "/questions/" + questionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.questionIds", hasSize(0)));
+
+        mockMvc.perform(delete("/api/quizzes/" + quizId + "/questions/" + questionId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("POST /api/quizzes/{id}/questions - Shared question should report the quiz it was added to")
+    void testSharedQuestionReportsTargetQuiz() throws Exception {
+        Long firstQuizId = createQuiz("First Sharing Quiz");
+        Long secondQuizId = createQuiz("Second Sharing Quiz");
+
+        JsonNode first = addSingleChoiceQuestion(firstQuizId);
+        JsonNode second = addSingleChoiceQuestion(secondQuizId);
+
+        assertEquals(first.get("id").asLong(), second.get("id").asLong());
+        assertEquals(firstQuizId, first.get("quizId").asLong());
+        assertEquals(secondQuizId, second.get("quizId").asLong());
+    }
+
+    private Long createQuiz(String title) throws Exception {
+        CreateQuizRequest quizRequest = new CreateQuizRequest();
+        quizRequest.setTitle(title);
+
+        String quizResponse = mockMvc.perform(post("/api/quizzes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(quizRequest)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return objectMapper.readTree(quizResponse).get("data").get("id").asLong();
+    }
+
+    private JsonNode addSingleChoiceQuestion(Long quizId) throws Exception {
+        AddQuestionRequest questionRequest = new AddQuestionRequest();
+        questionRequest.setText("What is 2 + 2?");
+        questionRequest.setType(QuestionType.SINGLE);
+        questionRequest.setOptions(Arrays.asList("3", "4", "5"));
+        questionRequest.setCorrectAnswers(Arrays.asList(1));
+
+        String questionResponse = mockMvc.perform(post("/api/quizzes/" + quizId + "/questions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(questionRequest)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return objectMapper.readTree(questionResponse).get("data");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,251 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.model.PersistentLongMap;
+import com.example.quiz_api.model.PersistentVector;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.AttemptRepository;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for immutable quiz revisions and attempts pinned to them
+ */
+@SpringBootTest(properties = {"quiz.admission.enabled=false"})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class QuizRevisionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private AttemptRepository attemptRepository;
+
+    @Test
+    @Order(1)
+    @DisplayName("Persistent vector should match a list through appends, replacements and removals, leaving old versions intact")
+    void testPersistentVector() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> snapshots = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                vector = vector.without(index);
+            } else if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, -i);
+                vector = vector.with(index, -i);
+            } else {
+                expected.add(i);
+                vector = vector.append(i);
+            }
+            if (i % 500 == 0) {
+                versions.add(vector);
+                snapshots.add(List.copyOf(expected));
+            }
+        }
+
+        assertEquals(expected, vector);
+        assertEquals(expected.size(), vector.size());
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i), vector.get(i));
+        }
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(snapshots.get(i), versions.get(i));
+        }
+        PersistentVector<Integer> last = vector;
+        assertThrows(UnsupportedOperationException.class, () -> last.add(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> last.get(last.size()));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Persistent map should match a hash map through puts and removals, leaving old versions intact")
+    void testPersistentLongMap() {
+        Random random = new Random(7);
+        Map<Long, Long> expected = new HashMap<>();
+        PersistentLongMap<Long> map = PersistentLongMap.empty();
+        PersistentLongMap<Long> halfway = null;
+        Map<Long, Long> halfwayExpected = null;
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, (long) i);
+                map = map.put(key, (long) i);
+            }
+            if (i == 10_000) {
+                halfway = map;
+                halfwayExpected = new HashMap<>(expected);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(halfwayExpected.size(), halfway.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(halfwayExpected.get(key), halfway.get(key));
+        }
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Adding a question to a large quiz should allocate a bounded amount, not a copy")
+    void testEditCostIsLogarithmic() {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Large")).getId();
+        for (int i = 0; i < 20_000; i++) {
+            repository.appendQuestionToQuiz(quizId, question("Large " + i));
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        Question next = question("One more");
+        long before = threads.getCurrentThreadAllocatedBytes();
+        repository.appendQuestionToQuiz(quizId, next);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Copying 20,000 IDs and an index of them would take several hundred KB
+        assertTrue(allocated < 32 * 1024, "allocated " + allocated + " bytes for one edit");
+        assertEquals(20_001, repository.findQuizById(quizId).orElseThrow().getQuestionIds().size());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("An attempt should be graded against the revision it started on")
+    void testAttemptPinsRevision() throws Exception {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Pinned")).getId();
+        Question kept = addQuestion(quizId, "Kept");
+        Question removed = addQuestion(quizId, "Removed");
+        JsonNode attempt = startAttempt(quizId);
+        long attemptId = attempt.get("id").asLong();
+        long version = attempt.get("quizVersion").asLong();
+
+        // The author edits the quiz mid-attempt
+        addQuestion(quizId, "Added");
+        quizService.removeQuestionFromQuiz(quizId, removed.getId());
+        assertEquals(2, quizService.getQuizQuestions(quizId).size());
+
+        mockMvc.perform(get("/api/attempts/" + attemptId + "/questions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[1].text").value("Removed"));
+
+        mockMvc.perform(post("/api/attempts/" + attemptId + "/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(kept, removed)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.quizVersion").value(version))
+                .andExpect(jsonPath("$.data.result.score").value(2))
+                .andExpect(jsonPath("$.data.result.total").value(2));
+
+        mockMvc.perform(get("/api/attempts/" + attemptId + "/questions"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("A revision should be garbage-collected once no attempt pins it")
+    void testUnpinnedRevisionIsCollected() throws Exception {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Collected")).getId();
+        Question question = addQuestion(quizId, "Only");
+        long attemptId = startAttempt(quizId).get("id").asLong();
+        WeakReference<Quiz> pinned = new WeakReference<>(
+                attemptRepository.findById(attemptId).orElseThrow().getRevision());
+        addQuestion(quizId, "Later");
+
+        awaitGarbageCollection(pinned, 1_000);
+        assertNotNull(pinned.get(), "revision collected while pinned");
+
+        mockMvc.perform(post("/api/attempts/" + attemptId + "/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers(question)))
+                .andExpect(status().isOk());
+        awaitGarbageCollection(pinned, 10_000);
+        assertNull(pinned.get(), "revision still reachable after the attempt was graded");
+    }
+
+    private static void awaitGarbageCollection(WeakReference<?> reference, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (reference.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(20);
+        }
+    }
+
+    private static Question question(String text) {
+        Question question = new Question();
+        question.setText(text);
+        question.setType(QuestionType.TEXT);
+        question.setCorrectAnswerTexts(List.of("answer"));
+        return question;
+    }
+
+    private Question addQuestion(Long quizId, String text) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText(text);
+        request.setType(QuestionType.SINGLE);
+        request.setOptions(Arrays.asList("3", "4", "5"));
+        request.setCorrectAnswers(Arrays.asList(1));
+        return quizService.addQuestionToQuiz(quizId, request);
+    }
+
+    private JsonNode startAttempt(Long quizId) throws Exception {
+        String response = mockMvc.perform(post("/api/quizzes/" + quizId + "/attempts"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).get("data");
+    }
+
+    private String answers(Question... questions) throws Exception {
+        List<SubmitAnswersRequest.Answer> answers = new ArrayList<>();
+        for (Question question : questions) {
+            answers.add(new SubmitAnswersRequest.Answer(question.getId(),
+                    List.of(question.getCorrectAnswerIds().get(0))));
+        }
+        return objectMapper.writeValueAsString(new SubmitAnswersRequest(answers));
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.quiz_api;
 
 import com.example.quiz_api.dto.*;
+import com.example.quiz_api.exception.ConflictException;
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.exception.ValidationException;
 import com.example.quiz_api.model.*;
 import com.example.quiz_api.repository.QuizRepository;
 import com.example.quiz_api.service.QuizService;
@@ -9,6 +12,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -104,11 +109,25 @@ class QuizServiceTest {
     @Order(5)
     @DisplayName("Should throw exception when quiz not found")
     void testGetQuizByIdNotFound() {
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(NotFoundException.class, () -> {
             quizService.getQuizById(999L);
         });
     }
 
+    @Test
+    @Order(31)
+    @DisplayName("Should throw shared stackless exception when quiz not found")
+    void testQuizNotFoundIsStackless() {
+        NotFoundException first = assertThrows(NotFoundException.class,
+                () -> quizService.getQuizById(999L));
+        NotFoundException second = assertThrows(NotFoundException.class,
+                () -> quizService.getQuizById(998L));
+
+        assertSame(first, second);
+        assertEquals(0, first.getStackTrace().length);
+        assertEquals("Quiz not found", first.getBody().getError());
+    }
+
     // ============================================
     // SINGLE CHOICE QUESTION TESTS
     // ============================================
@@ -146,8 +165,8 @@ class QuizServiceTest {
         request.setOptions(Arrays.asList("A", "B"));
         request.setCorrectAnswers(Arrays.asList());
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -166,8 +185,8 @@ class QuizServiceTest {
         request.setOptions(Arrays.asList("A", "B", "C"));
         request.setCorrectAnswers(Arrays.asList(0, 1));
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -186,8 +205,8 @@ class QuizServiceTest {
         request.setOptions(Arrays.asList("A"));
         request.setCorrectAnswers(Arrays.asList(0));
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -206,8 +225,8 @@ class QuizServiceTest {
         request.setOptions(Arrays.asList("A", "B"));
         request.setCorrectAnswers(Arrays.asList(5));
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -249,8 +268,8 @@ class QuizServiceTest {
         request.setOptions(Arrays.asList("A", "B"));
         request.setCorrectAnswers(Arrays.asList());
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -269,8 +288,8 @@ class QuizServiceTest {
         request.setOptions(Arrays.asList("A", "B"));
         request.setCorrectAnswers(Arrays.asList(0, 5));
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -327,8 +346,8 @@ class QuizServiceTest {
         request.setType(QuestionType.TEXT);
         request.setCorrectAnswerTexts(Arrays.asList());
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -347,8 +366,8 @@ class QuizServiceTest {
         request.setCorrectAnswerTexts(Arrays.asList("answer"));
         request.setWordLimit(500);
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -367,8 +386,8 @@ class QuizServiceTest {
         request.setCorrectAnswerTexts(Arrays.asList("answer"));
         request.setWordLimit(0);
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -391,8 +410,8 @@ class QuizServiceTest {
         request.setOptions(Arrays.asList("A", "B"));
         request.setCorrectAnswers(Arrays.asList(0));
 
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        ValidationException exception = assertThrows(
+                ValidationException.class,
                 () -> quizService.addQuestionToQuiz(quiz.getId(), request)
         );
 
@@ -624,7 +643,7 @@ class QuizServiceTest {
         answer.setSelectedOptions(Arrays.asList(1L));
         request.setAnswers(Arrays.asList(answer));
 
-        assertThrows(IllegalArgumentException.class, () -> {
+        assertThrows(ValidationException.class, () -> {
             quizService.submitQuizAnswers(quiz.getId(), request);
         });
     }
@@ -643,6 +662,237 @@ class QuizServiceTest {
         assertEquals(0, response.getScore());
     }
 
+    // ============================================
+    // DELTA SYNC TESTS
+    // ============================================
+
+    @Test
+    @Order(32)
+    @DisplayName("Should return only quizzes changed since a version")
+    void testGetQuizzesChangedSince() {
+        Quiz unchanged = createTestQuiz();
+        Quiz changed = createTestQuiz();
+        QuizChangesResponse initial = quizService.getQuizzesChangedSince(0, null);
+        long version = initial.getVersion();
+
+        addSingleChoiceQuestion(changed.getId());
+        Quiz created = createTestQuiz();
+
+        QuizChangesResponse delta = quizService.getQuizzesChangedSince(version, initial.getEpoch());
+
+        assertEquals(2, delta.getQuizzes().size());
+        assertEquals(changed.getId(), delta.getQuizzes().get(0).getId());
+        assertEquals(1, delta.getQuizzes().get(0).getQuestionCount());
+        assertEquals(created.getId(), delta.getQuizzes().get(1).getId());
+        assertTrue(delta.getVersion() > version);
+        assertTrue(delta.getQuizzes().stream()
+                .noneMatch(quiz -> quiz.getId().equals(unchanged.getId())));
+        assertFalse(delta.isReset());
+        assertEquals(initial.getEpoch(), delta.getEpoch());
+
+        QuizChangesResponse empty = quizService.getQuizzesChangedSince(delta.getVersion(), delta.getEpoch());
+        assertTrue(empty.getQuizzes().isEmpty());
+        assertEquals(delta.getVersion(), empty.getVersion());
+    }
+
+    @Test
+    @Order(33)
+    @DisplayName("Should return the full catalog for a version the server has not reached")
+    void testGetQuizzesChangedSinceFutureVersion() {
+        createTestQuiz();
+        createTestQuiz();
+
+        QuizChangesResponse delta = quizService.getQuizzesChangedSince(1_000_000, null);
+
+        assertEquals(2, delta.getQuizzes().size());
+        assertTrue(delta.isReset());
+        assertThrows(ValidationException.class, () -> quizService.getQuizzesChangedSince(-1, null));
+    }
+
+    // ============================================
+    // SUMMARY VIEW TESTS
+    // ============================================
+
+    @Test
+    @Order(34)
+    @DisplayName("Should reuse the published summary list until a quiz changes")
+    void testSummaryListReusedBetweenWrites() {
+        Quiz quiz = createTestQuiz();
+
+        List<QuizListResponse> first = quizService.getAllQuizzes();
+        assertSame(first, quizService.getAllQuizzes());
+        assertEquals(0, first.get(0).getQuestionCount());
+
+        addSingleChoiceQuestion(quiz.getId());
+        addSingleChoiceQuestion(quiz.getId());
+
+        List<QuizListResponse> second = quizService.getAllQuizzes();
+        assertNotSame(first, second);
+        assertEquals(0, first.get(0).getQuestionCount());
+        assertEquals(2, second.get(0).getQuestionCount());
+        assertThrows(UnsupportedOperationException.class, () -> second.remove(0));
+
+        repository.clear();
+        assertTrue(quizService.getAllQuizzes().isEmpty());
+    }
+
+    @Test
+    @Order(35)
+    @DisplayName("Concurrent listing should never see a question count go backwards")
+    void testSummaryCountsNeverRegress() throws Exception {
+        Quiz quiz = createTestQuiz();
+        int questions = 200;
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            int last = 0;
+            while (!done.get()) {
+                int count = quizService.getAllQuizzes().get(0).getQuestionCount();
+                int stored = repository.findQuizById(quiz.getId()).orElseThrow()
+                        .getQuestionIds().size();
+                if (count < last || count > stored) {
+                    failure.set("count " + count + " after " + last + " with " + stored + " stored");
+                    return;
+                }
+                last = count;
+            }
+        });
+        reader.start();
+        for (int i = 0; i < questions; i++) {
+            addSingleChoiceQuestion(quiz.getId());
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(questions, quizService.getAllQuizzes().get(0).getQuestionCount());
+    }
+
+    // ============================================
+    // QUESTION BANK TESTS
+    // ============================================
+
+    @Test
+    @Order(36)
+    @DisplayName("Identical questions in different quizzes should share one stored question")
+    void testIdenticalQuestionsAreShared() {
+        List<Long> quizIds = new ArrayList<>();
+        Set<Long> questionIds = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Long quizId = createTestQuiz().getId();
+            quizIds.add(quizId);
+            questionIds.add(addSingleChoiceQuestion(quizId).getId());
+        }
+        addMultipleChoiceQuestion(quizIds.get(0));
+
+        assertEquals(1, questionIds.size());
+        Long shared = questionIds.iterator().next();
+        assertEquals(2, repository.getQuestionCount());
+        assertEquals(3, repository.getQuestionReferences(shared));
+        for (Long quizId : quizIds) {
+            assertEquals(shared, repository.findQuizById(quizId).orElseThrow().getQuestionIds().get(0));
+        }
+    }
+
+    @Test
+    @Order(37)
+    @DisplayName("A shared question should be graded in every quiz that references it")
+    void testSharedQuestionGradedPerQuiz() {
+        Quiz first = createTestQuiz();
+        Quiz second = createTestQuiz();
+        Quiz other = createTestQuiz();
+        Question question = addSingleChoiceQuestion(first.getId());
+        assertEquals(question.getId(), addSingleChoiceQuestion(second.getId()).getId());
+        addMultipleChoiceQuestion(other.getId());
+
+        SubmitAnswersRequest request = new SubmitAnswersRequest();
+        SubmitAnswersRequest.Answer answer = new SubmitAnswersRequest.Answer();
+        answer.setQuestionId(question.getId());
+        answer.setSelectedOptions(Arrays.asList(question.getCorrectAnswerIds().get(0)));
+        request.setAnswers(Arrays.asList(answer));
+
+        assertEquals(1, quizService.submitQuizAnswers(first.getId(), request).getScore());
+        assertEquals(1, quizService.submitQuizAnswers(second.getId(), request).getScore());
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> quizService.submitQuizAnswers(other.getId(), request));
+        assertEquals("Question does not belong to this quiz", exception.getMessage());
+    }
+
+    @Test
+    @Order(38)
+    @DisplayName("The same content added twice to one quiz should be stored as two questions")
+    void testRepeatedQuestionInOneQuiz() {
+        Quiz quiz = createTestQuiz();
+        Question first = addSingleChoiceQuestion(quiz.getId());
+        Question second = addSingleChoiceQuestion(quiz.getId());
+
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(2, repository.findQuizById(quiz.getId()).orElseThrow().getQuestionIds().size());
+    }
+
+    @Test
+    @Order(39)
+    @DisplayName("Removing a question should drop it only after its last reference")
+    void testRemoveQuestionReleasesReference() {
+        Quiz first = createTestQuiz();
+        Quiz second = createTestQuiz();
+        Long questionId = addSingleChoiceQuestion(first.getId()).getId();
+        addSingleChoiceQuestion(second.getId());
+
+        Quiz updated = quizService.removeQuestionFromQuiz(first.getId(), questionId);
+        assertTrue(updated.getQuestionIds().isEmpty());
+        assertEquals(1, repository.getQuestionReferences(questionId));
+        assertTrue(repository.findQuestionById(questionId).isPresent());
+
+        quizService.removeQuestionFromQuiz(second.getId(), questionId);
+        assertEquals(0, repository.getQuestionReferences(questionId));
+        assertTrue(repository.findQuestionById(questionId).isEmpty());
+
+        assertSame(NotFoundException.QUESTION, assertThrows(NotFoundException.class,
+                () -> quizService.removeQuestionFromQuiz(first.getId(), questionId)));
+    }
+
+    @Test
+    @Order(40)
+    @DisplayName("Reusing an idempotency key with a body of the same hashCode should conflict")
+    void testIdempotencyKeyRejectsHashCollision() {
+        Quiz quiz = createTestQuiz();
+        Long questionId = addMultipleChoiceQuestion(quiz.getId()).getId();
+        SubmitAnswersRequest first = new SubmitAnswersRequest(List.of(
+                new SubmitAnswersRequest.Answer(questionId, List.of(1L, 32L))));
+        SubmitAnswersRequest second = new SubmitAnswersRequest(List.of(
+                new SubmitAnswersRequest.Answer(questionId, List.of(2L, 1L))));
+        assertEquals(first.hashCode(), second.hashCode());
+
+        quizService.submitQuizAnswers(quiz.getId(), first, "collision");
+        assertNotNull(quizService.submitQuizAnswers(quiz.getId(), first, "collision"));
+        assertThrows(ConflictException.class,
+                () -> quizService.submitQuizAnswers(quiz.getId(), second, "collision"));
+    }
+
+    @Test
+    @Order(41)
+    @DisplayName("A version from before a clear should get a reset even once versions catch up")
+    void testGetQuizzesChangedSinceAfterClear() {
+        createTestQuiz();
+        createTestQuiz();
+        QuizChangesResponse before = quizService.getQuizzesChangedSince(0, null);
+
+        repository.clear();
+        Quiz first = createTestQuiz();
+        Quiz second = createTestQuiz();
+        Quiz third = createTestQuiz();
+
+        QuizChangesResponse delta = quizService.getQuizzesChangedSince(before.getVersion(), before.getEpoch());
+
+        assertNotEquals(before.getEpoch(), delta.getEpoch());
+        assertTrue(delta.getVersion() > before.getVersion());
+        assertTrue(delta.isReset());
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()),
+                delta.getQuizzes().stream().map(QuizListResponse::getId).toList());
+    }
+
     // ============================================
     // HELPER METHODS
     // ============================================
@@ -0,0 +1,369 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.dto.QuestionResponse;
+import com.example.quiz_api.dto.ReplicationStatusResponse;
+import com.example.quiz_api.exception.ConflictException;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.replication.ReplicationManager;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.service.QuizService;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for leader/follower replication
+ * Each instance is a full application context on its own HTTP and
+ * replication ports on localhost
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicationTest {
+
+    private static final String SECRET = "replication-secret";
+    private static final String OPERATOR_TOKEN = "replication-operator";
+
+    private final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        instances.forEach(ConfigurableApplicationContext::close);
+        instances.clear();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Followers should converge with the leader, serve reads and reject writes")
+    void testFollowersConverge() throws Exception {
+        ConfigurableApplicationContext leader = start("leader", 0);
+        int leaderPort = replicationPort(leader);
+        ConfigurableApplicationContext first = start("follower", leaderPort);
+        writeQuizzes(leader, 3);
+        ConfigurableApplicationContext second = start("follower", leaderPort);
+        writeQuizzes(leader, 2);
+
+        awaitConverged(leader, first);
+        awaitConverged(leader, second);
+
+        HttpClient http = HttpClient.newHttpClient();
+        Long quizId = quizzes(second).get(0).getId();
+        for (String path : List.of("/api/quizzes", "/api/quizzes/" + quizId + "/questions")) {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(
+                    "http://localhost:" + httpPort(second) + path)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), path);
+        }
+
+        assertThrows(ConflictException.class,
+                () -> first.getBean(QuizService.class).createQuiz(new CreateQuizRequest("Nope")));
+
+        ReplicationStatusResponse status = first.getBean(ReplicationManager.class).getStatus();
+        assertEquals("follower", status.getRole());
+        assertTrue(status.getConnected());
+        assertEquals(0, status.getLagRecords());
+        assertEquals(2, leader.getBean(ReplicationManager.class).getStatus().getFollowers());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("After failover the other follower should catch up from the promoted leader")
+    void testFailoverCatchUp() throws Exception {
+        ConfigurableApplicationContext leader = start("leader", 0);
+        int leaderPort = replicationPort(leader);
+        ConfigurableApplicationContext first = start("follower", leaderPort);
+        ConfigurableApplicationContext second = start("follower", leaderPort);
+        writeQuizzes(leader, 3);
+        awaitConverged(leader, first);
+        awaitConverged(leader, second);
+
+        leader.close();
+        ReplicationManager promoted = first.getBean(ReplicationManager.class);
+        assertEquals("leader", promoted.promote().getRole());
+
+        // Writes continue on the new leader while the other follower still looks for the old one
+        writeQuizzes(first, 2);
+        second.getBean(ReplicationManager.class).follow("localhost", replicationPort(first));
+
+        awaitConverged(first, second);
+        List<Long> ids = quizzes(first).stream().map(Quiz::getId).collect(Collectors.toList());
+        assertEquals(5, ids.stream().distinct().count(), "promoted leader reused an ID");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("A follower holding writes the new leader never received should resync")
+    void testDivergedFollowerResyncs() throws Exception {
+        ConfigurableApplicationContext leader = start("leader", 0);
+        int leaderPort = replicationPort(leader);
+        ConfigurableApplicationContext first = start("follower", leaderPort);
+        ConfigurableApplicationContext second = start("follower", leaderPort);
+        writeQuizzes(leader, 2);
+        awaitConverged(leader, first);
+        awaitConverged(leader, second);
+
+        // Cut the first follower off, then write what only the second one sees
+        first.getBean(ReplicationManager.class).follow("localhost", unusedPort());
+        writeQuizzes(leader, 2);
+        awaitConverged(leader, second);
+        leader.close();
+
+        first.getBean(ReplicationManager.class).promote();
+        writeQuizzes(first, 1);
+        second.getBean(ReplicationManager.class).follow("localhost", replicationPort(first));
+
+        awaitConverged(first, second);
+        assertEquals(3, quizzes(second).size());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Shared questions and their removal should replicate, also to late followers")
+    void testQuestionRemovalReplicates() throws Exception {
+        ConfigurableApplicationContext leader = start("leader", 0);
+        int leaderPort = replicationPort(leader);
+        ConfigurableApplicationContext first = start("follower", leaderPort);
+        writeQuizzes(leader, 2);
+
+        QuizService quizService = leader.getBean(QuizService.class);
+        List<Quiz> quizzes = quizzes(leader);
+        Long shared = quizzes.get(0).getQuestionIds().get(0);
+        Long removed = quizzes.get(0).getQuestionIds().get(1);
+        assertEquals(shared, quizzes.get(1).getQuestionIds().get(0));
+        quizService.removeQuestionFromQuiz(quizzes.get(0).getId(), shared);
+        quizService.removeQuestionFromQuiz(quizzes.get(0).getId(), removed);
+        quizService.removeQuestionFromQuiz(quizzes.get(1).getId(), removed);
+        ConfigurableApplicationContext second = start("follower", leaderPort);
+
+        awaitConverged(leader, first);
+        awaitConverged(leader, second);
+        for (ConfigurableApplicationContext follower : List.of(first, second)) {
+            QuizRepository repository = follower.getBean(QuizRepository.class);
+            assertEquals(2, repository.getQuestionCount());
+            assertEquals(1, repository.getQuestionReferences(shared));
+            assertTrue(repository.findQuestionById(removed).isEmpty());
+        }
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Followers skipping compacted quiz revisions should keep questions still in use")
+    void testSkippedRevisionsKeepQuestions() throws Exception {
+        ConfigurableApplicationContext leader = start("leader", 0);
+        writeQuizzes(leader, 2);
+        List<Quiz> quizzes = quizzes(leader);
+        Long shared = quizzes.get(0).getQuestionIds().get(0);
+        Question question = leader.getBean(QuizRepository.class).findQuestionById(shared).orElseThrow();
+
+        // The second quiz's first revisions were compacted away, so the
+        // follower sees the first quiz drop the question before the second uses it
+        QuizRepository repository = start("follower", unusedPort()).getBean(QuizRepository.class);
+        repository.replicateQuestion(question);
+        repository.replicateQuiz(revision(quizzes.get(0), shared));
+        repository.replicateQuiz(revision(quizzes.get(0)));
+        Quiz stored = repository.replicateQuiz(revision(quizzes.get(1), shared));
+
+        assertSame(question, stored.findQuestion(shared));
+        assertEquals(1, repository.getQuestionReferences(shared));
+        repository.replicateQuestionRemoval(shared);
+        assertTrue(repository.findQuestionById(shared).isPresent());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Peers without the shared secret should neither receive nor reset data")
+    void testPeersMustShareTheSecret() throws Exception {
+        ConfigurableApplicationContext leader = start("leader", 0);
+        writeQuizzes(leader, 2);
+        ConfigurableApplicationContext follower = start("follower", replicationPort(leader));
+        awaitConverged(leader, follower);
+
+        // A leader the follower does not share a secret with cannot make it resync
+        ConfigurableApplicationContext rogue = start("leader", 0, "guessed");
+        follower.getBean(ReplicationManager.class).follow("localhost", replicationPort(rogue));
+        ConfigurableApplicationContext outsider = start("follower", replicationPort(leader), "guessed");
+        Thread.sleep(500);
+
+        assertFalse(follower.getBean(ReplicationManager.class).getStatus().getConnected());
+        assertEquals(2, quizzes(follower).size());
+        assertFalse(outsider.getBean(ReplicationManager.class).getStatus().getConnected());
+        assertTrue(quizzes(outsider).isEmpty());
+        assertEquals(0, leader.getBean(ReplicationManager.class).getStatus().getFollowers());
+
+        assertThrows(Exception.class, () -> start("leader", 0, ""));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Failover endpoints should require the operator token")
+    void testFailoverRequiresOperatorToken() throws Exception {
+        ConfigurableApplicationContext leader = start("leader", 0);
+        ConfigurableApplicationContext follower = start("follower", replicationPort(leader));
+        HttpClient http = HttpClient.newHttpClient();
+        URI promote = URI.create("http://localhost:" + httpPort(follower) + "/api/replication/promote");
+        URI follow = URI.create("http://localhost:" + httpPort(follower) + "/api/replication/follow");
+        String body = "{\"host\":\"localhost\",\"port\":" + unusedPort() + "}";
+
+        HttpResponse<String> anonymous = http.send(HttpRequest.newBuilder(follow)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(403, anonymous.statusCode());
+        HttpResponse<String> guessed = http.send(HttpRequest.newBuilder(promote)
+                        .header("X-Operator-Token", "guessed")
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(403, guessed.statusCode());
+        assertEquals("follower", follower.getBean(ReplicationManager.class).getStatus().getRole());
+
+        HttpResponse<String> promoted = http.send(HttpRequest.newBuilder(promote)
+                        .header("X-Operator-Token", OPERATOR_TOKEN)
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, promoted.statusCode());
+        assertEquals("leader", follower.getBean(ReplicationManager.class).getStatus().getRole());
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Quizzes replicated before their questions should be completed when they arrive")
+    void testQuestionsArrivingAfterTheirQuiz() throws Exception {
+        ConfigurableApplicationContext leader = start("leader", 0);
+        writeQuizzes(leader, 1);
+        Quiz quiz = quizzes(leader).get(0);
+        QuizRepository leaderRepository = leader.getBean(QuizRepository.class);
+        Long late = quiz.getQuestionIds().get(1);
+
+        // The question's record was rewritten after the quiz's, so a
+        // compacted log delivers the quiz first
+        ConfigurableApplicationContext follower = start("follower", unusedPort());
+        QuizRepository repository = follower.getBean(QuizRepository.class);
+        for (Long questionId : quiz.getQuestionIds()) {
+            if (!questionId.equals(late)) {
+                repository.replicateQuestion(leaderRepository.findQuestionById(questionId).orElseThrow());
+            }
+        }
+        Quiz partial = repository.replicateQuiz(revision(quiz, quiz.getQuestionIds().toArray(new Long[0])));
+        assertEquals(2, partial.getQuestionIds().size());
+        assertFalse(partial.getQuestionIds().contains(late));
+        assertEquals(2, follower.getBean(QuizService.class).getQuizQuestions(partial).size());
+
+        List<Quiz> completed = repository.replicateQuestion(
+                leaderRepository.findQuestionById(late).orElseThrow());
+
+        assertEquals(1, completed.size());
+        assertEquals(quiz.getQuestionIds(), completed.get(0).getQuestionIds());
+        assertNotNull(completed.get(0).findQuestion(late));
+        assertTrue(completed.get(0).getVersion() > partial.getVersion());
+        assertEquals(1, repository.getQuestionReferences(late));
+        List<QuestionResponse> listed = follower.getBean(QuizService.class).getQuizQuestions(quiz.getId());
+        assertEquals(quiz.getQuestionIds(), listed.stream().map(QuestionResponse::getId).toList());
+        assertTrue(repository.replicateQuestion(leaderRepository.findQuestionById(late).orElseThrow()).isEmpty());
+    }
+
+    private ConfigurableApplicationContext start(String role, int leaderPort) {
+        return start(role, leaderPort, SECRET);
+    }
+
+    private ConfigurableApplicationContext start(String role, int leaderPort, String secret) {
+        // Command-line arguments, so they override application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QuizApiApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--quiz.admission.enabled=false",
+                        "--quiz.operator.token=" + OPERATOR_TOKEN,
+                        "--quiz.replication.secret=" + secret,
+                        "--quiz.replication.role=" + role,
+                        "--quiz.replication.port=0",
+                        "--quiz.replication.leader-port=" + leaderPort,
+                        "--quiz.replication.heartbeat-millis=50",
+                        "--quiz.replication.reconnect-millis=100",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        instances.add(context);
+        return context;
+    }
+
+    private static int replicationPort(ConfigurableApplicationContext context) {
+        return context.getBean(ReplicationManager.class).getStatus().getPort();
+    }
+
+    private static int httpPort(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    private static int unusedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Quiz revision(Quiz quiz, Long... questionIds) {
+        Quiz revision = new Quiz(quiz.getId(), quiz.getTitle());
+        revision.setQuestionIds(new ArrayList<>(List.of(questionIds)));
+        return revision;
+    }
+
+    private static void writeQuizzes(ConfigurableApplicationContext context, int count) {
+        QuizService quizService = context.getBean(QuizService.class);
+        for (int i = 0; i < count; i++) {
+            Long quizId = quizService.createQuiz(new CreateQuizRequest("Replicated " + i)).getId();
+            for (int q = 0; q < 3; q++) {
+                AddQuestionRequest request = new AddQuestionRequest();
+                request.setText("Question " + q);
+                request.setType(QuestionType.SINGLE);
+                request.setOptions(Arrays.asList("A", "B", "C"));
+                request.setCorrectAnswers(Arrays.asList(q));
+                quizService.addQuestionToQuiz(quizId, request);
+            }
+        }
+    }
+
+    private static List<Quiz> quizzes(ConfigurableApplicationContext context) {
+        List<Quiz> quizzes = context.getBean(QuizRepository.class).findAllQuizzes();
+        quizzes.sort(Comparator.comparing(Quiz::getId));
+        return quizzes;
+    }
+
+    /**
+     * Quizzes with their questions as quiz takers see them
+     */
+    private static String snapshot(ConfigurableApplicationContext context) {
+        QuizService quizService = context.getBean(QuizService.class);
+        StringBuilder snapshot = new StringBuilder();
+        for (Quiz quiz : quizzes(context)) {
+            snapshot.append(quiz.getId()).append(' ').append(quiz.getTitle()).append('\n');
+            for (QuestionResponse question : quizService.getQuizQuestions(quiz.getId())) {
+                snapshot.append("  ").append(question).append('\n');
+            }
+        }
+        return snapshot.toString();
+    }
+
+    private static void awaitConverged(ConfigurableApplicationContext expected,
+                                       ConfigurableApplicationContext actual) throws Exception {
+        String want = snapshot(expected);
+        long deadline = System.currentTimeMillis() + 10_000;
+        String got = snapshot(actual);
+        while (!want.equals(got) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            got = snapshot(actual);
+        }
+        assertEquals(want, got);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.model.AnswerKey;
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.PartialCredit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleBiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of multiple choice scoring before and after answer key bitmasks
+ * "Before" reproduces the previous check, which copied and sorted the
+ * selected and correct option IDs and compared the lists. The bitmask
+ * variants score the same answers exactly and with each partial credit mode.
+ * Run with: mvn test -Pbenchmark -Dtest=ScoringBenchmarkTest
+ */
+@Tag("benchmark")
+class ScoringBenchmarkTest {
+
+    private static final int QUESTIONS = 1_000;
+    private static final int OPTIONS = Integer.getInteger("bench.options", 6);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 5_000);
+
+    @Test
+    @DisplayName("Multiple choice scoring throughput")
+    void testScoringThroughput() {
+        Random random = new Random(42);
+        List<AnswerKey> keys = new ArrayList<>();
+        List<List<Long>> correct = new ArrayList<>();
+        List<List<Long>> selections = new ArrayList<>();
+        long optionId = 1;
+        for (int q = 0; q < QUESTIONS; q++) {
+            List<Option> options = new ArrayList<>();
+            List<Long> correctIds = new ArrayList<>();
+            List<Long> selected = new ArrayList<>();
+            for (int o = 0; o < OPTIONS; o++) {
+                options.add(new Option(optionId, "Option " + o));
+                if (random.nextBoolean()) {
+                    correctIds.add(optionId);
+                }
+                if (random.nextBoolean()) {
+                    selected.add(optionId);
+                }
+                optionId++;
+            }
+            if (correctIds.isEmpty()) {
+                correctIds.add(options.get(0).getId());
+            }
+            keys.add(AnswerKey.of(options, correctIds));
+            correct.add(correctIds);
+            selections.add(selected);
+        }
+
+        ToDoubleBiFunction<Integer, List<Long>> before = (q, selected) -> {
+            List<Long> correctIds = correct.get(q);
+            if (selected.size() != correctIds.size()) {
+                return 0;
+            }
+            List<Long> sortedSelected = new ArrayList<>(selected);
+            List<Long> sortedCorrect = new ArrayList<>(correctIds);
+            Collections.sort(sortedSelected);
+            Collections.sort(sortedCorrect);
+            return sortedSelected.equals(sortedCorrect) ? 1 : 0;
+        };
+
+        System.out.println();
+        System.out.printf("%,d questions with %d options, %,d passes%n", QUESTIONS, OPTIONS, ITERATIONS);
+        double beforeSum = measure("before (sorted lists)", before, selections);
+        double exactSum = measure("bitmask, all-or-nothing",
+                (q, selected) -> keys.get(q).credit(selected, PartialCredit.NONE), selections);
+        double proportional = measure("bitmask, proportional",
+                (q, selected) -> keys.get(q).credit(selected, PartialCredit.PROPORTIONAL), selections);
+        double penalized = measure("bitmask, penalize wrong",
+                (q, selected) -> keys.get(q).credit(selected, PartialCredit.PENALIZE_WRONG), selections);
+
+        assertEquals(beforeSum, exactSum, 1e-9, "bitmask and sorted-list scoring should agree");
+        assertTrue(proportional >= exactSum && penalized >= exactSum);
+    }
+
+    private static double measure(String label, ToDoubleBiFunction<Integer, List<Long>> scorer,
+                                  List<List<Long>> selections) {
+        double sum = 0;
+        for (int warmup = 0; warmup < ITERATIONS / 5; warmup++) {
+            sum = pass(scorer, selections);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sum = pass(scorer, selections);
+        }
+        double nanos = (double) (System.nanoTime() - start) / ((long) ITERATIONS * selections.size());
+        System.out.printf("%-26s %8.1f ns/answer%n", label + ":", nanos);
+        return sum;
+    }
+
+    private static double pass(ToDoubleBiFunction<Integer, List<Long>> scorer,
+                               List<List<Long>> selections) {
+        double sum = 0;
+        for (int q = 0; q < selections.size(); q++) {
+            sum += scorer.applyAsDouble(q, selections.get(q));
+        }
+        return sum;
+    }
+}
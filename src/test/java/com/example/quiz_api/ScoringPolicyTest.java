@@ -0,0 +1,241 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.dto.SubmitAnswersResponse;
+import com.example.quiz_api.exception.ValidationException;
+import com.example.quiz_api.model.AnswerKey;
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.PartialCredit;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for quiz scoring policies: weights, partial credit and negative marking
+ */
+@SpringBootTest(properties = {"quiz.admission.enabled=false"})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ScoringPolicyTest {
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @Order(1)
+    @DisplayName("Answer keys should score selections by bitmask")
+    void testAnswerKeyCredit() {
+        List<Option> options = IntStream.range(0, 4)
+                .mapToObj(i -> new Option(100L + i, "Option " + i))
+                .collect(Collectors.toList());
+        // Options 100 and 101 are correct
+        AnswerKey key = AnswerKey.of(options, List.of(100L, 101L));
+        assertEquals(0b0011, key.getCorrectMask());
+
+        assertEquals(1.0, key.credit(List.of(101L, 100L), PartialCredit.NONE));
+        assertEquals(0.0, key.credit(List.of(100L), PartialCredit.NONE));
+        assertEquals(0.75, key.credit(List.of(100L), PartialCredit.PROPORTIONAL));
+        assertEquals(0.75, key.credit(List.of(100L, 101L, 102L), PartialCredit.PROPORTIONAL));
+        assertEquals(0.25, key.credit(List.of(102L), PartialCredit.PROPORTIONAL));
+        assertEquals(0.5, key.credit(List.of(100L), PartialCredit.PENALIZE_WRONG));
+        assertEquals(0.0, key.credit(List.of(100L, 102L), PartialCredit.PENALIZE_WRONG));
+        assertEquals(0.0, key.credit(List.of(100L, 100L), PartialCredit.PROPORTIONAL));
+        assertEquals(0.0, key.credit(List.of(100L, 999L), PartialCredit.PROPORTIONAL));
+        assertEquals(0.0, key.credit(List.of(), PartialCredit.PROPORTIONAL));
+        assertEquals(0.0, key.credit(List.of(), PartialCredit.PENALIZE_WRONG));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("All 64 options should fit in one answer key")
+    void testSixtyFourOptions() {
+        List<Option> options = new ArrayList<>();
+        for (long i = 0; i < AnswerKey.MAX_OPTIONS; i++) {
+            options.add(new Option(i + 1, "Option " + i));
+        }
+        AnswerKey key = AnswerKey.of(options, List.of(64L));
+        assertEquals(Long.MIN_VALUE, key.getCorrectMask());
+        assertEquals(1.0, key.credit(List.of(64L), PartialCredit.NONE));
+        assertEquals(62.0 / 64, key.credit(List.of(1L), PartialCredit.PROPORTIONAL));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Quizzes without a policy should keep whole-point scores")
+    void testDefaultPolicy() {
+        Quiz quiz = quizService.createQuiz(new CreateQuizRequest("Default scoring"));
+        Question multiple = addMultiple(quiz.getId(), "Default multiple", null);
+
+        SubmitAnswersResponse response = quizService.submitQuizAnswers(quiz.getId(),
+                submission(answer(multiple, 0)));
+        assertEquals(0, response.getScore());
+        assertEquals(1, response.getTotal());
+        assertEquals(0.0, response.getPoints());
+        assertEquals(1.0, response.getMaxPoints());
+        assertFalse(response.getResults().get(0).getCorrect());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Weights, partial credit and negative marking should combine")
+    void testWeightedPartialCreditWithNegativeMarking() {
+        CreateQuizRequest request = new CreateQuizRequest("Policy");
+        request.setPartialCredit(PartialCredit.PENALIZE_WRONG);
+        request.setNegativeMarking(0.25);
+        Quiz quiz = quizService.createQuiz(request);
+
+        Question multiple = addMultiple(quiz.getId(), "Weighted multiple", 4.0);
+        Question single = addSingle(quiz.getId(), "Weighted single", 2.0);
+        Question skipped = addSingle(quiz.getId(), "Skipped single", null);
+
+        SubmitAnswersResponse response = quizService.submitQuizAnswers(quiz.getId(), submission(
+                answer(multiple, 0),
+                answer(single, 1),
+                new SubmitAnswersRequest.Answer(skipped.getId(), Collections.emptyList())));
+
+        // Half of 4 points, minus a quarter of 2 points, and nothing for the skipped question
+        assertEquals(0, response.getScore());
+        assertEquals(3, response.getTotal());
+        assertEquals(1.5, response.getPoints(), 1e-9);
+        assertEquals(7.0, response.getMaxPoints(), 1e-9);
+        assertEquals(2.0, response.getResults().get(0).getPoints(), 1e-9);
+        assertEquals(-0.5, response.getResults().get(1).getPoints(), 1e-9);
+        assertEquals(0.0, response.getResults().get(2).getPoints(), 1e-9);
+
+        response = quizService.submitQuizAnswers(quiz.getId(),
+                submission(answer(multiple, 0, 1), answer(single, 0)));
+        assertEquals(2, response.getScore());
+        assertEquals(6.0, response.getPoints(), 1e-9);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Out of range policies and weights should be rejected")
+    void testRejectsInvalidPolicy() throws Exception {
+        mockMvc.perform(post("/api/quizzes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Bad\",\"negativeMarking\":1.5}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/quizzes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Good\",\"partialCredit\":\"PROPORTIONAL\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.partialCredit").value("PROPORTIONAL"));
+
+        Quiz quiz = quizService.createQuiz(new CreateQuizRequest("Weights"));
+        AddQuestionRequest zeroWeight = multipleRequest("Zero weight", 0.0);
+        assertThrows(ValidationException.class,
+                () -> quizService.addQuestionToQuiz(quiz.getId(), zeroWeight));
+
+        AddQuestionRequest tooManyOptions = multipleRequest("Too many options", null);
+        tooManyOptions.setOptions(IntStream.range(0, AnswerKey.MAX_OPTIONS + 1)
+                .mapToObj(i -> "Option " + i).collect(Collectors.toList()));
+        assertThrows(ValidationException.class,
+                () -> quizService.addQuestionToQuiz(quiz.getId(), tooManyOptions));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Submissions over HTTP should report points alongside the score")
+    void testPointsInResponse() throws Exception {
+        CreateQuizRequest request = new CreateQuizRequest("HTTP scoring");
+        request.setPartialCredit(PartialCredit.PROPORTIONAL);
+        Quiz quiz = quizService.createQuiz(request);
+        Question multiple = addMultiple(quiz.getId(), "HTTP multiple", null);
+
+        mockMvc.perform(post("/api/quizzes/" + quiz.getId() + "/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(submission(answer(multiple, 0)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.score").value(0))
+                .andExpect(jsonPath("$.data.total").value(1))
+                .andExpect(jsonPath("$.data.points").value(0.75))
+                .andExpect(jsonPath("$.data.maxPoints").value(1.0))
+                .andExpect(jsonPath("$.data.results[0].correct").value(false));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Blank answers should earn nothing and lose nothing under proportional credit")
+    void testBlankAnswerUnderProportionalCredit() {
+        CreateQuizRequest request = new CreateQuizRequest("Proportional");
+        request.setPartialCredit(PartialCredit.PROPORTIONAL);
+        request.setNegativeMarking(0.5);
+        Quiz quiz = quizService.createQuiz(request);
+        Question multiple = addMultiple(quiz.getId(), "Blank multiple", 2.0);
+
+        SubmitAnswersResponse response = quizService.submitQuizAnswers(quiz.getId(), submission(
+                new SubmitAnswersRequest.Answer(multiple.getId(), Collections.emptyList())));
+
+        assertEquals(0, response.getScore());
+        assertEquals(0.0, response.getPoints());
+        assertEquals(0.0, response.getResults().get(0).getPoints());
+        assertFalse(response.getResults().get(0).getCorrect());
+    }
+
+    private Question addMultiple(Long quizId, String text, Double weight) {
+        return quizService.addQuestionToQuiz(quizId, multipleRequest(text, weight));
+    }
+
+    private Question addSingle(Long quizId, String text, Double weight) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText(text);
+        request.setType(QuestionType.SINGLE);
+        request.setOptions(List.of("Right", "Wrong"));
+        request.setCorrectAnswers(List.of(0));
+        request.setWeight(weight);
+        return quizService.addQuestionToQuiz(quizId, request);
+    }
+
+    // Four options, the first two correct
+    private static AddQuestionRequest multipleRequest(String text, Double weight) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText(text);
+        request.setType(QuestionType.MULTIPLE);
+        request.setOptions(List.of("A", "B", "C", "D"));
+        request.setCorrectAnswers(List.of(0, 1));
+        request.setWeight(weight);
+        return request;
+    }
+
+    private static SubmitAnswersRequest.Answer answer(Question question, int... optionIndices) {
+        List<Long> selected = new ArrayList<>();
+        for (int index : optionIndices) {
+            selected.add(question.getOptions().get(index).getId());
+        }
+        return new SubmitAnswersRequest.Answer(question.getId(), selected);
+    }
+
+    private static SubmitAnswersRequest submission(SubmitAnswersRequest.Answer... answers) {
+        SubmitAnswersRequest request = new SubmitAnswersRequest();
+        request.setAnswers(List.of(answers));
+        return request;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.search.QuestionIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of question search latency and index memory
+ * Indexes synthetic questions whose words follow a Zipf distribution over a
+ * fixed vocabulary, like natural text, then reports heap used by the index,
+ * build time, and query latency for one and three word queries and for a
+ * word still being typed. A linear scan over a sample of the texts shows
+ * what each query would cost without the index.
+ * Run with: mvn test -Pbenchmark -Dtest=SearchBenchmarkTest
+ * Scale with -Dbench.questions=2000000 -Dbench.queries=5000
+ */
+@Tag("benchmark")
+class SearchBenchmarkTest {
+
+    private static final int QUESTIONS = Integer.getInteger("bench.questions", 1_000_000);
+    private static final int QUERIES = Integer.getInteger("bench.queries", 2_000);
+    private static final int VOCABULARY = 50_000;
+    private static final int SCAN_SAMPLE = 100_000;
+    private static final int LIMIT = 20;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    @DisplayName("Search latency and index memory per million questions")
+    void testSearchLatencyAndMemory() {
+        String[] words = vocabulary(new Random(7));
+        ZipfSampler sampler = new ZipfSampler(VOCABULARY, 1.0);
+
+        long heapBefore = usedHeap();
+        QuestionIndex index = new QuestionIndex(1.2, 0.75, 32);
+        Random random = new Random(42);
+        long postings = 0;
+        long begin = System.nanoTime();
+        for (int i = 0; i < QUESTIONS; i++) {
+            Question question = question(i + 1, words, sampler, random);
+            postings += distinctTerms(question);
+            index.add(question);
+        }
+        double buildSeconds = (System.nanoTime() - begin) / 1e9;
+        long indexBytes = usedHeap() - heapBefore;
+        assertEquals(QUESTIONS, index.size());
+
+        Random queries = new Random(99);
+        Function<Random, String> oneWord = r -> words[sampler.next(r)];
+        Function<Random, String> threeWords = r -> words[sampler.next(r)] + " " +
+                words[sampler.next(r)] + " " + words[sampler.next(r)];
+        Function<Random, String> typing = r -> {
+            String word = words[sampler.next(r)];
+            return word.substring(0, Math.min(word.length(), 3));
+        };
+        // Warm up every query shape
+        measure(index, oneWord, queries, false);
+        measure(index, threeWords, queries, false);
+        measure(index, typing, queries, true);
+        double[] one = measure(index, oneWord, queries, false);
+        double[] three = measure(index, threeWords, queries, false);
+        double[] prefix = measure(index, typing, queries, true);
+
+        String[] texts = new String[Math.min(SCAN_SAMPLE, QUESTIONS)];
+        Random regenerate = new Random(42);
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = question(i + 1, words, sampler, regenerate).getText();
+        }
+        double scanMillis = scan(texts, oneWord, queries);
+
+        double perMillion = 1_000_000.0 / QUESTIONS;
+        System.out.println();
+        System.out.printf("%,d questions, %,d terms, %,d postings%n", QUESTIONS, index.termCount(), postings);
+        System.out.printf("build: %.1f s (%.2f us/question)%n", buildSeconds, buildSeconds * 1e6 / QUESTIONS);
+        System.out.printf("index heap: %,.1f MB (%.0f B/question, %,.1f MB per million)%n",
+                indexBytes / 1e6, (double) indexBytes / QUESTIONS, indexBytes * perMillion / 1e6);
+        System.out.printf("postings: %,.1f MB compressed, %,.1f MB as int pairs (%.2f B/posting)%n",
+                index.postingBytes() / 1e6, postings * 8 / 1e6, (double) index.postingBytes() / postings);
+        System.out.println("query (top " + LIMIT + ")        p50(ms)   p99(ms)");
+        System.out.printf("%-22s %8.3f %9.3f%n", "one word", one[0], one[1]);
+        System.out.printf("%-22s %8.3f %9.3f%n", "three words", three[0], three[1]);
+        System.out.printf("%-22s %8.3f %9.3f%n", "three-letter prefix", prefix[0], prefix[1]);
+        System.out.printf("linear scan: %.3f ms per query over %,d texts, about %.1f ms per million%n",
+                scanMillis, texts.length, scanMillis * 1_000_000.0 / texts.length);
+
+        assertTrue(index.postingBytes() < postings * 4, "postings should compress below 4 bytes each");
+    }
+
+    /**
+     * @return p50 and p99 latency in milliseconds
+     */
+    private static double[] measure(QuestionIndex index, Function<Random, String> queries,
+                                    Random random, boolean prefix) {
+        long[] latencies = new long[QUERIES];
+        long hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            String query = queries.apply(random);
+            long start = System.nanoTime();
+            hits += index.search(query, LIMIT, prefix).size();
+            latencies[i] = System.nanoTime() - start;
+        }
+        assertTrue(hits > 0);
+        Arrays.sort(latencies);
+        return new double[]{percentile(latencies, 0.50), percentile(latencies, 0.99)};
+    }
+
+    /**
+     * @return Mean milliseconds to find the texts containing a word by scanning
+     */
+    private static double scan(String[] texts, Function<Random, String> queries, Random random) {
+        int rounds = 20;
+        long matches = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            String word = queries.apply(random);
+            for (String text : texts) {
+                if (text.toLowerCase().contains(word)) {
+                    matches++;
+                }
+            }
+        }
+        assertTrue(matches >= 0);
+        return (System.nanoTime() - start) / 1e6 / rounds;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static Question question(long id, String[] words, ZipfSampler sampler, Random random) {
+        StringBuilder text = new StringBuilder();
+        int length = 8 + random.nextInt(8);
+        for (int w = 0; w < length; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            text.append(words[sampler.next(random)]);
+        }
+        List<Option> options = new ArrayList<>(4);
+        for (int o = 0; o < 4; o++) {
+            options.add(new Option(id * 4 + o, words[sampler.next(random)]));
+        }
+        Question question = new Question();
+        question.setId(id);
+        question.setText(text.append('?').toString());
+        question.setType(QuestionType.SINGLE);
+        question.setOptions(options);
+        return question;
+    }
+
+    private static int distinctTerms(Question question) {
+        Set<String> terms = new HashSet<>(Arrays.asList(
+                question.getText().substring(0, question.getText().length() - 1).split(" ")));
+        for (Option option : question.getOptions()) {
+            terms.add(option.getText());
+        }
+        return terms.size();
+    }
+
+    // Distinct lowercase words of 3 to 10 letters
+    private static String[] vocabulary(Random random) {
+        Set<String> seen = new HashSet<>();
+        String[] words = new String[VOCABULARY];
+        int count = 0;
+        while (count < VOCABULARY) {
+            char[] letters = new char[3 + random.nextInt(8)];
+            for (int i = 0; i < letters.length; i++) {
+                letters[i] = (char) ('a' + random.nextInt(26));
+            }
+            String word = new String(letters);
+            if (seen.add(word)) {
+                words[count++] = word;
+            }
+        }
+        return words;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Samples ranks 0 to n - 1 with probability proportional to 1 / (rank + 1)^s
+     */
+    private static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double s) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, s);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulative[rank] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, rank >= 0 ? rank : -rank - 1);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.AddQuestionRequest;
+import com.example.quiz_api.dto.CreateQuizRequest;
+import com.example.quiz_api.dto.SubmitAnswersRequest;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.service.QuizService;
+import com.example.quiz_api.timing.ServerTimingFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for per-request stage timings
+ * Server-Timing headers are checked through MockMvc and over a real socket,
+ * where a body larger than the buffer is streamed; Flight Recorder events
+ * are read back from a recording
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"quiz.admission.enabled=false", "quiz.timing.server-timing=true",
+                "quiz.timing.buffer-size=4096"})
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ServerTimingTest {
+
+    private static final String STAGE_EVENT = "com.example.quiz_api.Stage";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private ServerTimingFilter serverTimingFilter;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @Order(1)
+    @DisplayName("Submissions should report each stage in Server-Timing")
+    void testSubmissionStages() throws Exception {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Timed stages")).getId();
+        Question question = addQuestion(quizId, "Timed stage question");
+
+        MockHttpServletResponse response = mockMvc.perform(post("/api/quizzes/" + quizId + "/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(submission(question))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        Set<String> metrics = metrics(response.getHeader("Server-Timing"));
+        assertTrue(metrics.containsAll(Set.of("quiz", "questions", "grade", "serialize", "repo",
+                "total")), () -> "Unexpected metrics " + metrics);
+        assertEquals(1, objectMapper.readTree(response.getContentAsString())
+                .get("data").get("score").asInt());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Streamed question lists should report lookups and serialization")
+    void testQuestionListStages() throws Exception {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Timed list")).getId();
+        addQuestion(quizId, "Timed list question");
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/quizzes/" + quizId + "/questions"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        String header = response.getHeader("Server-Timing");
+        assertTrue(metrics(header).containsAll(Set.of("quiz", "serialize", "total")),
+                () -> "Unexpected header " + header);
+        assertEquals(1, objectMapper.readTree(response.getContentAsString()).get("data").size());
+        assertNull(mockMvc.perform(get("/actuator/health")).andReturn().getResponse()
+                .getHeader("Server-Timing"));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Bodies larger than the buffer should still arrive whole with a header")
+    void testLargeBodyOverSocket() throws Exception {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Large timed list")).getId();
+        for (int i = 0; i < 200; i++) {
+            addQuestion(quizId, "Large timed list question " + i);
+        }
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port +
+                        "/api/quizzes/" + quizId + "/questions")).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().length > 4096);
+        String header = response.headers().firstValue("Server-Timing").orElseThrow();
+        assertTrue(metrics(header).contains("quiz"), () -> "Unexpected header " + header);
+        JsonNode body = objectMapper.readTree(response.body());
+        assertEquals(200, body.get("data").size());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Stages should be recorded as Flight Recorder events")
+    void testFlightRecorderEvents() throws Exception {
+        Long quizId = quizService.createQuiz(new CreateQuizRequest("Recorded stages")).getId();
+        Question question = addQuestion(quizId, "Recorded stage question");
+
+        Path file = Files.createTempFile("stages", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(STAGE_EVENT).withThreshold(Duration.ZERO);
+            recording.start();
+            quizService.submitQuizAnswers(quizId, submission(question));
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(STAGE_EVENT))
+                    .collect(Collectors.toList());
+            Set<String> stages = events.stream()
+                    .map(event -> event.getString("stage"))
+                    .collect(Collectors.toSet());
+            assertTrue(stages.containsAll(Set.of("quiz", "questions", "grade", "repo")),
+                    () -> "Unexpected stages " + stages);
+            assertTrue(events.stream().anyMatch(event ->
+                    "findQuizById".equals(event.getString("operation"))));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Non-blocking writers should get the container's stream once the header is sent")
+    void testNonBlockingWrites() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quizzes");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicReference<WriteListener> registered = new AtomicReference<>();
+        HttpServletResponse container = new HttpServletResponseWrapper(response) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        received.write(b);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return false;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        registered.set(listener);
+                    }
+                };
+            }
+        };
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+
+        serverTimingFilter.doFilter(request, container, (req, res) -> {
+            ServletOutputStream out = res.getOutputStream();
+            out.write("held".getBytes(StandardCharsets.UTF_8));
+            assertTrue(out.isReady());
+            req.startAsync();
+            out.setWriteListener(listener);
+            assertFalse(out.isReady());
+        });
+
+        assertSame(listener, registered.get());
+        assertEquals("held", received.toString(StandardCharsets.UTF_8));
+        assertNotNull(response.getHeader("Server-Timing"));
+    }
+
+    private Question addQuestion(Long quizId, String text) {
+        AddQuestionRequest request = new AddQuestionRequest();
+        request.setText(text);
+        request.setType(QuestionType.SINGLE);
+        request.setOptions(List.of("Right", "Wrong"));
+        request.setCorrectAnswers(List.of(0));
+        return quizService.addQuestionToQuiz(quizId, request);
+    }
+
+    private static SubmitAnswersRequest submission(Question question) {
+        SubmitAnswersRequest request = new SubmitAnswersRequest();
+        request.setAnswers(List.of(new SubmitAnswersRequest.Answer(question.getId(),
+                List.of(question.getOptions().get(0).getId()))));
+        return request;
+    }
+
+    // Metric names of a Server-Timing header
+    private static Set<String> metrics(String header) {
+        assertNotNull(header, "Server-Timing header missing");
+        return Arrays.stream(header.split(","))
+                .map(entry -> entry.trim().split(";")[0])
+                .collect(Collectors.toSet());
+    }
+}
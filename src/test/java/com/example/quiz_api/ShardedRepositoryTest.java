@@ -0,0 +1,173 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.exception.NotFoundException;
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the partitioned single-writer repository mode
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "quiz.repository.shards=4")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ShardedRepositoryTest {
+
+    @Autowired
+    private QuizRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.clear();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Concurrent appends to the same quizzes should never lose a question")
+    void testConcurrentAppends() throws Exception {
+        List<Long> quizIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            quizIds.add(repository.saveQuiz(new Quiz(null, "Quiz " + i)).getId());
+        }
+
+        int threads = 16;
+        int appendsPerThread = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        repository.appendQuestionToQuiz(quizIds.get((thread + i) % quizIds.size()),
+                                question());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        int perQuiz = threads * appendsPerThread / quizIds.size();
+        HashSet<Long> all = new HashSet<>();
+        int references = 0;
+        for (Long quizId : quizIds) {
+            Quiz quiz = repository.findQuizById(quizId).orElseThrow();
+            assertEquals(perQuiz, quiz.getQuestionIds().size());
+            HashSet<Long> seen = new HashSet<>();
+            for (Long questionId : quiz.getQuestionIds()) {
+                assertTrue(seen.add(questionId), "question listed twice");
+                assertTrue(repository.findQuestionById(questionId).isPresent());
+                if (all.add(questionId)) {
+                    references += repository.getQuestionReferences(questionId);
+                }
+            }
+        }
+        // Identical content is shared across quizzes, so the bank holds one
+        // copy per position and every append is counted exactly once
+        assertEquals(perQuiz, repository.getQuestionCount());
+        assertEquals(threads * appendsPerThread, references);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Published quizzes should be immutable snapshots")
+    void testSnapshotsAreImmutable() {
+        Quiz quiz = repository.saveQuiz(new Quiz(null, "Snapshot"));
+        Quiz before = repository.findQuizById(quiz.getId()).orElseThrow();
+
+        repository.appendQuestionToQuiz(quiz.getId(), question());
+        Quiz after = repository.findQuizById(quiz.getId()).orElseThrow();
+
+        assertTrue(before.getQuestionIds().isEmpty());
+        assertEquals(1, after.getQuestionIds().size());
+        assertTrue(after.getVersion() > before.getVersion());
+        assertThrows(UnsupportedOperationException.class, () -> after.getQuestionIds().add(1L));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Errors raised on a shard's writer should reach the caller")
+    void testErrorsPropagate() {
+        assertSame(NotFoundException.QUIZ,
+                assertThrows(NotFoundException.class,
+                        () -> repository.appendQuestionToQuiz(999_999L, question())));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Delta sync during concurrent writes to many quizzes should never skip a change")
+    void testDeltaSyncDuringConcurrentWrites() throws Exception {
+        List<Long> quizIds = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            quizIds.add(repository.saveQuiz(new Quiz(null, "Quiz " + i)).getId());
+        }
+
+        int threads = 8;
+        int appendsPerThread = 300;
+        Map<Long, Long> synced = new HashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        repository.appendQuestionToQuiz(quizIds.get((thread + i) % quizIds.size()),
+                                question());
+                    }
+                }));
+            }
+            long since = 0;
+            while (!futures.stream().allMatch(Future::isDone)) {
+                since = sync(since, synced);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            sync(since, synced);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (Long quizId : quizIds) {
+            assertEquals(repository.findQuizById(quizId).orElseThrow().getVersion(), synced.get(quizId),
+                    "delta sync missed the latest change of quiz " + quizId);
+        }
+    }
+
+    // Apply one delta query to a client's copy of quiz versions
+    private long sync(long since, Map<Long, Long> synced) {
+        long version = repository.getChangeVersion();
+        assertTrue(version >= since, "change version went backwards");
+        repository.streamQuizzesChangedBetween(since, version)
+                .forEach(quiz -> synced.put(quiz.getId(), quiz.getVersion()));
+        return version;
+    }
+
+    private static Question question() {
+        Question question = new Question();
+        question.setText("Question");
+        question.setType(QuestionType.TEXT);
+        question.setCorrectAnswerTexts(List.of("answer"));
+        return question;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.model.Question;
+import com.example.quiz_api.model.QuestionType;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Write throughput of the repository from 1 to 64 threads
+ * Compares writes on the calling thread with lock striping against
+ * partitioned single-writer shards, appending questions to random quizzes.
+ * Results above the machine's core count show oversubscription, not scaling.
+ * Run with: mvn test -Pbenchmark -Dtest=ShardedWriteBenchmarkTest
+ * Scale with -Dbench.writes=2000000 -Dbench.shards=16
+ */
+@Tag("benchmark")
+class ShardedWriteBenchmarkTest {
+
+    private static final int WRITES = Integer.getInteger("bench.writes", 200_000);
+    private static final int QUIZZES = 1024;
+    private static final int MAX_THREADS = Integer.getInteger("bench.max-threads", 64);
+    private static final int SHARDS = Integer.getInteger("bench.shards",
+            Runtime.getRuntime().availableProcessors());
+
+    @Test
+    @DisplayName("Appends per second with and without single-writer shards")
+    void testWriteScaling() throws Exception {
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        double[] locked = measure(0, threadCounts);
+        double[] sharded = measure(SHARDS, threadCounts);
+
+        System.out.println();
+        System.out.printf("%,d appends over %d quizzes, %d cores, %d shards%n", WRITES, QUIZZES,
+                Runtime.getRuntime().availableProcessors(), SHARDS);
+        System.out.println("threads   locked (k ops/s)   sharded (k ops/s)");
+        for (int i = 0; i < threadCounts.size(); i++) {
+            System.out.printf("%-9d %18.0f %19.0f%n", threadCounts.get(i), locked[i], sharded[i]);
+        }
+    }
+
+    private double[] measure(int shards, List<Integer> threadCounts) throws Exception {
+        try (ConfigurableApplicationContext context =
+                     new SpringApplicationBuilder(QuizApiApplication.class)
+                             .web(WebApplicationType.NONE)
+                             .run("--quiz.repository.shards=" + shards,
+                                     "--spring.main.banner-mode=off",
+                                     "--logging.level.root=WARN")) {
+            QuizRepository repository = context.getBean(QuizRepository.class);
+            double[] results = new double[threadCounts.size()];
+            // Warm up once with the most threads, then measure each count on a fresh catalog
+            run(repository, threadCounts.get(threadCounts.size() - 1));
+            for (int i = 0; i < threadCounts.size(); i++) {
+                results[i] = run(repository, threadCounts.get(i));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * @return Thousands of appends per second
+     */
+    private double run(QuizRepository repository, int threads) throws Exception {
+        repository.clear();
+        long[] quizIds = new long[QUIZZES];
+        for (int i = 0; i < QUIZZES; i++) {
+            quizIds[i] = repository.saveQuiz(new Quiz(null, "Quiz " + i)).getId();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < WRITES / threads; i++) {
+                        Question question = new Question();
+                        question.setText("Question");
+                        question.setType(QuestionType.TEXT);
+                        question.setCorrectAnswerTexts(List.of("answer"));
+                        repository.appendQuestionToQuiz(quizIds[random.nextInt(QUIZZES)], question);
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return WRITES / ((System.nanoTime() - begin) / 1e9) / 1e3;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
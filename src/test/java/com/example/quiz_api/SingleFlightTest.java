@@ -0,0 +1,117 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.service.SingleFlight;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight request coalescing
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SingleFlightTest {
+
+    @Test
+    @Order(1)
+    @DisplayName("Concurrent callers for the same key should share one computation")
+    void testConcurrentCallersShareResult() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>();
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Object shared = new Object();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<Object> leader = pool.submit(() -> flight.execute("key", () -> {
+                runs.incrementAndGet();
+                computing.countDown();
+                await(release);
+                return shared;
+            }));
+            computing.await();
+
+            List<Future<Object>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(pool.submit(() -> flight.execute("key", () -> {
+                    runs.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            while (flight.getCoalescedCount() < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertSame(shared, leader.get(5, TimeUnit.SECONDS));
+            for (Future<Object> follower : followers) {
+                assertSame(shared, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+            assertEquals(1, flight.getExecutionCount());
+            assertEquals(0.875, flight.getCoalescingRatio(), 1e-9);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Completed computations should not be cached")
+    void testCompletedComputationIsNotCached() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+
+        flight.execute("key", runs::incrementAndGet);
+        flight.execute("key", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+        assertEquals(0, flight.getCoalescedCount());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Waiters should receive the leader's exception unwrapped")
+    void testExceptionIsSharedWithWaiters() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>();
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = pool.submit(() -> flight.execute("key", () -> {
+                computing.countDown();
+                await(release);
+                throw new IllegalArgumentException("Quiz not found");
+            }));
+            computing.await();
+            Future<Object> follower = pool.submit(() -> flight.execute("key", Object::new));
+            while (flight.getCoalescedCount() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            ExecutionException leaderError = assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerError = assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, leaderError.getCause());
+            assertInstanceOf(IllegalArgumentException.class, followerError.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.config.SnowflakeJsonConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the API with snowflake IDs
+ */
+@SpringBootTest(properties = {
+        "quiz.admission.enabled=false",
+        "quiz.ids.strategy=snowflake",
+        "quiz.ids.node-id=3",
+        "quiz.ids.lease-file=target/snowflake-id-api-test.lease"
+})
+@AutoConfigureMockMvc
+class SnowflakeIdApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Snowflake IDs should be sent as strings and accepted back either way")
+    void testIdsRoundTripAsStrings() throws Exception {
+        JsonNode quiz = data(mockMvc.perform(post("/api/quizzes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Snowflake Quiz\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+        assertTrue(quiz.get("id").isTextual());
+        long quizId = Long.parseLong(quiz.get("id").asText());
+        assertTrue(quizId > SnowflakeJsonConfig.MAX_SAFE_INTEGER);
+
+        JsonNode question = data(mockMvc.perform(post("/api/quizzes/" + quizId + "/questions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Pick B\",\"type\":\"SINGLE\"," +
+                                "\"options\":[\"A\",\"B\"],\"correctAnswers\":[1]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+        assertTrue(question.get("id").isTextual());
+        assertTrue(question.get("options").get(1).get("id").isTextual());
+
+        // IDs go back as the strings they arrived as
+        String answers = "{\"answers\":[{\"questionId\":\"" + question.get("id").asText() +
+                "\",\"selectedOptions\":[\"" + question.get("options").get(1).get("id").asText() + "\"]}]}";
+        JsonNode result = data(mockMvc.perform(post("/api/quizzes/" + quizId + "/submit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answers))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(1, result.get("score").asInt());
+        assertTrue(result.get("score").isNumber());
+
+        JsonNode changes = data(mockMvc.perform(get("/api/quizzes").param("since", "0"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertTrue(changes.get("version").isNumber());
+    }
+
+    private JsonNode data(String response) throws Exception {
+        return objectMapper.readTree(response).get("data");
+    }
+}
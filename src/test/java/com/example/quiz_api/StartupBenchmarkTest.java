@@ -0,0 +1,144 @@
+package com.example.quiz_api;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startup time and memory of the default and fast-start builds
+ * Starts the packaged application in a fresh JVM several times per mode and
+ * reports the median time from process start to the first successful
+ * GET /api/quizzes, and the resident set size at that moment (Linux only).
+ * Each fast-start ingredient is added one at a time to show its share.
+ * Build first with: mvn package -Pfast-start -DskipTests
+ * Run with: mvn test -Pbenchmark -Dtest=StartupBenchmarkTest
+ * Scale with -Dbench.runs=10
+ */
+@Tag("benchmark")
+class StartupBenchmarkTest {
+
+    private static final int RUNS = Integer.getInteger("bench.runs", 5);
+    private static final long READY_TIMEOUT_MILLIS = 120_000;
+
+    private static final Path TARGET = Paths.get("target");
+    private static final Path THIN_JAR = TARGET.resolve("quiz_api-1.0.0.jar");
+    private static final Path FAT_JAR = TARGET.resolve("quiz_api-1.0.0-exec.jar");
+    private static final Path CDS_ARCHIVE = TARGET.resolve("quiz_api.jsa");
+
+    @Test
+    @DisplayName("Time to first GET /api/quizzes and RSS at ready, default vs fast-start")
+    void testStartup() throws Exception {
+        Assumptions.assumeTrue(Files.exists(FAT_JAR) && Files.exists(CDS_ARCHIVE),
+                "Build the fast-start artifacts first: mvn package -Pfast-start -DskipTests");
+
+        String lazy = "--spring.profiles.active=fast-start";
+        String aot = "-Dspring.aot.enabled=true";
+        String cds = "-XX:SharedArchiveFile=" + CDS_ARCHIVE.toAbsolutePath();
+
+        System.out.println();
+        System.out.printf("%d runs per mode, %d cores%n", RUNS,
+                Runtime.getRuntime().availableProcessors());
+        System.out.println("mode                        ready p50(ms)   min(ms)   RSS p50(MB)");
+        report("default (fat jar)", List.of("-jar", FAT_JAR.toString()), List.of());
+        report("default (thin jar)", List.of("-jar", THIN_JAR.toString()), List.of());
+        report("+ lazy init", List.of("-jar", THIN_JAR.toString()), List.of(lazy));
+        report("+ lazy init + AOT", List.of(aot, "-jar", THIN_JAR.toString()), List.of(lazy));
+        report("fast-start (+ AppCDS)", List.of(cds, aot, "-jar", THIN_JAR.toString()),
+                List.of(lazy));
+    }
+
+    private void report(String mode, List<String> jvmArgs, List<String> appArgs)
+            throws Exception {
+        long[] readyMillis = new long[RUNS];
+        long[] rssKilobytes = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long[] result = startOnce(jvmArgs, appArgs);
+            readyMillis[run] = result[0];
+            rssKilobytes[run] = result[1];
+        }
+        Arrays.sort(readyMillis);
+        Arrays.sort(rssKilobytes);
+        long rss = rssKilobytes[RUNS / 2];
+        System.out.printf("%-27s %13d %9d %13s%n", mode, readyMillis[RUNS / 2], readyMillis[0],
+                rss < 0 ? "n/a" : String.format("%.0f", rss / 1024.0));
+    }
+
+    /**
+     * Start the application once and wait for its first successful listing
+     * @return Milliseconds until ready and RSS in kilobytes, -1 if unknown
+     */
+    private long[] startOnce(List<String> jvmArgs, List<String> appArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            URL url = new URL("http://localhost:" + port + "/api/quizzes");
+            while (!isOk(url)) {
+                assertTrue(process.isAlive(), "application exited during startup");
+                assertTrue(System.nanoTime() - start < READY_TIMEOUT_MILLIS * 1_000_000,
+                        "application did not become ready");
+                Thread.sleep(5);
+            }
+            long readyMillis = (System.nanoTime() - start) / 1_000_000;
+            return new long[]{readyMillis, residentKilobytes(process.pid())};
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static boolean isOk(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(100);
+            connection.setReadTimeout(5_000);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long residentKilobytes(long pid) {
+        Path status = Paths.get("/proc", Long.toString(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux, or the process is gone
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.controller.ApiResponseStreamer;
+import com.example.quiz_api.dto.ApiResponse;
+import com.example.quiz_api.dto.QuizListResponse;
+import com.example.quiz_api.model.Quiz;
+import com.example.quiz_api.repository.QuizRepository;
+import com.example.quiz_api.service.QuizService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.lang.management.ManagementFactory;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of buffered versus streamed list responses
+ * Reports time-to-first-byte, total time and bytes allocated per request
+ * for growing catalog sizes. Output is discarded so only the cost of
+ * producing the response is measured. Allocation is total garbage; the
+ * buffered path retains the whole list until serialization finishes,
+ * while the streamed path only holds the item being written.
+ * Run with: mvn test -Pbenchmark -Dtest=StreamingBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.root=WARN")
+class StreamingBenchmarkTest {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int ITERATIONS = 10;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApiResponseStreamer responseStreamer;
+
+    @Test
+    @DisplayName("Time-to-first-byte and allocation per request by catalog size")
+    void testStreamingVersusBuffered() throws Exception {
+        System.out.println();
+        System.out.println("quizzes   mode       ttfb(ms)   total(ms)   allocated(KB)");
+        for (int size : SIZES) {
+            repository.clear();
+            for (int i = 0; i < size; i++) {
+                repository.saveQuiz(new Quiz(null, "Quiz " + i));
+            }
+            report(size, "buffered", this::writeBuffered);
+            report(size, "streamed", this::writeStreamed);
+        }
+        repository.clear();
+    }
+
+    private void report(int size, String mode, Writer writer) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            writer.write(new TimingOutputStream());
+        }
+        long threadId = Thread.currentThread().getId();
+        double ttfb = 0;
+        double total = 0;
+        long allocated = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            TimingOutputStream out = new TimingOutputStream();
+            long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            writer.write(out);
+            long end = System.nanoTime();
+            allocated += THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+            ttfb += (out.firstWriteNanos - start) / 1_000_000d;
+            total += (end - start) / 1_000_000d;
+            assertTrue(out.bytes > 0);
+        }
+        System.out.printf("%-9d %-9s %9.2f %11.2f %15d%n", size, mode,
+                ttfb / ITERATIONS, total / ITERATIONS, allocated / ITERATIONS / 1024);
+    }
+
+    private void writeBuffered(TimingOutputStream out) throws Exception {
+        objectMapper.writeValue(out, ApiResponse.success(quizService.getAllQuizzes()));
+    }
+
+    private void writeStreamed(TimingOutputStream out) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return out;
+            }
+        };
+        try (Stream<QuizListResponse> quizzes = quizService.streamAllQuizzes()) {
+            responseStreamer.writeList(new MockHttpServletRequest(), response, quizzes.iterator());
+        }
+    }
+
+    private interface Writer {
+        void write(TimingOutputStream out) throws Exception;
+    }
+
+    /**
+     * Output stream that discards bytes and records when the first one arrived
+     */
+    private static class TimingOutputStream extends ServletOutputStream {
+
+        private long firstWriteNanos;
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            if (bytes == 0) {
+                firstWriteNanos = System.nanoTime();
+            }
+            bytes += length;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+        }
+    }
+}
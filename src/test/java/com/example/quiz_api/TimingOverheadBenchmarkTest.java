@@ -0,0 +1,88 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.timing.Stage;
+import com.example.quiz_api.timing.StageTimer;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of stage timing overhead on a lookup-sized operation
+ * Compares an untimed map lookup with the same lookup in a StageTimer
+ * while timing is off, while a Flight Recorder recording runs with the
+ * stage event disabled, and with the event enabled.
+ * Run alone, so no Server-Timing filter from another test is registered:
+ * mvn test -Pbenchmark -Dtest=TimingOverheadBenchmarkTest
+ */
+@Tag("benchmark")
+class TimingOverheadBenchmarkTest {
+
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 20_000_000);
+    private static final int KEYS = 1024;
+
+    @Test
+    @DisplayName("Stage timer overhead")
+    void testTimerOverhead() {
+        Map<Long, Long> map = new HashMap<>();
+        for (long i = 0; i < KEYS; i++) {
+            map.put(i, i * 31);
+        }
+        LongUnaryOperator untimed = i -> map.get(i & (KEYS - 1));
+        LongUnaryOperator timed = i -> timedLookup(map, i);
+
+        measure(untimed);
+        measure(timed);
+        double baseline = measure(untimed);
+        double off = measure(timed);
+
+        double recordingOnly;
+        double recorded;
+        try (Recording recording = new Recording()) {
+            recording.disable("com.example.quiz_api.Stage");
+            recording.start();
+            measure(timed);
+            recordingOnly = measure(timed);
+            recording.stop();
+        }
+        try (Recording recording = new Recording()) {
+            recording.enable("com.example.quiz_api.Stage");
+            recording.start();
+            recorded = measure(timed);
+            recording.stop();
+        }
+
+        System.out.println();
+        System.out.printf("%,d lookups%n", ITERATIONS);
+        System.out.printf("%-36s %6.2f ns/op%n", "untimed:", baseline);
+        System.out.printf("%-36s %6.2f ns/op%n", "timer, timing off:", off);
+        System.out.printf("%-36s %6.2f ns/op%n", "timer, recording without the event:", recordingOnly);
+        System.out.printf("%-36s %6.2f ns/op%n", "timer, event recorded:", recorded);
+
+        assertTrue(off < baseline + 2, "a disabled timer should cost about nothing");
+    }
+
+    @SuppressWarnings("try")
+    private static long timedLookup(Map<Long, Long> map, long i) {
+        try (StageTimer timer = StageTimer.start(Stage.REPOSITORY, "findQuizById")) {
+            return map.get(i & (KEYS - 1));
+        }
+    }
+
+    private static double measure(LongUnaryOperator lookup) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += lookup.applyAsLong(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink != 0);
+        return (double) elapsed / ITERATIONS;
+    }
+}
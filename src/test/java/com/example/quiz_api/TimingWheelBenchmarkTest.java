@@ -0,0 +1,168 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.service.TimingWheel;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scheduling overhead of attempt deadlines
+ * Schedules one deadline per active attempt in the timing wheel and in a
+ * ScheduledThreadPoolExecutor, then compares the cost of scheduling, the
+ * heap retained per pending deadline, the cost of a tick while they are
+ * pending, and the cost of cancelling them on submit.
+ * Run with: mvn test -Pbenchmark -Dtest=TimingWheelBenchmarkTest
+ * Scale with -Dbench.attempts=5000000
+ */
+@Tag("benchmark")
+class TimingWheelBenchmarkTest {
+
+    private static final int ATTEMPTS = Integer.getInteger("bench.attempts", 1_000_000);
+    private static final int THREADS = Integer.getInteger("bench.threads", 8);
+    private static final long TICK_MILLIS = 100;
+    // Spread deadlines over exam lengths of ten minutes to three hours
+    private static final long MIN_DELAY_SECONDS = 600;
+    private static final long MAX_DELAY_SECONDS = 10_800;
+
+    @Test
+    @DisplayName("Timing wheel versus one scheduled task per attempt")
+    void testSchedulingOverhead() throws Exception {
+        System.out.println();
+        System.out.printf("%,d active attempts scheduled from %d threads%n", ATTEMPTS, THREADS);
+        System.out.println("scheduler            schedule(ns/op)   heap/attempt(B)   tick(us)   cancel(ns/op)");
+
+        // First round warms up the JIT and is not reported
+        runWheel(false);
+        runExecutor(false);
+        runWheel(true);
+        runExecutor(true);
+    }
+
+    private void runWheel(boolean report) throws Exception {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK_MILLIS, TimeUnit.MILLISECONDS, id -> { });
+        wheel.start("bench-wheel");
+        try {
+            long heapBefore = usedHeap();
+            List<List<TimingWheel.Timeout<Long>>> handles = new ArrayList<>();
+            double scheduleNanos = scheduleAll(thread -> {
+                List<TimingWheel.Timeout<Long>> mine = new ArrayList<>(ATTEMPTS / THREADS);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = thread; i < ATTEMPTS; i += THREADS) {
+                    mine.add(wheel.schedule((long) i,
+                            random.nextLong(MIN_DELAY_SECONDS, MAX_DELAY_SECONDS), TimeUnit.SECONDS));
+                }
+                synchronized (handles) {
+                    handles.add(mine);
+                }
+            });
+            // Let the worker move every new timeout into its slot
+            Thread.sleep(3 * TICK_MILLIS);
+            long heap = usedHeap() - heapBefore;
+            assertEquals(ATTEMPTS, wheel.size());
+
+            // Time ticks with all deadlines pending, on a private wheel driven by hand
+            TimingWheel<Long> driven = new TimingWheel<>(TICK_MILLIS * 1_000_000, 0, 6, id -> { });
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (long i = 0; i < ATTEMPTS; i++) {
+                driven.scheduleAt(i, random.nextLong(MIN_DELAY_SECONDS, MAX_DELAY_SECONDS) * 1_000_000_000L);
+            }
+            driven.advance(TICK_MILLIS * 1_000_000);
+            int ticks = 1000;
+            long start = System.nanoTime();
+            for (int tick = 2; tick < 2 + ticks; tick++) {
+                driven.advance(tick * TICK_MILLIS * 1_000_000);
+            }
+            double tickMicros = (System.nanoTime() - start) / 1e3 / ticks;
+
+            double cancelNanos = cancelAll(handles, TimingWheel.Timeout::cancel);
+            assertEquals(0, wheel.size());
+
+            print(report, "timing wheel", scheduleNanos, heap, tickMicros, cancelNanos);
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    private void runExecutor(boolean report) throws Exception {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        try {
+            long heapBefore = usedHeap();
+            List<List<ScheduledFuture<?>>> handles = new ArrayList<>();
+            double scheduleNanos = scheduleAll(thread -> {
+                List<ScheduledFuture<?>> mine = new ArrayList<>(ATTEMPTS / THREADS);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = thread; i < ATTEMPTS; i += THREADS) {
+                    mine.add(executor.schedule(() -> { },
+                            random.nextLong(MIN_DELAY_SECONDS, MAX_DELAY_SECONDS), TimeUnit.SECONDS));
+                }
+                synchronized (handles) {
+                    handles.add(mine);
+                }
+            });
+            long heap = usedHeap() - heapBefore;
+            assertEquals(ATTEMPTS, executor.getQueue().size());
+
+            double cancelNanos = cancelAll(handles, future -> future.cancel(false));
+            assertEquals(0, executor.getQueue().size());
+
+            // The executor has no tick; its worker sleeps until the earliest deadline
+            print(report, "scheduled executor", scheduleNanos, heap, Double.NaN, cancelNanos);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double scheduleAll(IntConsumer task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> task.accept(thread)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            // Aggregate cost across all threads, including contention
+            return (double) (System.nanoTime() - start) / ATTEMPTS;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private <H> double cancelAll(List<List<H>> handles, Consumer<H> cancel) {
+        long start = System.nanoTime();
+        for (List<H> list : handles) {
+            list.forEach(cancel);
+        }
+        return (double) (System.nanoTime() - start) / ATTEMPTS;
+    }
+
+    private static void print(boolean report, String name, double scheduleNanos, long heap,
+                              double tickMicros, double cancelNanos) {
+        if (!report) {
+            return;
+        }
+        System.out.printf("%-20s %15.0f %17d %10s %15.0f%n", name, scheduleNanos,
+                heap / ATTEMPTS, Double.isNaN(tickMicros) ? "-" : String.format("%.1f", tickMicros),
+                cancelNanos);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.service.TimingWheel;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the hierarchical timing wheel
+ * Most tests drive the wheel with synthetic time through advance()
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TimingWheelTest {
+
+    private static final long TICK = 1_000;
+
+    @Test
+    @Order(1)
+    @DisplayName("Timeouts at every level should expire exactly at their tick")
+    void testTimeoutsExpireOnTime() {
+        Map<Long, Long> firedAt = new HashMap<>();
+        long[] now = {0};
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 0, 6, id -> firedAt.put(id, now[0]));
+
+        Random random = new Random(42);
+        Map<Long, Long> expectedTick = new HashMap<>();
+        for (long id = 0; id < 20_000; id++) {
+            // Spread deadlines over levels 0 to 3
+            long ticks = 1 + (long) Math.pow(2, random.nextDouble() * 22);
+            expectedTick.put(id, ticks);
+            wheel.scheduleAt(id, ticks * TICK);
+        }
+        assertEquals(20_000, wheel.size());
+
+        for (long tick = 1; tick <= (1L << 22) + 1; tick++) {
+            now[0] = tick;
+            wheel.advance(tick * TICK);
+        }
+
+        assertEquals(20_000, firedAt.size());
+        for (Map.Entry<Long, Long> entry : expectedTick.entrySet()) {
+            assertEquals(entry.getValue(), firedAt.get(entry.getKey()),
+                    "timeout " + entry.getKey() + " fired at the wrong tick");
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Cancelled timeouts should never expire")
+    void testCancelledTimeoutsDoNotExpire() {
+        List<Integer> fired = new ArrayList<>();
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, 0, 6, fired::add);
+
+        List<TimingWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            timeouts.add(wheel.scheduleAt(i, (1 + i * 7L) * TICK));
+        }
+        wheel.advance(10 * TICK);
+        for (int i = 0; i < 1000; i += 2) {
+            timeouts.get(i).cancel();
+        }
+        wheel.advance(10_000 * TICK);
+
+        assertTrue(fired.stream().allMatch(i -> i % 2 == 1 || i < 2));
+        assertEquals(501, fired.size());
+        assertFalse(timeouts.get(0).cancel(), "expired timeout cannot be cancelled");
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Deadlines in the past should expire on the next tick")
+    void testPastDeadlineExpiresImmediately() {
+        List<String> fired = new ArrayList<>();
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0, 6, fired::add);
+        wheel.advance(500 * TICK);
+
+        wheel.scheduleAt("late", 3 * TICK);
+        wheel.advance(501 * TICK);
+
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Deadlines beyond the wheel's range should still expire on time")
+    void testDeadlineBeyondRange() {
+        Map<String, Long> firedAt = new HashMap<>();
+        long[] now = {0};
+        // Two levels span 4096 ticks
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 0, 2,
+                id -> firedAt.put(id, now[0]));
+        wheel.scheduleAt("far", 50_000 * TICK);
+        wheel.scheduleAt("near", 4_000 * TICK);
+        wheel.advance(3_000 * TICK);
+        wheel.scheduleAt("later", 9_000 * TICK);
+
+        for (long tick = 3_001; tick <= 60_000; tick++) {
+            now[0] = tick;
+            wheel.advance(tick * TICK);
+        }
+
+        assertEquals(4_000L, firedAt.get("near"));
+        assertEquals(9_000L, firedAt.get("later"));
+        assertEquals(50_000L, firedAt.get("far"));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Worker thread should fire timeouts in real time")
+    void testWorkerThread() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, TimeUnit.MILLISECONDS,
+                i -> latch.countDown());
+        wheel.start("timing-wheel-test");
+        try {
+            wheel.schedule(1, 5, TimeUnit.MILLISECONDS);
+            wheel.schedule(2, 80, TimeUnit.MILLISECONDS);
+            wheel.schedule(3, 300, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(3, wheel.getExpiredCount());
+        } finally {
+            wheel.stop();
+        }
+    }
+}
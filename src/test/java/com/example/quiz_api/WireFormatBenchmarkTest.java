@@ -0,0 +1,111 @@
+package com.example.quiz_api;
+
+import com.example.quiz_api.dto.ApiResponse;
+import com.example.quiz_api.dto.QuestionResponse;
+import com.example.quiz_api.dto.SubmitAnswersResponse;
+import com.example.quiz_api.model.Option;
+import com.example.quiz_api.model.QuestionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of payload size and serialization CPU per wire format
+ * Compares indented JSON, compact JSON and CBOR, each raw and gzipped.
+ * Run with: mvn test -Pbenchmark -Dtest=WireFormatBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.root=WARN")
+class WireFormatBenchmarkTest {
+
+    private static final int ITEMS = Integer.getInteger("bench.items", 100);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 20_000);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Test
+    @DisplayName("Payload size and serialization time per format")
+    void testPayloadSizeAndSerializationCost() throws Exception {
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json-indented", objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT));
+        formats.put("json-compact", objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT));
+        formats.put("cbor", cborConverter.getObjectMapper());
+
+        Map<String, Object> payloads = new LinkedHashMap<>();
+        payloads.put("questions", ApiResponse.success(questions()));
+        payloads.put("submission", ApiResponse.success(submission()));
+
+        System.out.println();
+        System.out.printf("items per payload: %d, iterations: %d%n", ITEMS, ITERATIONS);
+        System.out.println("payload      format          bytes   gzip-bytes   us/op");
+        for (Map.Entry<String, Object> payload : payloads.entrySet()) {
+            for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                byte[] bytes = mapper.writeValueAsBytes(payload.getValue());
+                double micros = measure(mapper, payload.getValue());
+                System.out.printf("%-12s %-14s %7d %12d %7.2f%n", payload.getKey(),
+                        format.getKey(), bytes.length, gzip(bytes).length, micros);
+                assertTrue(bytes.length > 0);
+            }
+        }
+    }
+
+    private double measure(ObjectMapper mapper, Object payload) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(payload).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(payload).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        assertTrue(sink > 0);
+        return elapsed / 1_000d / ITERATIONS;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<QuestionResponse> questions() {
+        List<QuestionResponse> questions = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            List<Option> options = new ArrayList<>();
+            for (int j = 0; j < 4; j++) {
+                options.add(new Option((long) i * 4 + j, "Option " + j + " of question " + i));
+            }
+            questions.add(new QuestionResponse((long) i, "What is the answer to question " + i + "?",
+                    QuestionType.SINGLE, options, null));
+        }
+        return questions;
+    }
+
+    private static SubmitAnswersResponse submission() {
+        List<SubmitAnswersResponse.QuestionResult> results = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            results.add(new SubmitAnswersResponse.QuestionResult((long) i, i % 3 != 0));
+        }
+        return new SubmitAnswersResponse(ITEMS * 2 / 3, ITEMS, results);
+    }
+}